@@ -0,0 +1,116 @@
+package com.g2rain.generator.benchmark;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.ColumnInfo;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.output.FileStatus;
+import com.g2rain.generator.output.OutputSink;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试共用的合成数据：表结构、配置、日志与输出目标。
+ *
+ * <p>合成表包含主键、create_time/update_time、delete_flag、version 以及指定数量的业务列，
+ * 业务列在常见 Java 类型之间轮换，覆盖模板中的全部分支。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+final class Fixtures {
+
+    /**
+     * 业务列轮换使用的 (JDBC 类型, Java 类型)
+     */
+    private static final String[][] COLUMN_TYPES = {
+            {"VARCHAR", "String"},
+            {"BIGINT", "Long"},
+            {"INTEGER", "Integer"},
+            {"DECIMAL", "BigDecimal"},
+            {"TIMESTAMP", "LocalDateTime"},
+            {"BIT", "Boolean"}
+    };
+
+    /**
+     * 丢弃渲染结果的输出目标，只测量渲染本身
+     */
+    static final OutputSink DISCARD = (outputPath, content, length) -> FileStatus.WRITTEN;
+
+    /**
+     * 不输出 info/debug 日志，避免日志 IO 干扰测量
+     */
+    static final Log QUIET_LOG = new SystemStreamLog() {
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void info(CharSequence content) {
+        }
+
+        @Override
+        public void info(CharSequence content, Throwable error) {
+        }
+
+        @Override
+        public void info(Throwable error) {
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * 构造离线配置（不连接数据库）
+     */
+    static FoundryConfig config() {
+        FoundryConfig config = new FoundryConfig("g2rain-bench", "com.g2rain.bench", null, null, null, null);
+        config.setOffline(true);
+        config.setOverwrite(true);
+        return config;
+    }
+
+    /**
+     * 构造一张包含 {@code columns} 个业务列的合成表
+     *
+     * @param tableName 表名
+     * @param columns   业务列数量
+     * @return 表信息
+     */
+    static TableInfo table(String tableName, int columns) {
+        List<ColumnInfo> allColumns = new ArrayList<>();
+        allColumns.add(column("id", "BIGINT", "Long", true));
+        for (int i = 0; i < columns; i++) {
+            String[] type = COLUMN_TYPES[i % COLUMN_TYPES.length];
+            allColumns.add(column("field_" + i, type[0], type[1], false));
+        }
+        allColumns.add(column("create_time", "TIMESTAMP", "LocalDateTime", false));
+        allColumns.add(column("update_time", "TIMESTAMP", "LocalDateTime", false));
+        allColumns.add(column("delete_flag", "BIT", "Boolean", false));
+        allColumns.add(column("version", "INTEGER", "Integer", false));
+        return TableInfo.of(tableName, "benchmark table " + tableName, allColumns);
+    }
+
+    private static ColumnInfo column(String columnName, String jdbcType, String javaType, boolean primaryKey) {
+        ColumnInfo column = new ColumnInfo();
+        column.setColumnName(columnName);
+        column.setColumnType(jdbcType);
+        column.setJavaType(javaType);
+        column.setPropertyName(Strings.underlineToCamel(columnName, false));
+        column.setColumnComment("column " + columnName);
+        column.setPrimaryKey(primaryKey);
+        column.setAutoIncrement(primaryKey);
+        return column;
+    }
+}
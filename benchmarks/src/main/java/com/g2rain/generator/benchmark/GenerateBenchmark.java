@@ -0,0 +1,131 @@
+package com.g2rain.generator.benchmark;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.introspect.SchemaIntrospector;
+import com.g2rain.generator.model.TableInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 端到端 {@link FoundryGenerator#generate()}：内存元数据来源 → 流式流水线 → 渲染全部模板。
+ *
+ * <p>元数据来自 {@link InMemoryIntrospector}，不连接数据库；输出目标丢弃结果，增量生成关闭，
+ * 每次调用都会完整渲染 (表 × 模板)。参数覆盖表数量与并行度，用于观察大库场景下流水线的吞吐变化。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenerateBenchmark {
+
+    @Param({"10", "200"})
+    public int tables;
+
+    @Param({"20"})
+    public int columns;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    private Path workDir;
+
+    private FoundryGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("g2rain-bench");
+
+        Map<String, TableInfo> tableInfos = new LinkedHashMap<>();
+        for (int i = 0; i < tables; i++) {
+            TableInfo table = Fixtures.table("bench_table_" + i, columns);
+            tableInfos.put(table.getTableName(), table);
+        }
+
+        FoundryConfig config = Fixtures.config();
+        config.setTables(String.join(",", tableInfos.keySet()));
+        config.setParallelism(parallelism);
+        config.setIncremental(false);
+        config.setWorkDir(workDir);
+        generator = new DiscardingFoundryGenerator(config, new InMemoryIntrospector(tableInfos));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void generate() throws Exception {
+        generator.generate();
+    }
+
+    /**
+     * 丢弃渲染结果的 {@link FoundryGenerator}
+     */
+    static final class DiscardingFoundryGenerator extends FoundryGenerator {
+
+        DiscardingFoundryGenerator(FoundryConfig config, SchemaIntrospector introspector) {
+            super(Fixtures.QUIET_LOG, config, introspector);
+            this.outputSink = Fixtures.DISCARD;
+        }
+    }
+
+    /**
+     * 内存中的表结构元数据来源
+     *
+     * @param tableInfos 表名 → 表信息
+     */
+    record InMemoryIntrospector(Map<String, TableInfo> tableInfos) implements SchemaIntrospector {
+
+        @Override
+        public List<TableInfo> introspect(List<String> tableNames) {
+            List<TableInfo> result = new ArrayList<>();
+            for (String tableName : tableNames) {
+                TableInfo tableInfo = tableInfos.get(tableName);
+                if (Objects.nonNull(tableInfo)) {
+                    result.add(tableInfo);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<String> listTables() {
+            return tableInfos.keySet().stream().sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.g2rain.generator.benchmark;
+
+
+import com.g2rain.generator.utils.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Strings#underlineToCamel(String, boolean)} 的吞吐，覆盖短名、长名与连续下划线。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringsBenchmark {
+
+    @Param({"user", "order_item_detail", "sys__tenant_config_history_archive"})
+    public String name;
+
+    @Benchmark
+    public String underlineToCamel() {
+        return Strings.underlineToCamel(name, false);
+    }
+
+    @Benchmark
+    public String underlineToPascal() {
+        return Strings.underlineToCamel(name, true);
+    }
+}
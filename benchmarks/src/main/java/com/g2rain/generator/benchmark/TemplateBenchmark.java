@@ -0,0 +1,107 @@
+package com.g2rain.generator.benchmark;
+
+
+import com.g2rain.generator.AbstractGenerator;
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.output.FileStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个模板的渲染吞吐：{@link TemplatePaths} 中的每个模板 × 5 / 50 / 500 个业务列 × FreeMarker 解释执行 / 构建时编译的模板。
+ *
+ * <p>通过 {@link AbstractGenerator#processTemplate(String, Path, Map)} 渲染到复用缓冲区，
+ * 输出目标丢弃结果，测量值只包含模板查找与渲染。{@code compiled=true} 时模板必须已被编译，
+ * 否则初始化失败，避免把 FreeMarker 的结果误当作编译模板的结果。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({
+            "API", "SELECT_DTO", "VO", "DTO", "DAO", "PO", "SERVICE", "SERVICE_IMPL", "CONTROLLER",
+            "CONVERTER", "MAPPER", "APP_YML", "APP_DEV_YML"
+    })
+    public String template;
+
+    @Param({"5", "50", "500"})
+    public int columns;
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private RenderingGenerator generator;
+
+    private TemplatePaths templatePaths;
+
+    private Path outputPath;
+
+    private Map<String, Object> dataModel;
+
+    @Setup
+    public void setup() throws Exception {
+        FoundryConfig config = Fixtures.config();
+        TableInfo table = Fixtures.table("bench_order_item", columns);
+        generator = new RenderingGenerator(compiled);
+        templatePaths = TemplatePaths.valueOf(template);
+        if (compiled && !generator.compiled(templatePaths.getTemplateName())) {
+            throw new IllegalStateException("Template is not compiled: " + templatePaths.getTemplateName());
+        }
+        outputPath = templatePaths.getOutputPath(config, table.getEntityName());
+        dataModel = Map.of("config", config, "table", table);
+        // 预热共享模板缓存, 测量值不包含首次解析
+        generator.render(templatePaths.getTemplateName(), outputPath, dataModel);
+    }
+
+    @Benchmark
+    public FileStatus processTemplate() throws Exception {
+        return generator.render(templatePaths.getTemplateName(), outputPath, dataModel);
+    }
+
+    /**
+     * 暴露 {@link AbstractGenerator#processTemplate(String, Path, Map)} 的最小生成器
+     */
+    static final class RenderingGenerator extends AbstractGenerator {
+
+        RenderingGenerator(boolean compiled) {
+            super(Fixtures.QUIET_LOG, "/templates");
+            this.outputSink = Fixtures.DISCARD;
+            setCompiledTemplates(compiled);
+        }
+
+        boolean compiled(String templateName) throws Exception {
+            return isCompiled(templateName);
+        }
+
+        FileStatus render(String templateName, Path outputPath, Map<String, Object> dataModel) throws Exception {
+            return processTemplate(templateName, outputPath, dataModel);
+        }
+
+        @Override
+        protected void generate() {
+            // 基准测试只使用 processTemplate
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.g2rain.generator.benchmark;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TemplatePaths#getOutputPath(FoundryConfig, String)} 的吞吐：每次调用计算一张表的全部输出路径。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplatePathsBenchmark {
+
+    private FoundryConfig config;
+
+    @Setup
+    public void setup() {
+        config = Fixtures.config();
+    }
+
+    @Benchmark
+    public void getOutputPath(Blackhole blackhole) {
+        for (TemplatePaths p : TemplatePaths.values()) {
+            blackhole.consume(p.getOutputPath(config, "OrderItemDetail"));
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.config.FoundryOptions;
+import com.g2rain.generator.config.SchemaSource;
+import com.g2rain.generator.shard.ShardResolver;
+import com.g2rain.generator.utils.Strings;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+/**
+ * 代码生成器 Maven 插件各目标（goal）的公共基类。
+ * <p>
+ * 统一定义插件参数（命令行 / pom.xml / codegen.properties / 交互式输入），负责参数收集、验证与配置展示，
+ * 并提供由参数构建 {@link FoundryConfig} 的方法；配置文件的读取、校验与构建由 {@link FoundryOptions} 完成，与命令行入口共用。
+ * 具体的执行逻辑由各目标实现 {@link #execute()}。
+ * </p>
+ *
+ * @author jagger
+ */
+@Getter
+public abstract class AbstractG2rainMojo extends AbstractMojo {
+
+    /**
+     * Maven 对象
+     */
+    @Parameter(defaultValue = "${project}", readonly = true)
+    private MavenProject project;
+
+    /**
+     * Java 基础包名（必填）
+     */
+    @Setter
+    @Parameter(property = "project.basePackage")
+    private String basePackage;
+
+    /**
+     * 数据库连接 URL
+     */
+    @Setter
+    @Parameter(property = "database.url")
+    private String url;
+
+    /**
+     * 数据库驱动类
+     */
+    @Setter
+    @Parameter(property = "database.driver")
+    private String driver;
+
+    /**
+     * 数据库用户名
+     */
+    @Setter
+    @Parameter(property = "database.username")
+    private String username;
+
+    /**
+     * 数据库密码
+     */
+    @Setter
+    @Parameter(property = "database.password")
+    private String password;
+
+    /**
+     * 待生成的数据库表名（可多表，以逗号分隔）
+     * <p>支持通配符（{@code order_*}）、正则（{@code regex:...}）与排除项（{@code !*_bak}）。</p>
+     */
+    @Setter
+    @Parameter(property = "database.tables")
+    private String tables;
+
+    /**
+     * 待生成的数据库表名是否允许覆盖, 默认是不覆盖
+     */
+    @Setter
+    @Parameter(property = "tables.overwrite")
+    private Boolean overwrite;
+
+    /**
+     * 模板渲染并行度，默认 1（串行）；小于等于 0 时使用 CPU 核数
+     */
+    @Setter
+    @Parameter(property = "generator.parallelism")
+    private Integer parallelism;
+
+    /**
+     * 是否离线生成：不连接数据库，仅从 target/g2rain 下的表结构快照读取表信息
+     */
+    @Setter
+    @Parameter(property = "generator.offline")
+    private Boolean offline;
+
+    /**
+     * MySQL DDL 文件或目录（逗号分隔，相对项目根目录），如 Flyway 迁移脚本目录或 schema.sql；
+     * 配置后从 DDL 解析表结构，不连接数据库
+     */
+    @Setter
+    @Parameter(property = "generator.ddl")
+    private String ddl;
+
+    /**
+     * 项目模板目录（相对项目根目录），其中的同名模板与片段优先于插件内置模板，其余回退到内置模板
+     */
+    @Setter
+    @Parameter(property = "generator.templates")
+    private String templates;
+
+    /**
+     * 是否增量生成，默认开启：输入（表结构、模板、配置）未变化的文件不再重新渲染
+     */
+    @Setter
+    @Parameter(property = "generator.incremental")
+    private Boolean incremental;
+
+    /**
+     * 是否预演：只在内存中渲染，输出 target/g2rain 下的 diff 与汇总报告，不修改任何生成文件
+     */
+    @Setter
+    @Parameter(property = "generator.dryRun")
+    private Boolean dryRun;
+
+    /**
+     * 是否归档输出：每个模块的生成文件写入 target/g2rain/archives 下的一个 {module}-sources.jar，不写出单独的文件
+     */
+    @Setter
+    @Parameter(property = "generator.archive")
+    private Boolean archive;
+
+    /**
+     * 输出模块分片：{@code prefix} 按表名前缀，或分片映射文件路径（相对项目根目录）；
+     * 配置后 -api、-biz 代码按分片写入 {artifactId}-domains 下的领域模块，并生成聚合 pom.xml
+     */
+    @Setter
+    @Parameter(property = "generator.shards")
+    private String shards;
+
+    /**
+     * 是否使用构建时编译的模板：未被项目模板目录覆盖的内置模板由插件构建时编译的 Java 渲染类输出，内容与 FreeMarker 渲染一致
+     */
+    @Setter
+    @Parameter(property = "generator.compiledTemplates")
+    private Boolean compiledTemplates;
+
+    /**
+     * 由 {@link #shards} 解析的分片解析器，未配置分片时为 {@code null}
+     */
+    private ShardResolver shardResolver;
+
+    /**
+     * 多数据源配置：每个条目为一个库及其基础包名，未配置的字段沿用顶层配置；
+     * 配置后一次执行并发生成全部库，共享渲染线程池与模板缓存
+     */
+    @Setter
+    @Parameter
+    private List<SchemaSource> schemas;
+
+    /**
+     * foundry 配置文件路径
+     */
+    @Setter
+    @Parameter(property = "config.file")
+    private File configFile;
+
+    /**
+     * 合并插件参数与配置文件后的生成选项，由 {@link #prepare()} 构建
+     */
+    private FoundryOptions options;
+
+    /**
+     * 控制台输入扫描器，用于交互式参数输入
+     */
+    private Scanner scanner;
+
+    /**
+     * 获取或初始化输入扫描器。
+     *
+     * @return {@link Scanner} 实例
+     */
+    private Scanner getScanner() {
+        if (Objects.isNull(scanner)) {
+            scanner = new Scanner(System.in);
+        }
+        return scanner;
+    }
+
+    /**
+     * 校验当前目录存在有效的 POM 文件，收集并验证参数，然后输出配置信息。
+     *
+     * @throws MojoExecutionException 当 POM 文件不存在或必填参数缺失时抛出
+     * @throws IOException            当配置文件读取失败时抛出
+     */
+    protected void prepare() throws MojoExecutionException, IOException {
+        if (Objects.isNull(project.getFile()) || !project.getFile().exists()) {
+            throw new MojoExecutionException("[ERROR] No valid POM file found in the current directory. Please ensure you are running Maven from the project’s root directory.");
+        }
+
+        prepareFoundryConfig();
+        try {
+            this.shardResolver = options.resolveShards(project.getBasedir().toPath());
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        options.log(getLog(), project.getArtifactId());
+    }
+
+    /**
+     * 参数缺失时是否允许交互式输入，绑定到构建生命周期的目标应返回 {@code false}
+     *
+     * @return 默认返回 {@code true}
+     */
+    protected boolean isInteractive() {
+        return true;
+    }
+
+    /**
+     * 生成器工作目录（target/g2rain），存放快照、增量清单与各类报告
+     *
+     * @return 工作目录
+     */
+    protected Path workDir() {
+        return Path.of(project.getBuild().getDirectory(), "g2rain");
+    }
+
+    /**
+     * 解析实际使用的渲染并行度。
+     * <p>未配置时为 1（串行）；配置值小于等于 0 时使用当前机器的 CPU 核数。</p>
+     *
+     * @return 实际并行度
+     */
+    protected int resolveParallelism() {
+        return options.resolveParallelism();
+    }
+
+    /**
+     * 根据数据源条目与公共生成选项创建 Foundry 配置。
+     *
+     * @param source  数据源（已用顶层配置补全）
+     * @param workDir 工作目录
+     * @return Foundry 配置
+     */
+    protected FoundryConfig createFoundryConfig(SchemaSource source, Path workDir) {
+        return createFoundryConfig(project, source, workDir);
+    }
+
+    /**
+     * 为指定的 Maven 项目创建 Foundry 配置：项目名取其 artifactId，生成文件位于其根目录下。
+     * <p>DDL 与模板目录的相对路径以执行目标的项目根目录为基准，与配置文件及命令行参数的位置一致。</p>
+     *
+     * @param target  生成代码所属的 Maven 项目
+     * @param source  数据源（已用顶层配置补全）
+     * @param workDir 工作目录
+     * @return Foundry 配置
+     */
+    protected FoundryConfig createFoundryConfig(MavenProject target, SchemaSource source, Path workDir) {
+        FoundryConfig config = options.createFoundryConfig(target.getArtifactId(), project.getBasedir().toPath(), source, workDir, this.shardResolver);
+        // 以项目根目录而非进程工作目录为基准, reactor 并行构建与 mvnd 常驻进程中同样正确
+        if (Objects.nonNull(target.getBasedir())) {
+            config.setBaseDir(target.getBasedir().toPath());
+        }
+        return config;
+    }
+
+    /**
+     * 由顶层参数构成的数据源
+     *
+     * @return 顶层数据源
+     */
+    protected SchemaSource topLevelSource() {
+        return options.topLevelSource();
+    }
+
+    /**
+     * 是否配置了多数据源
+     *
+     * @return 配置了 {@code schemas} 时返回 {@code true}
+     */
+    protected boolean hasSchemas() {
+        return options.hasSchemas();
+    }
+
+    /**
+     * 用顶层配置补全各数据源条目，并确定数据源名称（未配置时使用 URL 中的库名）。
+     *
+     * @return 数据源名称 → 数据源，保持配置顺序
+     */
+    protected Map<String, SchemaSource> resolveSchemas() {
+        return options.resolveSchemas();
+    }
+
+    /**
+     * 是否无需连接数据库（离线模式或 DDL 模式）
+     *
+     * @return 不需要数据库连接参数时返回 {@code true}
+     */
+    protected boolean isDatabaseFree() {
+        return options.isDatabaseFree();
+    }
+
+    /**
+     * 准备代码生成阶段的配置参数。
+     * <p>
+     * 支持多种配置来源，按优先级处理：
+     * <ol>
+     *     <li><b>命令行 / pom.xml 参数</b> - 优先级最高</li>
+     *     <li><b>配置文件</b> - 补全未设置的参数</li>
+     *     <li><b>交互式环境</b> - 通过控制台提示用户输入</li>
+     * </ol>
+     *
+     * <p><b>执行流程：</b></p>
+     * <ol>
+     *     <li>由插件参数构建 {@link FoundryOptions}，尝试用配置文件补全（如果配置了 configFile）</li>
+     *     <li>如果配置文件加载成功或处于非交互式环境：验证参数完整性</li>
+     *     <li>否则：进入交互式参数输入流程</li>
+     * </ol>
+     *
+     * @throws MojoExecutionException 当必填参数缺失时抛出
+     * @throws IOException            当配置文件读取失败时抛出
+     */
+    private void prepareFoundryConfig() throws MojoExecutionException, IOException {
+        this.options = parameterOptions();
+        if (loadFoundryConfigFile() || Objects.isNull(System.console()) || !isInteractive() || isDatabaseFree() || hasSchemas()) {
+            // 加载配置文件, 如果设置文件路径, 需要校验参数; 非交互式、离线、DDL 及多数据源模式也校验参数
+            try {
+                options.validate();
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+        } else {
+            // 交互式获取参数
+            promptForFoundryParameters();
+        }
+    }
+
+    /**
+     * 由插件参数（命令行 / pom.xml）构建生成选项，未设置的参数为 {@code null}
+     *
+     * @return 生成选项
+     */
+    private FoundryOptions parameterOptions() {
+        FoundryOptions parameters = new FoundryOptions();
+        parameters.setBasePackage(this.basePackage);
+        parameters.setUrl(this.url);
+        parameters.setDriver(this.driver);
+        parameters.setUsername(this.username);
+        parameters.setPassword(this.password);
+        parameters.setTables(this.tables);
+        parameters.setOverwrite(this.overwrite);
+        parameters.setParallelism(this.parallelism);
+        parameters.setOffline(this.offline);
+        parameters.setDdl(this.ddl);
+        parameters.setTemplates(this.templates);
+        parameters.setIncremental(this.incremental);
+        parameters.setDryRun(this.dryRun);
+        parameters.setArchive(this.archive);
+        parameters.setShards(this.shards);
+        parameters.setCompiledTemplates(this.compiledTemplates);
+        parameters.setSchemas(this.schemas);
+        return parameters;
+    }
+
+    /**
+     * 加载 Foundry 阶段的配置文件。
+     * <p>
+     * 由 {@link FoundryOptions#load(Properties)} 读取配置文件（键名与取值规则与命令行入口一致），
+     * 仅当命令行参数未设置时才使用配置文件中的值。配置文件的优先级低于命令行参数，高于交互式输入。
+     * </p>
+     *
+     * @return {@code true} 如果配置文件存在且成功加载，{@code false} 如果未配置配置文件路径或配置文件不存在
+     * @throws IOException 当配置文件读取失败时抛出
+     */
+    private boolean loadFoundryConfigFile() throws IOException {
+        if (Objects.isNull(configFile) || !configFile.exists() || !configFile.isFile()) {
+            return false;
+        }
+
+        getLog().info("Load config: " + configFile.getAbsolutePath());
+
+        Properties props = new Properties();
+        try (FileInputStream fis = new FileInputStream(configFile)) {
+            props.load(fis);
+        }
+        options.withDefaults(FoundryOptions.load(props));
+        return true;
+    }
+
+    /**
+     * 控制台交互式收集数据库及代码生成相关参数。
+     * 若参数均已提供，则直接返回。
+     */
+    private void promptForFoundryParameters() {
+        if (Stream.of(options.getBasePackage(), options.getUrl(), options.getDriver(), options.getUsername(), options.getPassword(), options.getTables())
+                .allMatch(Strings::isNotBlank)) {
+            return;
+        }
+
+        options.setBasePackage(getNonBlankInput(
+                "Base Package [required]: ",
+                options.getBasePackage()
+        ));
+        options.setUrl(getNonBlankInput(
+                "Database URL [required]: ",
+                options.getUrl()
+        ));
+        options.setDriver(getNonBlankInput(
+                "Driver Class [required]: ",
+                options.getDriver()
+        ));
+        options.setUsername(getNonBlankInput(
+                "Username [required]: ",
+                options.getUsername()
+        ));
+        options.setPassword(getOptionalInput(
+                "Password [optional]: ",
+                options.getPassword(),
+                null
+        ));
+        options.setTables(getNonBlankInput(
+                "Table Names [required]: ",
+                options.getTables()
+        ));
+        options.setOverwrite(getBooleanInput(
+                "Overwrite existing files? (y/N, default N): ",
+                options.getOverwrite(),
+                false
+        ));
+    }
+
+    /**
+     * 控制台输入：读取非空字符串。
+     * <p>若当前值已存在则直接返回；否则提示用户输入直到非空。</p>
+     *
+     * @param prompt       输入提示
+     * @param currentValue 当前值（可为空）
+     * @return 用户输入的非空字符串
+     */
+    @SuppressWarnings("java:S106")
+    private String getNonBlankInput(String prompt, String currentValue) {
+        if (Strings.isNotBlank(currentValue)) {
+            return currentValue;
+        }
+
+        String input = null;
+        while (Strings.isBlank(input)) {
+            System.out.print(prompt);
+            System.out.flush();
+            input = getScanner().nextLine().trim();
+        }
+
+        return input;
+    }
+
+    /**
+     * 控制台输入：读取可选字符串，若为空则返回默认值。
+     *
+     * @param prompt       输入提示
+     * @param currentValue 当前值（可为空）
+     * @param defaultValue 默认值
+     * @return 用户输入值或默认值
+     */
+    @SuppressWarnings({"java:S106", "SameParameterValue"})
+    private String getOptionalInput(String prompt, String currentValue, String defaultValue) {
+        if (Strings.isNotBlank(currentValue)) {
+            return currentValue;
+        }
+
+        System.out.print(prompt);
+        System.out.flush();
+
+        String input = getScanner().nextLine().trim();
+        return Strings.isBlank(input) ? defaultValue : input;
+    }
+
+    /**
+     * 控制台输入：读取布尔值，支持多种输入格式。
+     * <p>
+     * 输入处理规则：
+     * <ul>
+     *     <li>命令行已设置有效值：直接使用命令行值</li>
+     *     <li>空输入（直接回车）：返回默认值</li>
+     *     <li>有效输入：返回对应布尔值</li>
+     *     <li>无效输入：自动重新提示输入</li>
+     * </ul>
+     *
+     * <p><b>支持的输入格式：</b></p>
+     * <ul>
+     *     <li>true 值：y, yes, true, 1</li>
+     *     <li>false 值：n, no, false, 0</li>
+     * </ul>
+     *
+     * <p><b>示例：</b></p>
+     * <pre>{@code
+     * // 命令行已设置，直接使用
+     * boolean result1 = getBooleanInput("Overwrite? [y/N]: ", true, false); // returns true
+     *
+     * // 交互式输入
+     * // 用户输入 "y" -> returns true
+     * // 用户输入 "no" -> returns false
+     * // 用户直接回车 -> returns false (默认值)
+     * // 用户输入 "abc" -> 重新提示输入
+     * }</pre>
+     *
+     * @param prompt       输入提示信息，如 "Overwrite files? [y/N]: "
+     * @param currentValue 命令行传入的当前值，可为 null
+     * @param defaultValue 默认值，当输入为空时使用
+     * @return 解析后的布尔值
+     */
+    @SuppressWarnings({"java:S106", "SameParameterValue"})
+    private boolean getBooleanInput(String prompt, Boolean currentValue, boolean defaultValue) {
+        // 如果命令行设置了有效值，直接使用
+        if (Objects.nonNull(currentValue)) {
+            return currentValue;
+        }
+
+        while (true) {
+            System.out.print(prompt);
+            System.out.flush();
+
+            String input = getScanner().nextLine().trim().toLowerCase();
+            if (input.isEmpty()) {
+                return defaultValue;
+            }
+
+            switch (input) {
+                case "y", "yes", "true", "1" -> {
+                    return true;
+                }
+                case "n", "no", "false", "0" -> {
+                    return false;
+                }
+                default -> {
+                    // default 什么都不做，自动继续循环
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
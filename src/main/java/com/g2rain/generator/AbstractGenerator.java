@@ -1,25 +1,57 @@
 package com.g2rain.generator;
 
 
+import com.g2rain.generator.generator.RenderResult;
+import com.g2rain.generator.generator.RenderTask;
+import com.g2rain.generator.output.FileStatus;
+import com.g2rain.generator.output.FileSystemSink;
+import com.g2rain.generator.output.OutputSink;
+import com.g2rain.generator.output.RenderBuffer;
+import com.g2rain.generator.template.SharedTemplateCache;
+import com.g2rain.generator.template.compiled.CompiledTemplate;
+import com.g2rain.generator.template.compiled.CompiledTemplates;
+import com.g2rain.generator.utils.Hashes;
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.FileTemplateLoader;
+import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
 import org.apache.maven.plugin.logging.Log;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 抽象的代码生成器基类，封装了基于 FreeMarker 模板引擎的通用生成逻辑。
  * <p>
  * 子类应实现 {@link #generate()} 方法以定义具体的生成行为。
- * 该类负责模板的加载、数据模型的渲染以及文件输出等基础能力。
+ * 该类负责模板的加载、数据模型的渲染以及文件输出等基础能力；解析后的模板保存在 JVM 级的
+ * {@link SharedTemplateCache} 中，同一进程内的多次执行无需重复解析。
  * </p>
  *
+ * <p><b>模板覆盖：</b>通过 {@link #setTemplateDirectory(Path)} 指定项目模板目录后，按名称查找模板时
+ * 先查找项目目录，不存在再回退到类路径下的内置模板，因此项目只需提供要修改的模板或片段。</p>
+ *
+ * <p><b>编译模板：</b>通过 {@link #setCompiledTemplates(boolean)} 开启后，源码与插件构建时一致的内置模板
+ * 由 {@link CompiledTemplate} 直接渲染，其余模板（项目覆盖、使用了编译器不支持的语法）仍由 FreeMarker 解释执行。</p>
+ *
  * <p><b>设计原则：</b>
  * 提供统一的模板处理流程，降低代码生成子类的重复逻辑。
  * </p>
@@ -57,6 +89,46 @@ public abstract class AbstractGenerator {
      */
     protected final Configuration configuration;
 
+    /**
+     * 类路径下的模板根目录
+     */
+    private final String basePackage;
+
+    /**
+     * 每个渲染线程复用的内存缓冲区
+     */
+    private static final ThreadLocal<RenderBuffer> RENDER_BUFFER = ThreadLocal.withInitial(RenderBuffer::new);
+
+    /**
+     * 每个渲染线程复用的编译模板文本缓冲区
+     */
+    private static final ThreadLocal<StringBuilder> RENDER_TEXT = ThreadLocal.withInitial(() -> new StringBuilder(16384));
+
+    /**
+     * 渲染结果的输出目标，默认直接写入文件系统（内容未变化时不写盘）
+     */
+    protected OutputSink outputSink = new FileSystemSink();
+
+    /**
+     * 本次生成已解析的模板，模板路径 → 共享缓存中的模板
+     */
+    private final Map<String, SharedTemplateCache.CachedTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * 本次生成已计算的模板摘要（含 include / import 依赖），模板路径 → 摘要
+     */
+    private final Map<String, String> templateDigests = new ConcurrentHashMap<>();
+
+    /**
+     * 多个生成器共享的渲染线程池，为 {@code null} 时每批任务按并行度创建独立线程池
+     */
+    private ExecutorService renderExecutor;
+
+    /**
+     * 是否优先使用构建时编译的模板
+     */
+    private boolean compiledTemplates;
+
     /**
      * 构造函数，初始化 FreeMarker 配置并设置模板加载路径。
      *
@@ -65,15 +137,72 @@ public abstract class AbstractGenerator {
      */
     protected AbstractGenerator(Log log, String basePackage) {
         this.log = log;
+        this.basePackage = basePackage;
         this.configuration = new Configuration(Configuration.VERSION_2_3_31);
         this.configuration.setClassForTemplateLoading(getClass(), basePackage);
         this.configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
     }
 
+    /**
+     * 设置项目模板目录：按名称查找模板（含 include / import 的片段）时优先使用该目录中的同名文件，
+     * 不存在时回退到类路径下的内置模板。
+     *
+     * @param templateDir 项目模板目录，为 {@code null} 时只使用内置模板
+     * @throws IllegalArgumentException 目录不存在或不可读时抛出
+     */
+    protected void setTemplateDirectory(Path templateDir) {
+        if (Objects.isNull(templateDir)) {
+            configuration.setClassForTemplateLoading(getClass(), basePackage);
+            return;
+        }
+
+        try {
+            TemplateLoader overlay = new FileTemplateLoader(templateDir.toFile());
+            MultiTemplateLoader loader = new MultiTemplateLoader(new TemplateLoader[]{overlay, new ClassTemplateLoader(getClass(), basePackage)});
+            // 每次按顺序查找，项目目录中新增的模板无需重启即可生效
+            loader.setSticky(false);
+            configuration.setTemplateLoader(loader);
+            // include / import 的片段由 FreeMarker 按名称加载，修改后立即生效
+            configuration.setTemplateUpdateDelayMilliseconds(0);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Template directory not readable: " + templateDir.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * 设置是否优先使用构建时编译的模板：开启后源码与编译时一致的模板不再经过 FreeMarker 解释执行，
+     * 输出内容不变。
+     *
+     * @param compiledTemplates 是否使用编译模板
+     */
+    protected void setCompiledTemplates(boolean compiledTemplates) {
+        this.compiledTemplates = compiledTemplates;
+    }
+
+    /**
+     * 模板是否由编译模板渲染
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @return 开启了编译模板且模板源码与编译时一致时为 {@code true}
+     * @throws IOException 模板不存在、读取或解析失败时抛出
+     */
+    protected boolean isCompiled(String templatePath) throws IOException {
+        return Objects.nonNull(compiledTemplate(templatePath, resolveTemplate(templatePath)));
+    }
+
+    /**
+     * 开始新一轮生成前调用：丢弃本实例记住的模板与摘要，使模板文件的修改在下一轮生成中生效。
+     */
+    protected void refreshTemplates() {
+        templates.clear();
+        templateDigests.clear();
+    }
+
     /**
      * 处理并渲染指定的 FreeMarker 模板文件到输出路径。
      * <p>
-     * 该方法会自动创建缺失的父目录，并在文件已存在时进行覆盖。
+     * 模板先渲染到当前线程复用的 {@link RenderBuffer} 中，再交给 {@link #outputSink} 输出：
+     * 内容与已有文件一致时不会写盘。渲染或写入失败时直接抛出异常，由调用方决定如何汇总与记录。
      * </p>
      * <p><b>示例：</b>
      * <pre>{@code
@@ -87,30 +216,273 @@ public abstract class AbstractGenerator {
      * @param templatePath 模板路径（相对模板根目录）。
      * @param outputPath   输出文件路径。
      * @param dataModel    模板渲染所需的数据模型。
-     * @throws RuntimeException 当模板处理或文件写入失败时抛出。
+     * @return 输出结果：{@link FileStatus#WRITTEN} 或 {@link FileStatus#UNCHANGED}
+     * @throws IOException       当模板读取或文件写入失败时抛出。
+     * @throws TemplateException 当模板渲染失败时抛出。
      */
-    @SuppressWarnings("java:S112")
-    protected void processTemplate(String templatePath, Path outputPath, Map<String, Object> dataModel) {
-        try {
-            // 获取模板
-            Template template = configuration.getTemplate(templatePath);
-            if (Objects.isNull(template)) {
-                log.error("Template not found for output file: " + outputPath.toAbsolutePath());
-                return;
+    protected FileStatus processTemplate(String templatePath, Path outputPath, Map<String, Object> dataModel) throws IOException, TemplateException {
+        RenderBuffer buffer = renderToBuffer(templatePath, dataModel);
+        // 交给输出目标, 内容未变化时不写盘
+        return outputSink.write(outputPath, buffer.array(), buffer.size());
+    }
+
+    /**
+     * 将模板渲染为字符串，不经过 {@link #outputSink}（如 {@code g2rain:explain} 读取渲染后的 mapper.xml）。
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @param dataModel    模板渲染所需的数据模型
+     * @return 渲染结果
+     * @throws IOException       当模板读取失败时抛出
+     * @throws TemplateException 当模板渲染失败时抛出
+     */
+    protected String renderToString(String templatePath, Map<String, Object> dataModel) throws IOException, TemplateException {
+        RenderBuffer buffer = renderToBuffer(templatePath, dataModel);
+        return new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 将模板渲染到当前线程复用的缓冲区。
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @param dataModel    模板渲染所需的数据模型
+     * @return 渲染结果所在的缓冲区（下次在同一线程渲染前有效）
+     * @throws IOException       当模板读取失败时抛出
+     * @throws TemplateException 当模板渲染失败时抛出
+     */
+    private RenderBuffer renderToBuffer(String templatePath, Map<String, Object> dataModel) throws IOException, TemplateException {
+        // 获取模板（JVM 级共享缓存）
+        SharedTemplateCache.CachedTemplate cached = resolveTemplate(templatePath);
+
+        // 渲染模板到复用的内存缓冲区
+        RenderBuffer buffer = RENDER_BUFFER.get();
+        buffer.reset();
+        CompiledTemplate compiled = compiledTemplate(templatePath, cached);
+        if (Objects.nonNull(compiled)) {
+            StringBuilder text = RENDER_TEXT.get();
+            text.setLength(0);
+            compiled.render(dataModel, text);
+            // 直接从文本缓冲区编码为 UTF-8, 不经过中间字符串
+            buffer.writeUtf8(text);
+            return buffer;
+        }
+
+        Template template = cached.template();
+        try (Writer out = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+            template.process(dataModel, out);
+        }
+        return buffer;
+    }
+
+    /**
+     * 查找与模板源码一致的编译模板；编译模板不支持 include / import，有依赖的模板始终由 FreeMarker 渲染
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @param cached       共享缓存中的模板
+     * @return 编译模板，未开启、未编译或源码不一致时为 {@code null}
+     */
+    private CompiledTemplate compiledTemplate(String templatePath, SharedTemplateCache.CachedTemplate cached) {
+        if (!compiledTemplates || !cached.dependencies().isEmpty()) {
+            return null;
+        }
+        return CompiledTemplates.find(templatePath, cached.digest());
+    }
+
+    /**
+     * 获取模板的 SHA-256 摘要，用于增量生成时判断模板内容是否发生变化。
+     * <p>
+     * 摘要覆盖模板自身源码以及以字符串字面量 include / import 的全部片段（递归），
+     * 因此片段被修改或在项目模板目录中被覆盖时，只有依赖它的模板摘要发生变化。
+     * 被引用的片段不存在时以固定标记参与计算，由渲染阶段报告错误。
+     * </p>
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @return 模板及其依赖的摘要
+     * @throws IOException 模板不存在、读取或解析失败时抛出
+     */
+    protected String templateDigest(String templatePath) throws IOException {
+        String digest = templateDigests.get(templatePath);
+        if (Objects.isNull(digest)) {
+            digest = templateDigest(templatePath, new HashSet<>());
+            templateDigests.put(templatePath, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * 递归计算模板及其依赖的摘要
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @param visiting     当前递归路径上的模板，用于截断循环引用
+     * @return 模板及其依赖的摘要
+     * @throws IOException 模板读取或解析失败时抛出
+     */
+    private String templateDigest(String templatePath, Set<String> visiting) throws IOException {
+        SharedTemplateCache.CachedTemplate cached = resolveTemplate(templatePath);
+        if (cached.dependencies().isEmpty()) {
+            return cached.digest();
+        }
+
+        visiting.add(templatePath);
+        List<String> parts = new ArrayList<>();
+        parts.add(cached.digest());
+        for (String dependency : cached.dependencies()) {
+            String dependencyDigest;
+            if (visiting.contains(dependency)) {
+                dependencyDigest = "cycle";
+            } else {
+                try {
+                    dependencyDigest = templateDigest(dependency, visiting);
+                } catch (FileNotFoundException e) {
+                    dependencyDigest = "missing";
+                }
+            }
+            parts.add(dependency + "=" + dependencyDigest);
+        }
+        visiting.remove(templatePath);
+        return Hashes.sha256(parts.toArray(String[]::new));
+    }
+
+    /**
+     * 从 {@link SharedTemplateCache} 获取已解析的模板。
+     * <p>模板在一次生成过程中不会变化，因此同一生成器实例内对每个模板只查询一次共享缓存。</p>
+     *
+     * @param templatePath 模板路径（相对模板根目录）
+     * @return 缓存的模板及其源码摘要
+     * @throws IOException 模板不存在、读取或解析失败时抛出
+     */
+    private SharedTemplateCache.CachedTemplate resolveTemplate(String templatePath) throws IOException {
+        SharedTemplateCache.CachedTemplate cached = templates.get(templatePath);
+        if (Objects.isNull(cached)) {
+            cached = SharedTemplateCache.get(configuration, templatePath);
+            templates.put(templatePath, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * 设置共享的渲染线程池。
+     * <p>多个生成器并发执行（如多数据源生成）时共用同一个线程池，总并行度由线程池大小决定；
+     * 线程池由调用方负责关闭。</p>
+     *
+     * @param renderExecutor 共享线程池，为 {@code null} 时恢复为按批创建
+     */
+    public void setRenderExecutor(ExecutorService renderExecutor) {
+        this.renderExecutor = renderExecutor;
+    }
+
+    /**
+     * 开始一轮生成时调用：未设置共享线程池且 {@code parallelism > 1} 时创建本轮共用的虚拟线程池，
+     * 本轮的全部批次都提交到该线程池，线程与线程内复用的渲染缓冲区在批次之间保持不变。
+     * <p>返回值用于 try-with-resources，关闭时结束线程池并恢复为按批创建；无需创建时返回 {@code null}。</p>
+     *
+     * <p><b>示例：</b></p>
+     * <pre>{@code
+     * try (AutoCloseable renderScope = openRenderExecutor(parallelism)) {
+     *     for (List<RenderTask> batch : batches) {
+     *         renderAll(batch, parallelism);
+     *     }
+     * }
+     * }</pre>
+     *
+     * @param parallelism 并行度
+     * @return 本轮线程池的关闭句柄，未创建时为 {@code null}
+     */
+    protected AutoCloseable openRenderExecutor(int parallelism) {
+        if (Objects.nonNull(renderExecutor) || parallelism <= 1) {
+            return null;
+        }
+
+        ExecutorService executor = newRenderExecutor(parallelism);
+        this.renderExecutor = executor;
+        return () -> {
+            this.renderExecutor = null;
+            executor.close();
+        };
+    }
+
+    /**
+     * 创建固定数量虚拟线程的渲染线程池
+     *
+     * @param parallelism 线程数
+     * @return 线程池
+     */
+    private static ExecutorService newRenderExecutor(int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("g2rain-render-", 0).factory());
+    }
+
+    /**
+     * 执行一批渲染任务，并按任务提交顺序返回结果。
+     * <p>
+     * 设置了共享线程池（{@link #setRenderExecutor(ExecutorService)} 或 {@link #openRenderExecutor(int)}）时提交到该线程池，
+     * 忽略 {@code parallelism}；否则当 {@code parallelism <= 1} 时在当前线程中串行执行，大于 1 时使用固定数量的虚拟线程并行渲染，
+     * 同一时刻最多运行 {@code parallelism} 个任务。无论串行还是并行，返回列表的顺序都与
+     * {@code tasks} 一致，便于调用方输出确定性的日志。
+     * </p>
+     * <p>单个任务失败不会中断其它任务，失败原因记录在 {@link RenderResult#error()} 中。</p>
+     *
+     * @param tasks       渲染任务列表
+     * @param parallelism 并行度
+     * @return 与任务顺序一致的渲染结果列表
+     * @throws InterruptedException 等待并行任务完成时线程被中断
+     */
+    protected List<RenderResult> renderAll(List<RenderTask> tasks, int parallelism) throws InterruptedException {
+        if (Objects.nonNull(renderExecutor) && tasks.size() > 1) {
+            return renderAll(tasks, renderExecutor);
+        }
+
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            List<RenderResult> results = new ArrayList<>(tasks.size());
+            for (RenderTask task : tasks) {
+                results.add(render(task));
             }
+            return results;
+        }
 
-            // 创建父目录
-            Files.createDirectories(outputPath.getParent());
+        try (ExecutorService executor = newRenderExecutor(parallelism)) {
+            return renderAll(tasks, executor);
+        }
+    }
 
-            // 渲染模板到文件
-            try (Writer out = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                template.process(dataModel, out);
+    /**
+     * 将一批渲染任务提交到指定线程池，并按任务提交顺序等待结果。
+     *
+     * @param tasks    渲染任务列表
+     * @param executor 线程池
+     * @return 与任务顺序一致的渲染结果列表
+     * @throws InterruptedException 等待任务完成时线程被中断
+     */
+    private List<RenderResult> renderAll(List<RenderTask> tasks, ExecutorService executor) throws InterruptedException {
+        List<Future<RenderResult>> futures = new ArrayList<>(tasks.size());
+        for (RenderTask task : tasks) {
+            futures.add(executor.submit(() -> render(task)));
+        }
+
+        List<RenderResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                results.add(RenderResult.failure(tasks.get(i), e.getCause()));
             }
+        }
+        return results;
+    }
 
-            log.info("Generated file: " + outputPath.toAbsolutePath());
+    /**
+     * 执行单个渲染任务，分别记录渲染与写出耗时，并将异常转换为失败结果。
+     *
+     * @param task 渲染任务
+     * @return 渲染结果
+     */
+    private RenderResult render(RenderTask task) {
+        try {
+            long start = System.nanoTime();
+            RenderBuffer buffer = renderToBuffer(task.templateName(), task.dataModel());
+            long rendered = System.nanoTime();
+            FileStatus status = outputSink.write(task.outputPath(), buffer.array(), buffer.size());
+            return RenderResult.success(task, status, rendered - start, System.nanoTime() - rendered, buffer.size());
         } catch (Exception e) {
-            log.error("Failed to process template: " + templatePath + " -> " + outputPath.toAbsolutePath(), e);
+            return RenderResult.failure(task, e);
         }
     }
 
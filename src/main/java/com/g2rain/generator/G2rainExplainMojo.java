@@ -0,0 +1,103 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.config.SchemaSource;
+import com.g2rain.generator.explain.ExplainAuditor;
+import com.g2rain.generator.explain.ExplainReport;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.utils.PrefixedLog;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 执行计划审计插件目标（{@code g2rain:explain}）。
+ * <p>
+ * 为每张表按 mapper.ftl 构建 {@code selectList}、{@code selectById}、{@code update}、{@code delete} 语句的代表性形态
+ * （{@code selectList} 按每个筛选字段与排序字段分别展开），代入代表性参数后在配置的数据库上执行 {@code EXPLAIN}，
+ * 标记全表扫描、全索引扫描、filesort 与临时表，并按筛选列建议缺失的索引。不渲染、不写入任何生成文件。
+ * 参数与 {@code g2rain:generate} 相同；表结构可以来自快照或 DDL 文件，但需要能连接的 MySQL / MariaDB 库
+ * （开发库或本地的替代库）执行 {@code EXPLAIN}。
+ * </p>
+ *
+ * <p>有问题的语句与索引建议输出到日志，完整报告写入 target/g2rain/explain-report.json；
+ * 多数据源时每个库分别写入 target/g2rain/{name}/explain-report.json。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * mvn g2rain:explain -Dconfig.file=codegen.properties -Dgenerator.explain.failOnFinding=true
+ * }</pre>
+ *
+ * @author jagger
+ */
+@Getter
+@Mojo(name = "explain", requiresProject = false, threadSafe = true)
+public class G2rainExplainMojo extends AbstractG2rainMojo {
+
+    /**
+     * 存在全表扫描、filesort 等问题时是否使构建失败，默认 false（只报告）
+     */
+    @Setter
+    @Parameter(property = "generator.explain.failOnFinding", defaultValue = "false")
+    private boolean failOnFinding;
+
+    /**
+     * 插件执行主逻辑：参数收集与验证、配置展示，然后审计各数据源的 mapper 语句。
+     *
+     * @throws MojoExecutionException 当审计失败，或开启 failOnFinding 且存在问题时抛出
+     */
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            prepare();
+
+            getLog().info(">>> Starting Explain Audit...");
+            Path workDir = workDir();
+            int findings = 0;
+            if (hasSchemas()) {
+                for (Map.Entry<String, SchemaSource> entry : resolveSchemas().entrySet()) {
+                    String name = entry.getKey();
+                    findings += explain(new PrefixedLog(getLog(), "[" + name + "] "), createFoundryConfig(entry.getValue(), workDir.resolve(name)));
+                }
+            } else {
+                findings = explain(getLog(), createFoundryConfig(topLevelSource(), workDir));
+            }
+            getLog().info(">>> Explain Audit Completed.");
+
+            if (this.failOnFinding && findings > 0) {
+                throw new MojoExecutionException(findings + " statement(s) with full scans, filesorts or temporary tables, see explain-report.json");
+            }
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            getLog().info("  G2Rain Generator - Execution failed: " + e.getMessage(), e);
+            throw new MojoExecutionException("Explain failed", e);
+        }
+    }
+
+    /**
+     * 审计单个数据源的 mapper 语句，输出汇总并写出 JSON 报告
+     *
+     * @return 存在问题的语句数
+     */
+    private static int explain(Log log, FoundryConfig config) throws Exception {
+        if (!config.isInformationSchemaSupported()) {
+            throw new MojoExecutionException("The explain goal requires a MySQL or MariaDB database, url: " + config.getUrl());
+        }
+
+        FoundryGenerator generator = new FoundryGenerator(log, config);
+        ExplainReport report = new ExplainAuditor(log, config).audit(generator.introspectTables(), generator);
+        report.log(log);
+
+        Path reportFile = config.getExplainReportFile();
+        report.writeJson(reportFile);
+        log.info("Explain report: " + reportFile.toAbsolutePath());
+        return report.getFindingCount();
+    }
+}
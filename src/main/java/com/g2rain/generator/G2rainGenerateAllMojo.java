@@ -0,0 +1,190 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.config.SchemaSource;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.generator.MultiSchemaGenerator;
+import com.g2rain.generator.introspect.PreloadedIntrospector;
+import com.g2rain.generator.introspect.SchemaIntrospector;
+import com.g2rain.generator.introspect.TableSelector;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * reactor 聚合生成插件目标（{@code g2rain:generate-all}）。
+ * <p>
+ * 在多模块构建的根项目上只执行一次，为 reactor 中每个在 {@code <build><plugins>} 中声明了本插件的模块生成代码：
+ * </p>
+ * <ol>
+ *     <li>读取各模块的插件配置（{@code basePackage}、{@code tables}、{@code url} 等），未配置的字段沿用根项目的参数</li>
+ *     <li>连接同一数据库的模块合并为一组，每组只列出一次全部表、只内省一次全部模块需要的表</li>
+ *     <li>各模块使用内存中的内省结果（{@link PreloadedIntrospector}）并发生成，共享渲染线程池与模板缓存；
+ *     生成文件位于各模块根目录下，快照、增量清单与性能指标保存在各模块的 target/g2rain 中</li>
+ * </ol>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * mvn g2rain:generate-all -Dconfig.file=codegen.properties -Dgenerator.parallelism=8
+ * }</pre>
+ *
+ * @author jagger
+ */
+@Mojo(name = "generate-all", aggregator = true, threadSafe = true)
+public class G2rainGenerateAllMojo extends AbstractG2rainMojo {
+
+    /**
+     * reactor 中的全部项目
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * 当前插件描述，用于在各模块中查找本插件的配置
+     */
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor pluginDescriptor;
+
+    /**
+     * 插件执行主逻辑：参数收集与验证、配置展示，一次内省后为全部模块并发生成代码。
+     *
+     * @throws MojoExecutionException 当配置不满足聚合生成条件或任意模块生成失败时抛出
+     */
+    @Override
+    @SuppressWarnings("java:S2142")
+    public void execute() throws MojoExecutionException {
+        try {
+            prepare();
+            if (hasSchemas()) {
+                throw new MojoExecutionException("The generate-all goal reads per-module plugin configuration; schemas is not supported");
+            }
+
+            Map<String, SchemaSource> sources = new LinkedHashMap<>();
+            Map<String, FoundryConfig> configs = new LinkedHashMap<>();
+            for (MavenProject module : reactorProjects) {
+                SchemaSource source = moduleSource(module);
+                if (Objects.isNull(source)) {
+                    continue;
+                }
+
+                Path moduleWorkDir = Path.of(module.getBuild().getDirectory(), "g2rain");
+                sources.put(module.getArtifactId(), source);
+                configs.put(module.getArtifactId(), createFoundryConfig(module, source, moduleWorkDir));
+            }
+            if (configs.isEmpty()) {
+                getLog().warn("No reactor module declares " + pluginDescriptor.getPluginLookupKey() + " with basePackage and tables");
+                return;
+            }
+
+            getLog().info(">>> Starting Reactor Code Generation for " + configs.size() + " module(s)...");
+            MultiSchemaGenerator generator = new MultiSchemaGenerator(getLog(), configs, resolveParallelism());
+            generator.setIntrospectors(introspectOnce(sources, configs));
+            generator.generate();
+            getLog().info(">>> Reactor Code Generation Completed.");
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            getLog().info("  G2Rain Generator - Execution failed: " + e.getMessage(), e);
+            throw new MojoExecutionException("Generation failed", e);
+        }
+    }
+
+    /**
+     * 读取模块的插件配置，未配置的字段沿用根项目的参数。
+     *
+     * @param module reactor 中的模块
+     * @return 模块的数据源；未声明本插件，或补全后仍缺少基础包名或表名时返回 {@code null}
+     */
+    private SchemaSource moduleSource(MavenProject module) {
+        Plugin plugin = module.getPlugin(pluginDescriptor.getPluginLookupKey());
+        if (Objects.isNull(plugin)) {
+            return null;
+        }
+
+        SchemaSource source = new SchemaSource();
+        source.setName(module.getArtifactId());
+        if (plugin.getConfiguration() instanceof Xpp3Dom dom) {
+            source.setBasePackage(value(dom, "basePackage"));
+            source.setUrl(value(dom, "url"));
+            source.setDriver(value(dom, "driver"));
+            source.setUsername(value(dom, "username"));
+            source.setPassword(value(dom, "password"));
+            source.setTables(value(dom, "tables"));
+        }
+        source.withDefaults(topLevelSource());
+
+        if (Strings.isBlank(source.getBasePackage()) || Strings.isBlank(source.getTables())) {
+            getLog().debug("Skip module without basePackage or tables: " + module.getArtifactId());
+            return null;
+        }
+        return source;
+    }
+
+    /**
+     * 读取配置元素的值，不存在时返回 {@code null}
+     */
+    private static String value(Xpp3Dom dom, String name) {
+        Xpp3Dom child = dom.getChild(name);
+        return Objects.isNull(child) ? null : child.getValue();
+    }
+
+    /**
+     * 按数据库分组，每组只列出一次全部表、只内省一次各模块需要的表的并集。
+     *
+     * @param sources 模块 → 数据源
+     * @param configs 模块 → 配置
+     * @return 模块 → 基于内存结果的内省器
+     * @throws Exception 内省失败时抛出
+     */
+    @SuppressWarnings("java:S112")
+    private Map<String, SchemaIntrospector> introspectOnce(Map<String, SchemaSource> sources, Map<String, FoundryConfig> configs) throws Exception {
+        // 连接信息相同的模块共用一次内省
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        configs.forEach((name, config) -> groups.computeIfAbsent(config.getUrl() + "|" + config.getUsername(), k -> new ArrayList<>()).add(name));
+
+        Map<String, SchemaIntrospector> introspectors = new HashMap<>();
+        for (List<String> members : groups.values()) {
+            long start = System.nanoTime();
+            // 共用的内省（含快照）保存在根项目的 target/g2rain/reactor/{database} 中
+            String first = members.getFirst();
+            Path sharedWorkDir = workDir().resolve("reactor").resolve(configs.get(first).getDatabase());
+            SchemaIntrospector introspector = FoundryGenerator.createIntrospector(getLog(), createFoundryConfig(sources.get(first), sharedWorkDir));
+
+            // 含模式时只列出一次全部表
+            Map<String, TableSelector> selectors = new LinkedHashMap<>();
+            members.forEach(name -> selectors.put(name, TableSelector.parse(configs.get(name).getTables())));
+            List<String> allTables = selectors.values().stream().allMatch(TableSelector::isLiteral) ? List.of() : introspector.listTables();
+
+            Set<String> union = new LinkedHashSet<>();
+            selectors.values().forEach(selector -> union.addAll(selector.isLiteral() ? selector.names() : selector.select(allTables)));
+
+            Map<String, TableInfo> tableInfos = new HashMap<>();
+            for (TableInfo tableInfo : introspector.introspect(new ArrayList<>(union))) {
+                tableInfos.put(tableInfo.getTableName(), tableInfo);
+            }
+
+            PreloadedIntrospector preloaded = new PreloadedIntrospector(getLog(), tableInfos, allTables.isEmpty() ? union.stream().sorted().toList() : allTables);
+            members.forEach(name -> introspectors.put(name, preloaded));
+            getLog().info(String.format("Introspected %d table(s) once for %d module(s) [%s] in %d ms",
+                    tableInfos.size(), members.size(), String.join(", ", members), Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        }
+        return introspectors;
+    }
+}
@@ -0,0 +1,219 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.utils.Strings;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 生成源码插件目标（{@code g2rain:generate-sources}），默认绑定到 {@code generate-sources} 阶段。
+ * <p>
+ * 与 {@code g2rain:generate} 直接写入各模块的 src/main/java 不同，本目标把当前模块的生成代码写入
+ * target/generated-sources/g2rain（mapper XML 等资源写入 target/generated-resources/g2rain），
+ * 并注册为编译源码目录与资源目录，随每次构建自动执行，生成代码无需提交到版本库。
+ * </p>
+ *
+ * <ul>
+ *     <li>模板选择：默认选择模块后缀与当前 artifactId 匹配的模板（如 {@code xxx-biz} 只生成 {@code -biz} 模板），
+ *     没有匹配时生成全部模板；skipIfExists 的脚手架模板（application.yml 等）只生成一次、需要手工维护，不参与本目标</li>
+ *     <li>输入：相关配置、插件版本、表名、模板（含项目模板目录与 include 的片段）以及表结构来源（DDL 文件或离线快照），
+ *     指纹记录在 target/g2rain/generate-sources.stamp；离线或 DDL 模式下指纹未变化且输出目录存在时直接跳过生成，
+ *     不连接数据库、不渲染任何模板</li>
+ *     <li>输出：只写入内容发生变化的文件，未变化文件的修改时间保持不变，下游编译的增量检查随之跳过</li>
+ * </ul>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * <execution>
+ *     <goals><goal>generate-sources</goal></goals>
+ *     <configuration>
+ *         <basePackage>com.example.demo</basePackage>
+ *         <tables>user,order_info</tables>
+ *         <ddl>src/main/resources/db/migration</ddl>
+ *     </configuration>
+ * </execution>
+ * }</pre>
+ *
+ * @author jagger
+ */
+@Getter
+@Mojo(name = "generate-sources", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class G2rainGenerateSourcesMojo extends AbstractG2rainMojo {
+
+    /**
+     * 生成源码目录，注册为编译源码目录
+     */
+    @Setter
+    @Parameter(property = "generator.sources.outputDirectory", defaultValue = "${project.build.directory}/generated-sources/g2rain")
+    private File outputDirectory;
+
+    /**
+     * 生成资源目录（mapper XML 等），注册为资源目录
+     */
+    @Setter
+    @Parameter(property = "generator.sources.resourcesDirectory", defaultValue = "${project.build.directory}/generated-resources/g2rain")
+    private File resourcesDirectory;
+
+    /**
+     * 参与生成的模板（{@link TemplatePaths} 名称，逗号分隔），未配置时按 artifactId 的模块后缀选择
+     */
+    @Setter
+    @Parameter(property = "generator.sources.templates")
+    private String sourceTemplates;
+
+    /**
+     * 是否跳过本目标
+     */
+    @Setter
+    @Parameter(property = "generator.sources.skip", defaultValue = "false")
+    private boolean skip;
+
+    /**
+     * 插件执行主逻辑：参数验证，输入未变化时跳过生成，否则生成到 target 下的目录，最后注册源码与资源目录。
+     *
+     * @throws MojoExecutionException 当参数不满足条件或生成失败时抛出
+     */
+    @Override
+    @SuppressWarnings("java:S2142")
+    public void execute() throws MojoExecutionException {
+        if (this.skip) {
+            getLog().info("G2Rain generate-sources is skipped");
+            return;
+        }
+
+        try {
+            prepare();
+            if (hasSchemas()) {
+                throw new MojoExecutionException("The generate-sources goal generates a single module; schemas is not supported");
+            }
+
+            FoundryConfig config = createFoundryConfig(topLevelSource(), workDir());
+            config.setGeneratedSourcesDir(this.outputDirectory.toPath());
+            config.setGeneratedResourcesDir(this.resourcesDirectory.toPath());
+            config.setTemplates(resolveTemplates());
+            // 目录完全由生成器管理, 始终覆盖; 归档输出与模块分片不适用于编译源码目录
+            config.setOverwrite(true);
+            config.setArchive(false);
+            config.setShards(null);
+
+            FoundryGenerator generator = new FoundryGenerator(getLog(), config);
+            if (isUpToDate(config, generator)) {
+                getLog().info("Generated sources are up to date: " + this.outputDirectory);
+            } else {
+                getLog().info(">>> Starting Source Generation...");
+                generator.generate();
+                if (isDatabaseFree() && !config.isDryRun()) {
+                    Path stampFile = config.getSourcesStampFile();
+                    Files.createDirectories(stampFile.getParent());
+                    Files.writeString(stampFile, generator.inputDigest(), StandardCharsets.UTF_8);
+                }
+                getLog().info(">>> Source Generation Completed.");
+            }
+
+            registerRoots(config.getTemplates());
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            getLog().info("  G2Rain Generator - Execution failed: " + e.getMessage(), e);
+            throw new MojoExecutionException("Source generation failed", e);
+        }
+    }
+
+    /**
+     * 绑定到构建生命周期，参数缺失时直接报错而不是等待输入
+     */
+    @Override
+    protected boolean isInteractive() {
+        return false;
+    }
+
+    /**
+     * 解析参与生成的模板：显式配置优先，否则按 artifactId 的模块后缀匹配，均不包含 skipIfExists 的脚手架模板
+     */
+    private Set<TemplatePaths> resolveTemplates() throws MojoExecutionException {
+        Set<TemplatePaths> selected = EnumSet.noneOf(TemplatePaths.class);
+        if (Strings.isNotBlank(this.sourceTemplates)) {
+            for (String name : this.sourceTemplates.split(",")) {
+                if (Strings.isBlank(name)) {
+                    continue;
+                }
+                try {
+                    selected.add(TemplatePaths.valueOf(name.strip().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new MojoExecutionException("Unknown template: " + name.strip() + ", expected one of " + Arrays.toString(TemplatePaths.values()));
+                }
+            }
+        } else {
+            String artifactId = getProject().getArtifactId();
+            for (TemplatePaths p : TemplatePaths.values()) {
+                if (artifactId.endsWith(p.getModuleSuffix())) {
+                    selected.add(p);
+                }
+            }
+            if (selected.isEmpty()) {
+                selected.addAll(EnumSet.allOf(TemplatePaths.class));
+            }
+        }
+
+        selected.removeIf(TemplatePaths::isSkipIfExists);
+        if (selected.isEmpty()) {
+            throw new MojoExecutionException("No template selected for generate-sources");
+        }
+        getLog().info(String.format("Templates for %s: %s", getProject().getArtifactId(), selected));
+        return selected;
+    }
+
+    /**
+     * 离线或 DDL 模式下，输入指纹与上次生成一致且输出目录存在时无需重新生成；连接数据库时始终执行生成
+     * （增量清单与内容比较保证未变化的文件不被改写）。
+     */
+    private boolean isUpToDate(FoundryConfig config, FoundryGenerator generator) throws IOException {
+        if (!isDatabaseFree() || config.isDryRun() || !this.outputDirectory.isDirectory()) {
+            return false;
+        }
+
+        Path stampFile = config.getSourcesStampFile();
+        if (Files.notExists(stampFile)) {
+            return false;
+        }
+        return Files.readString(stampFile, StandardCharsets.UTF_8).equals(generator.inputDigest());
+    }
+
+    /**
+     * 注册编译源码目录与资源目录，未被跳过时也需要注册，下游编译才能看到生成代码
+     */
+    private void registerRoots(Set<TemplatePaths> templates) {
+        MavenProject project = getProject();
+        if (templates.stream().anyMatch(TemplatePaths::isJavaSource)) {
+            project.addCompileSourceRoot(this.outputDirectory.getAbsolutePath());
+        }
+
+        String resourcesPath = this.resourcesDirectory.getAbsolutePath();
+        boolean hasResources = templates.stream().anyMatch(p -> !p.isJavaSource());
+        boolean registered = project.getResources().stream().anyMatch(r -> Objects.equals(r.getDirectory(), resourcesPath));
+        if (hasResources && !registered) {
+            Resource resource = new Resource();
+            resource.setDirectory(resourcesPath);
+            project.addResource(resource);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.config.SchemaSource;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.generator.GenerationPlan;
+import com.g2rain.generator.utils.PrefixedLog;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 生成计划插件目标（{@code g2rain:plan}）。
+ * <p>
+ * 内省表结构并解析完整的生成计划：每个 (表 × 模板) 作业的输出路径、处理方式（渲染 / 已存在跳过 / 未变化跳过）
+ * 与输入指纹，只输出计划而不渲染、不写入任何生成文件。参数与 {@code g2rain:generate} 相同。
+ * </p>
+ *
+ * <p>按模板统计的汇总输出到日志（逐个作业的明细为 debug 级别），完整计划写入 target/g2rain/generation-plan.json；
+ * 多数据源时每个库分别写入 target/g2rain/{name}/generation-plan.json。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * mvn g2rain:plan -Dconfig.file=codegen.properties
+ * }</pre>
+ *
+ * @author jagger
+ */
+@Mojo(name = "plan", requiresProject = false, threadSafe = true)
+public class G2rainPlanMojo extends AbstractG2rainMojo {
+
+    /**
+     * 插件执行主逻辑：参数收集与验证、配置展示，然后解析并输出生成计划。
+     *
+     * @throws MojoExecutionException 当解析生成计划失败时抛出
+     */
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            prepare();
+
+            getLog().info(">>> Starting Generation Plan...");
+            Path workDir = workDir();
+            if (hasSchemas()) {
+                for (Map.Entry<String, SchemaSource> entry : resolveSchemas().entrySet()) {
+                    String name = entry.getKey();
+                    plan(new PrefixedLog(getLog(), "[" + name + "] "), createFoundryConfig(entry.getValue(), workDir.resolve(name)));
+                }
+            } else {
+                plan(getLog(), createFoundryConfig(topLevelSource(), workDir));
+            }
+            getLog().info(">>> Generation Plan Completed.");
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            getLog().info("  G2Rain Generator - Execution failed: " + e.getMessage(), e);
+            throw new MojoExecutionException("Plan failed", e);
+        }
+    }
+
+    /**
+     * 解析单个数据源的生成计划，输出汇总并写出 JSON 文件
+     */
+    private static void plan(Log log, FoundryConfig config) throws Exception {
+        GenerationPlan plan = new FoundryGenerator(log, config).plan();
+        plan.log(log);
+
+        Path planFile = config.getGenerationPlanFile();
+        plan.writeJson(planFile);
+        log.info("Generation plan: " + planFile.toAbsolutePath());
+    }
+}
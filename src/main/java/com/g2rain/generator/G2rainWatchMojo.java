@@ -0,0 +1,75 @@
+package com.g2rain.generator;
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.generator.SchemaWatcher;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.time.Duration;
+
+/**
+ * 表结构监视插件目标（{@code g2rain:watch}）。
+ * <p>
+ * 先按配置完整生成一次，然后持续轮询 information_schema 中的表结构指纹，
+ * 只为结构发生变化（或新匹配到）的表重新生成代码，直到按下 Ctrl+C。
+ * 适用于频繁执行数据库迁移的开发阶段，参数与 {@code g2rain:generate} 相同。
+ * </p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * mvn g2rain:watch -Dconfig.file=codegen.properties -Dtables.overwrite=true
+ * }</pre>
+ *
+ * @author jagger
+ */
+@Getter
+@Mojo(name = "watch", requiresProject = false)
+public class G2rainWatchMojo extends AbstractG2rainMojo {
+
+    /**
+     * 轮询间隔（毫秒），默认 500
+     */
+    @Setter
+    @Parameter(property = "generator.watch.interval", defaultValue = "500")
+    private long watchInterval;
+
+    /**
+     * 插件执行主逻辑：参数收集与验证、配置展示，然后进入监视循环。
+     *
+     * @throws MojoExecutionException 当参数不满足监视条件或监视过程失败时抛出
+     */
+    @Override
+    @SuppressWarnings("java:S2142")
+    public void execute() throws MojoExecutionException {
+        try {
+            prepare();
+
+            // 监视依赖 information_schema 指纹, 只支持单个在线 MySQL / MariaDB 库
+            if (hasSchemas() || isDatabaseFree()) {
+                throw new MojoExecutionException("The watch goal polls a single live database; schemas, offline and ddl are not supported");
+            }
+
+            FoundryConfig config = createFoundryConfig(topLevelSource(), workDir());
+            if (!config.isInformationSchemaSupported()) {
+                throw new MojoExecutionException("The watch goal requires a MySQL or MariaDB database, url: " + config.getUrl());
+            }
+            if (!config.isOverwrite()) {
+                getLog().warn("tables.overwrite is false, existing files will not be regenerated when the schema changes");
+            }
+
+            getLog().info(">>> Starting Schema Watch...");
+            new SchemaWatcher(getLog(), config, Duration.ofMillis(Math.max(100, this.watchInterval))).watch();
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().info(">>> Schema Watch Stopped.");
+        } catch (Exception e) {
+            getLog().info("  G2Rain Generator - Execution failed: " + e.getMessage(), e);
+            throw new MojoExecutionException("Watch failed", e);
+        }
+    }
+}
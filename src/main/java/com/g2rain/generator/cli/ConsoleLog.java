@@ -0,0 +1,136 @@
+package com.g2rain.generator.cli;
+
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+/**
+ * 命令行启动器使用的控制台日志，输出格式与 Maven 日志一致（{@code [INFO] ...}）。
+ *
+ * <p>生成器的核心类只依赖 Maven 的 {@link Log} 接口，命令行模式下由该类实现：info 输出到标准输出，
+ * warn / error 输出到标准错误；debug 级别只在 {@code --debug} 时输出（{@code SystemStreamLog} 无法关闭 debug 输出）。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * Log log = new ConsoleLog(false);
+ * log.info("Generated file: ..."); // [INFO] Generated file: ...
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class ConsoleLog implements Log {
+
+    /**
+     * 是否输出 debug 级别日志
+     */
+    private final boolean debugEnabled;
+
+    /**
+     * 构造函数
+     *
+     * @param debugEnabled 是否输出 debug 级别日志
+     */
+    public ConsoleLog(boolean debugEnabled) {
+        this.debugEnabled = debugEnabled;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+        debug(content, null);
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+        if (debugEnabled) {
+            print(System.out, "DEBUG", content, error);
+        }
+    }
+
+    @Override
+    public void debug(Throwable error) {
+        debug(null, error);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return true;
+    }
+
+    @Override
+    public void info(CharSequence content) {
+        info(content, null);
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+        // 异常堆栈只在 debug 模式下输出, 默认只输出消息
+        print(System.out, "INFO", content, debugEnabled ? error : null);
+    }
+
+    @Override
+    public void info(Throwable error) {
+        info(null, error);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return true;
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+        warn(content, null);
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+        print(System.err, "WARNING", content, error);
+    }
+
+    @Override
+    public void warn(Throwable error) {
+        warn(null, error);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return true;
+    }
+
+    @Override
+    public void error(CharSequence content) {
+        error(content, null);
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+        print(System.err, "ERROR", content, error);
+    }
+
+    @Override
+    public void error(Throwable error) {
+        error(null, error);
+    }
+
+    /**
+     * 输出一条日志，内容为空时输出异常描述
+     */
+    @SuppressWarnings("java:S106")
+    private static void print(PrintStream out, String level, CharSequence content, Throwable error) {
+        String text = Objects.nonNull(content) ? content.toString() : String.valueOf(error);
+        synchronized (out) {
+            out.println("[" + level + "] " + text);
+            if (Objects.nonNull(error)) {
+                error.printStackTrace(out);
+            }
+        }
+    }
+}
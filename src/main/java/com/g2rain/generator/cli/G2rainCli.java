@@ -0,0 +1,237 @@
+package com.g2rain.generator.cli;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.config.FoundryOptions;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.generator.GenerationPlan;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * 代码生成器的独立命令行入口，不经过 Maven 启动与插件解析，直接调用 {@link FoundryGenerator}。
+ * <p>
+ * 读取与 {@code g2rain:generate} 相同格式的 codegen.properties（键名一致），命令行上的 {@code -Dkey=value}
+ * 优先于配置文件；工作目录同样是项目根目录下的 target/g2rain，因此表结构快照、增量清单与 Maven 目标共享，
+ * 两种方式可以交替使用。项目名（模块名前缀）取项目根目录 pom.xml 中的 artifactId，
+ * 没有 pom.xml 时取 {@code project.artifactId} 或目录名。
+ * </p>
+ *
+ * <p>由 {@code cli} profile 打包为可执行的 {@code g2rain-generator-maven-plugin-{version}-cli.jar}，
+ * 配套的 {@code g2rain} 启动脚本通过 AppCDS 归档缓存已加载的类，首次执行后启动只需数百毫秒。
+ * 只支持单个数据源，多数据源（{@code generator.schemas}）请使用 Maven 目标。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * g2rain generate -c codegen.properties -Dgenerator.ddl=src/main/resources/db/migration
+ * g2rain plan -p ../demo
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class G2rainCli {
+
+    /**
+     * 执行成功
+     */
+    private static final int EXIT_OK = 0;
+
+    /**
+     * 生成失败
+     */
+    private static final int EXIT_FAILED = 1;
+
+    /**
+     * 参数错误
+     */
+    private static final int EXIT_USAGE = 2;
+
+    /**
+     * 默认配置文件名
+     */
+    private static final String DEFAULT_CONFIG_FILE = "codegen.properties";
+
+    /**
+     * 使用说明
+     */
+    private static final String USAGE = """
+            Usage: g2rain [generate|plan] [options]
+
+              generate                  Generate code (default)
+              plan                      Resolve and print the generation plan without writing files
+
+            Options:
+              -c, --config <file>       Configuration file (default: <project-dir>/codegen.properties if present)
+              -p, --project-dir <dir>   Project root directory (default: current directory)
+              -D<key>=<value>           Override a configuration key, e.g. -Dgenerator.ddl=schema.sql
+                  --debug               Print debug logs and stack traces
+              -h, --help                Print this help
+            """;
+
+    private G2rainCli() {
+    }
+
+    /**
+     * 命令行入口，以退出码结束进程：0 成功，1 生成失败，2 参数错误。
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * 解析参数并执行生成，不退出进程。
+     *
+     * @param args 命令行参数
+     * @return 退出码
+     */
+    @SuppressWarnings("java:S106")
+    public static int run(String[] args) {
+        String goal = "generate";
+        Path configFile = null;
+        Path projectDir = Path.of("");
+        boolean debug = false;
+        Properties overrides = new Properties();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "generate", "plan" -> goal = arg;
+                    case "-c", "--config" -> configFile = Path.of(value(args, ++i, arg));
+                    case "-p", "--project-dir" -> projectDir = Path.of(value(args, ++i, arg));
+                    case "--debug" -> debug = true;
+                    case "-h", "--help" -> {
+                        System.out.print(USAGE);
+                        return EXIT_OK;
+                    }
+                    default -> {
+                        int eq = arg.indexOf('=');
+                        if (!arg.startsWith("-D") || eq < 3) {
+                            throw new IllegalArgumentException("Unknown argument: " + arg);
+                        }
+                        overrides.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        Log log = new ConsoleLog(debug);
+        try {
+            Path baseDir = projectDir.toAbsolutePath().normalize();
+            FoundryConfig config = createFoundryConfig(log, baseDir, loadProperties(log, baseDir, configFile, overrides));
+            if ("plan".equals(goal)) {
+                GenerationPlan plan = new FoundryGenerator(log, config).plan();
+                plan.log(log);
+                Path planFile = config.getGenerationPlanFile();
+                plan.writeJson(planFile);
+                log.info("Generation plan: " + planFile.toAbsolutePath());
+            } else {
+                log.info(">>> Starting Code Generation...");
+                new FoundryGenerator(log, config).generate();
+                log.info(">>> Code Generation Completed.");
+            }
+            return EXIT_OK;
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return EXIT_USAGE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted");
+            return EXIT_FAILED;
+        } catch (Exception e) {
+            log.error("G2Rain Generator - Execution failed: " + e.getMessage(), debug ? e : null);
+            return EXIT_FAILED;
+        }
+    }
+
+    /**
+     * 读取选项的值
+     */
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length || Strings.isBlank(args[index])) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    /**
+     * 读取配置文件并叠加命令行覆盖项；未指定配置文件时使用项目根目录下存在的 codegen.properties
+     */
+    private static Properties loadProperties(Log log, Path baseDir, Path configFile, Properties overrides) throws IOException {
+        Path file = Objects.nonNull(configFile) ? baseDir.resolve(configFile) : baseDir.resolve(DEFAULT_CONFIG_FILE);
+        if (Objects.nonNull(configFile) && !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Config file not found: " + file);
+        }
+
+        Properties props = new Properties();
+        if (Files.isRegularFile(file)) {
+            log.info("Load config: " + file);
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            }
+        }
+        props.putAll(overrides);
+        return props;
+    }
+
+    /**
+     * 由配置项创建 Foundry 配置，读取、校验与构建均由 {@link FoundryOptions} 完成，与 Maven 目标读取 codegen.properties 的规则一致
+     */
+    private static FoundryConfig createFoundryConfig(Log log, Path baseDir, Properties props) throws Exception {
+        FoundryOptions options = FoundryOptions.load(props);
+        if (options.hasSchemas()) {
+            throw new IllegalArgumentException("generator.schemas is not supported by the command line launcher, use mvn g2rain:generate instead");
+        }
+
+        options.validate();
+        String projectName = resolveProjectName(baseDir, props);
+        FoundryConfig config = options.createFoundryConfig(projectName, baseDir, options.topLevelSource(),
+                baseDir.resolve("target").resolve("g2rain"), options.resolveShards(baseDir));
+        options.log(log, projectName);
+        return config;
+    }
+
+    /**
+     * 项目名：pom.xml 的 artifactId，其次为 {@code project.artifactId} 配置项，最后为目录名
+     */
+    private static String resolveProjectName(Path baseDir, Properties props) throws Exception {
+        Path pom = baseDir.resolve("pom.xml");
+        if (Files.isRegularFile(pom)) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            Document document = factory.newDocumentBuilder().parse(pom.toFile());
+            // 只取 <project> 的直接子元素, 忽略 <parent> 与依赖中的 artifactId
+            for (Node node = document.getDocumentElement().getFirstChild(); Objects.nonNull(node); node = node.getNextSibling()) {
+                if (node.getNodeType() == Node.ELEMENT_NODE && "artifactId".equals(node.getNodeName())) {
+                    return node.getTextContent().strip();
+                }
+            }
+        }
+
+        String artifactId = props.getProperty("project.artifactId");
+        if (Strings.isNotBlank(artifactId)) {
+            return artifactId.strip();
+        }
+        return Objects.toString(baseDir.getFileName(), "project");
+    }
+}
@@ -2,6 +2,8 @@ package com.g2rain.generator.config;
 
 
 import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.metrics.GenerationMetrics;
+import com.g2rain.generator.shard.ShardResolver;
 import com.g2rain.generator.utils.Constants;
 import com.g2rain.generator.utils.Strings;
 import lombok.Getter;
@@ -16,7 +18,14 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
 
 /**
  * Foundry 配置类，用于管理代码生成器（Foundry）所需的项目与数据库配置信息。
@@ -109,6 +118,99 @@ public class FoundryConfig extends GeneratorConfig {
     @Setter
     private boolean overwrite;
 
+    /**
+     * 模板渲染并行度，小于等于 1 表示串行渲染
+     */
+    @Setter
+    private int parallelism = 1;
+
+    /**
+     * 生成文件的根目录，模块路径相对该目录解析，默认当前工作目录
+     */
+    @Setter
+    private Path baseDir = Paths.get("");
+
+    /**
+     * 生成器工作目录，用于存放表结构快照等中间状态，默认 target/g2rain
+     */
+    @Setter
+    private Path workDir = Paths.get("target", "g2rain");
+
+    /**
+     * 是否离线生成：为 true 时不连接数据库，仅从表结构快照中读取表信息
+     */
+    @Setter
+    private boolean offline;
+
+    /**
+     * MySQL DDL 文件或目录（如 Flyway 迁移脚本目录、schema.sql），非空时从 DDL 解析表结构，不连接数据库
+     */
+    @Setter
+    private List<Path> ddlFiles = List.of();
+
+    /**
+     * 项目模板目录，为 {@code null} 时只使用插件内置模板；其中的同名模板与片段优先于内置模板
+     */
+    @Setter
+    private Path templateDir;
+
+    /**
+     * 是否归档输出：为 true 时每个模块的生成文件写入 {@link #getArchiveDir()} 下的一个源码归档，不写出单独的文件
+     */
+    @Setter
+    private boolean archive;
+
+    /**
+     * 分片解析器：不为 {@code null} 时 -api、-biz 模板按表所属分片写入 {projectName}-domains 下的领域模块，
+     * 并生成聚合与分片模块的 pom.xml
+     */
+    @Setter
+    private ShardResolver shards;
+
+    /**
+     * 参与生成的模板，默认全部模板
+     */
+    @Setter
+    private Set<TemplatePaths> templates = EnumSet.allOf(TemplatePaths.class);
+
+    /**
+     * 生成源码目录（如 target/generated-sources/g2rain），不为 {@code null} 时 Java 文件按包路径直接写入该目录，
+     * 不再写入各模块的 src/main/java
+     */
+    @Setter
+    private Path generatedSourcesDir;
+
+    /**
+     * 生成资源目录（如 target/generated-resources/g2rain），与 {@link #generatedSourcesDir} 同时使用，
+     * 资源文件（如 mapper XML）写入该目录下去掉 src/main/resources 前缀后的位置
+     */
+    @Setter
+    private Path generatedResourcesDir;
+
+    /**
+     * 是否增量生成：为 true 时跳过输入指纹未变化且未被手工修改的输出文件
+     */
+    @Setter
+    private boolean incremental = true;
+
+    /**
+     * 是否预演：为 true 时只在内存中渲染并与已有文件比较，输出 diff 与汇总报告，不写入任何生成文件
+     */
+    @Setter
+    private boolean dryRun;
+
+    /**
+     * 是否使用构建时编译的模板：为 true 时未被覆盖的内置模板由编译生成的 Java 渲染类输出，其余模板仍由 FreeMarker 渲染
+     */
+    @Setter
+    private boolean compiledTemplates;
+
+    /**
+     * 本次生成的性能指标，由生成器在每次生成开始时设置，为 {@code null} 时不记录
+     */
+    @Setter
+    private GenerationMetrics metrics;
+
     /**
      * 数据库主机
      */
@@ -246,6 +348,118 @@ public class FoundryConfig extends GeneratorConfig {
         return jdbcConnectionConfiguration;
     }
 
+    /**
+     * 使用当前配置的驱动与账号打开一个 JDBC 连接。
+     *
+     * <p>与 MyBatis Generator 的连接方式一致：直接实例化驱动类并调用 {@link Driver#connect(String, Properties)}，
+     * 不依赖 {@link java.sql.DriverManager} 的类加载器可见性（Maven 插件运行在独立的 ClassRealm 中）。</p>
+     *
+     * @return 新打开的数据库连接，由调用方负责关闭
+     * @throws ReflectiveOperationException 驱动类加载或实例化失败时抛出
+     * @throws SQLException                 连接失败或驱动不接受该 URL 时抛出
+     */
+    public Connection openConnection() throws ReflectiveOperationException, SQLException {
+        long start = System.nanoTime();
+        Driver jdbcDriver = (Driver) Class.forName(this.driver).getDeclaredConstructor().newInstance();
+
+        Properties props = new Properties();
+        if (Objects.nonNull(this.username)) {
+            props.setProperty("user", this.username);
+        }
+        if (Objects.nonNull(this.password)) {
+            props.setProperty("password", this.password);
+        }
+
+        Connection connection = jdbcDriver.connect(this.url, props);
+        if (Objects.isNull(connection)) {
+            throw new SQLException("No suitable driver found for url: " + this.url);
+        }
+
+        if (Objects.nonNull(this.metrics)) {
+            this.metrics.addPhase(GenerationMetrics.PHASE_CONNECT, System.nanoTime() - start);
+        }
+        return connection;
+    }
+
+    /**
+     * 获取表结构快照目录路径
+     */
+    public Path getSchemaSnapshotDir() {
+        return this.workDir.resolve("schema-snapshot");
+    }
+
+    /**
+     * 获取增量生成清单文件路径
+     */
+    public Path getGenerationManifestFile() {
+        return this.workDir.resolve("generation-manifest.txt");
+    }
+
+    /**
+     * 获取预演 unified diff 文件路径
+     */
+    public Path getDryRunDiffFile() {
+        return this.workDir.resolve("dry-run.diff");
+    }
+
+    /**
+     * 获取预演 JSON 汇总文件路径
+     */
+    public Path getDryRunSummaryFile() {
+        return this.workDir.resolve("dry-run-summary.json");
+    }
+
+    /**
+     * 获取生成文件的暂存目录，全部渲染成功后再移动到最终位置
+     */
+    public Path getStagingDir() {
+        return this.workDir.resolve("staging");
+    }
+
+    /**
+     * 获取生成计划 JSON 文件路径
+     */
+    public Path getGenerationPlanFile() {
+        return this.workDir.resolve("generation-plan.json");
+    }
+
+    /**
+     * 获取生成源码模式的输入指纹文件路径
+     */
+    public Path getSourcesStampFile() {
+        return this.workDir.resolve("generate-sources.stamp");
+    }
+
+    /**
+     * 获取源码归档输出目录
+     */
+    public Path getArchiveDir() {
+        return this.workDir.resolve("archives");
+    }
+
+    /**
+     * 获取 EXPLAIN 审计 JSON 报告文件路径
+     */
+    public Path getExplainReportFile() {
+        return this.workDir.resolve("explain-report.json");
+    }
+
+    /**
+     * 获取性能指标 JSON 报告文件路径
+     */
+    public Path getGenerationMetricsFile() {
+        return this.workDir.resolve("generation-metrics.json");
+    }
+
+    /**
+     * 是否可以使用 information_schema 批量内省表结构（MySQL / MariaDB）。
+     *
+     * @return URL 为 MySQL 或 MariaDB 协议时返回 {@code true}
+     */
+    public boolean isInformationSchemaSupported() {
+        return Strings.isNotBlank(this.url) && (this.url.startsWith("jdbc:mysql:") || this.url.startsWith("jdbc:mariadb:"));
+    }
+
     /**
      * 生成用于 PO 实体类的 {@link JavaModelGeneratorConfiguration} 配置。
      *
@@ -0,0 +1,474 @@
+package com.g2rain.generator.config;
+
+
+import com.g2rain.generator.shard.ShardResolver;
+import com.g2rain.generator.utils.Constants;
+import com.g2rain.generator.utils.Strings;
+import lombok.Data;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * 代码生成选项：插件参数与 codegen.properties 配置项的统一表示，并负责由选项构建 {@link FoundryConfig}。
+ *
+ * <p>Maven 目标（{@code AbstractG2rainMojo}）与命令行入口（{@code G2rainCli}）都通过 {@link #load(Properties)}
+ * 读取配置文件、通过 {@link #validate()} 校验、通过 {@link #createFoundryConfig} 构建配置，
+ * 键名、取值规则（去除首尾空白、只有 {@code true} 表示开启）与默认值只在此处定义，两个入口不会出现差异。</p>
+ *
+ * <p>未配置的选项为 {@code null}，由 {@link #withDefaults(FoundryOptions)} 用低优先级来源（如配置文件）补全；
+ * 布尔选项未配置时按关闭处理，增量生成例外，未配置时默认开启。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * FoundryOptions options = commandLine.withDefaults(FoundryOptions.load(props));
+ * options.validate();
+ * FoundryConfig config = options.createFoundryConfig("g2rain-demo", baseDir, options.topLevelSource(),
+ *         baseDir.resolve("target/g2rain"), options.resolveShards(baseDir));
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@Data
+public class FoundryOptions {
+
+    /**
+     * Java 基础包名（必填）
+     */
+    private String basePackage;
+
+    /**
+     * 数据库连接 URL
+     */
+    private String url;
+
+    /**
+     * 数据库驱动类
+     */
+    private String driver;
+
+    /**
+     * 数据库用户名
+     */
+    private String username;
+
+    /**
+     * 数据库密码
+     */
+    private String password;
+
+    /**
+     * 待生成的数据库表名（可多表，以逗号分隔）
+     */
+    private String tables;
+
+    /**
+     * 是否覆盖已存在的文件，未配置时不覆盖
+     */
+    private Boolean overwrite;
+
+    /**
+     * 模板渲染并行度，未配置时为 1；小于等于 0 时使用 CPU 核数
+     */
+    private Integer parallelism;
+
+    /**
+     * 是否离线生成
+     */
+    private Boolean offline;
+
+    /**
+     * DDL 文件或目录（逗号分隔，相对项目根目录）
+     */
+    private String ddl;
+
+    /**
+     * 项目模板目录（相对项目根目录）
+     */
+    private String templates;
+
+    /**
+     * 是否增量生成，未配置时开启
+     */
+    private Boolean incremental;
+
+    /**
+     * 是否预演
+     */
+    private Boolean dryRun;
+
+    /**
+     * 是否归档输出
+     */
+    private Boolean archive;
+
+    /**
+     * 输出模块分片：{@code prefix} 或分片映射文件路径（相对项目根目录）
+     */
+    private String shards;
+
+    /**
+     * 是否使用构建时编译的模板
+     */
+    private Boolean compiledTemplates;
+
+    /**
+     * 多数据源配置
+     */
+    private List<SchemaSource> schemas;
+
+    /**
+     * 从 codegen.properties 读取选项，未配置（空白）的键对应选项为 {@code null}。
+     *
+     * <p><b>配置项映射：</b></p>
+     * <ul>
+     *     <li>{@code project.basePackage} → {@code basePackage}</li>
+     *     <li>{@code database.url} / {@code database.driver} / {@code database.username} / {@code database.password}
+     *     / {@code database.tables} → 同名选项</li>
+     *     <li>{@code tables.overwrite} → {@code overwrite}</li>
+     *     <li>{@code generator.parallelism}、{@code generator.offline}、{@code generator.ddl}、{@code generator.templates}、
+     *     {@code generator.incremental}、{@code generator.dryRun}、{@code generator.archive}、{@code generator.shards}、
+     *     {@code generator.compiledTemplates} → 同名选项</li>
+     *     <li>{@code generator.schemas} → {@code schemas}，每个名称 {@code x} 读取 {@code schemas.x.url}、{@code schemas.x.driver}、
+     *     {@code schemas.x.username}、{@code schemas.x.password}、{@code schemas.x.basePackage}、{@code schemas.x.tables}</li>
+     * </ul>
+     *
+     * @param props 配置项
+     * @return 选项
+     * @throws NumberFormatException {@code generator.parallelism} 不是整数时抛出
+     */
+    public static FoundryOptions load(Properties props) {
+        FoundryOptions options = new FoundryOptions();
+        options.basePackage = text(props, "project.basePackage");
+        options.url = text(props, "database.url");
+        options.driver = text(props, "database.driver");
+        options.username = text(props, "database.username");
+        // 密码可能以空白结尾, 保持原值
+        options.password = props.getProperty("database.password");
+        options.tables = text(props, "database.tables");
+        options.overwrite = flag(props, "tables.overwrite");
+        String parallelismValue = text(props, "generator.parallelism");
+        options.parallelism = Objects.isNull(parallelismValue) ? null : Integer.valueOf(parallelismValue);
+        options.offline = flag(props, "generator.offline");
+        options.ddl = text(props, "generator.ddl");
+        options.templates = text(props, "generator.templates");
+        options.incremental = flag(props, "generator.incremental");
+        options.dryRun = flag(props, "generator.dryRun");
+        options.archive = flag(props, "generator.archive");
+        options.shards = text(props, "generator.shards");
+        options.compiledTemplates = flag(props, "generator.compiledTemplates");
+        if (Strings.isNotBlank(props.getProperty("generator.schemas"))) {
+            options.schemas = loadSchemas(props);
+        }
+        return options;
+    }
+
+    /**
+     * 用低优先级来源补全未配置的选项
+     *
+     * @param defaults 低优先级来源，如配置文件
+     * @return 当前对象
+     */
+    public FoundryOptions withDefaults(FoundryOptions defaults) {
+        this.basePackage = Strings.isBlank(this.basePackage) ? defaults.basePackage : this.basePackage;
+        this.url = Strings.isBlank(this.url) ? defaults.url : this.url;
+        this.driver = Strings.isBlank(this.driver) ? defaults.driver : this.driver;
+        this.username = Strings.isBlank(this.username) ? defaults.username : this.username;
+        this.password = Strings.isBlank(this.password) ? defaults.password : this.password;
+        this.tables = Strings.isBlank(this.tables) ? defaults.tables : this.tables;
+        this.overwrite = Objects.isNull(this.overwrite) ? defaults.overwrite : this.overwrite;
+        this.parallelism = Objects.isNull(this.parallelism) ? defaults.parallelism : this.parallelism;
+        this.offline = Objects.isNull(this.offline) ? defaults.offline : this.offline;
+        this.ddl = Strings.isBlank(this.ddl) ? defaults.ddl : this.ddl;
+        this.templates = Strings.isBlank(this.templates) ? defaults.templates : this.templates;
+        this.incremental = Objects.isNull(this.incremental) ? defaults.incremental : this.incremental;
+        this.dryRun = Objects.isNull(this.dryRun) ? defaults.dryRun : this.dryRun;
+        this.archive = Objects.isNull(this.archive) ? defaults.archive : this.archive;
+        this.shards = Strings.isBlank(this.shards) ? defaults.shards : this.shards;
+        this.compiledTemplates = Objects.isNull(this.compiledTemplates) ? defaults.compiledTemplates : this.compiledTemplates;
+        this.schemas = hasSchemas() ? this.schemas : defaults.schemas;
+        return this;
+    }
+
+    /**
+     * 验证代码生成所需的选项：基础包名与表名必填，在线模式下数据库 URL、驱动与用户名必填（密码可选）；
+     * 多数据源模式下逐个校验补全后的条目，且数据源名称不能重复。
+     *
+     * @throws IllegalArgumentException 必填选项缺失或数据源名称重复时抛出
+     */
+    public void validate() {
+        if (hasSchemas()) {
+            validateSchemas();
+            return;
+        }
+
+        if (Strings.isBlank(this.basePackage)) {
+            throw new IllegalArgumentException("The base package name is not configured. Please check the configuration file or command-line parameters");
+        }
+
+        if (Strings.isBlank(this.tables)) {
+            throw new IllegalArgumentException("The database tables has not been configured. Please check the configuration file or command-line parameters");
+        }
+
+        // 离线模式只读取表结构快照, DDL 模式只解析 DDL 文件, 不需要数据库连接参数
+        if (isDatabaseFree()) {
+            return;
+        }
+
+        if (Strings.isBlank(this.url)) {
+            throw new IllegalArgumentException("The database host address has not been configured. Please check the configuration file or command-line parameters");
+        }
+
+        if (Strings.isBlank(this.driver)) {
+            throw new IllegalArgumentException("The database driver is not configured. Please check the configuration file or command-line parameters");
+        }
+
+        if (Strings.isBlank(this.username)) {
+            throw new IllegalArgumentException("The database username has not been configured. Please check the configuration file or command-line parameters");
+        }
+    }
+
+    /**
+     * 是否无需连接数据库（离线模式或 DDL 模式）
+     *
+     * @return 不需要数据库连接参数时返回 {@code true}
+     */
+    public boolean isDatabaseFree() {
+        return Boolean.TRUE.equals(this.offline) || Strings.isNotBlank(this.ddl);
+    }
+
+    /**
+     * 是否配置了多数据源
+     *
+     * @return 配置了 {@code schemas} 时返回 {@code true}
+     */
+    public boolean hasSchemas() {
+        return Objects.nonNull(this.schemas) && !this.schemas.isEmpty();
+    }
+
+    /**
+     * 由顶层选项构成的数据源
+     *
+     * @return 顶层数据源
+     */
+    public SchemaSource topLevelSource() {
+        SchemaSource source = new SchemaSource();
+        source.setUrl(this.url);
+        source.setDriver(this.driver);
+        source.setUsername(this.username);
+        source.setPassword(this.password);
+        source.setBasePackage(this.basePackage);
+        source.setTables(this.tables);
+        return source;
+    }
+
+    /**
+     * 用顶层选项补全各数据源条目，并确定数据源名称（未配置时使用 URL 中的库名）。
+     *
+     * @return 数据源名称 → 数据源，保持配置顺序
+     */
+    public Map<String, SchemaSource> resolveSchemas() {
+        SchemaSource defaults = topLevelSource();
+        Map<String, SchemaSource> resolved = new LinkedHashMap<>();
+        for (SchemaSource source : this.schemas) {
+            source.withDefaults(defaults);
+            String name = Strings.isNotBlank(source.getName()) ? source.getName().strip()
+                    : new FoundryConfig(null, null, source.getUrl(), null, null, null).getDatabase();
+            resolved.put(name, source);
+        }
+        return resolved;
+    }
+
+    /**
+     * 解析实际使用的渲染并行度。
+     * <p>未配置时为 1（串行）；配置值小于等于 0 时使用当前机器的 CPU 核数。</p>
+     *
+     * @return 实际并行度
+     */
+    public int resolveParallelism() {
+        if (Objects.isNull(this.parallelism)) {
+            return 1;
+        }
+
+        return this.parallelism > 0 ? this.parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 解析输出模块分片
+     *
+     * @param baseDir 项目根目录，分片映射文件的相对路径以此为基准
+     * @return 分片解析器，未配置分片时返回 {@code null}
+     * @throws IllegalArgumentException 分片配置无效时抛出
+     * @throws IOException              分片映射文件读取失败时抛出
+     */
+    public ShardResolver resolveShards(Path baseDir) throws IOException {
+        return Strings.isBlank(this.shards) ? null : ShardResolver.parse(this.shards, baseDir);
+    }
+
+    /**
+     * 根据数据源条目与公共生成选项创建 Foundry 配置，DDL 与模板目录的相对路径以项目根目录为基准。
+     *
+     * @param projectName 项目名（模块名前缀）
+     * @param baseDir     项目根目录，生成文件位于其下
+     * @param source      数据源（已用顶层选项补全）
+     * @param workDir     工作目录
+     * @param shards      由 {@link #resolveShards(Path)} 解析的分片解析器，可为 {@code null}
+     * @return Foundry 配置
+     */
+    public FoundryConfig createFoundryConfig(String projectName, Path baseDir, SchemaSource source, Path workDir, ShardResolver shards) {
+        FoundryConfig config = new FoundryConfig(
+                projectName,
+                source.getBasePackage(),
+                source.getUrl(),
+                source.getDriver(),
+                source.getUsername(),
+                source.getPassword()
+        );
+
+        config.setStepIn(Boolean.TRUE);
+        config.setTables(source.getTables());
+        config.setOverwrite(Boolean.TRUE.equals(this.overwrite));
+        config.setParallelism(resolveParallelism());
+        config.setOffline(Boolean.TRUE.equals(this.offline));
+        config.setDdlFiles(resolveDdlFiles(baseDir));
+        if (Strings.isNotBlank(this.templates)) {
+            config.setTemplateDir(baseDir.resolve(this.templates.strip()));
+        }
+        config.setIncremental(!Boolean.FALSE.equals(this.incremental));
+        config.setDryRun(Boolean.TRUE.equals(this.dryRun));
+        config.setArchive(Boolean.TRUE.equals(this.archive));
+        config.setShards(shards);
+        config.setCompiledTemplates(Boolean.TRUE.equals(this.compiledTemplates));
+        config.setWorkDir(workDir);
+        config.setBaseDir(baseDir);
+        return config;
+    }
+
+    /**
+     * 输出生成选项
+     *
+     * @param log         日志
+     * @param projectName 项目名（模块名前缀）
+     */
+    public void log(Log log, String projectName) {
+        log.info("====== Code Generation Configuration =====");
+        log.info(String.format(Constants.LOG_FORMAT, "Artifact ID", projectName));
+        log.info(String.format(Constants.LOG_FORMAT, "Base Package", basePackage));
+        log.info(String.format(Constants.LOG_FORMAT, "Database URL", url));
+        log.info(String.format(Constants.LOG_FORMAT, "Driver Class", driver));
+        log.info(String.format(Constants.LOG_FORMAT, "Database User", username));
+        log.info(String.format(Constants.LOG_FORMAT, "Table Names", tables));
+        log.info(String.format(Constants.LOG_FORMAT, "Overwrite Files", Boolean.TRUE.equals(this.overwrite)));
+        log.info(String.format(Constants.LOG_FORMAT, "Parallelism", resolveParallelism()));
+        log.info(String.format(Constants.LOG_FORMAT, "Offline", Boolean.TRUE.equals(this.offline)));
+        log.info(String.format(Constants.LOG_FORMAT, "DDL Files", Objects.toString(this.ddl, "")));
+        log.info(String.format(Constants.LOG_FORMAT, "Templates", Objects.toString(this.templates, "")));
+        log.info(String.format(Constants.LOG_FORMAT, "Incremental", !Boolean.FALSE.equals(this.incremental)));
+        log.info(String.format(Constants.LOG_FORMAT, "Dry Run", Boolean.TRUE.equals(this.dryRun)));
+        log.info(String.format(Constants.LOG_FORMAT, "Archive", Boolean.TRUE.equals(this.archive)));
+        log.info(String.format(Constants.LOG_FORMAT, "Shards", Objects.toString(this.shards, "")));
+        log.info(String.format(Constants.LOG_FORMAT, "Precompiled", Boolean.TRUE.equals(this.compiledTemplates)));
+        if (hasSchemas()) {
+            log.info(String.format(Constants.LOG_FORMAT, "Schemas", String.join(", ", resolveSchemas().keySet())));
+        }
+        log.info(Constants.HORIZONTAL_LINE);
+        log.info("");
+    }
+
+    /**
+     * 验证多数据源配置：每个条目（用顶层选项补全后）必须有基础包名、表名，在线模式下还必须有 URL、驱动与用户名，
+     * 且数据源名称不能重复。
+     *
+     * @throws IllegalArgumentException 条目配置不完整或名称重复时抛出
+     */
+    private void validateSchemas() {
+        Map<String, SchemaSource> resolved = resolveSchemas();
+        if (resolved.size() != this.schemas.size()) {
+            throw new IllegalArgumentException("Duplicate schema names in: " + String.join(", ", resolved.keySet()) + ". Please configure a unique name for each schema");
+        }
+
+        for (Map.Entry<String, SchemaSource> entry : resolved.entrySet()) {
+            SchemaSource source = entry.getValue();
+            boolean incomplete = Strings.isBlank(source.getBasePackage()) || Strings.isBlank(source.getTables())
+                    || (!isDatabaseFree() && Stream.of(source.getUrl(), source.getDriver(), source.getUsername()).anyMatch(Strings::isBlank));
+            if (incomplete) {
+                throw new IllegalArgumentException("Schema [" + entry.getKey() + "] is missing basePackage, tables, url, driver or username. Please check the configuration file or pom.xml");
+            }
+        }
+    }
+
+    /**
+     * 解析 DDL 文件或目录列表，相对路径以项目根目录为基准。
+     *
+     * @param baseDir 项目根目录
+     * @return DDL 文件或目录，未配置时返回空列表
+     */
+    private List<Path> resolveDdlFiles(Path baseDir) {
+        if (Strings.isBlank(this.ddl)) {
+            return List.of();
+        }
+
+        return Arrays.stream(this.ddl.split(","))
+                .map(String::strip)
+                .filter(Strings::isNotBlank)
+                .map(baseDir::resolve)
+                .toList();
+    }
+
+    /**
+     * 从配置项读取多数据源条目。
+     *
+     * @param props 配置项
+     * @return 数据源条目，按 {@code generator.schemas} 中的顺序
+     */
+    private static List<SchemaSource> loadSchemas(Properties props) {
+        List<SchemaSource> sources = new ArrayList<>();
+        for (String name : props.getProperty("generator.schemas").split(",")) {
+            if (Strings.isBlank(name)) {
+                continue;
+            }
+
+            String prefix = "schemas." + name.strip() + ".";
+            SchemaSource source = new SchemaSource();
+            source.setName(name.strip());
+            source.setUrl(text(props, prefix + "url"));
+            source.setDriver(text(props, prefix + "driver"));
+            source.setUsername(text(props, prefix + "username"));
+            source.setPassword(props.getProperty(prefix + "password"));
+            source.setBasePackage(text(props, prefix + "basePackage"));
+            source.setTables(text(props, prefix + "tables"));
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    /**
+     * 读取文本配置项，去除首尾空白
+     *
+     * @return 配置值，未配置或空白时返回 {@code null}
+     */
+    private static String text(Properties props, String key) {
+        String value = props.getProperty(key);
+        return Strings.isBlank(value) ? null : value.strip();
+    }
+
+    /**
+     * 读取布尔配置项：去除首尾空白后只有 {@code true}（忽略大小写）表示开启
+     *
+     * @return 配置值，未配置或空白时返回 {@code null}
+     */
+    private static Boolean flag(Properties props, String key) {
+        String value = text(props, key);
+        return Objects.isNull(value) ? null : "true".equalsIgnoreCase(value);
+    }
+}
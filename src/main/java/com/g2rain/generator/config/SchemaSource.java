@@ -0,0 +1,97 @@
+package com.g2rain.generator.config;
+
+
+import com.g2rain.generator.utils.Strings;
+import lombok.Data;
+
+/**
+ * 多数据源生成中的单个数据源条目：一个库（schema）及其生成到的基础包名。
+ *
+ * <p>未配置的字段（驱动、账号、密码、表名、基础包名）沿用插件的顶层配置，
+ * 因此同一实例上的多个库通常只需配置 {@code name}、{@code url} 与 {@code basePackage}。</p>
+ *
+ * <p><b>pom.xml 示例：</b></p>
+ * <pre>{@code
+ * <configuration>
+ *     <schemas>
+ *         <schema>
+ *             <name>order</name>
+ *             <url>jdbc:mysql://localhost:3306/order_db</url>
+ *             <basePackage>com.g2rain.demo.order</basePackage>
+ *         </schema>
+ *         <schema>
+ *             <name>user</name>
+ *             <url>jdbc:mysql://localhost:3306/user_db</url>
+ *             <basePackage>com.g2rain.demo.user</basePackage>
+ *             <tables>user_*</tables>
+ *         </schema>
+ *     </schemas>
+ * </configuration>
+ * }</pre>
+ *
+ * <p><b>codegen.properties 示例：</b></p>
+ * <pre>{@code
+ * generator.schemas=order,user
+ * schemas.order.url=jdbc:mysql://localhost:3306/order_db
+ * schemas.order.basePackage=com.g2rain.demo.order
+ * schemas.user.url=jdbc:mysql://localhost:3306/user_db
+ * schemas.user.basePackage=com.g2rain.demo.user
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@Data
+public class SchemaSource {
+
+    /**
+     * 数据源名称，用于日志前缀与工作目录（target/g2rain/{name}），为空时使用 URL 中的库名
+     */
+    private String name;
+
+    /**
+     * JDBC 连接 URL
+     */
+    private String url;
+
+    /**
+     * 数据库驱动类名
+     */
+    private String driver;
+
+    /**
+     * 数据库用户名
+     */
+    private String username;
+
+    /**
+     * 数据库密码
+     */
+    private String password;
+
+    /**
+     * 基础包名
+     */
+    private String basePackage;
+
+    /**
+     * 表名列表，逗号分隔，支持通配符、正则与排除项
+     */
+    private String tables;
+
+    /**
+     * 用顶层配置补全未配置的字段
+     *
+     * @param defaults 顶层配置
+     * @return 当前对象
+     */
+    public SchemaSource withDefaults(SchemaSource defaults) {
+        this.url = Strings.isBlank(this.url) ? defaults.url : this.url;
+        this.driver = Strings.isBlank(this.driver) ? defaults.driver : this.driver;
+        this.username = Strings.isBlank(this.username) ? defaults.username : this.username;
+        this.password = Strings.isBlank(this.password) ? defaults.password : this.password;
+        this.basePackage = Strings.isBlank(this.basePackage) ? defaults.basePackage : this.basePackage;
+        this.tables = Strings.isBlank(this.tables) ? defaults.tables : this.tables;
+        return this;
+    }
+}
@@ -8,7 +8,9 @@ import lombok.Getter;
 import java.io.File;
 import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.Objects;
 
+import static com.g2rain.generator.utils.Constants.SHARD_AGGREGATOR;
 import static com.g2rain.generator.utils.Constants.SHARED_STARTUP;
 
 /**
@@ -354,6 +356,48 @@ public enum TemplatePaths {
         return (stepIn ? "" : (projectName + "/")) + (projectName + this.moduleSuffix);
     }
 
+    /**
+     * 分片模式下的模块路径：可分片的模板（-api、-biz）位于分片聚合模块下的 {@code {projectName}-{shard}{moduleSuffix}}，
+     * 其它模板及 {@code shard} 为 {@code null} 时与 {@link #getModulePath(boolean, String)} 相同。
+     *
+     * <p><b>示例：</b></p>
+     * <pre>{@code
+     * TemplatePaths.SERVICE.getModulePath(true, "g2rain-demo", "order");
+     * // 返回 "g2rain-demo-domains/g2rain-demo-order-biz"
+     * }</pre>
+     *
+     * @param stepIn      是否在已有模块内部生成
+     * @param projectName 项目名称
+     * @param shard       分片名，未分片时为 {@code null}
+     * @return 模块路径
+     */
+    public String getModulePath(boolean stepIn, String projectName, String shard) {
+        if (Objects.isNull(shard) || !isShardable()) {
+            return getModulePath(stepIn, projectName);
+        }
+        return getShardAggregatorPath(stepIn, projectName) + "/" + projectName + "-" + shard + this.moduleSuffix;
+    }
+
+    /**
+     * 分片聚合模块（{@code {projectName}-domains}）的路径，其下是各分片的 -api、-biz 模块
+     *
+     * @param stepIn      是否在已有模块内部生成
+     * @param projectName 项目名称
+     * @return 分片聚合模块路径
+     */
+    public static String getShardAggregatorPath(boolean stepIn, String projectName) {
+        return (stepIn ? "" : (projectName + "/")) + (projectName + SHARD_AGGREGATOR);
+    }
+
+    /**
+     * 是否可以按分片拆分到领域模块（-api、-biz 下的模板；启动模块的模板不拆分）
+     *
+     * @return 可分片时返回 {@code true}
+     */
+    public boolean isShardable() {
+        return !SHARED_STARTUP.equals(this.moduleSuffix);
+    }
+
     /**
      * 获取完整包名，用于生成 Java 文件的 package 声明。
      *
@@ -409,10 +453,76 @@ public enum TemplatePaths {
      * @return 输出文件的绝对、规范化路径
      */
     public Path getOutputPath(FoundryConfig config, String entityName) {
-        String modulePath = this.getModulePath(config.isStepIn(), config.getProjectName());
+        return this.getOutputDir(config).resolve(this.getFileName(entityName));
+    }
+
+    /**
+     * 生成文件所在目录（路径格式中文件名之前的部分，相对 {@code FoundryConfig#getBaseDir()}），同一配置下对所有实体相同。
+     *
+     * <p>批量生成时每个模板只需计算一次，再通过 {@link #getFileName(String)} 拼接文件名，
+     * 避免为每个文件重复格式化整条路径。</p>
+     *
+     * @param config Foundry 配置对象，包含项目名、基础包名及 stepIn 标识
+     * @return 输出目录的绝对、规范化路径
+     */
+    public Path getOutputDir(FoundryConfig config) {
+        return getOutputDir(config, null);
+    }
+
+    /**
+     * 指定分片的输出目录，{@code shard} 为 {@code null} 或模板不可分片时与 {@link #getOutputDir(FoundryConfig)} 相同。
+     *
+     * @param config Foundry 配置对象
+     * @param shard  分片名，未分片时为 {@code null}
+     * @return 输出目录的绝对、规范化路径
+     */
+    public Path getOutputDir(FoundryConfig config, String shard) {
+        if (Objects.nonNull(config.getGeneratedSourcesDir())) {
+            return getGeneratedOutputDir(config);
+        }
+
+        String modulePath = this.getModulePath(config.isStepIn(), config.getProjectName(), shard);
+        String packagePath = this.getFullPackage(config.getBasePackage()).replace('.', File.separatorChar);
+        String fullPath = MessageFormat.format(this.pathFormat, modulePath, this.baseFileDir, packagePath, "");
+        return config.getBaseDir().resolve(fullPath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 生成源码模式下的输出目录：Java 文件位于 {@code FoundryConfig#getGeneratedSourcesDir()} 下的包路径，
+     * 资源文件位于 {@code FoundryConfig#getGeneratedResourcesDir()} 下去掉 src/main/resources 前缀后的目录。
+     *
+     * @param config Foundry 配置对象
+     * @return 输出目录的绝对、规范化路径
+     */
+    private Path getGeneratedOutputDir(FoundryConfig config) {
         String packagePath = this.getFullPackage(config.getBasePackage()).replace('.', File.separatorChar);
-        String fileName = MessageFormat.format(this.classSuffix, entityName);
-        String fullPath = MessageFormat.format(this.pathFormat, modulePath, this.baseFileDir, packagePath, fileName);
-        return Path.of(fullPath).toAbsolutePath().normalize();
+        if (Constants.JAVA_FILE_DIR.equals(this.baseFileDir)) {
+            return config.getGeneratedSourcesDir().resolve(packagePath).toAbsolutePath().normalize();
+        }
+
+        Path dir = config.getGeneratedResourcesDir().resolve(Path.of(Constants.RESOURCES_FILE_DIR).relativize(Path.of(this.baseFileDir)));
+        if (!Constants.PATH_FORMAT_WITHOUT_PACKAGE.equals(this.pathFormat)) {
+            dir = dir.resolve(packagePath);
+        }
+        return dir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 是否为 Java 源文件模板（输出到 src/main/java）
+     *
+     * @return Java 源文件模板时返回 {@code true}
+     */
+    public boolean isJavaSource() {
+        return Constants.JAVA_FILE_DIR.equals(this.baseFileDir);
+    }
+
+    /**
+     * 根据 classSuffix 生成文件名，例如 {@code "{0}Service.java"} + {@code "User"} → {@code "UserService.java"}
+     *
+     * @param entityName 实体类名
+     * @return 文件名
+     */
+    public String getFileName(String entityName) {
+        return MessageFormat.format(this.classSuffix, entityName);
     }
 }
@@ -0,0 +1,141 @@
+package com.g2rain.generator.explain;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.model.TableInfo;
+import freemarker.template.TemplateException;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 对生成的 mapper 语句执行 {@code EXPLAIN}，检查其在真实索引下的执行计划（MySQL / MariaDB）。
+ *
+ * <p>每张表的语句取自按当前配置渲染的 mapper.xml（见 {@link StatementProbe#forTable(TableInfo, String)}），
+ * 使用配置的数据库连接（通常是开发库或本地的替代库），为每张表的每条 {@link StatementProbe} 执行一次
+ * {@code EXPLAIN}；{@code EXPLAIN} 不会真正执行语句，update / delete 也不会修改数据。
+ * 单条语句失败（如替代库中缺少该表或列）只记录在报告中，不影响其它语句。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * FoundryGenerator generator = new FoundryGenerator(log, config);
+ * ExplainReport report = new ExplainAuditor(log, config).audit(generator.introspectTables(), generator);
+ * report.log(log);
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class ExplainAuditor {
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置，提供数据库连接
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 构造函数
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置
+     */
+    public ExplainAuditor(Log log, FoundryConfig foundryConfig) {
+        this.log = log;
+        this.foundryConfig = foundryConfig;
+    }
+
+    /**
+     * 审计全部表的 mapper 语句。
+     *
+     * @param tableInfos 表信息
+     * @param generator  渲染 mapper.xml 的生成器
+     * @return 审计结果
+     * @throws SQLException                 连接数据库失败时抛出
+     * @throws ReflectiveOperationException 驱动类加载失败时抛出
+     * @throws IOException                  mapper 模板读取失败时抛出
+     * @throws TemplateException            mapper 模板渲染失败时抛出
+     */
+    public ExplainReport audit(List<TableInfo> tableInfos, FoundryGenerator generator)
+            throws SQLException, ReflectiveOperationException, IOException, TemplateException {
+        ExplainReport report = new ExplainReport();
+        try (Connection connection = foundryConfig.openConnection()) {
+            // 只读取执行计划, 不修改任何数据
+            connection.setReadOnly(true);
+            for (TableInfo tableInfo : tableInfos) {
+                for (StatementProbe probe : StatementProbe.forTable(tableInfo, generator.renderMapper(tableInfo))) {
+                    try {
+                        report.add(probe, explain(connection, probe));
+                    } catch (SQLException e) {
+                        log.debug("EXPLAIN failed: " + probe.sql(), e);
+                        report.failed(probe, e.getMessage());
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 执行一条语句的 {@code EXPLAIN}，按列名读取传统格式的执行计划（兼容 MySQL 与 MariaDB 的列差异）
+     */
+    private static List<ExplainReport.Row> explain(Connection connection, StatementProbe probe) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + probe.sql())) {
+            List<Object> parameters = probe.parameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                ps.setObject(i + 1, parameters.get(i));
+            }
+
+            List<ExplainReport.Row> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                Map<String, Integer> columns = columnIndexes(rs.getMetaData());
+                while (rs.next()) {
+                    String rowCount = value(rs, columns, "rows");
+                    rows.add(new ExplainReport.Row(
+                            value(rs, columns, "table"),
+                            value(rs, columns, "type"),
+                            value(rs, columns, "possible_keys"),
+                            value(rs, columns, "key"),
+                            Objects.isNull(rowCount) ? 0 : Long.parseLong(rowCount.strip()),
+                            value(rs, columns, "extra")));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * 列标签（小写） → 列序号
+     */
+    private static Map<String, Integer> columnIndexes(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    /**
+     * 读取指定列的值，列不存在时返回 {@code null}
+     */
+    private static String value(ResultSet rs, Map<String, Integer> columns, String name) throws SQLException {
+        Integer index = columns.get(name);
+        return Objects.isNull(index) ? null : rs.getString(index);
+    }
+}
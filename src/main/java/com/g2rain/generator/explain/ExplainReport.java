@@ -0,0 +1,305 @@
+package com.g2rain.generator.explain;
+
+
+import com.g2rain.generator.utils.Json;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * EXPLAIN 审计结果：每条语句的执行计划、发现的问题与建议补充的索引。
+ *
+ * <p>问题按执行计划的每一行判定：</p>
+ * <ul>
+ *     <li>{@link Issue#FULL_SCAN}：{@code type = ALL}，全表扫描</li>
+ *     <li>{@link Issue#FULL_INDEX_SCAN}：{@code type = index}，扫描整个索引</li>
+ *     <li>{@link Issue#FILESORT}：{@code Extra} 含 {@code Using filesort}</li>
+ *     <li>{@link Issue#TEMPORARY}：{@code Extra} 含 {@code Using temporary}</li>
+ * </ul>
+ *
+ * <p>全表扫描且没有可用索引（{@code possible_keys} 为空），或需要额外排序时，按语句的筛选与排序列建议一个索引；
+ * 已有可用索引但优化器未选用（通常是表中数据过少）时只报告问题，不重复建议。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * ExplainReport report = new ExplainAuditor(log, config).audit(tableInfos, generator);
+ * report.log(log);
+ * report.writeJson(config.getExplainReportFile());
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class ExplainReport {
+
+    /**
+     * 建议的索引名最大长度（MySQL 标识符上限）
+     */
+    private static final int MAX_INDEX_NAME_LENGTH = 64;
+
+    /**
+     * 索引列定义：列名与可选的前缀长度，如 {@code content(64)}
+     */
+    private static final Pattern INDEX_KEY = Pattern.compile("(.*?)(\\(\\d+\\))?");
+
+    /**
+     * 执行计划中的问题
+     */
+    public enum Issue {
+        FULL_SCAN,
+        FULL_INDEX_SCAN,
+        FILESORT,
+        TEMPORARY
+    }
+
+    /**
+     * 执行计划中的一行
+     *
+     * @param table        访问的表
+     * @param type         访问类型（{@code ALL}、{@code index}、{@code range}、{@code ref}、{@code const} 等）
+     * @param possibleKeys 可用的索引，没有时为 {@code null}
+     * @param key          实际使用的索引，没有时为 {@code null}
+     * @param rows         估算扫描行数
+     * @param extra        附加信息
+     */
+    public record Row(String table, String type, String possibleKeys, String key, long rows, String extra) {
+
+        /**
+         * 判定该行存在的问题
+         *
+         * @return 问题集合，没有问题时为空
+         */
+        public Set<Issue> issues() {
+            Set<Issue> issues = EnumSet.noneOf(Issue.class);
+            if ("ALL".equalsIgnoreCase(type)) {
+                issues.add(Issue.FULL_SCAN);
+            } else if ("index".equalsIgnoreCase(type)) {
+                issues.add(Issue.FULL_INDEX_SCAN);
+            }
+
+            String text = Objects.toString(extra, "");
+            if (text.contains("Using filesort")) {
+                issues.add(Issue.FILESORT);
+            }
+            if (text.contains("Using temporary")) {
+                issues.add(Issue.TEMPORARY);
+            }
+            return issues;
+        }
+    }
+
+    /**
+     * 一条语句的审计结果
+     *
+     * @param probe 语句
+     * @param rows  执行计划，语句执行失败时为空列表
+     * @param error 执行失败的原因，成功时为 {@code null}
+     */
+    public record Entry(StatementProbe probe, List<Row> rows, String error) {
+
+        /**
+         * 全部行的问题合集
+         *
+         * @return 问题集合
+         */
+        public Set<Issue> issues() {
+            Set<Issue> issues = EnumSet.noneOf(Issue.class);
+            rows.forEach(row -> issues.addAll(row.issues()));
+            return issues;
+        }
+
+        /**
+         * 建议补充的索引，不需要时返回 {@code null}
+         *
+         * @return {@code CREATE INDEX} 语句
+         */
+        public String suggestion() {
+            List<String> columns = probe.indexColumns();
+            if (columns.isEmpty()) {
+                return null;
+            }
+
+            for (Row row : rows) {
+                Set<Issue> issues = row.issues();
+                boolean noIndex = issues.contains(Issue.FULL_SCAN) && Strings.isBlank(row.possibleKeys());
+                if (noIndex || issues.contains(Issue.FILESORT)) {
+                    return createIndex(probe.table(), columns);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 按语句顺序排列的审计结果
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 记录一条语句的执行计划
+     *
+     * @param probe 语句
+     * @param rows  执行计划
+     */
+    public void add(StatementProbe probe, List<Row> rows) {
+        entries.add(new Entry(probe, List.copyOf(rows), null));
+    }
+
+    /**
+     * 记录一条执行失败的语句（如替代库中缺少该表或列）
+     *
+     * @param probe 语句
+     * @param error 失败原因
+     */
+    public void failed(StatementProbe probe, String error) {
+        entries.add(new Entry(probe, List.of(), error));
+    }
+
+    /**
+     * 全部审计结果
+     *
+     * @return 按语句顺序排列的结果
+     */
+    public List<Entry> getEntries() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * 存在问题的语句数
+     *
+     * @return 语句数
+     */
+    public int getFindingCount() {
+        return (int) entries.stream().filter(e -> !e.issues().isEmpty()).count();
+    }
+
+    /**
+     * 去重后的索引建议，按语句顺序排列
+     *
+     * @return {@code CREATE INDEX} 语句
+     */
+    public List<String> getSuggestions() {
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (Entry entry : entries) {
+            String suggestion = entry.suggestion();
+            if (Objects.nonNull(suggestion)) {
+                suggestions.add(suggestion);
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    /**
+     * 在 Maven 日志中输出汇总：每条有问题或执行失败的语句一行（warn），随后输出索引建议。
+     * 没有问题的语句只在 debug 级别输出。
+     *
+     * @param log 日志对象
+     */
+    public void log(Log log) {
+        int failed = 0;
+        for (Entry entry : entries) {
+            StatementProbe probe = entry.probe();
+            String name = probe.table() + "." + probe.statementId();
+            if (Objects.nonNull(entry.error())) {
+                failed++;
+                log.warn(String.format("%-48s EXPLAIN failed: %s", name, entry.error()));
+            } else if (!entry.issues().isEmpty()) {
+                log.warn(String.format("%-48s %s", name, describe(entry)));
+            } else if (log.isDebugEnabled()) {
+                log.debug(String.format("%-48s %s", name, describe(entry)));
+            }
+        }
+
+        log.info(String.format(Locale.ROOT, "Explained %d statement(s): %d with findings, %d failed",
+                entries.size() - failed, getFindingCount(), failed));
+        List<String> suggestions = getSuggestions();
+        if (!suggestions.isEmpty()) {
+            log.info("Suggested indexes:");
+            suggestions.forEach(s -> log.info("  " + s));
+        }
+    }
+
+    /**
+     * 写出 JSON 报告。
+     *
+     * @param file 报告文件
+     * @throws IOException 写出失败时抛出
+     */
+    public void writeJson(Path file) throws IOException {
+        List<String> items = new ArrayList<>();
+        for (Entry entry : entries) {
+            StatementProbe probe = entry.probe();
+            List<String> rows = entry.rows().stream()
+                    .map(r -> String.format(Locale.ROOT, "{\"table\": %s, \"type\": %s, \"possibleKeys\": %s, \"key\": %s, \"rows\": %d, \"extra\": %s}",
+                            Json.quote(r.table()), Json.quote(r.type()), Json.quote(r.possibleKeys()), Json.quote(r.key()), r.rows(), Json.quote(r.extra())))
+                    .toList();
+            String issues = entry.issues().stream().map(i -> Json.quote(i.name())).collect(Collectors.joining(", "));
+            items.add("    {\"table\": " + Json.quote(probe.table())
+                    + ", \"statement\": " + Json.quote(probe.statementId())
+                    + ", \"sql\": " + Json.quote(probe.sql())
+                    + ", \"issues\": [" + issues + "]"
+                    + ", \"plan\": [" + String.join(", ", rows) + "]"
+                    + ", \"suggestion\": " + Json.quote(entry.suggestion())
+                    + ", \"error\": " + Json.quote(entry.error()) + "}");
+        }
+
+        List<String> suggestions = getSuggestions().stream().map(s -> "    " + Json.quote(s)).toList();
+        String json = "{\n"
+                + "  \"statements\": [\n" + String.join(",\n", items) + "\n  ],\n"
+                + "  \"suggestedIndexes\": [\n" + String.join(",\n", suggestions) + "\n  ]\n"
+                + "}\n";
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 单行描述：问题、访问类型、使用的索引与估算行数
+     */
+    private static String describe(Entry entry) {
+        StringBuilder text = new StringBuilder();
+        if (!entry.issues().isEmpty()) {
+            text.append(entry.issues()).append(' ');
+        }
+        for (Row row : entry.rows()) {
+            text.append(String.format(Locale.ROOT, "type=%s key=%s rows=%d; ", row.type(), row.key(), row.rows()));
+        }
+        return text.toString().strip();
+    }
+
+    /**
+     * 构建建议的索引语句
+     */
+    private static String createIndex(String table, List<String> columns) {
+        String name = "idx_" + table + "_" + columns.stream()
+                .map(c -> c.replaceAll("\\(\\d+\\)$", ""))
+                .collect(Collectors.joining("_"));
+        if (name.length() > MAX_INDEX_NAME_LENGTH) {
+            name = name.substring(0, MAX_INDEX_NAME_LENGTH);
+        }
+        String keys = columns.stream().map(ExplainReport::indexKey).collect(Collectors.joining(", "));
+        return "CREATE INDEX " + StatementProbe.quote(name) + " ON " + StatementProbe.quote(table) + " (" + keys + ");";
+    }
+
+    /**
+     * 索引列定义中的列名以反引号引用，前缀长度保持不变
+     */
+    private static String indexKey(String column) {
+        Matcher matcher = INDEX_KEY.matcher(column);
+        return matcher.matches() ? StatementProbe.quote(matcher.group(1)) + Objects.toString(matcher.group(2), "") : StatementProbe.quote(column);
+    }
+}
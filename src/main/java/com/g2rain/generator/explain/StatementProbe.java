@@ -0,0 +1,322 @@
+package com.g2rain.generator.explain;
+
+
+import com.g2rain.generator.model.ColumnInfo;
+import com.g2rain.generator.model.TableInfo;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeAliasRegistry;
+import org.apache.ibatis.type.TypeException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 生成的 mapper.xml 中一条语句的代表性形态，用于执行 {@code EXPLAIN}。
+ *
+ * <p>{@link #forTable(TableInfo, String)} 以渲染后的 mapper.xml（含项目模板目录中的覆盖）为准，由 MyBatis 解析
+ * （{@link XMLMapperBuilder}）并按代表性的参数组合生成 {@link BoundSql}，动态 SQL 的展开与应用运行时完全一致，
+ * 得到以下语句（mapper 中不存在的语句跳过）：</p>
+ * <ul>
+ *     <li>{@code selectById}、{@code update}、{@code updateByVersion}、{@code delete}：按主键访问</li>
+ *     <li>{@code selectList[id]}：按主键集合 {@code IN} 查询</li>
+ *     <li>{@code selectList[column]}：每个业务字段各一条等值筛选，create_time / update_time 为区间筛选</li>
+ *     <li>{@code selectList[orderBy=column]}：不带筛选、按 create_time / update_time 倒序的分页查询</li>
+ * </ul>
+ *
+ * <p>参数按列的 JDBC 类型取代表值（数字为 1、字符串为 {@code "g2rain"}、时间为固定时刻），
+ * 由驱动以绑定参数的方式代入，与应用运行时的执行计划一致。语句中的表名与列名以反引号引用，
+ * 列名与保留字相同时 {@code EXPLAIN} 也能正常执行。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * for (StatementProbe probe : StatementProbe.forTable(tableInfo, generator.renderMapper(tableInfo))) {
+ *     // probe.sql():          SELECT `id`, `user_name`, ... FROM `user` WHERE `user_name` = ? AND (`delete_flag` = 0 OR `delete_flag` IS NULL)
+ *     // probe.indexColumns(): [user_name]
+ * }
+ * }</pre>
+ *
+ * @param table        表名
+ * @param statementId  mapper 语句 ID，动态筛选条件以方括号标注，如 {@code selectList[userName]}
+ * @param sql          待执行 {@code EXPLAIN} 的语句，参数为 {@code ?}
+ * @param parameters   与 {@code ?} 顺序一致的代表性参数
+ * @param indexColumns 能覆盖该语句筛选与排序的索引列（含前缀长度），无需索引时为空列表
+ * @author alpha
+ * @since 2025/10/28
+ */
+public record StatementProbe(String table, String statementId, String sql, List<Object> parameters, List<String> indexColumns) {
+
+    /**
+     * 分页查询的代表性页大小
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * 无法完整建立索引的大字段类型，建议索引时使用前缀
+     */
+    private static final Set<String> PREFIX_TYPES = Set.of("LONGVARCHAR", "LONGVARBINARY");
+
+    /**
+     * 大字段索引前缀长度
+     */
+    private static final int PREFIX_LENGTH = 64;
+
+    /**
+     * mapper 中引用的类型属性（参数类型、结果类型、resultMap 类型等）
+     */
+    private static final Pattern TYPE_ATTRIBUTE = Pattern.compile("\\b(?:parameterType|resultType|type|ofType|javaType)\\s*=\\s*\"([^\"]+)\"");
+
+    /**
+     * 语句中的反引号标识符、字符串字面量与未引用的标识符
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("`(?:[^`]|``)*`|'(?:[^'\\\\]|\\\\.)*'|[A-Za-z_][A-Za-z0-9_$]*");
+
+    /**
+     * 构造函数，复制为不可变列表
+     */
+    public StatementProbe {
+        parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        indexColumns = List.copyOf(indexColumns);
+    }
+
+    /**
+     * 按渲染后的 mapper.xml 为一张表构建全部待审计的语句。
+     *
+     * @param tableInfo 表信息
+     * @param mapperXml 该表渲染后的 mapper.xml
+     * @return 语句列表，没有主键的表只包含 {@code selectList} 的语句
+     * @throws IllegalArgumentException mapper.xml 无法被 MyBatis 解析或其中的动态 SQL 无法展开时抛出
+     */
+    public static List<StatementProbe> forTable(TableInfo tableInfo, String mapperXml) {
+        Probes probes = new Probes(tableInfo, parseMapper(mapperXml), identifiers(tableInfo), new ArrayList<>());
+        ColumnInfo primaryKey = tableInfo.getPrimaryKey();
+        if (Objects.nonNull(primaryKey)) {
+            Object id = sampleValue(primaryKey);
+            List<String> pkIndex = List.of(indexColumn(primaryKey));
+
+            // 单参数语句以 id 引用主键, 实体参数以主键属性名引用
+            probes.add("selectById", null, parameters("id", id, primaryKey.getPropertyName(), id), "", pkIndex);
+
+            ColumnInfo updated = updatableColumn(tableInfo);
+            if (Objects.nonNull(updated)) {
+                Map<String, Object> entity = parameters(primaryKey.getPropertyName(), id, updated.getPropertyName(), sampleValue(updated));
+                probes.add("update", null, entity, "", pkIndex);
+
+                ColumnInfo version = tableInfo.getVersionColumn();
+                if (Objects.nonNull(version)) {
+                    entity.put(version.getPropertyName(), sampleValue(version));
+                    probes.add("updateByVersion", null, entity, "", pkIndex);
+                }
+            }
+
+            probes.add("delete", null, parameters("id", id, primaryKey.getPropertyName(), id), "", pkIndex);
+            probes.add("selectList", primaryKey.getPropertyName(), selectDto("ids", List.of(id, id, id)), "", pkIndex);
+        }
+
+        for (ColumnInfo column : tableInfo.getBaseColumns()) {
+            Object time = sampleValue(column);
+            List<String> index = List.of(indexColumn(column));
+            probes.add("selectList", column.getPropertyName(),
+                    selectDto(column.getPropertyName(), List.of(time, time)), "", index);
+            probes.add("selectList", "orderBy=" + column.getPropertyName(),
+                    selectDto("safeSorts", List.of(Map.of("column", column.getPropertyName(), "direction", "DESC"))),
+                    " LIMIT " + PAGE_SIZE, index);
+        }
+
+        for (ColumnInfo column : tableInfo.getColumns()) {
+            probes.add("selectList", column.getPropertyName(),
+                    selectDto(column.getPropertyName(), sampleValue(column)), "", List.of(indexColumn(column)));
+        }
+        return probes.result();
+    }
+
+    /**
+     * 以反引号引用标识符
+     *
+     * @param identifier 表名或列名
+     * @return 引用后的标识符
+     */
+    static String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    /**
+     * 将语句中与表名、列名相同（区分大小写）的未引用标识符改为反引号引用，字符串字面量与已引用的标识符保持不变
+     *
+     * @param sql         语句
+     * @param identifiers 表名与列名
+     * @return 引用后的语句
+     */
+    static String quoteIdentifiers(String sql, Set<String> identifiers) {
+        Matcher matcher = IDENTIFIER.matcher(sql);
+        StringBuilder quoted = new StringBuilder(sql.length() + 32);
+        while (matcher.find()) {
+            String token = matcher.group();
+            matcher.appendReplacement(quoted, Matcher.quoteReplacement(identifiers.contains(token) ? quote(token) : token));
+        }
+        matcher.appendTail(quoted);
+        return quoted.toString();
+    }
+
+    /**
+     * 由 MyBatis 解析 mapper.xml。
+     * <p>mapper 引用的 PO / DTO 等类型属于生成的项目，不在插件的类路径上，解析前将无法加载的类型注册为 {@link HashMap} 的别名；
+     * 探测只需要语句本身，命名空间对应的 Dao 接口不存在时 MyBatis 会跳过绑定。</p>
+     *
+     * @param mapperXml 渲染后的 mapper.xml
+     * @return 包含该 mapper 全部语句的 MyBatis 配置
+     * @throws IllegalArgumentException mapper.xml 无法被 MyBatis 解析时抛出
+     */
+    private static Configuration parseMapper(String mapperXml) {
+        Configuration configuration = new Configuration();
+        configuration.setShrinkWhitespacesInSql(true);
+        TypeAliasRegistry aliases = configuration.getTypeAliasRegistry();
+        Matcher matcher = TYPE_ATTRIBUTE.matcher(mapperXml);
+        while (matcher.find()) {
+            try {
+                aliases.resolveAlias(matcher.group(1));
+            } catch (TypeException e) {
+                aliases.registerAlias(matcher.group(1), HashMap.class);
+            }
+        }
+
+        try {
+            new XMLMapperBuilder(new ByteArrayInputStream(mapperXml.getBytes(StandardCharsets.UTF_8)),
+                    configuration, "mapper.xml", configuration.getSqlFragments()).parse();
+        } catch (PersistenceException e) {
+            throw new IllegalArgumentException("Invalid mapper.xml: " + e.getMessage(), e);
+        }
+        return configuration;
+    }
+
+    /**
+     * 表名与全部列名
+     */
+    private static Set<String> identifiers(TableInfo tableInfo) {
+        Set<String> identifiers = new HashSet<>();
+        identifiers.add(tableInfo.getTableName());
+        Stream.of(tableInfo.getPrimaryKey(), tableInfo.getDeleteFlagColumn(), tableInfo.getVersionColumn())
+                .filter(Objects::nonNull)
+                .forEach(c -> identifiers.add(c.getColumnName()));
+        tableInfo.getBaseColumns().forEach(c -> identifiers.add(c.getColumnName()));
+        tableInfo.getColumns().forEach(c -> identifiers.add(c.getColumnName()));
+        return identifiers;
+    }
+
+    /**
+     * 按键值对构建可修改的参数表
+     */
+    private static Map<String, Object> parameters(Object... keyValues) {
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            parameters.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return parameters;
+    }
+
+    /**
+     * selectList 的查询参数：与 SelectDto 一致，排序列表默认为空列表
+     */
+    private static Map<String, Object> selectDto(String key, Object value) {
+        Map<String, Object> parameters = parameters("safeSorts", List.of());
+        parameters.put(key, value);
+        return parameters;
+    }
+
+    /**
+     * update 语句中代表性的更新字段：第一个可更新的业务字段或基础字段
+     */
+    private static ColumnInfo updatableColumn(TableInfo tableInfo) {
+        if (!tableInfo.getColumns().isEmpty()) {
+            return tableInfo.getColumns().getFirst();
+        }
+        for (ColumnInfo column : tableInfo.getBaseColumns()) {
+            if (column.isSupportUpdate()) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 索引列定义，大字段带前缀长度
+     */
+    private static String indexColumn(ColumnInfo column) {
+        return PREFIX_TYPES.contains(column.getColumnType())
+                ? column.getColumnName() + "(" + PREFIX_LENGTH + ")"
+                : column.getColumnName();
+    }
+
+    /**
+     * 按 JDBC 类型取代表性的参数值
+     */
+    private static Object sampleValue(ColumnInfo column) {
+        return switch (Objects.toString(column.getColumnType(), "")) {
+            case "BIT", "BOOLEAN", "TINYINT", "SMALLINT", "INTEGER", "BIGINT", "DECIMAL", "REAL", "DOUBLE", "FLOAT", "NUMERIC" -> 1;
+            case "DATE" -> "2025-01-01";
+            case "TIME" -> "00:00:00";
+            case "TIMESTAMP" -> "2025-01-01 00:00:00";
+            default -> "g2rain";
+        };
+    }
+
+    /**
+     * 一张表的语句收集器
+     *
+     * @param tableInfo     表信息
+     * @param configuration 解析了该表 mapper 的 MyBatis 配置
+     * @param identifiers   需要引用的表名与列名
+     * @param result        已构建的语句
+     */
+    private record Probes(TableInfo tableInfo, Configuration configuration, Set<String> identifiers, List<StatementProbe> result) {
+
+        /**
+         * 由 MyBatis 生成语句并加入结果，mapper 中没有该语句时跳过
+         *
+         * @param statementId  mapper 语句 ID
+         * @param variant      动态筛选条件的标注，没有时为 {@code null}
+         * @param parameters   参数
+         * @param suffix       追加在语句末尾的子句（如分页）
+         * @param indexColumns 能覆盖该语句的索引列
+         * @throws IllegalArgumentException 动态 SQL 无法展开时抛出
+         */
+        void add(String statementId, String variant, Map<String, Object> parameters, String suffix, List<String> indexColumns) {
+            if (!configuration.hasStatement(statementId)) {
+                return;
+            }
+
+            String id = Objects.isNull(variant) ? statementId : statementId + "[" + variant + "]";
+            BoundSql boundSql;
+            try {
+                boundSql = configuration.getMappedStatement(statementId).getBoundSql(parameters);
+            } catch (PersistenceException e) {
+                throw new IllegalArgumentException("Cannot expand " + id + " of table " + tableInfo.getTableName() + ": " + e.getMessage(), e);
+            }
+
+            // 与 DefaultParameterHandler 相同: foreach 等生成的附加参数优先, 其余按属性路径从参数中读取
+            MetaObject metaObject = configuration.newMetaObject(parameters);
+            List<Object> values = new ArrayList<>();
+            for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+                String property = mapping.getProperty();
+                values.add(boundSql.hasAdditionalParameter(property) ? boundSql.getAdditionalParameter(property) : metaObject.getValue(property));
+            }
+            result.add(new StatementProbe(tableInfo.getTableName(), id,
+                    quoteIdentifiers(boundSql.getSql(), identifiers) + suffix, values, indexColumns));
+        }
+    }
+}
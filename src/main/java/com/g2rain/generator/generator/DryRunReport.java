@@ -0,0 +1,185 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.output.DryRunSink;
+import com.g2rain.generator.utils.Json;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预演（dry-run）报告。
+ *
+ * <p>生成过程中逐个文件追加 unified diff 到 {@link #diffFile}（不在内存中累积），并按 {@link TemplatePaths}
+ * 统计新增、修改、未变化与跳过的文件数；结束时写出 JSON 汇总到 {@link #summaryFile} 并打印汇总表。</p>
+ *
+ * <p>JSON 汇总格式：</p>
+ * <pre>{@code
+ * {
+ *   "added": 3, "changed": 1, "unchanged": 20, "skipped": 2,
+ *   "templates": {
+ *     "API": {"added": 1, "changed": 0, "unchanged": 2, "skipped": 0},
+ *     ...
+ *   },
+ *   "files": [
+ *     {"template": "API", "change": "ADDED", "path": "demo-api/src/main/java/.../UserApi.java"}
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class DryRunReport implements Closeable {
+
+    /**
+     * 统计列：新增、修改、未变化、跳过
+     */
+    private static final int ADDED_COLUMN = 0;
+    private static final int CHANGED_COLUMN = 1;
+    private static final int UNCHANGED_COLUMN = 2;
+    private static final int SKIPPED_COLUMN = 3;
+
+    /**
+     * unified diff 输出文件
+     */
+    private final Path diffFile;
+
+    /**
+     * JSON 汇总输出文件
+     */
+    private final Path summaryFile;
+
+    /**
+     * diff 写出流
+     */
+    private final BufferedWriter diffWriter;
+
+    /**
+     * 模板 → 各列计数
+     */
+    private final Map<TemplatePaths, int[]> counts = new EnumMap<>(TemplatePaths.class);
+
+    /**
+     * 新增或修改的文件（JSON 汇总中的 files 列表）
+     */
+    private final List<String> changedFiles = new ArrayList<>();
+
+    /**
+     * 创建报告并打开 diff 文件。
+     *
+     * @param diffFile    unified diff 输出文件
+     * @param summaryFile JSON 汇总输出文件
+     * @throws IOException 创建文件失败时抛出
+     */
+    public DryRunReport(Path diffFile, Path summaryFile) throws IOException {
+        this.diffFile = diffFile;
+        this.summaryFile = summaryFile;
+        Files.createDirectories(diffFile.toAbsolutePath().getParent());
+        this.diffWriter = Files.newBufferedWriter(diffFile, StandardCharsets.UTF_8);
+        for (TemplatePaths p : TemplatePaths.values()) {
+            counts.put(p, new int[4]);
+        }
+    }
+
+    /**
+     * 记录一个已渲染文件的比较结果，新增或修改时追加 diff。
+     *
+     * @param template   模板
+     * @param outputPath 输出文件路径
+     * @param change     比较结果
+     * @throws IOException 写出 diff 失败时抛出
+     */
+    public void record(TemplatePaths template, Path outputPath, DryRunSink.Change change) throws IOException {
+        int column = switch (change.type()) {
+            case ADDED -> ADDED_COLUMN;
+            case CHANGED -> CHANGED_COLUMN;
+            case UNCHANGED -> UNCHANGED_COLUMN;
+        };
+        counts.get(template)[column]++;
+
+        if (column != UNCHANGED_COLUMN) {
+            diffWriter.write(change.diff());
+            changedFiles.add("{\"template\": " + Json.quote(template.name()) + ", \"change\": " + Json.quote(change.type().name())
+                    + ", \"path\": " + Json.quote(outputPath.toString()) + "}");
+        }
+    }
+
+    /**
+     * 记录一个未渲染（不允许覆盖或增量清单显示已是最新）的文件。
+     *
+     * @param template 模板
+     */
+    public void skipped(TemplatePaths template) {
+        counts.get(template)[SKIPPED_COLUMN]++;
+    }
+
+    /**
+     * 是否存在新增或修改的文件
+     *
+     * @return 存在变化时返回 {@code true}
+     */
+    public boolean hasChanges() {
+        return !changedFiles.isEmpty();
+    }
+
+    /**
+     * 写出 JSON 汇总并打印汇总表。
+     *
+     * @param log 日志对象
+     * @throws IOException 写出失败时抛出
+     */
+    public void finish(Log log) throws IOException {
+        diffWriter.flush();
+
+        int[] total = new int[4];
+        StringBuilder templates = new StringBuilder();
+        log.info(String.format("%-14s %8s %8s %10s %8s", "[dry-run]", "added", "changed", "unchanged", "skipped"));
+        for (Map.Entry<TemplatePaths, int[]> entry : counts.entrySet()) {
+            int[] c = entry.getValue();
+            for (int i = 0; i < total.length; i++) {
+                total[i] += c[i];
+            }
+            if (c[ADDED_COLUMN] + c[CHANGED_COLUMN] + c[UNCHANGED_COLUMN] + c[SKIPPED_COLUMN] > 0) {
+                log.info(String.format("%-14s %8d %8d %10d %8d", entry.getKey().name(), c[ADDED_COLUMN], c[CHANGED_COLUMN], c[UNCHANGED_COLUMN], c[SKIPPED_COLUMN]));
+            }
+            templates.append(templates.isEmpty() ? "" : ",\n").append("    ").append(Json.quote(entry.getKey().name())).append(": ").append(counts(c));
+        }
+        log.info(String.format("%-14s %8d %8d %10d %8d", "TOTAL", total[ADDED_COLUMN], total[CHANGED_COLUMN], total[UNCHANGED_COLUMN], total[SKIPPED_COLUMN]));
+
+        // 顶层直接展开总计字段
+        String totals = counts(total);
+        String json = "{\n"
+                + "  " + totals.substring(1, totals.length() - 1) + ",\n"
+                + "  \"templates\": {\n" + templates + "\n  },\n"
+                + "  \"files\": [" + (changedFiles.isEmpty() ? "" : "\n    " + String.join(",\n    ", changedFiles) + "\n  ") + "]\n"
+                + "}\n";
+        Files.writeString(summaryFile, json, StandardCharsets.UTF_8);
+
+        log.info("Dry-run diff: " + diffFile.toAbsolutePath());
+        log.info("Dry-run summary: " + summaryFile.toAbsolutePath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        diffWriter.close();
+    }
+
+    /**
+     * 将一组计数格式化为 JSON 对象
+     */
+    private static String counts(int[] c) {
+        return String.format("{\"added\": %d, \"changed\": %d, \"unchanged\": %d, \"skipped\": %d}",
+                c[ADDED_COLUMN], c[CHANGED_COLUMN], c[UNCHANGED_COLUMN], c[SKIPPED_COLUMN]);
+    }
+}
@@ -4,24 +4,42 @@ package com.g2rain.generator.generator;
 import com.g2rain.generator.AbstractGenerator;
 import com.g2rain.generator.config.FoundryConfig;
 import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.introspect.DdlFileIntrospector;
+import com.g2rain.generator.introspect.InformationSchemaIntrospector;
+import com.g2rain.generator.introspect.MyBatisIntrospector;
+import com.g2rain.generator.introspect.SchemaIntrospector;
+import com.g2rain.generator.introspect.SnapshotIntrospector;
+import com.g2rain.generator.introspect.TableSelector;
+import com.g2rain.generator.metrics.GenerationMetrics;
 import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.model.TableRenderView;
+import com.g2rain.generator.output.ArchiveSink;
+import com.g2rain.generator.output.CommitSink;
+import com.g2rain.generator.output.DryRunSink;
+import com.g2rain.generator.output.FileStatus;
+import com.g2rain.generator.output.StagingSink;
 import com.g2rain.generator.plugin.TableInfoPlugin;
+import com.g2rain.generator.shard.ShardModuleWriter;
+import com.g2rain.generator.template.SharedTemplateCache;
+import com.g2rain.generator.utils.Hashes;
+import com.g2rain.generator.utils.PluginVersion;
 import com.g2rain.generator.utils.Strings;
+import freemarker.template.TemplateException;
 import org.apache.maven.plugin.logging.Log;
-import org.mybatis.generator.api.MyBatisGenerator;
-import org.mybatis.generator.config.Configuration;
-import org.mybatis.generator.config.Context;
-import org.mybatis.generator.config.JavaTypeResolverConfiguration;
-import org.mybatis.generator.config.ModelType;
-import org.mybatis.generator.internal.DefaultShellCallback;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Foundry 代码生成器，用于根据 {@link FoundryConfig} 配置自动生成 MyBatis PO、DAO、Service、Controller、
@@ -29,9 +47,11 @@ import java.util.Map;
  *
  * <p>核心功能：</p>
  * <ol>
- *     <li>根据配置连接数据库，提取指定表的元数据信息</li>
- *     <li>通过 {@link TableInfoPlugin} 插件收集表信息和字段信息</li>
- *     <li>使用 MyBatis Generator 自动生成 PO（实体类）和 Mapper XML</li>
+ *     <li>根据配置连接数据库，通过 {@link SchemaIntrospector} 提取指定表的元数据信息</li>
+ *     <li>MySQL/MariaDB 使用 {@link InformationSchemaIntrospector} 以少量集合查询批量加载全部表；
+ *     其它数据库回退到 {@link MyBatisIntrospector}，由 {@link TableInfoPlugin} 插件逐表收集</li>
+ *     <li>内省结果按结构指纹缓存到本地快照，表结构未变化时无需重新内省，也支持完全离线生成</li>
+ *     <li>通过 {@link GenerationManifest} 记录每个输出文件的输入指纹，再次生成时只渲染输入发生变化的文件</li>
  *     <li>基于 {@link TemplatePaths} 枚举定义的模板，渲染生成 Service、Controller、DTO/VO、API 等文件</li>
  *     <li>可选择性跳过已存在文件（skipIfExists），避免覆盖手动修改的代码</li>
  * </ol>
@@ -53,24 +73,16 @@ import java.util.Map;
  *
  * <p>核心流程：</p>
  * <ol>
- *     <li>构造函数初始化：
- *         <ul>
- *             <li>创建 MyBatis Generator 配置 {@link Configuration} 和上下文 {@link Context}</li>
- *             <li>设置 JDBC 连接信息、PO 生成策略、Java 类型解析配置</li>
- *             <li>添加 {@link TableInfoPlugin} 插件，用于生成表结构元数据</li>
- *         </ul>
- *     </li>
  *     <li>{@link #generate()} 方法：
  *         <ul>
- *             <li>按逗号分割表名，去重和修剪空格</li>
- *             <li>将每个表名转换为 {@link org.mybatis.generator.config.TableConfiguration} 并加入上下文</li>
- *             <li>调用 MyBatis Generator 执行 PO 和 Mapper XML 生成</li>
- *             <li>收集插件生成的 {@link TableInfo}，渲染其它层级模板：
+ *             <li>通过 {@link TableSelector} 解析表名、通配符、正则与排除项，去重和修剪空格</li>
+ *             <li>根据数据库类型选择 {@link SchemaIntrospector}，流式内省表结构并通过有界队列交给渲染阶段</li>
+ *             <li>基于内省得到的 {@link TableInfo}，先由 {@link GenerationPlanner} 解析不可变的 {@link GenerationPlan}，再执行计划渲染各层级模板：
  *                 <ul>
  *                     <li>Service、Controller、DTO/VO、API 等</li>
- *                     <li>通过 {@link TemplatePaths#getOutputPath(FoundryConfig, String)} 计算输出路径</li>
+ *                     <li>通过 {@link TemplatePaths#getOutputDir(FoundryConfig)}（每个模板只计算一次）与文件名计算输出路径</li>
  *                     <li>若模板设置 skipIfExists 且文件已存在且非空，则跳过</li>
- *                     <li>使用 {@link AbstractGenerator#processTemplate(String, Path, Map)} 渲染模板</li>
+ *                     <li>使用 {@link AbstractGenerator#renderAll(List, int)} 串行或并行渲染模板</li>
  *                 </ul>
  *             </li>
  *             <li>输出日志，打印每张表生成的 TableInfo 信息</li>
@@ -105,7 +117,10 @@ import java.util.Map;
  * <p>注意事项：</p>
  * <ul>
  *     <li>必须在 {@code FoundryConfig#setTables(String)} 中指定表名，否则不会生成任何代码</li>
- *     <li>PO 和 Mapper XML 生成使用 MyBatis Generator，其他层级文件使用 Freemarker 模板渲染</li>
+ *     <li>全部文件均使用 Freemarker 模板渲染，MyBatis Generator 仅用于非 MySQL 数据库的元数据内省；
+ *     开启编译模板（{@code FoundryConfig#isCompiledTemplates()}）时，未被覆盖的内置模板改由构建时编译的 Java 渲染类输出，内容不变</li>
+ *     <li>配置了项目模板目录（{@code FoundryConfig#getTemplateDir()}）时，其中的同名模板与片段优先于内置模板；
+ *     增量生成的模板指纹包含 include / import 的片段，片段变化只会重新渲染依赖它的模板</li>
  *     <li>模板渲染时，数据模型包含：
  *         <ul>
  *             <li>config: FoundryConfig 配置</li>
@@ -121,59 +136,241 @@ import java.util.Map;
 public class FoundryGenerator extends AbstractGenerator {
 
     /**
-     * MyBatis Generator 配置
+     * 内省与渲染之间的有界队列容量，限制同时驻留内存的表数量
+     */
+    private static final int TABLE_QUEUE_CAPACITY = 64;
+
+    /**
+     * 队列结束标记
      */
-    private final Configuration config;
+    private static final TableInfo END_OF_TABLES = new TableInfo();
 
     /**
-     * MyBatis Generator 默认上下文
+     * Foundry 配置
      */
-    private final Context defaultContext;
+    private final FoundryConfig foundryConfig;
 
     /**
-     * Shell 回调，用于覆盖已有文件
+     * 表结构内省器
      */
-    private final DefaultShellCallback callback;
+    private final SchemaIntrospector introspector;
 
     /**
-     * Foundry 配置
+     * 预演模式下的内存输出目标，非预演模式为 {@code null}
      */
-    private final FoundryConfig foundryConfig;
+    private final DryRunSink dryRunSink;
 
     /**
-     * 构造函数
+     * 构造函数，根据数据库类型自动选择表结构内省器
      *
      * @param log           日志对象
      * @param foundryConfig Foundry 配置
-     * @throws IOException PO 生成目录创建失败时抛出
      */
-    public FoundryGenerator(Log log, FoundryConfig foundryConfig) throws IOException {
-        super(log, "/templates");
+    public FoundryGenerator(Log log, FoundryConfig foundryConfig) {
+        this(log, foundryConfig, null);
+    }
 
+    /**
+     * 构造函数，使用指定的表结构元数据来源（如内存中的元数据、DDL 文件等）
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置
+     * @param introspector  表结构内省器，为 {@code null} 时根据数据库类型自动选择
+     */
+    public FoundryGenerator(Log log, FoundryConfig foundryConfig, SchemaIntrospector introspector) {
+        super(log, "/templates");
+        if (Objects.nonNull(foundryConfig.getShards()) && (foundryConfig.isArchive() || Objects.nonNull(foundryConfig.getGeneratedSourcesDir()))) {
+            throw new IllegalArgumentException("Shard modules are not supported together with archive or generate-sources output");
+        }
         this.foundryConfig = foundryConfig;
-        config = new Configuration();
-        defaultContext = new Context(ModelType.FLAT);
-        config.addContext(defaultContext);
+        this.introspector = Objects.nonNull(introspector) ? introspector : createIntrospector(log, foundryConfig);
+        if (Objects.nonNull(foundryConfig.getTemplateDir())) {
+            setTemplateDirectory(foundryConfig.getTemplateDir());
+        }
+        setCompiledTemplates(foundryConfig.isCompiledTemplates());
+        this.dryRunSink = foundryConfig.isDryRun() ? new DryRunSink(foundryConfig.getBaseDir()) : null;
+        if (Objects.nonNull(this.dryRunSink)) {
+            this.outputSink = this.dryRunSink;
+        }
+    }
+
+    /**
+     * 根据配置与数据库类型选择表结构内省器。
+     * <p>
+     * 配置了 DDL 文件时使用 {@link DdlFileIntrospector} 直接解析 DDL，不连接数据库；
+     * 离线模式及 MySQL/MariaDB 使用带快照缓存的 {@link SnapshotIntrospector}（底层为 information_schema 批量查询），
+     * 其它数据库回退到 MyBatis Generator 逐表内省。
+     * </p>
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置
+     * @return 表结构内省器
+     */
+    public static SchemaIntrospector createIntrospector(Log log, FoundryConfig foundryConfig) {
+        if (!foundryConfig.getDdlFiles().isEmpty()) {
+            return new DdlFileIntrospector(log, foundryConfig.getDdlFiles());
+        }
 
-        // 添加自定义插件以提取表信息
-        defaultContext.addPluginConfiguration(TableInfoPlugin.generatePluginConfiguration());
-        defaultContext.setId("G2RAIN_GENERATOR");
-        defaultContext.setTargetRuntime("MyBatis3");
+        if (foundryConfig.isOffline() || foundryConfig.isInformationSchemaSupported()) {
+            return new SnapshotIntrospector(log, foundryConfig);
+        }
 
-        // 配置连接信息
-        defaultContext.setJdbcConnectionConfiguration(foundryConfig.toJDBCConnectionConfiguration());
+        return new MyBatisIntrospector(log, foundryConfig);
+    }
+
+    /**
+     * 参与生成的模板的模块根目录，作为暂存文件的提交单位；生成源码模式下为生成源码与资源目录，
+     * 分片模式下可分片的模板整体以分片聚合模块为根目录
+     *
+     * @return 模块根目录列表
+     */
+    private List<Path> moduleRoots() {
+        if (Objects.nonNull(foundryConfig.getGeneratedSourcesDir())) {
+            return List.of(foundryConfig.getGeneratedSourcesDir(), foundryConfig.getGeneratedResourcesDir());
+        }
+
+        List<Path> roots = new ArrayList<>();
+        if (Objects.nonNull(foundryConfig.getShards())) {
+            roots.add(new ShardModuleWriter(log, foundryConfig).aggregatorDir());
+        }
+        for (TemplatePaths p : foundryConfig.getTemplates()) {
+            if (Objects.nonNull(foundryConfig.getShards()) && p.isShardable()) {
+                continue;
+            }
+            roots.add(foundryConfig.getBaseDir().resolve(p.getModulePath(foundryConfig.isStepIn(), foundryConfig.getProjectName())));
+        }
+        return roots;
+    }
+
+    /**
+     * 创建需要提交的输出目标：归档模式下每个模块写入一个源码归档，否则写入暂存目录
+     *
+     * @return 输出目标
+     * @throws IOException 创建暂存目录或归档目录失败时抛出
+     */
+    private CommitSink openCommitSink() throws IOException {
+        return foundryConfig.isArchive()
+                ? ArchiveSink.open(foundryConfig.getArchiveDir(), moduleRoots())
+                : StagingSink.open(foundryConfig.getStagingDir(), moduleRoots());
+    }
+
+    /**
+     * 创建生成计划解析器，一次性解析全部模板的源码摘要。
+     *
+     * @param manifest 增量生成清单
+     * @return 生成计划解析器
+     * @throws IOException 模板不存在、读取或解析失败时抛出
+     */
+    private GenerationPlanner planner(GenerationManifest manifest) throws IOException {
+        Map<TemplatePaths, String> templateDigests = new EnumMap<>(TemplatePaths.class);
+        for (TemplatePaths p : foundryConfig.getTemplates()) {
+            templateDigests.put(p, templateDigest(p.getTemplateName()));
+        }
+        return new GenerationPlanner(foundryConfig, manifest, templateDigests);
+    }
+
+    /**
+     * 计算无需连接数据库即可确定的全部生成输入的指纹：相关配置、插件版本、表名配置、参与生成的模板（含 include / import 的片段）
+     * 及其输出目录，以及表结构来源文件（DDL 文件，或离线模式的表结构快照）的内容。
+     * <p>仅在离线或 DDL 模式下能完整代表生成结果；连接数据库时表结构不在指纹中。</p>
+     *
+     * @return 输入指纹
+     * @throws IOException 读取模板或输入文件失败时抛出
+     */
+    public String inputDigest() throws IOException {
+        refreshTemplates();
+        List<String> parts = new ArrayList<>();
+        parts.add(GenerationPlanner.configDigest(foundryConfig));
+        // 插件升级后渲染模型可能变化, 即使输入不变也不能沿用旧代码
+        parts.add(PluginVersion.CURRENT);
+        parts.add(String.valueOf(TableRenderView.MODEL_VERSION));
+        parts.add(foundryConfig.getTables());
+        parts.add(String.valueOf(foundryConfig.isOverwrite()));
+        for (TemplatePaths p : foundryConfig.getTemplates()) {
+            parts.add(p.name() + "=" + templateDigest(p.getTemplateName()) + "@" + p.getOutputDir(foundryConfig));
+        }
+
+        List<Path> inputs = foundryConfig.getDdlFiles().isEmpty() ? List.of(foundryConfig.getSchemaSnapshotDir()) : foundryConfig.getDdlFiles();
+        for (Path input : inputs) {
+            if (Files.notExists(input)) {
+                parts.add(input + "=missing");
+                continue;
+            }
+
+            try (Stream<Path> files = Files.walk(input)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                    parts.add(file + "=" + Hashes.sha256(Files.readAllBytes(file)));
+                }
+            }
+        }
+        return Hashes.sha256(parts.toArray(String[]::new));
+    }
+
+    /**
+     * 解析表名配置，含通配符、正则或排除项时通过一次元数据查询列出全部表后匹配。
+     *
+     * @param tables 表名配置
+     * @return 匹配到的表名
+     * @throws Exception 列出全部表失败时抛出
+     */
+    private List<String> selectTables(String tables) throws Exception {
+        TableSelector selector = TableSelector.parse(tables);
+        List<String> tableNames = selector.isLiteral() ? selector.names() : selector.select(introspector.listTables());
+        if (!selector.isLiteral()) {
+            log.info(String.format("Table patterns [%s] matched %d table(s)", tables, tableNames.size()));
+        }
+        return tableNames;
+    }
+
+    /**
+     * 只解析生成计划而不渲染任何文件，用于检查本次生成将会写入哪些文件（{@code g2rain:plan}）。
+     * <p>一次性内省全部匹配的表；不写入生成文件、增量清单与性能指标。</p>
+     *
+     * @return 生成计划，未配置表名或没有匹配的表时为空计划
+     * @throws Exception 内省表结构或读取模板失败时抛出
+     */
+    public GenerationPlan plan() throws Exception {
+        refreshTemplates();
+        List<TableInfo> tableInfos = introspectTables();
+        if (tableInfos.isEmpty()) {
+            return new GenerationPlan(List.of(), List.of());
+        }
+
+        GenerationManifest manifest = GenerationManifest.load(foundryConfig.getGenerationManifestFile());
+        return planner(manifest).plan(tableInfos);
+    }
 
-        // 配置Po对象生成策略
-        defaultContext.setJavaModelGeneratorConfiguration(foundryConfig.toJavaModelGeneratorConfiguration());
+    /**
+     * 按表名配置一次性内省全部匹配的表，不渲染任何模板（{@code g2rain:plan}、{@code g2rain:explain}）。
+     *
+     * @return 表信息，未配置表名或没有匹配的表时为空列表
+     * @throws Exception 列出或内省表结构失败时抛出
+     */
+    public List<TableInfo> introspectTables() throws Exception {
+        String tables = foundryConfig.getTables();
+        if (Strings.isBlank(tables)) {
+            log.error("Table name is null or blank, tableName:" + tables);
+            return List.of();
+        }
 
-        // 配置 Java 类型解析器，启用 JSR310 类型支持
-        JavaTypeResolverConfiguration typeResolver = new JavaTypeResolverConfiguration();
-        typeResolver.addProperty("useJSR310Types", "true");
-        typeResolver.addProperty("forceBigDecimals", "true");
-        defaultContext.setJavaTypeResolverConfiguration(typeResolver);
+        List<String> tableNames = selectTables(tables);
+        if (tableNames.isEmpty()) {
+            log.warn("No table matched: " + tables);
+            return List.of();
+        }
+        return introspector.introspect(tableNames);
+    }
 
-        // Shell 回调，允许覆盖已有文件
-        callback = new DefaultShellCallback(foundryConfig.isOverwrite());
+    /**
+     * 按当前配置（含项目模板目录）渲染一张表的 mapper.xml，不写出文件（{@code g2rain:explain}）。
+     *
+     * @param tableInfo 表信息
+     * @return 渲染后的 mapper.xml
+     * @throws IOException       模板读取失败时抛出
+     * @throws TemplateException 模板渲染失败时抛出
+     */
+    public String renderMapper(TableInfo tableInfo) throws IOException, TemplateException {
+        return renderToString(TemplatePaths.MAPPER.getTemplateName(), Map.of("config", foundryConfig, "table", tableInfo));
     }
 
     /**
@@ -189,40 +386,37 @@ public class FoundryGenerator extends AbstractGenerator {
      *         </ul>
      *     </li>
      *
-     *     <li>将表名转化为 MyBatis Generator 的 TableConfiguration 并加入上下文：
-     *         <ul>
-     *             <li>按逗号分割表名，去除首尾空格，并去重</li>
-     *             <li>调用 {@link FoundryConfig#toTableConfiguration(Context, String)} 生成 TableConfiguration</li>
-     *             <li>添加到 {@link Context}，供 MyBatis Generator 使用生成 PO 和 Mapper XML</li>
-     *         </ul>
-     *     </li>
-     *
-     *     <li>执行 MyBatis Generator：
-     *         <ul>
-     *             <li>使用 {@link MyBatisGenerator} 根据 {@link Configuration} 生成 PO（实体类）和 Mapper XML</li>
-     *             <li>使用 {@link DefaultShellCallback} 覆盖已有文件，保证最新模板生效</li>
-     *             <li>捕获 {@link InterruptedException} 并打印日志，同时恢复线程中断状态</li>
-     *             <li>收集生成过程中产生的警告信息，逐条记录到日志中</li>
-     *         </ul>
-     *     </li>
-     *
-     *     <li>收集表信息（TableInfo）：
+     *     <li>内省表结构（TableInfo）：
      *         <ul>
-     *             <li>通过 {@code TableInfoPlugin#getTableInfoList()} 获取插件生成的表信息列表</li>
+     *             <li>通过 {@link TableSelector} 解析表名配置：按逗号分割、去除首尾空格并去重；
+     *             包含通配符（{@code order_*}）、正则（{@code regex:...}）或排除项（{@code !*_bak}）时，
+     *             先以一次元数据查询列出库中全部表再匹配</li>
+     *             <li>MySQL/MariaDB：{@link InformationSchemaIntrospector} 通过 information_schema 集合查询一次加载全部表，
+     *             并由 {@link SnapshotIntrospector} 按结构指纹复用 target/g2rain 下的快照，仅内省已变化的表</li>
+     *             <li>离线模式：不连接数据库，直接从快照读取</li>
+     *             <li>DDL 模式（{@code FoundryConfig#getDdlFiles()}）：{@link DdlFileIntrospector} 解析 Flyway 迁移脚本或 schema.sql，不连接数据库</li>
+     *             <li>其它数据库：{@link MyBatisIntrospector} 通过 MyBatis Generator 逐表内省，警告信息逐条记录到日志中</li>
      *             <li>每个 TableInfo 包含表名、注释、实体类名、主键列、普通列和基础列</li>
+     *             <li>内省在独立的虚拟线程中进行，每得到一张表即放入容量为 {@link #TABLE_QUEUE_CAPACITY} 的有界队列；
+     *             当前线程从队列中按批（最多 parallelism 张表）取出并立即渲染，渲染完成后即释放，
+     *             内存占用与表总数无关，首批文件无需等待全部表内省完成</li>
      *         </ul>
      *     </li>
      *
      *     <li>渲染模板文件：
      *         <ul>
      *             <li>遍历每个 TableInfo 和 {@link TemplatePaths} 枚举中的模板</li>
+     *             <li>计划阶段（{@link GenerationPlanner}）为每个 (表 × 模板) 作业解析输出路径、处理方式与输入指纹，
+     *             得到不可变的 {@link GenerationPlan}，执行阶段只渲染其中需要渲染的作业</li>
      *             <li>根据模板计算输出文件路径：
      *                 <ul>
-     *                     <li>调用 {@link TemplatePaths#getOutputPath(FoundryConfig, String)}</li>
+     *                     <li>每个模板的输出目录 {@link TemplatePaths#getOutputDir(FoundryConfig)} 只计算一次，再拼接文件名</li>
      *                     <li>路径规则支持模块名、包路径、文件名模板（如 {0}Api.java）</li>
      *                 </ul>
      *             </li>
      *             <li>如果模板配置了 {@code TemplatePaths#isSkipIfExists()} 并且文件已存在且非空，则跳过生成</li>
+     *             <li>增量生成：按 (TableInfo, 模板内容, 相关配置) 计算输入指纹，与 {@link GenerationManifest}
+     *             中的记录一致且文件未被手工修改时跳过渲染</li>
      *             <li>构建模板数据模型：
      *                 <ul>
      *                     <li>config: FoundryConfig 配置信息</li>
@@ -230,13 +424,25 @@ public class FoundryGenerator extends AbstractGenerator {
      *                     <li>random: Random 对象，用于模板中生成随机数据</li>
      *                 </ul>
      *             </li>
-     *             <li>调用 {@link AbstractGenerator#processTemplate(String, Path, Map)} 渲染模板到目标文件</li>
+     *             <li>调用 {@link AbstractGenerator#renderAll(List, int)} 按 {@code FoundryConfig#getParallelism()}
+     *             串行或并行渲染模板到目标文件</li>
      *         </ul>
      *     </li>
      *
      *     <li>生成完成后打印日志：
      *         <ul>
-     *             <li>记录每张表生成的 TableInfo 信息，便于调试和验证生成结果</li>
+     *             <li>每个文件的生成结果与每张表的 TableInfo 信息以 debug 级别按 (表 × 模板) 顺序输出，与并行度无关</li>
+     *             <li>渲染结果与已有文件内容一致时不写盘；有变化的文件先写入 {@link StagingSink} 暂存目录，
+     *             内省与渲染全部成功后才按模块移动到最终位置并保存增量清单，否则丢弃暂存文件，已有文件保持不变</li>
+     *             <li>{@link GenerationMetrics} 记录各阶段耗时、按模板统计的渲染/写出耗时与字节数以及最慢的表，
+     *             结束时在日志中输出紧凑汇总表，并写出 JSON 报告到 {@code FoundryConfig#getGenerationMetricsFile()}</li>
+     *             <li>存在渲染失败的文件时，逐个记录错误后抛出异常</li>
+     *             <li>归档模式（{@code FoundryConfig#isArchive()}）：渲染结果由 {@link ArchiveSink} 按模块写入
+     *             {@code {module}-sources.jar}（条目按名称排序，与并行度无关），不写出单独的文件；每次完整渲染，不读写增量清单</li>
+     *             <li>分片模式（{@code FoundryConfig#getShards()}）：-api、-biz 模板按表所属分片写入 {projectName}-domains 下的领域模块，
+     *             由 {@link ShardModuleWriter} 生成聚合与分片模块的 pom.xml，与生成代码一起提交</li>
+     *             <li>预演模式（{@code FoundryConfig#isDryRun()}）：渲染结果只保存在 {@link DryRunSink} 内存中，
+     *             由 {@link DryRunReport} 输出 unified diff 与按模板统计的 JSON 汇总，不写入生成文件和增量清单</li>
      *         </ul>
      *     </li>
      * </ol>
@@ -258,59 +464,259 @@ public class FoundryGenerator extends AbstractGenerator {
      * <p>注意事项：</p>
      * <ul>
      *     <li>必须在 {@code FoundryConfig#setTables(String)} 中指定表名，否则不会生成任何代码</li>
-     *     <li>PO/Mapper 使用 MyBatis Generator，其他层级文件使用 Freemarker 模板渲染</li>
+     *     <li>PO/Mapper 及其他层级文件均使用 Freemarker 模板渲染</li>
      *     <li>模板渲染支持按模块和包路径生成文件，保证目录结构合理</li>
      *     <li>skipIfExists 可防止覆盖手动修改的文件</li>
-     *     <li>生成过程中出现异常会打印日志，不会中断整个生成流程</li>
+     *     <li>单个文件渲染失败不会中断其它文件的生成，全部完成后统一汇总失败并抛出异常</li>
      * </ul>
      *
      * @throws Exception 当数据库连接失败、PO 目录创建失败或模板渲染失败时抛出
      */
     @Override
     public void generate() throws Exception {
+        refreshTemplates();
         String tables = foundryConfig.getTables();
         if (Strings.isBlank(tables)) {
             log.error("Table name is null or blank, tableName:" + tables);
             return;
         }
 
-        // 将表名加入 MyBatis Generator 上下文
-        Arrays.stream(tables.split(",")).map(String::strip).distinct().forEach(tableName ->
-                defaultContext.addTableConfiguration(foundryConfig.toTableConfiguration(defaultContext, tableName))
-        );
-
-        // 执行 MyBatis Generator
-        List<String> warnings = new ArrayList<>();
-        try {
-            MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, callback, warnings);
-            myBatisGenerator.generate(null);
-        } catch (InterruptedException e) {
-            log.error("Code generation execution error, message: " + e.getMessage(), e);
-            Thread.currentThread().interrupt();
+        // 本次生成的性能指标, JDBC 连接耗时由 FoundryConfig#openConnection 记录
+        GenerationMetrics metrics = new GenerationMetrics();
+        foundryConfig.setMetrics(metrics);
+
+        // 解析表名/通配符/正则/排除项, 含模式时通过一次元数据查询列出全部表后匹配
+        long start = System.nanoTime();
+        List<String> tableNames = selectTables(tables);
+        metrics.addPhase(GenerationMetrics.PHASE_SELECT, System.nanoTime() - start);
+        if (tableNames.isEmpty()) {
+            log.warn("No table matched: " + tables);
+            return;
         }
 
-        // 输出警告
-        warnings.forEach(log::warn);
+        // 增量生成清单, 记录每个输出文件的输入指纹
+        start = System.nanoTime();
+        Path manifestFile = foundryConfig.getGenerationManifestFile();
+        GenerationManifest manifest = GenerationManifest.load(manifestFile);
+        metrics.addPhase(GenerationMetrics.PHASE_MANIFEST, System.nanoTime() - start);
 
-        // 获取 TableInfo 列表，用于渲染模板
-        List<TableInfo> tableInfoList = TableInfoPlugin.getTableInfoList();
-        if (tableInfoList.isEmpty()) {
-            return;
+        // 与表无关的计划输入（模板摘要、输出目录、配置摘要）只解析一次
+        start = System.nanoTime();
+        GenerationPlanner planner = planner(manifest);
+        metrics.addPhase(GenerationMetrics.PHASE_PLAN, System.nanoTime() - start);
+        if (foundryConfig.isCompiledTemplates()) {
+            logCompiledTemplates();
+        }
+
+        // 预演报告: 逐文件写出 diff, 结束时写出汇总
+        DryRunReport report = foundryConfig.isDryRun()
+                ? new DryRunReport(foundryConfig.getDryRunDiffFile(), foundryConfig.getDryRunSummaryFile())
+                : null;
+
+        // 非预演模式先写入暂存目录（或写出中的归档）, 全部成功后再提交到最终位置
+        CommitSink staging = Objects.isNull(report) ? openCommitSink() : null;
+        if (Objects.nonNull(staging)) {
+            this.outputSink = staging;
         }
 
-        for (TableInfo t : tableInfoList) {
-            for (TemplatePaths p : TemplatePaths.values()) {
-                Path outputFile = p.getOutputPath(foundryConfig, t.getEntityName());
-                // 文件存在且非空 且 (skipIfExists 为 true 或者 overwrite 为 false) 则跳过
-                if (Files.exists(outputFile) && Files.size(outputFile) > 0 && (p.isSkipIfExists() || !foundryConfig.isOverwrite())) {
-                    continue;
+        // 内省与渲染流水线: 内省线程逐表放入有界队列, 当前线程取出后立即渲染并释放
+        BlockingQueue<TableInfo> queue = new ArrayBlockingQueue<>(TABLE_QUEUE_CAPACITY);
+        AtomicReference<Exception> introspectionError = new AtomicReference<>();
+        Thread producer = Thread.ofVirtual().name("g2rain-introspect").start(() -> {
+            long introspectStart = System.nanoTime();
+            try {
+                introspector.introspect(tableNames, queue::put);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                introspectionError.set(e);
+            } finally {
+                // 含等待渲染阶段腾出队列空间的时间
+                metrics.addPhase(GenerationMetrics.PHASE_INTROSPECT, System.nanoTime() - introspectStart);
+                try {
+                    queue.put(END_OF_TABLES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
+            }
+        });
 
-                // 构造数据模型, 渲染模板文件
-                processTemplate(p.getTemplateName(), outputFile, Map.of("config", foundryConfig, "table", t));
+        // 成功渲染的文件及其输入指纹, 提交后才写入增量清单（修改时间取自提交到最终位置的文件）
+        Map<Path, String> generated = new LinkedHashMap<>();
+        boolean committed = false;
+        // 渲染线程池在本轮全部批次间共用, 线程内复用的渲染缓冲区不随批次丢弃
+        try (report; staging; AutoCloseable renderScope = openRenderExecutor(foundryConfig.getParallelism())) {
+            // 每次最多取出 parallelism 张表一起渲染, 保证并行渲染时线程不空闲
+            int maxTables = Math.max(1, foundryConfig.getParallelism());
+            List<TableInfo> batch = new ArrayList<>(maxTables);
+            boolean end = false;
+            while (!end) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxTables - 1);
+                end = batch.getLast() == END_OF_TABLES;
+                if (end) {
+                    batch.removeLast();
+                }
+
+                // 先解析本批次的生成计划, 再执行计划
+                long planStart = System.nanoTime();
+                GenerationPlan plan = planner.plan(batch);
+                metrics.addPhase(GenerationMetrics.PHASE_PLAN, System.nanoTime() - planStart);
+                execute(plan, generated, metrics, report);
+                batch.clear();
             }
 
-            log.info("tableInfo:" + t.toString());
+            if (Objects.nonNull(report)) {
+                report.finish(log);
+            }
+            if (Objects.nonNull(foundryConfig.getShards())) {
+                logShards(planner);
+            }
+
+            // 内省与渲染全部成功才提交, 否则丢弃暂存文件, 已有文件保持不变
+            if (Objects.nonNull(staging) && Objects.isNull(introspectionError.get()) && metrics.getFailed() == 0) {
+                start = System.nanoTime();
+                // 分片模块的 pom.xml 与生成代码一起暂存, 同时提交
+                if (Objects.nonNull(foundryConfig.getShards())) {
+                    new ShardModuleWriter(log, foundryConfig).write(planner.getShards(), staging);
+                }
+                int moved = staging.commit();
+                metrics.addPhase(GenerationMetrics.PHASE_COMMIT, System.nanoTime() - start);
+                if (foundryConfig.isArchive()) {
+                    log.info(String.format("Archived %d file(s) into %s", moved, foundryConfig.getArchiveDir().toAbsolutePath()));
+                } else {
+                    log.debug(String.format("Committed %d staged file(s)", moved));
+                }
+                committed = true;
+            }
+        } finally {
+            // 渲染阶段异常退出时停止内省线程
+            producer.interrupt();
+            // 预演、归档与未提交的生成不修改任何状态文件
+            if (committed && !foundryConfig.isArchive()) {
+                start = System.nanoTime();
+                for (Map.Entry<Path, String> entry : generated.entrySet()) {
+                    manifest.record(entry.getKey(), entry.getValue());
+                }
+                manifest.save(manifestFile);
+                metrics.addPhase(GenerationMetrics.PHASE_MANIFEST, System.nanoTime() - start);
+            }
+            metrics.finish();
+            foundryConfig.setMetrics(null);
+        }
+
+        // 紧凑汇总表输出到日志, 完整指标写出到 JSON 报告
+        metrics.log(log);
+        log.info(SharedTemplateCache.stats().toString());
+        Path metricsFile = foundryConfig.getGenerationMetricsFile();
+        metrics.writeJson(metricsFile);
+        log.info("Generation metrics: " + metricsFile.toAbsolutePath());
+
+        if (Objects.nonNull(introspectionError.get())) {
+            throw introspectionError.get();
+        }
+        if (metrics.getFailed() > 0) {
+            throw new IllegalStateException(metrics.getFailed() + " of " + metrics.getRendered() + " file(s) failed to generate, no file was written");
+        }
+    }
+
+    /**
+     * 执行一批表的生成计划：渲染计划中需要渲染的作业，并汇总结果。
+     *
+     * @param plan      本批次的生成计划
+     * @param generated 成功渲染的文件 → 输入指纹，提交后写入增量清单
+     * @param metrics   性能指标与生成结果汇总
+     * @param report    预演报告，非预演模式为 {@code null}
+     * @throws IOException          写出预演报告失败时抛出
+     * @throws InterruptedException 等待并行渲染完成时线程被中断
+     */
+    private void execute(GenerationPlan plan, Map<Path, String> generated, GenerationMetrics metrics, DryRunReport report) throws IOException, InterruptedException {
+        for (TableInfo t : plan.tableInfos()) {
+            log.debug("tableInfo:" + t.toString());
+            metrics.table(t.getTableName());
+        }
+
+        // 计划中需要渲染的作业转换为渲染任务, 任务顺序即日志输出顺序; jobs 与 tasks 一一对应
+        List<RenderTask> tasks = new ArrayList<>();
+        List<GenerationPlan.Job> jobs = new ArrayList<>();
+        for (GenerationPlan.Job job : plan.jobs()) {
+            if (job.action() != GenerationPlan.Action.RENDER) {
+                skipped(job.template(), metrics, report);
+                continue;
+            }
+
+            tasks.add(job.toTask(foundryConfig));
+            jobs.add(job);
+        }
+
+        // 渲染模板文件（串行或并行），结果顺序与任务顺序一致
+        List<RenderResult> results = renderAll(tasks, foundryConfig.getParallelism());
+        for (int i = 0; i < results.size(); i++) {
+            RenderResult result = results.get(i);
+            TemplatePaths template = jobs.get(i).template();
+            metrics.rendered(template.name(), jobs.get(i).table().getTableName(), result.status(), result.renderNanos(), result.writeNanos(), result.bytes());
+            Path outputFile = result.task().outputPath().toAbsolutePath();
+            if (!result.isSuccess()) {
+                log.error("Failed to process template: " + result.task().templateName() + " -> " + outputFile, result.error());
+                continue;
+            }
+
+            if (Objects.nonNull(report)) {
+                DryRunSink.Change change = dryRunSink.take(result.task().outputPath());
+                report.record(template, outputFile, change);
+                if (change.type() != DryRunSink.ChangeType.UNCHANGED) {
+                    log.debug("[dry-run] " + change.type() + ": " + outputFile);
+                }
+            } else if (!foundryConfig.isArchive()) {
+                // 归档模式不写出单独的文件, 不记录增量清单
+                generated.put(outputFile, result.task().inputHash());
+            }
+
+            if (result.status() == FileStatus.WRITTEN) {
+                if (Objects.isNull(report)) {
+                    log.debug("Generated file: " + outputFile);
+                }
+            } else {
+                log.debug("Unchanged file: " + outputFile);
+            }
+        }
+    }
+
+    /**
+     * 输出由编译模板渲染的模板数量，以及仍由 FreeMarker 解释执行的模板（被项目模板目录覆盖、修改后未重新构建插件或未被编译）
+     *
+     * @throws IOException 模板读取或解析失败时抛出
+     */
+    private void logCompiledTemplates() throws IOException {
+        List<String> interpreted = new ArrayList<>();
+        for (TemplatePaths p : foundryConfig.getTemplates()) {
+            if (!isCompiled(p.getTemplateName())) {
+                interpreted.add(p.getTemplateName());
+            }
+        }
+        int total = foundryConfig.getTemplates().size();
+        log.info(String.format("Compiled templates: %d/%d%s", total - interpreted.size(), total, interpreted.isEmpty() ? "" : ", FreeMarker: " + interpreted));
+    }
+
+    /**
+     * 输出本次生成涉及的分片；分片前生成的文件仍在未分片模块中时给出警告（同名类会重复），逐个文件以 debug 级别输出
+     */
+    private void logShards(GenerationPlanner planner) {
+        log.info("Shard modules: " + planner.getShards() + (foundryConfig.isDryRun() ? " (dry-run, pom.xml not written)" : ""));
+        List<Path> unsharded = planner.getUnshardedFiles();
+        if (!unsharded.isEmpty()) {
+            log.warn(unsharded.size() + " file(s) generated before sharding still exist in the unsharded modules and duplicate the shard module classes, remove or move them");
+            unsharded.forEach(f -> log.debug("Unsharded file: " + f));
+        }
+    }
+
+    /**
+     * 记录一个跳过渲染的文件
+     */
+    private static void skipped(TemplatePaths template, GenerationMetrics metrics, DryRunReport report) {
+        metrics.skipped(template.name());
+        if (Objects.nonNull(report)) {
+            report.skipped(template);
         }
     }
-}
\ No newline at end of file
+}
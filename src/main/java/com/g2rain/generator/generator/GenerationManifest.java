@@ -0,0 +1,132 @@
+package com.g2rain.generator.generator;
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 增量生成清单，记录每个输出文件对应的输入指纹。
+ *
+ * <p>输入指纹由 {@link FoundryGenerator} 基于 (TableInfo, 模板内容, 相关 FoundryConfig 字段) 计算。
+ * 再次生成时，若输出文件仍存在、其修改时间与清单记录一致且输入指纹未变化，则认为该文件已是最新，
+ * 无需重新渲染。修改时间用于识别手工修改过的输出文件，这类文件会重新生成。</p>
+ *
+ * <p>清单文件为纯文本，每行一个输出文件，按路径排序，便于排查：</p>
+ * <pre>{@code
+ * <inputHash>\t<lastModifiedMillis>\t<outputPath>
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class GenerationManifest {
+
+    /**
+     * 字段分隔符
+     */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * 输出文件路径 → 清单条目
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 从文件加载清单，文件不存在或格式不正确的行将被忽略。
+     *
+     * @param file 清单文件
+     * @return 清单对象
+     * @throws IOException 读取失败时抛出
+     */
+    public static GenerationManifest load(Path file) throws IOException {
+        GenerationManifest manifest = new GenerationManifest();
+        if (!Files.isRegularFile(file)) {
+            return manifest;
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] parts = line.split(SEPARATOR, 3);
+            if (parts.length == 3) {
+                try {
+                    manifest.entries.put(parts[2], new Entry(parts[0], Long.parseLong(parts[1])));
+                } catch (NumberFormatException ignored) {
+                    // 格式错误的行直接忽略, 对应文件会被重新生成
+                }
+            }
+        }
+
+        return manifest;
+    }
+
+    /**
+     * 判断输出文件是否已是最新。
+     *
+     * @param outputPath 输出文件
+     * @param inputHash  本次的输入指纹
+     * @return 文件存在、未被手工修改且输入指纹一致时返回 {@code true}
+     * @throws IOException 读取文件属性失败时抛出
+     */
+    public boolean isUpToDate(Path outputPath, String inputHash) throws IOException {
+        Entry entry = entries.get(key(outputPath));
+        if (Objects.isNull(entry) || !entry.inputHash().equals(inputHash) || !Files.isRegularFile(outputPath)) {
+            return false;
+        }
+
+        return Files.getLastModifiedTime(outputPath).toMillis() == entry.lastModified();
+    }
+
+    /**
+     * 记录输出文件的输入指纹（在文件提交到最终位置后调用，记录的修改时间即最终文件的修改时间）。
+     *
+     * @param outputPath 输出文件
+     * @param inputHash  输入指纹
+     * @throws IOException 读取文件属性失败时抛出
+     */
+    public void record(Path outputPath, String inputHash) throws IOException {
+        entries.put(key(outputPath), new Entry(inputHash, Files.getLastModifiedTime(outputPath).toMillis()));
+    }
+
+    /**
+     * 将清单写入文件（先写临时文件再替换）。
+     *
+     * @param file 清单文件
+     * @throws IOException 写入失败时抛出
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+                writer.write(e.getValue().inputHash() + SEPARATOR + e.getValue().lastModified() + SEPARATOR + e.getKey());
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 清单键：输出文件的绝对规范化路径
+     */
+    private static String key(Path outputPath) {
+        return outputPath.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * 清单条目
+     *
+     * @param inputHash    输入指纹
+     * @param lastModified 生成后输出文件的修改时间（毫秒）
+     */
+    private record Entry(String inputHash, long lastModified) {
+    }
+}
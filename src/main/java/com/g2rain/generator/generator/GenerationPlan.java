@@ -0,0 +1,154 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Json;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不可变的生成计划：一批表的全部 (表 × 模板) 作业及其输出路径、处理方式与输入指纹。
+ *
+ * <p>由 {@link GenerationPlanner} 在渲染前一次性解析得到，随后交给 {@link FoundryGenerator} 的执行阶段渲染；
+ * 计划本身不包含任何 I/O 副作用，可以单独输出检查（{@code g2rain:plan}），也可以拆分后并行执行。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * GenerationPlan plan = new FoundryGenerator(log, config).plan();
+ * plan.log(log);
+ * plan.writeJson(config.getGenerationPlanFile());
+ * }</pre>
+ *
+ * @param tableInfos 计划覆盖的表
+ * @param jobs       按 (表 × 模板) 顺序排列的作业
+ * @author alpha
+ * @since 2025/10/28
+ */
+public record GenerationPlan(List<TableInfo> tableInfos, List<Job> jobs) {
+
+    /**
+     * 构造函数，复制为不可变列表
+     */
+    public GenerationPlan {
+        tableInfos = List.copyOf(tableInfos);
+        jobs = List.copyOf(jobs);
+    }
+
+    /**
+     * 统计指定处理方式的作业数
+     *
+     * @param action 处理方式
+     * @return 作业数
+     */
+    public int count(Action action) {
+        int count = 0;
+        for (Job job : jobs) {
+            if (job.action() == action) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 输出按模板统计的计划汇总，逐个作业的明细以 debug 级别输出。
+     *
+     * @param log 日志对象
+     */
+    public void log(Log log) {
+        Map<TemplatePaths, int[]> counts = new EnumMap<>(TemplatePaths.class);
+        for (Job job : jobs) {
+            counts.computeIfAbsent(job.template(), k -> new int[Action.values().length])[job.action().ordinal()]++;
+            log.debug(String.format("[plan] %-15s %-14s %s", job.action(), job.template(), job.outputPath()));
+        }
+
+        log.info(String.format("%-14s %8s %8s %11s", "[plan]", "render", "exists", "up-to-date"));
+        for (Map.Entry<TemplatePaths, int[]> entry : counts.entrySet()) {
+            int[] c = entry.getValue();
+            log.info(String.format("%-14s %8d %8d %11d", entry.getKey().name(),
+                    c[Action.RENDER.ordinal()], c[Action.SKIP_EXISTS.ordinal()], c[Action.SKIP_UP_TO_DATE.ordinal()]));
+        }
+        log.info(String.format("%-14s %8d %8d %11d", "TOTAL", count(Action.RENDER), count(Action.SKIP_EXISTS), count(Action.SKIP_UP_TO_DATE)));
+        log.info(String.format("Plan: %d table(s), %d job(s)", tableInfos.size(), jobs.size()));
+    }
+
+    /**
+     * 将完整计划写出为 JSON 文件。
+     *
+     * @param file 输出文件
+     * @throws IOException 写出失败时抛出
+     */
+    public void writeJson(Path file) throws IOException {
+        List<String> items = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            items.add("{\"table\": " + Json.quote(job.table().getTableName())
+                    + ", \"template\": " + Json.quote(job.template().name())
+                    + ", \"action\": " + Json.quote(job.action().name())
+                    + ", \"path\": " + Json.quote(job.outputPath().toString())
+                    + ", \"inputHash\": " + Json.quote(job.inputHash()) + "}");
+        }
+
+        String json = "{\n"
+                + "  \"tables\": " + tableInfos.size() + ",\n"
+                + "  \"render\": " + count(Action.RENDER) + ",\n"
+                + "  \"skipExists\": " + count(Action.SKIP_EXISTS) + ",\n"
+                + "  \"skipUpToDate\": " + count(Action.SKIP_UP_TO_DATE) + ",\n"
+                + "  \"jobs\": [" + (items.isEmpty() ? "" : "\n    " + String.join(",\n    ", items) + "\n  ") + "]\n"
+                + "}\n";
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 作业的处理方式
+     */
+    public enum Action {
+
+        /**
+         * 需要渲染
+         */
+        RENDER,
+
+        /**
+         * 文件已存在且非空，模板配置了 skipIfExists 或未开启覆盖，跳过
+         */
+        SKIP_EXISTS,
+
+        /**
+         * 输入指纹与增量清单一致且文件未被手工修改，跳过
+         */
+        SKIP_UP_TO_DATE
+    }
+
+    /**
+     * 单个 (表 × 模板) 作业
+     *
+     * @param table      表信息
+     * @param template   模板
+     * @param outputPath 输出文件路径
+     * @param action     处理方式
+     * @param inputHash  输入指纹，{@link Action#SKIP_EXISTS} 时不计算，为 {@code null}
+     */
+    public record Job(TableInfo table, TemplatePaths template, Path outputPath, Action action, String inputHash) {
+
+        /**
+         * 构造渲染任务
+         *
+         * @param config Foundry 配置
+         * @return 渲染任务
+         */
+        public RenderTask toTask(FoundryConfig config) {
+            return new RenderTask(template.getTemplateName(), outputPath, Map.of("config", config, "table", table), inputHash);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.model.TableRenderView;
+import com.g2rain.generator.utils.Hashes;
+import com.g2rain.generator.utils.PluginVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * 生成计划解析器：为一批表解析全部 (表 × 模板) 作业，得到不可变的 {@link GenerationPlan}。
+ *
+ * <p>与表无关的部分在构造时一次性计算：每个模板的输出目录（{@link TemplatePaths#getOutputDir(FoundryConfig)}）、
+ * 模板源码摘要与配置摘要；解析每张表时只需拼接文件名、检查已有文件并计算输入指纹。
+ * 分片模式（{@code FoundryConfig#getShards()}）下每个分片的输出目录在首次出现时计算一次。</p>
+ *
+ * <p>每个作业的处理方式：</p>
+ * <ol>
+ *     <li>文件存在且非空，并且模板配置了 skipIfExists 或未开启覆盖：{@link GenerationPlan.Action#SKIP_EXISTS}</li>
+ *     <li>输入指纹（表结构、模板内容、相关配置、插件版本）与 {@link GenerationManifest} 一致且文件未被手工修改：
+ *     {@link GenerationPlan.Action#SKIP_UP_TO_DATE}</li>
+ *     <li>其它：{@link GenerationPlan.Action#RENDER}</li>
+ * </ol>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class GenerationPlanner {
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 增量生成清单
+     */
+    private final GenerationManifest manifest;
+
+    /**
+     * 模板 → 模板源码摘要
+     */
+    private final Map<TemplatePaths, String> templateDigests;
+
+    /**
+     * 模板 → 输出目录
+     */
+    private final Map<TemplatePaths, Path> outputDirs = new EnumMap<>(TemplatePaths.class);
+
+    /**
+     * 分片名 → (模板 → 输出目录)，分片模式下使用
+     */
+    private final Map<String, Map<TemplatePaths, Path>> shardOutputDirs = new HashMap<>();
+
+    /**
+     * 已解析的表涉及的分片，按名称排序
+     */
+    private final SortedSet<String> shards = new TreeSet<>();
+
+    /**
+     * 分片模式下仍位于未分片位置的同名文件（分片前生成），会与分片模块中的类重复
+     */
+    private final List<Path> unshardedFiles = new ArrayList<>();
+
+    /**
+     * 参与渲染的配置字段摘要
+     */
+    private final String configDigest;
+
+    /**
+     * 构造函数
+     *
+     * @param foundryConfig   Foundry 配置
+     * @param manifest        增量生成清单
+     * @param templateDigests 模板 → 模板源码摘要，需包含 {@code FoundryConfig#getTemplates()} 中的全部模板
+     */
+    public GenerationPlanner(FoundryConfig foundryConfig, GenerationManifest manifest, Map<TemplatePaths, String> templateDigests) {
+        this(foundryConfig, manifest, templateDigests, PluginVersion.CURRENT);
+    }
+
+    /**
+     * 构造函数，指定插件版本
+     *
+     * @param foundryConfig   Foundry 配置
+     * @param manifest        增量生成清单
+     * @param templateDigests 模板 → 模板源码摘要
+     * @param pluginVersion   插件版本
+     */
+    GenerationPlanner(FoundryConfig foundryConfig, GenerationManifest manifest, Map<TemplatePaths, String> templateDigests, String pluginVersion) {
+        this.foundryConfig = foundryConfig;
+        this.manifest = manifest;
+        this.templateDigests = new EnumMap<>(templateDigests);
+        for (TemplatePaths p : foundryConfig.getTemplates()) {
+            this.outputDirs.put(p, p.getOutputDir(foundryConfig));
+        }
+        this.configDigest = configDigest(foundryConfig, pluginVersion);
+    }
+
+    /**
+     * 计算参与渲染的配置字段摘要（项目名、基础包名、stepIn、作者），以及当前插件版本与渲染模型版本。
+     * <p>这些字段变化会影响所有输出文件的内容或路径，因此纳入每个文件的输入指纹。列清单与占位符由
+     * {@link TableRenderView} 在 Java 代码中拼接，插件升级后即使表结构与模板不变输出也可能不同，
+     * 因此插件版本或 {@link TableRenderView#MODEL_VERSION} 变化后全部文件重新渲染。</p>
+     *
+     * @param foundryConfig Foundry 配置
+     * @return 配置摘要
+     */
+    static String configDigest(FoundryConfig foundryConfig) {
+        return configDigest(foundryConfig, PluginVersion.CURRENT);
+    }
+
+    /**
+     * 计算参与渲染的配置字段摘要
+     *
+     * @param foundryConfig Foundry 配置
+     * @param pluginVersion 插件版本
+     * @return 配置摘要
+     */
+    static String configDigest(FoundryConfig foundryConfig, String pluginVersion) {
+        return Hashes.sha256(
+                foundryConfig.getProjectName(),
+                foundryConfig.getBasePackage(),
+                String.valueOf(foundryConfig.isStepIn()),
+                foundryConfig.getAuthor(),
+                pluginVersion,
+                String.valueOf(TableRenderView.MODEL_VERSION)
+        );
+    }
+
+    /**
+     * 解析一批表的生成计划，作业顺序为 (表 × 模板)。
+     *
+     * @param tableInfos 表信息
+     * @return 生成计划
+     * @throws IOException 检查已有文件或增量清单失败时抛出
+     */
+    public GenerationPlan plan(List<TableInfo> tableInfos) throws IOException {
+        List<GenerationPlan.Job> jobs = new ArrayList<>(tableInfos.size() * outputDirs.size());
+        for (TableInfo t : tableInfos) {
+            String tableDigest = t.toString();
+            Map<TemplatePaths, Path> dirs = outputDirs(t);
+            for (TemplatePaths p : dirs.keySet()) {
+                Path outputFile = dirs.get(p).resolve(p.getFileName(t.getEntityName()));
+                if (dirs != outputDirs && p.isShardable()) {
+                    Path unsharded = outputDirs.get(p).resolve(p.getFileName(t.getEntityName()));
+                    if (Files.exists(unsharded)) {
+                        unshardedFiles.add(unsharded);
+                    }
+                }
+                // 文件存在且非空 且 (skipIfExists 为 true 或者 overwrite 为 false) 则跳过; 归档模式不覆盖已有文件, 只按 skipIfExists 跳过
+                boolean keepExisting = p.isSkipIfExists() || (!foundryConfig.isOverwrite() && !foundryConfig.isArchive());
+                if (keepExisting && Files.exists(outputFile) && Files.size(outputFile) > 0) {
+                    jobs.add(new GenerationPlan.Job(t, p, outputFile, GenerationPlan.Action.SKIP_EXISTS, null));
+                    continue;
+                }
+
+                // 输入（表结构、模板内容、相关配置、插件版本）未变化且文件未被手工修改, 则无需重新渲染
+                String inputHash = Hashes.sha256(tableDigest, templateDigests.get(p), configDigest, p.name());
+                // 归档每次完整重建, 不能跳过任何文件
+                GenerationPlan.Action action = foundryConfig.isIncremental() && !foundryConfig.isArchive() && manifest.isUpToDate(outputFile, inputHash)
+                        ? GenerationPlan.Action.SKIP_UP_TO_DATE
+                        : GenerationPlan.Action.RENDER;
+                jobs.add(new GenerationPlan.Job(t, p, outputFile, action, inputHash));
+            }
+        }
+        return new GenerationPlan(tableInfos, jobs);
+    }
+
+    /**
+     * 已解析的表涉及的分片（按名称排序），未分片时为空
+     *
+     * @return 分片名
+     */
+    public SortedSet<String> getShards() {
+        return new TreeSet<>(shards);
+    }
+
+    /**
+     * 分片模式下仍位于未分片模块中的同名文件，需要手工删除或迁移
+     *
+     * @return 文件路径
+     */
+    public List<Path> getUnshardedFiles() {
+        return List.copyOf(unshardedFiles);
+    }
+
+    /**
+     * 表的各模板输出目录：未分片时为构造时计算的目录，分片模式下按表所属分片计算并缓存
+     */
+    private Map<TemplatePaths, Path> outputDirs(TableInfo t) {
+        if (Objects.isNull(foundryConfig.getShards())) {
+            return outputDirs;
+        }
+
+        String shard = foundryConfig.getShards().shardOf(t.getTableName());
+        shards.add(shard);
+        return shardOutputDirs.computeIfAbsent(shard, k -> {
+            Map<TemplatePaths, Path> dirs = new EnumMap<>(TemplatePaths.class);
+            outputDirs.keySet().forEach(p -> dirs.put(p, p.getOutputDir(foundryConfig, k)));
+            return dirs;
+        });
+    }
+}
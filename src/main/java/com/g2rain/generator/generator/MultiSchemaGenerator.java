@@ -0,0 +1,126 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.introspect.SchemaIntrospector;
+import com.g2rain.generator.template.SharedTemplateCache;
+import com.g2rain.generator.utils.PrefixedLog;
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 多数据源代码生成器：一次执行同时为多个库（schema）生成代码。
+ *
+ * <p>执行方式：</p>
+ * <ul>
+ *     <li>每个库对应一个 {@link FoundryConfig} 与一个 {@link FoundryGenerator}，在独立的虚拟线程中并发执行，
+ *     各自使用自己的数据库连接内省表结构，互不等待</li>
+ *     <li>全部生成器的模板渲染提交到同一个大小为 parallelism 的虚拟线程池，总并行度不随库的数量增加</li>
+ *     <li>解析后的模板保存在 JVM 级的 {@link SharedTemplateCache} 中，各库共用，每个模板只解析一次</li>
+ *     <li>各库的日志带有 {@code [name]} 前缀；快照、增量清单与性能指标分别保存在各自的工作目录中</li>
+ *     <li>各库先写入各自的暂存目录，提交到最终位置时互斥执行（见 {@link com.g2rain.generator.output.StagingSink}），
+ *     多个库生成到同一模块时不会同时判断并创建同一个模块目录</li>
+ * </ul>
+ *
+ * <p>某个库生成失败不会中断其它库，全部完成后统一汇总并抛出异常。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * Map<String, FoundryConfig> configs = Map.of("order", orderConfig, "user", userConfig);
+ * new MultiSchemaGenerator(log, configs, 8).generate();
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class MultiSchemaGenerator {
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * 数据源名称 → 配置
+     */
+    private final Map<String, FoundryConfig> configs;
+
+    /**
+     * 共享渲染线程池大小
+     */
+    private final int parallelism;
+
+    /**
+     * 数据源名称 → 指定的表结构内省器，未指定的数据源根据配置自动选择
+     */
+    private Map<String, SchemaIntrospector> introspectors = Map.of();
+
+    /**
+     * 构造函数
+     *
+     * @param log         日志对象
+     * @param configs     数据源名称 → 配置，按迭代顺序启动
+     * @param parallelism 全部数据源共享的渲染并行度
+     */
+    public MultiSchemaGenerator(Log log, Map<String, FoundryConfig> configs, int parallelism) {
+        this.log = log;
+        this.configs = new LinkedHashMap<>(configs);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 为部分数据源指定表结构内省器（如共用同一次内省结果的 {@link com.g2rain.generator.introspect.PreloadedIntrospector}）。
+     *
+     * @param introspectors 数据源名称 → 表结构内省器
+     */
+    public void setIntrospectors(Map<String, SchemaIntrospector> introspectors) {
+        this.introspectors = Map.copyOf(introspectors);
+    }
+
+    /**
+     * 并发生成全部数据源的代码。
+     *
+     * @throws InterruptedException  等待生成线程结束时被中断
+     * @throws IllegalStateException 存在生成失败的数据源时抛出，各数据源的异常作为 suppressed 附加
+     */
+    public void generate() throws InterruptedException {
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        try (ExecutorService renderExecutor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("g2rain-render-", 0).factory())) {
+            List<Thread> threads = new ArrayList<>(configs.size());
+            for (Map.Entry<String, FoundryConfig> entry : configs.entrySet()) {
+                String name = entry.getKey();
+                Log schemaLog = new PrefixedLog(log, "[" + name + "] ");
+                threads.add(Thread.ofVirtual().name("g2rain-schema-" + name).start(() -> {
+                    try {
+                        FoundryGenerator generator = new FoundryGenerator(schemaLog, entry.getValue(), introspectors.get(name));
+                        generator.setRenderExecutor(renderExecutor);
+                        generator.generate();
+                    } catch (Exception e) {
+                        schemaLog.error("Generation failed: " + e.getMessage(), e);
+                        synchronized (failures) {
+                            failures.put(name, e);
+                        }
+                    }
+                }));
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        log.info(String.format("Multi-schema summary: %d schema(s), %d succeeded, %d failed",
+                configs.size(), configs.size() - failures.size(), failures.size()));
+        if (!failures.isEmpty()) {
+            IllegalStateException exception = new IllegalStateException("Generation failed for schema(s): " + String.join(", ", failures.keySet()));
+            failures.values().forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+}
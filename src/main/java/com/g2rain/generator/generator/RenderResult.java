@@ -0,0 +1,56 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.output.FileStatus;
+
+import java.util.Objects;
+
+/**
+ * 单个模板渲染任务的执行结果。
+ *
+ * <p>渲染失败时不再由生成器直接吞掉异常，而是将异常记录在 {@link #error()} 中，
+ * 由调用方在全部任务结束后按任务顺序统一输出日志并汇总失败文件。</p>
+ *
+ * @param task        对应的渲染任务
+ * @param status      输出结果（写入或未变化），失败时为 {@code null}
+ * @param error       渲染失败时的异常，成功时为 {@code null}
+ * @param renderNanos 模板渲染耗时（纳秒）
+ * @param writeNanos  输出耗时（纳秒，含与已有文件的比较）
+ * @param bytes       渲染结果字节数
+ * @author alpha
+ * @since 2025/10/28
+ */
+public record RenderResult(RenderTask task, FileStatus status, Throwable error, long renderNanos, long writeNanos, int bytes) {
+
+    /**
+     * 构造成功结果。
+     *
+     * @param task        渲染任务
+     * @param status      输出结果
+     * @param renderNanos 模板渲染耗时（纳秒）
+     * @param writeNanos  输出耗时（纳秒）
+     * @param bytes       渲染结果字节数
+     * @return 成功结果
+     */
+    public static RenderResult success(RenderTask task, FileStatus status, long renderNanos, long writeNanos, int bytes) {
+        return new RenderResult(task, status, null, renderNanos, writeNanos, bytes);
+    }
+
+    /**
+     * 构造失败结果。
+     *
+     * @param task  渲染任务
+     * @param error 失败原因
+     * @return 失败结果
+     */
+    public static RenderResult failure(RenderTask task, Throwable error) {
+        return new RenderResult(task, null, error, 0, 0, 0);
+    }
+
+    /**
+     * 是否渲染成功
+     */
+    public boolean isSuccess() {
+        return Objects.isNull(error);
+    }
+}
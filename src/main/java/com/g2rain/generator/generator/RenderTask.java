@@ -0,0 +1,21 @@
+package com.g2rain.generator.generator;
+
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 单个模板渲染任务，描述“哪个模板、以什么数据模型、输出到哪里”。
+ *
+ * <p>由 {@link FoundryGenerator} 按 (表 × 模板) 组合生成，交由
+ * {@link com.g2rain.generator.AbstractGenerator#renderAll(java.util.List, int)} 串行或并行执行。</p>
+ *
+ * @param templateName 模板路径（相对模板根目录），如 "service.ftl"
+ * @param outputPath   输出文件路径
+ * @param dataModel    模板渲染所需的数据模型
+ * @param inputHash    输入指纹（表结构、模板内容与相关配置的摘要），用于增量生成
+ * @author alpha
+ * @since 2025/10/28
+ */
+public record RenderTask(String templateName, Path outputPath, Map<String, Object> dataModel, String inputHash) {
+}
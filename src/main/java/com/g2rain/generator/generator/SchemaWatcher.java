@@ -0,0 +1,240 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.introspect.InformationSchemaIntrospector;
+import com.g2rain.generator.introspect.SchemaIntrospector;
+import com.g2rain.generator.introspect.TableSelector;
+import com.g2rain.generator.model.TableInfo;
+import org.apache.maven.plugin.logging.Log;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 表结构监视器：持续轮询 information_schema，只为结构发生变化的表重新生成代码。
+ *
+ * <p>工作方式：</p>
+ * <ol>
+ *     <li>启动时按配置的表名（含通配符/正则模式）完整生成一次，增量清单保证未变化的文件不会重新渲染</li>
+ *     <li>每隔 {@link #interval} 通过 {@link InformationSchemaIntrospector#fingerprints(Connection, List)}
+ *     以一条聚合查询计算全部表的结构指纹（CREATE_TIME、表注释与列定义的 MD5），开销远小于完整内省</li>
+ *     <li>指纹变化或新出现（匹配模式）的表交给同一个 {@link FoundryGenerator} 重新生成，其余表不做任何处理</li>
+ *     <li>只有重新生成成功（已提交到最终位置）后才记录这些表的新指纹；生成失败时不提交任何文件，
+ *     记录的仍是旧指纹，下一次轮询会再次重新生成，直到成功</li>
+ * </ol>
+ *
+ * <p>轮询与内省共用一个长期持有的 JDBC 连接，连接失效时自动重连；生成器实例在多次迭代间复用，
+ * 已解析的模板保持在内存中，表结构变更通常在一个轮询间隔内即反映到代码中。</p>
+ *
+ * <p>注意：监视过程中不更新表结构快照（target/g2rain/schema-snapshot），下一次 generate 会按指纹自动刷新；
+ * 被删除的表只记录日志，不删除已生成的文件。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * new SchemaWatcher(log, foundryConfig, Duration.ofMillis(500)).watch(); // 直到线程被中断
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class SchemaWatcher {
+
+    /**
+     * 连接有效性检查的超时时间（秒）
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 轮询间隔
+     */
+    private final Duration interval;
+
+    /**
+     * 指纹计算与表结构内省
+     */
+    private final InformationSchemaIntrospector delegate;
+
+    /**
+     * 长期持有的数据库连接
+     */
+    private Connection connection;
+
+    /**
+     * 构造函数
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置（MySQL / MariaDB）
+     * @param interval      轮询间隔
+     */
+    public SchemaWatcher(Log log, FoundryConfig foundryConfig, Duration interval) {
+        this.log = log;
+        this.foundryConfig = foundryConfig;
+        this.interval = interval;
+        this.delegate = new InformationSchemaIntrospector(log, foundryConfig);
+    }
+
+    /**
+     * 开始监视，直到当前线程被中断（如 Ctrl+C）。
+     *
+     * @throws InterruptedException 等待下一次轮询时线程被中断
+     * @throws SQLException         首次连接数据库或计算指纹失败时抛出
+     * @throws ReflectiveOperationException 数据库驱动加载失败时抛出
+     */
+    public void watch() throws InterruptedException, SQLException, ReflectiveOperationException {
+        TableSelector selector = TableSelector.parse(foundryConfig.getTables());
+        FoundryGenerator generator = new FoundryGenerator(log, foundryConfig, new WarmConnectionIntrospector());
+
+        try {
+            // 已成功生成的表 → 生成时的指纹; 首次生成失败时为空, 下一次轮询全部重试
+            Map<String, String> initial = fingerprints(selector);
+            Map<String, String> fingerprints = new HashMap<>();
+            if (regenerate(generator, new ArrayList<>(initial.keySet()))) {
+                fingerprints.putAll(initial);
+            }
+            log.info(String.format("Watching %d table(s) every %d ms, press Ctrl+C to stop", initial.size(), interval.toMillis()));
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(interval);
+
+                Map<String, String> current;
+                try {
+                    current = fingerprints(selector);
+                } catch (SQLException e) {
+                    log.warn("Failed to poll schema, reconnecting on next poll: " + e.getMessage());
+                    close();
+                    continue;
+                }
+
+                // 新出现或指纹变化的表需要重新生成
+                List<String> changed = new ArrayList<>();
+                for (Map.Entry<String, String> entry : current.entrySet()) {
+                    if (!Objects.equals(fingerprints.get(entry.getKey()), entry.getValue())) {
+                        changed.add(entry.getKey());
+                    }
+                }
+                for (String table : List.copyOf(fingerprints.keySet())) {
+                    if (!current.containsKey(table)) {
+                        log.info("Table dropped: " + table + ", generated files are kept");
+                        fingerprints.remove(table);
+                    }
+                }
+
+                // 生成是整体提交的, 成功后才记录新指纹, 失败的表在下一次轮询时重试
+                if (!changed.isEmpty()) {
+                    log.info("Schema changed: " + String.join(", ", changed));
+                    if (regenerate(generator, changed)) {
+                        for (String table : changed) {
+                            fingerprints.put(table, current.get(table));
+                        }
+                    }
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * 计算当前匹配的全部表的结构指纹
+     */
+    private Map<String, String> fingerprints(TableSelector selector) throws SQLException, ReflectiveOperationException {
+        Connection c = connection();
+        List<String> tableNames = selector.isLiteral() ? selector.names() : selector.select(delegate.listTables(c));
+        return tableNames.isEmpty() ? new HashMap<>() : delegate.fingerprints(c, tableNames);
+    }
+
+    /**
+     * 只为指定的表重新生成代码，失败时记录日志并继续监视
+     *
+     * @return 生成成功（或无需生成）时返回 {@code true}
+     */
+    private boolean regenerate(FoundryGenerator generator, List<String> tableNames) {
+        if (tableNames.isEmpty()) {
+            return true;
+        }
+
+        String tables = foundryConfig.getTables();
+        long start = System.nanoTime();
+        try {
+            foundryConfig.setTables(String.join(",", tableNames));
+            generator.generate();
+            log.info(String.format("Regenerated %d table(s) in %d ms", tableNames.size(), Duration.ofNanos(System.nanoTime() - start).toMillis()));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.error("Regeneration failed, retrying on next poll: " + e.getMessage(), e);
+            return false;
+        } finally {
+            foundryConfig.setTables(tables);
+        }
+    }
+
+    /**
+     * 获取长期持有的连接，未打开或已失效时重新打开
+     */
+    private Connection connection() throws SQLException, ReflectiveOperationException {
+        if (Objects.isNull(connection) || !connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+            close();
+            connection = foundryConfig.openConnection();
+        }
+        return connection;
+    }
+
+    /**
+     * 关闭连接，忽略关闭时的异常
+     */
+    private void close() {
+        if (Objects.isNull(connection)) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close connection: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    /**
+     * 使用监视器持有的连接内省表结构，避免每次重新生成都建立新连接
+     */
+    private final class WarmConnectionIntrospector implements SchemaIntrospector {
+
+        @Override
+        public List<TableInfo> introspect(List<String> tableNames) throws Exception {
+            List<TableInfo> tableInfos = new ArrayList<>();
+            introspect(tableNames, tableInfos::add);
+            return tableInfos;
+        }
+
+        @Override
+        public void introspect(List<String> tableNames, TableConsumer consumer) throws Exception {
+            delegate.introspect(connection(), tableNames, consumer);
+        }
+
+        @Override
+        public List<String> listTables() throws Exception {
+            return delegate.listTables(connection());
+        }
+    }
+}
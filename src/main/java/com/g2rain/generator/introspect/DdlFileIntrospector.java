@@ -0,0 +1,219 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.model.ColumnInfo;
+import com.g2rain.generator.model.TableInfo;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 基于 MySQL DDL 文件的表结构内省器，不连接数据库。
+ *
+ * <p>从一组 DDL 文件或目录（如 Flyway 迁移脚本目录 {@code src/main/resources/db/migration}、mysqldump 导出的
+ * {@code schema.sql}）中解析 {@code CREATE TABLE}/{@code ALTER TABLE} 等语句，得到最终的表结构，
+ * 并按与 {@link InformationSchemaIntrospector} 相同的类型映射构建 {@link TableInfo}/{@link ColumnInfo}。</p>
+ *
+ * <p>文件处理顺序：</p>
+ * <ul>
+ *     <li>按配置顺序处理每个位置；目录下递归查找全部 {@code .sql} 文件</li>
+ *     <li>目录下（含子目录）的文件统一按文件名排序，其中的数字按数值比较（{@code V2__} 排在 {@code V10__} 之前），与 Flyway 的版本顺序一致</li>
+ * </ul>
+ *
+ * <p>全部文件只在首次使用时解析一次，适合 CI 或无法访问数据库的开发环境。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * SchemaIntrospector introspector = new DdlFileIntrospector(log, List.of(Path.of("src/main/resources/db/migration")));
+ * List<TableInfo> tables = introspector.introspect(List.of("user", "order_info"));
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class DdlFileIntrospector implements SchemaIntrospector {
+
+    /**
+     * DDL 文件扩展名
+     */
+    private static final String SQL_EXTENSION = ".sql";
+
+    /**
+     * 文件名排序：数字部分按数值比较，其余部分按字符比较
+     */
+    private static final Comparator<Path> VERSION_ORDER = (a, b) -> compareVersioned(a.getFileName().toString(), b.getFileName().toString());
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * DDL 文件或目录
+     */
+    private final List<Path> locations;
+
+    /**
+     * 解析结果，首次使用时创建
+     */
+    private MysqlDdlParser parser;
+
+    /**
+     * 构造函数
+     *
+     * @param log       日志对象
+     * @param locations DDL 文件或目录，按顺序解析
+     */
+    public DdlFileIntrospector(Log log, List<Path> locations) {
+        this.log = log;
+        this.locations = List.copyOf(locations);
+    }
+
+    @Override
+    public List<TableInfo> introspect(List<String> tableNames) throws IOException {
+        MysqlDdlParser ddl = parser();
+        List<TableInfo> tableInfos = new ArrayList<>();
+        for (String tableName : tableNames) {
+            MysqlDdlParser.Table table = ddl.table(tableName);
+            if (Objects.isNull(table)) {
+                log.warn("Table " + tableName + " is not defined in DDL files " + locations);
+                continue;
+            }
+
+            tableInfos.add(toTableInfo(table));
+        }
+        return tableInfos;
+    }
+
+    @Override
+    public List<String> listTables() throws IOException {
+        return parser().tableNames();
+    }
+
+    /**
+     * 将解析得到的表结构转换为 {@link TableInfo}
+     */
+    private static TableInfo toTableInfo(MysqlDdlParser.Table table) {
+        List<ColumnInfo> columns = new ArrayList<>(table.columns().size());
+        for (MysqlDdlParser.Column column : table.columns()) {
+            columns.add(InformationSchemaIntrospector.columnInfo(column.name(), column.dataType(), column.columnType(),
+                    column.comment(), column.primaryKey(), column.autoIncrement()));
+        }
+        return TableInfo.of(table.name(), table.comment(), columns);
+    }
+
+    /**
+     * 获取解析结果，首次调用时解析全部 DDL 文件
+     *
+     * @return DDL 解析器
+     * @throws IOException 文件不存在、读取失败或 DDL 语法无法解析时抛出
+     */
+    private synchronized MysqlDdlParser parser() throws IOException {
+        if (Objects.nonNull(parser)) {
+            return parser;
+        }
+
+        MysqlDdlParser ddl = new MysqlDdlParser();
+        List<Path> files = ddlFiles();
+        for (Path file : files) {
+            try {
+                ddl.parse(Files.readString(file, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Failed to parse DDL file " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        log.info(String.format("Parsed %d table(s) from %d DDL file(s)", ddl.tableNames().size(), files.size()));
+        parser = ddl;
+        return parser;
+    }
+
+    /**
+     * 展开配置的位置为按解析顺序排列的 DDL 文件列表
+     *
+     * @return DDL 文件
+     * @throws IOException 位置不存在或遍历目录失败时抛出
+     */
+    private List<Path> ddlFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path location : locations) {
+            if (Files.isRegularFile(location)) {
+                files.add(location);
+            } else if (Files.isDirectory(location)) {
+                try (Stream<Path> walk = Files.walk(location)) {
+                    walk.filter(Files::isRegularFile)
+                            .filter(p -> p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(SQL_EXTENSION))
+                            .sorted(VERSION_ORDER.thenComparing(Comparator.naturalOrder()))
+                            .forEach(files::add);
+                }
+            } else {
+                throw new FileNotFoundException("DDL file or directory not found: " + location.toAbsolutePath());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 比较两个文件名，连续数字按数值比较（忽略前导零），其余字符不区分大小写逐个比较。
+     * <p>下划线排在其它字符之前，使 {@code V1__init.sql} 排在 {@code V1_1__alter.sql} 之前。</p>
+     */
+    private static int compareVersioned(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = digitsEnd(a, i);
+                int endB = digitsEnd(b, j);
+                String na = stripLeadingZeros(a.substring(i, endA));
+                String nb = stripLeadingZeros(b.substring(j, endB));
+                int result = na.length() != nb.length() ? Integer.compare(na.length(), nb.length()) : na.compareTo(nb);
+                if (result != 0) {
+                    return result;
+                }
+                i = endA;
+                j = endB;
+                continue;
+            }
+
+            int result = Character.compare(rank(ca), rank(cb));
+            if (result != 0) {
+                return result;
+            }
+            i++;
+            j++;
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static char rank(char c) {
+        return c == '_' ? 0 : Character.toLowerCase(c);
+    }
+
+    private static int digitsEnd(String s, int start) {
+        int end = start;
+        while (end < s.length() && Character.isDigit(s.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            i++;
+        }
+        return digits.substring(i);
+    }
+}
@@ -0,0 +1,315 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.ColumnInfo;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.ColumnUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 基于 information_schema 的批量表结构内省器（MySQL / MariaDB）。
+ *
+ * <p>与 MyBatis Generator 逐表调用 {@code DatabaseMetaData}（列、主键、注释各一次往返）不同，
+ * 该内省器对全部待生成的表只执行三条集合查询：</p>
+ * <ol>
+ *     <li>{@code information_schema.TABLES}：表名、表注释</li>
+ *     <li>{@code information_schema.KEY_COLUMN_USAGE}：主键列</li>
+ *     <li>{@code information_schema.COLUMNS}：列名、类型、注释、自增标识</li>
+ * </ol>
+ * <p>表名较多时按 {@link #BATCH_SIZE} 分批拼接 {@code IN} 条件，每批完成后立即回调给下游，便于流式渲染。查询结果直接构建为
+ * {@link TableInfo}/{@link ColumnInfo}，角色划分与 {@link com.g2rain.generator.plugin.TableInfoPlugin} 一致。</p>
+ *
+ * <p>{@link #listTables(Connection)} 以一条查询列出库中全部表，用于解析表名模式；
+ * 另提供 {@link #fingerprints(Connection, List)} 计算表结构指纹，供 {@link SnapshotIntrospector} 判断快照是否失效。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * SchemaIntrospector introspector = new InformationSchemaIntrospector(log, foundryConfig);
+ * List<TableInfo> tables = introspector.introspect(List.of("user", "order_info"));
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class InformationSchemaIntrospector implements SchemaIntrospector {
+
+    /**
+     * 单条 SQL 中 IN 条件包含的最大表名数量
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LIST_TABLES_SQL = """
+            SELECT TABLE_NAME
+            FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE'
+            ORDER BY TABLE_NAME""";
+
+    private static final String TABLES_SQL = """
+            SELECT TABLE_NAME, TABLE_COMMENT
+            FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s)""";
+
+    private static final String PRIMARY_KEYS_SQL = """
+            SELECT TABLE_NAME, COLUMN_NAME
+            FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = ? AND CONSTRAINT_NAME = 'PRIMARY' AND TABLE_NAME IN (%s)""";
+
+    private static final String COLUMNS_SQL = """
+            SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, COLUMN_TYPE, COLUMN_COMMENT, EXTRA
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (%s)
+            ORDER BY TABLE_NAME, ORDINAL_POSITION""";
+
+    private static final String FINGERPRINT_SQL = """
+            SELECT t.TABLE_NAME, t.CREATE_TIME, t.TABLE_COMMENT,
+                   MD5(GROUP_CONCAT(CONCAT_WS('|', c.COLUMN_NAME, c.COLUMN_TYPE, c.COLUMN_KEY, c.EXTRA, c.COLUMN_COMMENT)
+                       ORDER BY c.ORDINAL_POSITION SEPARATOR ';')) AS COLUMNS_CHECKSUM
+            FROM information_schema.TABLES t
+            JOIN information_schema.COLUMNS c ON c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME
+            WHERE t.TABLE_SCHEMA = ? AND t.TABLE_NAME IN (%s)
+            GROUP BY t.TABLE_NAME, t.CREATE_TIME, t.TABLE_COMMENT""";
+
+    /**
+     * 放宽 GROUP_CONCAT 长度限制，避免宽表的列校验串被截断
+     */
+    private static final String GROUP_CONCAT_MAX_LEN_SQL = "SET SESSION group_concat_max_len = 1048576";
+
+    /**
+     * 特殊处理 delete_flag 字段的 Java 类型
+     */
+    private static final String DELETE_FLAG_TYPE = "Boolean";
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 构造函数
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置，提供连接信息和数据库名
+     */
+    public InformationSchemaIntrospector(Log log, FoundryConfig foundryConfig) {
+        this.log = log;
+        this.foundryConfig = foundryConfig;
+    }
+
+    @Override
+    public List<TableInfo> introspect(List<String> tableNames) throws SQLException, ReflectiveOperationException, InterruptedException {
+        List<TableInfo> tableInfos = new ArrayList<>();
+        introspect(tableNames, tableInfos::add);
+        return tableInfos;
+    }
+
+    @Override
+    public void introspect(List<String> tableNames, TableConsumer consumer) throws SQLException, ReflectiveOperationException, InterruptedException {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = foundryConfig.openConnection()) {
+            introspect(connection, tableNames, consumer);
+        }
+    }
+
+    @Override
+    public List<String> listTables() throws SQLException, ReflectiveOperationException {
+        try (Connection connection = foundryConfig.openConnection()) {
+            return listTables(connection);
+        }
+    }
+
+    /**
+     * 使用已有连接列出当前数据库中的全部基础表（不含视图），单条查询完成。
+     *
+     * @param connection 数据库连接
+     * @return 按表名排序的表名列表
+     * @throws SQLException 查询失败时抛出
+     */
+    public List<String> listTables(Connection connection) throws SQLException {
+        List<String> tableNames = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(LIST_TABLES_SQL)) {
+            ps.setString(1, foundryConfig.getDatabase());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tableNames.add(rs.getString("TABLE_NAME"));
+                }
+            }
+        }
+        return tableNames;
+    }
+
+    /**
+     * 使用已有连接按批次内省指定的表，每个批次完成后立即回调该批次的表信息。
+     * <p>同一时刻只持有一个批次（最多 {@link #BATCH_SIZE} 张表）的中间结果，内存占用与表总数无关。</p>
+     *
+     * @param connection 数据库连接
+     * @param tableNames 待内省的表名
+     * @param consumer   表信息消费者，按 {@code tableNames} 顺序回调
+     * @throws SQLException         元数据查询失败时抛出
+     * @throws InterruptedException 消费者等待时线程被中断
+     */
+    public void introspect(Connection connection, List<String> tableNames, TableConsumer consumer) throws SQLException, InterruptedException {
+        String schema = foundryConfig.getDatabase();
+        for (int from = 0; from < tableNames.size(); from += BATCH_SIZE) {
+            List<String> batch = tableNames.subList(from, Math.min(from + BATCH_SIZE, tableNames.size()));
+            Map<String, String> tableComments = new HashMap<>();
+            Map<String, Set<String>> primaryKeys = new HashMap<>();
+            Map<String, List<ColumnInfo>> tableColumns = new HashMap<>();
+
+            query(connection, TABLES_SQL, schema, batch, rs ->
+                    tableComments.put(rs.getString("TABLE_NAME"), rs.getString("TABLE_COMMENT")));
+
+            query(connection, PRIMARY_KEYS_SQL, schema, batch, rs ->
+                    primaryKeys.computeIfAbsent(rs.getString("TABLE_NAME"), k -> new HashSet<>()).add(rs.getString("COLUMN_NAME")));
+
+            query(connection, COLUMNS_SQL, schema, batch, rs -> {
+                String tableName = rs.getString("TABLE_NAME");
+                ColumnInfo columnInfo = toColumnInfo(rs, primaryKeys.getOrDefault(tableName, Set.of()));
+                tableColumns.computeIfAbsent(tableName, k -> new ArrayList<>()).add(columnInfo);
+            });
+
+            // 按请求顺序回调, 不存在的表给出警告
+            for (String tableName : batch) {
+                if (!tableComments.containsKey(tableName)) {
+                    log.warn("Table " + schema + "." + tableName + " did not resolve to any tables");
+                    continue;
+                }
+
+                List<ColumnInfo> columns = tableColumns.getOrDefault(tableName, List.of());
+                consumer.accept(TableInfo.of(tableName, tableComments.get(tableName), columns));
+            }
+        }
+    }
+
+    /**
+     * 计算指定表的结构指纹。
+     * <p>
+     * 指纹由表的 CREATE_TIME、表注释以及全部列（名称、类型、键、EXTRA、注释）的服务端 MD5 校验值组成，
+     * 只需一条聚合查询即可覆盖全部表，开销远小于完整内省。
+     * 不使用 UPDATE_TIME：InnoDB 会在数据写入时更新该值，会导致快照无谓失效。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param tableNames 表名
+     * @return 表名 → 指纹；不存在的表不会出现在结果中
+     * @throws SQLException 查询失败时抛出
+     */
+    public Map<String, String> fingerprints(Connection connection, List<String> tableNames) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(GROUP_CONCAT_MAX_LEN_SQL);
+        }
+
+        String schema = foundryConfig.getDatabase();
+        Map<String, String> fingerprints = new HashMap<>();
+        for (int from = 0; from < tableNames.size(); from += BATCH_SIZE) {
+            List<String> batch = tableNames.subList(from, Math.min(from + BATCH_SIZE, tableNames.size()));
+            query(connection, FINGERPRINT_SQL, schema, batch, rs -> fingerprints.put(rs.getString("TABLE_NAME"),
+                    rs.getString("CREATE_TIME") + "|" + rs.getString("TABLE_COMMENT") + "|" + rs.getString("COLUMNS_CHECKSUM")));
+        }
+
+        return fingerprints;
+    }
+
+    /**
+     * 将 information_schema.COLUMNS 的当前行转换为 {@link ColumnInfo}。
+     *
+     * @param rs          结果集（已定位到当前行）
+     * @param primaryKeys 当前表的主键列名集合
+     * @return 列信息
+     * @throws SQLException 读取结果集失败时抛出
+     */
+    private static ColumnInfo toColumnInfo(ResultSet rs, Set<String> primaryKeys) throws SQLException {
+        String columnName = rs.getString("COLUMN_NAME");
+        return columnInfo(columnName, rs.getString("DATA_TYPE"), rs.getString("COLUMN_TYPE"), rs.getString("COLUMN_COMMENT"),
+                primaryKeys.contains(columnName), Objects.toString(rs.getString("EXTRA"), "").toLowerCase().contains("auto_increment"));
+    }
+
+    /**
+     * 根据 MySQL 列定义构建 {@link ColumnInfo}，information_schema 与 DDL 文件两种来源共用，保证类型映射一致。
+     *
+     * @param columnName    列名
+     * @param dataType      MySQL 数据类型，如 "int"、"varchar"
+     * @param columnType    完整列类型，如 "int(10) unsigned"、"tinyint(1)"
+     * @param columnComment 列注释
+     * @param primaryKey    是否主键列
+     * @param autoIncrement 是否自增列
+     * @return 列信息
+     */
+    static ColumnInfo columnInfo(String columnName, String dataType, String columnType, String columnComment, boolean primaryKey, boolean autoIncrement) {
+        String jdbcType = MysqlTypeResolver.jdbcType(dataType, columnType);
+
+        ColumnInfo columnInfo = new ColumnInfo();
+        columnInfo.setColumnName(columnName);
+        columnInfo.setColumnType(jdbcType);
+        columnInfo.setColumnComment(columnComment);
+        columnInfo.setPropertyName(JavaBeansUtil.getCamelCaseString(columnName, false));
+        columnInfo.setJavaType(ColumnUtils.isDeleteFlagColumn(columnName) ? DELETE_FLAG_TYPE : MysqlTypeResolver.javaType(jdbcType));
+        columnInfo.setPrimaryKey(primaryKey);
+        columnInfo.setAutoIncrement(autoIncrement);
+        return columnInfo;
+    }
+
+    /**
+     * 执行带 {@code TABLE_SCHEMA = ? AND TABLE_NAME IN (...)} 条件的查询，并逐行回调。
+     *
+     * @param connection 数据库连接
+     * @param sqlFormat  SQL 模板，{@code %s} 处替换为 IN 占位符
+     * @param schema     数据库名
+     * @param tableNames 本批次表名
+     * @param handler    行处理器
+     * @throws SQLException 查询失败时抛出
+     */
+    private static void query(Connection connection, String sqlFormat, String schema, List<String> tableNames, RowHandler handler) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(tableNames.size(), "?"));
+        try (PreparedStatement ps = connection.prepareStatement(String.format(sqlFormat, placeholders))) {
+            ps.setString(1, schema);
+            for (int i = 0; i < tableNames.size(); i++) {
+                ps.setString(i + 2, tableNames.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * 结果集行处理器
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+
+        /**
+         * 处理当前行
+         *
+         * @param rs 结果集（已定位到当前行）
+         * @throws SQLException 读取失败时抛出
+         */
+        void handle(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,122 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.plugin.TableInfoPlugin;
+import org.apache.maven.plugin.logging.Log;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaTypeResolverConfiguration;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于 MyBatis Generator 的表结构内省器。
+ *
+ * <p>为每张表注册一个 {@link org.mybatis.generator.config.TableConfiguration}，由 MyBatis Generator
+ * 逐表读取 {@code DatabaseMetaData}，再通过 {@link TableInfoPlugin} 收集 {@link TableInfo}。
+ * 适用于 information_schema 批量查询不支持的数据库，作为 {@link InformationSchemaIntrospector} 的兜底实现。</p>
+ * <p>{@link #listTables()} 通过一次 {@code DatabaseMetaData#getTables} 调用列出当前 catalog/schema 下的全部表。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class MyBatisIntrospector implements SchemaIntrospector {
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 构造函数
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置
+     */
+    public MyBatisIntrospector(Log log, FoundryConfig foundryConfig) {
+        this.log = log;
+        this.foundryConfig = foundryConfig;
+    }
+
+    @Override
+    public List<TableInfo> introspect(List<String> tableNames) throws Exception {
+        // 每次内省使用独立的收集器, 同一 JVM 中的并发执行互不干扰
+        try (TableInfoPlugin.Collector collector = TableInfoPlugin.newCollector()) {
+            return runGenerator(tableNames, collector);
+        }
+    }
+
+    /**
+     * 执行 MyBatis Generator，由插件将表信息交给指定的收集器
+     */
+    private List<TableInfo> runGenerator(List<String> tableNames, TableInfoPlugin.Collector collector) throws Exception {
+        Configuration config = new Configuration();
+        Context defaultContext = new Context(ModelType.FLAT);
+        config.addContext(defaultContext);
+
+        // 添加自定义插件以提取表信息
+        defaultContext.addPluginConfiguration(collector.pluginConfiguration());
+        defaultContext.setId("G2RAIN_GENERATOR");
+        defaultContext.setTargetRuntime("MyBatis3");
+
+        // 配置连接信息
+        defaultContext.setJdbcConnectionConfiguration(foundryConfig.toJDBCConnectionConfiguration());
+
+        // 配置Po对象生成策略
+        defaultContext.setJavaModelGeneratorConfiguration(foundryConfig.toJavaModelGeneratorConfiguration());
+
+        // 配置 Java 类型解析器，启用 JSR310 类型支持
+        JavaTypeResolverConfiguration typeResolver = new JavaTypeResolverConfiguration();
+        typeResolver.addProperty("useJSR310Types", "true");
+        typeResolver.addProperty("forceBigDecimals", "true");
+        defaultContext.setJavaTypeResolverConfiguration(typeResolver);
+
+        // 将表名加入 MyBatis Generator 上下文
+        tableNames.forEach(tableName ->
+                defaultContext.addTableConfiguration(foundryConfig.toTableConfiguration(defaultContext, tableName))
+        );
+
+        // 执行 MyBatis Generator
+        List<String> warnings = new ArrayList<>();
+        try {
+            MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, new DefaultShellCallback(foundryConfig.isOverwrite()), warnings);
+            myBatisGenerator.generate(null);
+        } catch (InterruptedException e) {
+            log.error("Code generation execution error, message: " + e.getMessage(), e);
+            Thread.currentThread().interrupt();
+        }
+
+        // 输出警告
+        warnings.forEach(log::warn);
+
+        return collector.getTableInfoList();
+    }
+
+    @Override
+    public List<String> listTables() throws SQLException, ReflectiveOperationException {
+        List<String> tableNames = new ArrayList<>();
+        try (Connection connection = foundryConfig.openConnection();
+             ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                tableNames.add(rs.getString("TABLE_NAME"));
+            }
+        }
+
+        tableNames.sort(null);
+        return tableNames;
+    }
+}
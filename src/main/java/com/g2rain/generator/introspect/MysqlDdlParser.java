@@ -0,0 +1,817 @@
+package com.g2rain.generator.introspect;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * MySQL DDL 解析器，将 {@code CREATE TABLE} 等建表语句解析为表结构元数据，无需连接数据库。
+ *
+ * <p>支持的语句（其余语句如 INSERT、SET、CREATE INDEX 等会被忽略）：</p>
+ * <ul>
+ *     <li>{@code CREATE TABLE [IF NOT EXISTS] ... (...)}：列定义、列级/表级主键、自增、列注释与表注释；
+ *     以及 {@code CREATE TABLE ... LIKE ...}</li>
+ *     <li>{@code ALTER TABLE}：{@code ADD/DROP/MODIFY/CHANGE/RENAME COLUMN}、{@code ADD/DROP PRIMARY KEY}、
+ *     {@code RENAME TO}、{@code COMMENT=}，列位置（{@code FIRST}/{@code AFTER}）按定义调整</li>
+ *     <li>{@code DROP TABLE}、{@code RENAME TABLE}</li>
+ * </ul>
+ *
+ * <p>语句按 {@link #parse(String)} 的调用顺序依次应用，因此可以按版本顺序逐个解析 Flyway 迁移脚本，
+ * 得到的是最终的表结构；也可以直接解析 mysqldump 导出的 schema.sql。
+ * 支持 {@code --}、{@code #} 与 {@code /* *}{@code /} 注释，反引号标识符以及 {@code db.table} 形式的限定表名（只保留表名）。</p>
+ *
+ * <p>存储过程、函数、触发器与事件的定义整体作为一条语句跳过：既支持 mysql 客户端脚本与 mysqldump 中的
+ * {@code DELIMITER} 切换（行首的 {@code DELIMITER $$} 之后以 {@code $$} 结束语句，直到 {@code DELIMITER ;}），
+ * 也支持 Flyway 等直接执行的脚本中不切换分隔符的 {@code BEGIN ... END} 例程体，例程体内的分号不会结束语句。</p>
+ *
+ * <p>表名按不区分大小写的方式匹配，返回结果保留建表语句中的原始写法。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * MysqlDdlParser parser = new MysqlDdlParser();
+ * parser.parse("""
+ *     CREATE TABLE `user` (
+ *       `id` bigint unsigned NOT NULL AUTO_INCREMENT COMMENT '主键',
+ *       `name` varchar(64) NOT NULL COMMENT '姓名',
+ *       PRIMARY KEY (`id`)
+ *     ) ENGINE=InnoDB COMMENT='用户表';
+ *     """);
+ * MysqlDdlParser.Table user = parser.table("user");
+ * user.comment();                     // 用户表
+ * user.columns().getFirst().dataType(); // bigint
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class MysqlDdlParser {
+
+    /**
+     * 表级定义中不是列定义的起始关键字
+     */
+    private static final Set<String> TABLE_CONSTRAINTS = Set.of(
+            "CONSTRAINT", "PRIMARY", "KEY", "INDEX", "UNIQUE", "FULLTEXT", "SPATIAL", "FOREIGN", "CHECK"
+    );
+
+    /**
+     * 存储例程的对象类型，其定义中可能包含带分号的 BEGIN ... END 复合语句
+     */
+    private static final Set<String> ROUTINES = Set.of("PROCEDURE", "FUNCTION", "TRIGGER", "EVENT");
+
+    /**
+     * 不是存储例程的对象类型，遇到即可确定语句不是例程定义
+     */
+    private static final Set<String> NON_ROUTINES = Set.of(
+            "TABLE", "VIEW", "INDEX", "DATABASE", "SCHEMA", "USER", "ROLE", "SERVER", "TABLESPACE", "LOGFILE"
+    );
+
+    /**
+     * 默认语句分隔符
+     */
+    private static final String DEFAULT_DELIMITER = ";";
+
+    /**
+     * mysql 客户端切换分隔符的命令
+     */
+    private static final String DELIMITER_COMMAND = "DELIMITER";
+
+    /**
+     * 已解析的表，小写表名 → 表
+     */
+    private final Map<String, DdlTable> tables = new HashMap<>();
+
+    /**
+     * 解析一段 DDL 脚本，并在当前结果上依次应用其中的语句。
+     *
+     * @param sql DDL 脚本
+     * @throws IllegalArgumentException 脚本中存在未闭合的字符串、标识符或注释时抛出
+     */
+    public void parse(String sql) {
+        List<Token> statement = new ArrayList<>();
+        int depth = 0;
+        for (Token token : tokenize(sql)) {
+            // 例程体内的分号不结束语句; DELIMITER 切换后的分隔符总是结束语句
+            if (token.kind() == Kind.DELIMITER && (depth == 0 || !DEFAULT_DELIMITER.equals(token.text()))) {
+                statement(new Cursor(statement));
+                statement = new ArrayList<>();
+                depth = 0;
+                continue;
+            }
+
+            if (token.kind() == Kind.WORD && (depth > 0 || isRoutine(statement))) {
+                depth = blockDepth(statement, token, depth);
+            }
+            statement.add(token);
+        }
+        statement(new Cursor(statement));
+    }
+
+    /**
+     * 语句是否为存储例程定义：{@code CREATE [OR REPLACE] [DEFINER = ...] [AGGREGATE] PROCEDURE|FUNCTION|TRIGGER|EVENT}
+     *
+     * @param statement 当前语句已读取的词法单元
+     * @return 是例程定义时返回 {@code true}
+     */
+    private static boolean isRoutine(List<Token> statement) {
+        if (statement.isEmpty() || !statement.getFirst().isWord("CREATE")) {
+            return false;
+        }
+        for (Token token : statement) {
+            if (token.kind() == Kind.WORD) {
+                String word = token.text().toUpperCase(Locale.ROOT);
+                if (ROUTINES.contains(word)) {
+                    return true;
+                }
+                if (NON_ROUTINES.contains(word)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算例程体中复合语句的嵌套深度：{@code BEGIN} 与 {@code CASE} 开启一层，{@code END} 关闭一层；
+     * {@code END CASE} 只关闭一层，{@code END IF/LOOP/WHILE/REPEAT} 结束的结构未计入深度，不做处理。
+     *
+     * @param statement 当前语句已读取的词法单元（不含 {@code token}）
+     * @param token     当前词法单元
+     * @param depth     当前深度
+     * @return 读取 {@code token} 后的深度
+     */
+    private static int blockDepth(List<Token> statement, Token token, int depth) {
+        Token previous = statement.isEmpty() ? null : statement.getLast();
+        boolean afterEnd = Objects.nonNull(previous) && previous.isWord("END");
+        if (token.isWord("BEGIN") || (token.isWord("CASE") && !afterEnd)) {
+            return depth + 1;
+        }
+        if (token.isWord("END")) {
+            return Math.max(depth - 1, 0);
+        }
+        if (afterEnd && (token.isWord("IF") || token.isWord("LOOP") || token.isWord("WHILE") || token.isWord("REPEAT"))) {
+            // END IF 等已按 END 减少一层, IF 等开启时未计入, 补回
+            return depth + 1;
+        }
+        return depth;
+    }
+
+    /**
+     * 获取已解析的全部表名
+     *
+     * @return 按表名排序的表名列表
+     */
+    public List<String> tableNames() {
+        return tables.values().stream().map(t -> t.name).sorted(Comparator.naturalOrder()).toList();
+    }
+
+    /**
+     * 获取指定表的结构
+     *
+     * @param tableName 表名（不区分大小写）
+     * @return 表结构，不存在时返回 {@code null}
+     */
+    public Table table(String tableName) {
+        DdlTable table = tables.get(key(tableName));
+        return Objects.isNull(table) ? null : new Table(table.name, table.comment, List.copyOf(table.columns));
+    }
+
+    /**
+     * 解析单条语句
+     */
+    private void statement(Cursor c) {
+        if (c.accept("CREATE")) {
+            c.accept("OR");
+            c.accept("REPLACE");
+            if (c.accept("TEMPORARY") || !c.accept("TABLE")) {
+                return;
+            }
+            createTable(c);
+        } else if (c.accept("ALTER")) {
+            c.accept("ONLINE");
+            c.accept("IGNORE");
+            if (c.accept("TABLE")) {
+                alterTable(c);
+            }
+        } else if (c.accept("DROP")) {
+            if (c.accept("TEMPORARY") || !c.accept("TABLE")) {
+                return;
+            }
+            ifExists(c);
+            do {
+                tables.remove(key(c.qualifiedName()));
+            } while (c.accept(","));
+        } else if (c.accept("RENAME") && c.accept("TABLE")) {
+            do {
+                String from = c.qualifiedName();
+                c.accept("TO");
+                rename(from, c.qualifiedName());
+            } while (c.accept(","));
+        }
+    }
+
+    /**
+     * CREATE TABLE [IF NOT EXISTS] name (definitions) [options] | LIKE other
+     */
+    private void createTable(Cursor c) {
+        if (c.accept("IF")) {
+            c.accept("NOT");
+            c.accept("EXISTS");
+        }
+
+        DdlTable table = new DdlTable(c.qualifiedName());
+        if (c.accept("LIKE") || (c.peek("(") && c.peekWord(1, "LIKE"))) {
+            c.accept("(");
+            c.accept("LIKE");
+            DdlTable source = tables.get(key(c.qualifiedName()));
+            if (Objects.nonNull(source)) {
+                table.comment = source.comment;
+                table.columns.addAll(source.columns);
+            }
+            tables.put(key(table.name), table);
+            return;
+        }
+
+        // CREATE TABLE ... AS SELECT 无法静态推断列
+        if (!c.peek("(")) {
+            return;
+        }
+
+        for (Cursor element : c.group()) {
+            definition(table, element);
+        }
+        tableOptions(table, c);
+        tables.put(key(table.name), table);
+    }
+
+    /**
+     * 解析 CREATE TABLE 括号内的一项：列定义或表级约束
+     */
+    private static void definition(DdlTable table, Cursor c) {
+        if (c.peekConstraint()) {
+            if (c.accept("CONSTRAINT") && !c.peekKeyword("PRIMARY", "UNIQUE", "FOREIGN", "CHECK")) {
+                c.next(); // 约束名
+            }
+            if (c.accept("PRIMARY")) {
+                c.accept("KEY");
+                primaryKey(table, c);
+            }
+            return;
+        }
+
+        table.columns.add(column(c).column());
+    }
+
+    /**
+     * ALTER TABLE name spec [, spec] ...
+     */
+    private void alterTable(Cursor c) {
+        DdlTable table = tables.get(key(c.qualifiedName()));
+        if (Objects.isNull(table)) {
+            return;
+        }
+
+        for (Cursor spec : c.split()) {
+            alterSpec(table, spec);
+        }
+    }
+
+    /**
+     * 解析单个 ALTER TABLE 子句
+     */
+    private void alterSpec(DdlTable table, Cursor c) {
+        if (c.accept("ADD")) {
+            if (c.peekConstraint()) {
+                definition(table, c);
+                return;
+            }
+
+            c.accept("COLUMN");
+            if (c.peek("(")) {
+                for (Cursor element : c.group()) {
+                    table.columns.add(column(element).column());
+                }
+            } else {
+                place(table, column(c), -1);
+            }
+        } else if (c.accept("DROP")) {
+            if (c.accept("PRIMARY")) {
+                table.columns.replaceAll(column -> column.withPrimaryKey(false));
+            } else if (!c.peekKeyword("INDEX", "KEY", "FOREIGN", "CHECK", "CONSTRAINT")) {
+                c.accept("COLUMN");
+                int index = table.indexOf(c.identifier());
+                if (index >= 0) {
+                    table.columns.remove(index);
+                }
+            }
+        } else if (c.accept("MODIFY")) {
+            c.accept("COLUMN");
+            Placement placement = column(c);
+            place(table, placement, table.indexOf(placement.column().name()));
+        } else if (c.accept("CHANGE")) {
+            c.accept("COLUMN");
+            int index = table.indexOf(c.identifier());
+            place(table, column(c), index);
+        } else if (c.accept("RENAME")) {
+            if (c.accept("COLUMN")) {
+                int index = table.indexOf(c.identifier());
+                c.accept("TO");
+                String newName = c.identifier();
+                if (index >= 0) {
+                    table.columns.set(index, table.columns.get(index).withName(newName));
+                }
+            } else if (!c.peekKeyword("INDEX", "KEY")) {
+                if (!c.accept("TO")) {
+                    c.accept("AS");
+                }
+                rename(table.name, c.qualifiedName());
+            }
+        } else {
+            tableOptions(table, c);
+        }
+    }
+
+    /**
+     * 将 ADD/MODIFY/CHANGE 得到的列放入表中。
+     *
+     * @param table     表
+     * @param placement 列定义与位置
+     * @param existing  被替换的原列下标，新增列为 -1
+     */
+    private static void place(DdlTable table, Placement placement, int existing) {
+        Column column = placement.column();
+        int index = existing;
+        if (existing >= 0) {
+            // 修改列定义不会移除表级主键
+            column = column.withPrimaryKey(column.primaryKey() || table.columns.get(existing).primaryKey());
+            table.columns.remove(existing);
+        }
+
+        if (placement.first()) {
+            index = 0;
+        } else if (Objects.nonNull(placement.after())) {
+            index = table.indexOf(placement.after()) + 1;
+        }
+
+        if (index < 0 || index > table.columns.size()) {
+            table.columns.add(column);
+        } else {
+            table.columns.add(index, column);
+        }
+    }
+
+    /**
+     * PRIMARY KEY [index_type] (col [(len)] [ASC|DESC], ...)
+     */
+    private static void primaryKey(DdlTable table, Cursor c) {
+        while (!c.isEnd() && !c.peek("(")) {
+            c.next(); // USING BTREE 等
+        }
+        for (Cursor part : c.group()) {
+            int index = table.indexOf(part.identifier());
+            if (index >= 0) {
+                table.columns.set(index, table.columns.get(index).withPrimaryKey(true));
+            }
+        }
+    }
+
+    /**
+     * 表选项，仅关心 COMMENT [=] 'text'
+     */
+    private static void tableOptions(DdlTable table, Cursor c) {
+        while (!c.isEnd()) {
+            if (c.accept("COMMENT")) {
+                c.accept("=");
+                table.comment = c.next().text();
+            } else if (c.peek("(")) {
+                c.group(); // 分区定义等
+            } else {
+                c.next();
+            }
+        }
+    }
+
+    /**
+     * 列定义：name type[(args)] [attributes] [FIRST | AFTER col]
+     */
+    private static Placement column(Cursor c) {
+        String name = c.identifier();
+        String dataType = c.next().text().toLowerCase(Locale.ROOT);
+        StringBuilder columnType = new StringBuilder(dataType);
+        if (c.peek("(")) {
+            columnType.append('(').append(String.join(",", c.group().stream().map(Cursor::text).toList())).append(')');
+        }
+
+        boolean primaryKey = false;
+        boolean autoIncrement = false;
+        boolean unsigned = false;
+        String comment = "";
+        boolean first = false;
+        String after = null;
+        // SERIAL 是 BIGINT UNSIGNED NOT NULL AUTO_INCREMENT UNIQUE 的别名
+        if ("serial".equals(dataType)) {
+            dataType = "bigint";
+            columnType = new StringBuilder(dataType);
+            unsigned = true;
+            autoIncrement = true;
+        }
+
+        while (!c.isEnd()) {
+            if (c.accept("UNSIGNED")) {
+                unsigned = true;
+            } else if (c.accept("AUTO_INCREMENT")) {
+                autoIncrement = true;
+            } else if (c.accept("UNIQUE")) {
+                c.accept("KEY");
+            } else if (c.accept("PRIMARY") || c.peekWord(0, "KEY")) {
+                c.accept("KEY");
+                primaryKey = true;
+            } else if (c.accept("COMMENT")) {
+                comment = c.next().text();
+            } else if (c.accept("FIRST")) {
+                first = true;
+            } else if (c.accept("AFTER")) {
+                after = c.identifier();
+            } else if (c.peek("(")) {
+                c.group(); // DEFAULT (expr)、GENERATED ALWAYS AS (expr)、CHECK (expr)
+            } else {
+                c.next();
+            }
+        }
+
+        if (unsigned) {
+            columnType.append(" unsigned");
+        }
+        return new Placement(new Column(name, dataType, columnType.toString(), comment, primaryKey, autoIncrement), first, after);
+    }
+
+    /**
+     * 重命名表，保留新名称的写法
+     */
+    private void rename(String from, String to) {
+        DdlTable table = tables.remove(key(from));
+        if (Objects.nonNull(table)) {
+            table.name = to;
+            tables.put(key(to), table);
+        }
+    }
+
+    /**
+     * 跳过可选的 IF EXISTS
+     */
+    private static void ifExists(Cursor c) {
+        if (c.accept("IF")) {
+            c.accept("EXISTS");
+        }
+    }
+
+    private static String key(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 将脚本切分为词法单元，去除注释。
+     *
+     * @param sql DDL 脚本
+     * @return 词法单元列表
+     */
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        String delimiter = DEFAULT_DELIMITER;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char ch = sql.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (isDelimiterCommand(sql, i)) {
+                // DELIMITER $$：行内其余部分为新分隔符, 切换前的语句视为已结束
+                int start = i + DELIMITER_COMMAND.length();
+                int end = start;
+                while (end < length && sql.charAt(end) != '\n' && sql.charAt(end) != '\r') {
+                    end++;
+                }
+                String value = sql.substring(start, end).strip();
+                if (!value.isEmpty()) {
+                    delimiter = value.split("\\s+")[0];
+                }
+                tokens.add(new Token(Kind.DELIMITER, delimiter));
+                i = end;
+            } else if (sql.startsWith(delimiter, i)) {
+                tokens.add(new Token(Kind.DELIMITER, delimiter));
+                i += delimiter.length();
+            } else if (ch == '#' || (ch == '-' && sql.startsWith("--", i) && (i + 2 == length || Character.isWhitespace(sql.charAt(i + 2))))) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                // 包括 mysqldump 的 /*!40101 ... */ 条件注释
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated comment at offset " + i);
+                }
+                i = end + 2;
+            } else if (ch == '\'' || ch == '"' || ch == '`') {
+                StringBuilder text = new StringBuilder();
+                i = quoted(sql, i, text);
+                tokens.add(new Token(ch == '`' ? Kind.IDENTIFIER : Kind.STRING, text.toString()));
+            } else if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$') {
+                int start = i;
+                // 分隔符可能紧跟在单词后（END$$）
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')
+                        && !sql.startsWith(delimiter, i)) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.WORD, sql.substring(start, i)));
+            } else {
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(ch)));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 读取引号包围的字符串或标识符，处理重复引号与反斜杠转义。
+     *
+     * @param sql   DDL 脚本
+     * @param start 开始引号的位置
+     * @param text  输出去掉引号并反转义后的内容
+     * @return 结束引号之后的位置
+     */
+    private static int quoted(String sql, int start, StringBuilder text) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char ch = sql.charAt(i);
+            if (ch == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    text.append(quote);
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+
+            if (ch == '\\' && quote != '`' && i + 1 < sql.length()) {
+                char escaped = sql.charAt(i + 1);
+                text.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    case '0' -> '\0';
+                    default -> escaped;
+                });
+                i += 2;
+                continue;
+            }
+
+            text.append(ch);
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated " + (quote == '`' ? "identifier" : "string") + " at offset " + start);
+    }
+
+    /**
+     * 解析得到的表结构
+     *
+     * @param name    表名
+     * @param comment 表注释，未定义时为空串
+     * @param columns 按物理顺序排列的全部列
+     */
+    public record Table(String name, String comment, List<Column> columns) {
+    }
+
+    /**
+     * 解析得到的列定义
+     *
+     * @param name          列名
+     * @param dataType      数据类型，如 "int"、"varchar"（对应 information_schema.COLUMNS.DATA_TYPE）
+     * @param columnType    完整类型，如 "int(10) unsigned"（对应 information_schema.COLUMNS.COLUMN_TYPE）
+     * @param comment       列注释，未定义时为空串
+     * @param primaryKey    是否主键列
+     * @param autoIncrement 是否自增列
+     */
+    public record Column(String name, String dataType, String columnType, String comment, boolean primaryKey, boolean autoIncrement) {
+
+        private Column withPrimaryKey(boolean primaryKey) {
+            return new Column(name, dataType, columnType, comment, primaryKey, autoIncrement);
+        }
+
+        private Column withName(String name) {
+            return new Column(name, dataType, columnType, comment, primaryKey, autoIncrement);
+        }
+    }
+
+    /**
+     * 列定义及其在 ALTER TABLE 中指定的位置
+     *
+     * @param column 列定义
+     * @param first  是否放在首列（FIRST）
+     * @param after  放在该列之后（AFTER col），未指定时为 {@code null}
+     */
+    private record Placement(Column column, boolean first, String after) {
+    }
+
+    /**
+     * 解析过程中的可变表结构
+     */
+    private static final class DdlTable {
+        private String name;
+        private String comment = "";
+        private final List<Column> columns = new ArrayList<>();
+
+        private DdlTable(String name) {
+            this.name = name;
+        }
+
+        private int indexOf(String columnName) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).name().equalsIgnoreCase(columnName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 判断 {@code offset} 处是否为行首的 {@code DELIMITER} 命令
+     */
+    private static boolean isDelimiterCommand(String sql, int offset) {
+        int end = offset + DELIMITER_COMMAND.length();
+        if (!sql.regionMatches(true, offset, DELIMITER_COMMAND, 0, DELIMITER_COMMAND.length())
+                || end >= sql.length() || (sql.charAt(end) != ' ' && sql.charAt(end) != '\t')) {
+            return false;
+        }
+        for (int i = offset - 1; i >= 0; i--) {
+            char ch = sql.charAt(i);
+            if (ch == '\n' || ch == '\r') {
+                return true;
+            }
+            if (ch != ' ' && ch != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 词法单元类型
+     */
+    private enum Kind {
+        WORD, IDENTIFIER, STRING, SYMBOL,
+        /**
+         * 语句分隔符（默认分号，或 {@code DELIMITER} 切换后的分隔符）
+         */
+        DELIMITER
+    }
+
+    /**
+     * 词法单元
+     *
+     * @param kind 类型
+     * @param text 内容（字符串与反引号标识符已去掉引号）
+     */
+    private record Token(Kind kind, String text) {
+
+        private boolean is(String symbol) {
+            return kind == Kind.SYMBOL && text.equals(symbol);
+        }
+
+        private boolean isWord(String keyword) {
+            return kind == Kind.WORD && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    /**
+     * 单条语句（或其中一段）的词法单元游标
+     */
+    private static final class Cursor {
+        private final List<Token> tokens;
+        private int position;
+
+        private Cursor(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private boolean isEnd() {
+            return position >= tokens.size();
+        }
+
+        private Token next() {
+            if (isEnd()) {
+                throw new IllegalArgumentException("Unexpected end of statement: " + text());
+            }
+            return tokens.get(position++);
+        }
+
+        private boolean peek(String symbol) {
+            return !isEnd() && tokens.get(position).is(symbol);
+        }
+
+        private boolean peekWord(int offset, String keyword) {
+            return position + offset < tokens.size() && tokens.get(position + offset).isWord(keyword);
+        }
+
+        private boolean peekKeyword(String... keywords) {
+            for (String keyword : keywords) {
+                if (peekWord(0, keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean peekConstraint() {
+            return !isEnd() && tokens.get(position).kind() == Kind.WORD
+                    && TABLE_CONSTRAINTS.contains(tokens.get(position).text().toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * 下一个单元是指定关键字或符号时消费它
+         */
+        private boolean accept(String keywordOrSymbol) {
+            if (!isEnd() && (tokens.get(position).isWord(keywordOrSymbol) || tokens.get(position).is(keywordOrSymbol))) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private String identifier() {
+            return next().text();
+        }
+
+        /**
+         * 读取可能带库名限定的表名，只返回表名部分
+         */
+        private String qualifiedName() {
+            String name = identifier();
+            while (accept(".")) {
+                name = identifier();
+            }
+            return name;
+        }
+
+        /**
+         * 读取一对括号，按顶层逗号切分为多个子游标
+         */
+        private List<Cursor> group() {
+            if (!accept("(")) {
+                throw new IllegalArgumentException("Expected '(' in statement: " + text());
+            }
+
+            int depth = 1;
+            int start = position;
+            while (depth > 0) {
+                Token token = next();
+                if (token.is("(")) {
+                    depth++;
+                } else if (token.is(")")) {
+                    depth--;
+                }
+            }
+            return new Cursor(tokens.subList(start, position - 1)).split();
+        }
+
+        /**
+         * 将剩余单元按顶层逗号切分为多个子游标
+         */
+        private List<Cursor> split() {
+            List<Cursor> parts = new ArrayList<>();
+            int depth = 0;
+            int start = position;
+            for (; position < tokens.size(); position++) {
+                Token token = tokens.get(position);
+                if (token.is("(")) {
+                    depth++;
+                } else if (token.is(")")) {
+                    depth--;
+                } else if (depth == 0 && token.is(",")) {
+                    parts.add(new Cursor(tokens.subList(start, position)));
+                    start = position + 1;
+                }
+            }
+            if (start < tokens.size()) {
+                parts.add(new Cursor(tokens.subList(start, tokens.size())));
+            }
+            return parts;
+        }
+
+        /**
+         * 剩余单元的文本形式，字符串重新加上单引号
+         */
+        private String text() {
+            StringBuilder text = new StringBuilder();
+            for (Token token : tokens.subList(Math.min(position, tokens.size()), tokens.size())) {
+                text.append(text.isEmpty() ? "" : " ").append(token.kind() == Kind.STRING ? "'" + token.text() + "'" : token.text());
+            }
+            return text.toString();
+        }
+    }
+}
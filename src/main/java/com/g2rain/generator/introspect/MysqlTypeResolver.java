@@ -0,0 +1,143 @@
+package com.g2rain.generator.introspect;
+
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * MySQL 列类型解析器，将 information_schema 中的列类型映射为 JDBC 类型名与 Java 类型。
+ *
+ * <p>映射结果与原 MyBatis Generator 链路保持一致，即：</p>
+ * <ul>
+ *     <li>MySQL → JDBC 类型：遵循 MySQL Connector/J 在 {@code DatabaseMetaData#getColumns} 中报告的类型
+ *     （如 {@code datetime → TIMESTAMP}、{@code tinyint(1) → BIT}；无符号整型与有符号整型报告为相同的 JDBC 类型）</li>
+ *     <li>JDBC 类型 → Java 类型：遵循 MyBatis Generator 默认类型解析器，并启用
+ *     {@code useJSR310Types} 与 {@code forceBigDecimals}</li>
+ * </ul>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * MysqlTypeResolver.jdbcType("datetime", "datetime");        // TIMESTAMP
+ * MysqlTypeResolver.javaType("TIMESTAMP");                    // LocalDateTime
+ * MysqlTypeResolver.jdbcType("int", "int(10) unsigned");      // INTEGER
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class MysqlTypeResolver {
+
+    /**
+     * 未识别类型时使用的 JDBC 类型名
+     */
+    private static final String OTHER = "OTHER";
+
+    /**
+     * MySQL DATA_TYPE → JDBC 类型名
+     */
+    private static final Map<String, String> JDBC_TYPES = Map.ofEntries(
+            Map.entry("bit", "BIT"),
+            Map.entry("bool", "BIT"),
+            Map.entry("boolean", "BIT"),
+            Map.entry("tinyint", "TINYINT"),
+            Map.entry("smallint", "SMALLINT"),
+            Map.entry("mediumint", "INTEGER"),
+            Map.entry("int", "INTEGER"),
+            Map.entry("integer", "INTEGER"),
+            Map.entry("bigint", "BIGINT"),
+            Map.entry("decimal", "DECIMAL"),
+            Map.entry("numeric", "DECIMAL"),
+            Map.entry("float", "REAL"),
+            Map.entry("double", "DOUBLE"),
+            Map.entry("real", "DOUBLE"),
+            Map.entry("date", "DATE"),
+            Map.entry("year", "DATE"),
+            Map.entry("time", "TIME"),
+            Map.entry("datetime", "TIMESTAMP"),
+            Map.entry("timestamp", "TIMESTAMP"),
+            Map.entry("char", "CHAR"),
+            Map.entry("enum", "CHAR"),
+            Map.entry("set", "CHAR"),
+            Map.entry("varchar", "VARCHAR"),
+            Map.entry("tinytext", "VARCHAR"),
+            Map.entry("text", "LONGVARCHAR"),
+            Map.entry("mediumtext", "LONGVARCHAR"),
+            Map.entry("longtext", "LONGVARCHAR"),
+            Map.entry("json", "LONGVARCHAR"),
+            Map.entry("binary", "BINARY"),
+            Map.entry("geometry", "BINARY"),
+            Map.entry("varbinary", "VARBINARY"),
+            Map.entry("tinyblob", "VARBINARY"),
+            Map.entry("blob", "LONGVARBINARY"),
+            Map.entry("mediumblob", "LONGVARBINARY"),
+            Map.entry("longblob", "LONGVARBINARY")
+    );
+
+    /**
+     * JDBC 类型名 → Java 类型短名称
+     */
+    private static final Map<String, String> JAVA_TYPES = Map.ofEntries(
+            Map.entry("BIT", "Boolean"),
+            Map.entry("BOOLEAN", "Boolean"),
+            Map.entry("TINYINT", "Byte"),
+            Map.entry("SMALLINT", "Short"),
+            Map.entry("INTEGER", "Integer"),
+            Map.entry("BIGINT", "Long"),
+            Map.entry("DECIMAL", "BigDecimal"),
+            Map.entry("NUMERIC", "BigDecimal"),
+            Map.entry("REAL", "Float"),
+            Map.entry("FLOAT", "Double"),
+            Map.entry("DOUBLE", "Double"),
+            Map.entry("DATE", "LocalDate"),
+            Map.entry("TIME", "LocalTime"),
+            Map.entry("TIMESTAMP", "LocalDateTime"),
+            Map.entry("CHAR", "String"),
+            Map.entry("VARCHAR", "String"),
+            Map.entry("LONGVARCHAR", "String"),
+            Map.entry("BINARY", "byte[]"),
+            Map.entry("VARBINARY", "byte[]"),
+            Map.entry("LONGVARBINARY", "byte[]")
+    );
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private MysqlTypeResolver() {
+        // 禁止实例化
+    }
+
+    /**
+     * 解析 JDBC 类型名。
+     *
+     * @param dataType   information_schema.COLUMNS.DATA_TYPE，如 "int"、"varchar"
+     * @param columnType information_schema.COLUMNS.COLUMN_TYPE，如 "int(10) unsigned"、"tinyint(1)"
+     * @return JDBC 类型名，无法识别时返回 {@code OTHER}
+     */
+    public static String jdbcType(String dataType, String columnType) {
+        if (Objects.isNull(dataType)) {
+            return OTHER;
+        }
+
+        String type = dataType.toLowerCase(Locale.ROOT);
+        String fullType = Objects.toString(columnType, type).toLowerCase(Locale.ROOT);
+
+        // Connector/J 默认 tinyInt1isBit=true，tinyint(1) 报告为 BIT
+        if ("tinyint".equals(type) && fullType.startsWith("tinyint(1)")) {
+            return "BIT";
+        }
+
+        // Connector/J 的 MysqlType 中无符号整型与有符号整型的 JDBC 类型相同（如 INT_UNSIGNED → INTEGER）, 不做放大
+        return JDBC_TYPES.getOrDefault(type, OTHER);
+    }
+
+    /**
+     * 解析 Java 类型短名称。
+     *
+     * @param jdbcType JDBC 类型名
+     * @return Java 类型短名称，无法识别时返回 {@code Object}
+     */
+    public static String javaType(String jdbcType) {
+        return JAVA_TYPES.getOrDefault(jdbcType, "Object");
+    }
+}
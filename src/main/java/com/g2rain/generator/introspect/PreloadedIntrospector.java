@@ -0,0 +1,75 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.model.TableInfo;
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 基于已内省结果的表结构来源，不访问数据库或文件。
+ *
+ * <p>用于“内省一次、多处生成”的场景（如 reactor 聚合生成）：先由真正的内省器一次性加载全部模块需要的表，
+ * 再为每个模块创建一个只读取内存结果的实例。实例只读，可以被多个生成线程同时使用。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * Map<String, TableInfo> tables = ...; // 表名 → 表信息
+ * new FoundryGenerator(log, moduleConfig, new PreloadedIntrospector(log, tables, allTableNames)).generate();
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class PreloadedIntrospector implements SchemaIntrospector {
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * 表名 → 已内省的表信息
+     */
+    private final Map<String, TableInfo> tableInfos;
+
+    /**
+     * 数据库中的全部表名（已排序），用于解析表名模式
+     */
+    private final List<String> tableNames;
+
+    /**
+     * 构造函数
+     *
+     * @param log        日志对象
+     * @param tableInfos 表名 → 已内省的表信息
+     * @param tableNames 数据库中的全部表名（已排序）
+     */
+    public PreloadedIntrospector(Log log, Map<String, TableInfo> tableInfos, List<String> tableNames) {
+        this.log = log;
+        this.tableInfos = Map.copyOf(tableInfos);
+        this.tableNames = List.copyOf(tableNames);
+    }
+
+    @Override
+    public List<TableInfo> introspect(List<String> tableNames) {
+        List<TableInfo> result = new ArrayList<>(tableNames.size());
+        for (String tableName : tableNames) {
+            TableInfo tableInfo = tableInfos.get(tableName);
+            if (Objects.isNull(tableInfo)) {
+                log.warn("Table not found: " + tableName);
+                continue;
+            }
+            result.add(tableInfo);
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> listTables() {
+        return tableNames;
+    }
+}
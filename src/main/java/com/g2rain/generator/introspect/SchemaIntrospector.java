@@ -0,0 +1,79 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.model.TableInfo;
+
+import java.util.List;
+
+/**
+ * 数据库表结构元数据来源。
+ *
+ * <p>负责将一组表名解析为 {@link TableInfo}（含已完成角色划分的 {@link com.g2rain.generator.model.ColumnInfo}），
+ * 供 {@link com.g2rain.generator.generator.FoundryGenerator} 渲染模板使用。</p>
+ *
+ * <p>现有实现：</p>
+ * <ul>
+ *     <li>{@link InformationSchemaIntrospector}：MySQL/MariaDB，使用少量 information_schema 集合查询批量加载</li>
+ *     <li>{@link MyBatisIntrospector}：其它 JDBC 数据库，通过 MyBatis Generator 逐表内省（全部内省完成后才回调）</li>
+ *     <li>{@link SnapshotIntrospector}：在 {@link InformationSchemaIntrospector} 之上按结构指纹复用本地快照，支持离线生成</li>
+ *     <li>{@link DdlFileIntrospector}：解析 MySQL DDL 文件（Flyway 迁移脚本、schema.sql），不连接数据库</li>
+ *     <li>{@link PreloadedIntrospector}：读取已内省的内存结果，用于一次内省、多个模块共用</li>
+ * </ul>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public interface SchemaIntrospector {
+
+    /**
+     * 内省指定的表。
+     * <p>返回结果与流式回调顺序一致（通常为 {@code tableNames} 的顺序），不存在的表会被忽略并记录警告。</p>
+     *
+     * @param tableNames 待内省的表名（已去重、去空白）
+     * @return 表信息列表
+     * @throws Exception 当数据库连接或元数据读取失败时抛出
+     */
+    @SuppressWarnings("java:S112")
+    List<TableInfo> introspect(List<String> tableNames) throws Exception;
+
+    /**
+     * 流式内省指定的表：每得到一张表的元数据即回调 {@code consumer}，无需等待全部表内省完成。
+     * <p>默认实现先完整内省再逐个回调，支持分批查询的实现应覆盖该方法以降低内存占用与首个文件的输出延迟。
+     * 回调顺序不保证与 {@code tableNames} 一致。</p>
+     *
+     * @param tableNames 待内省的表名（已去重、去空白）
+     * @param consumer   表信息消费者
+     * @throws Exception 当数据库连接或元数据读取失败、或消费者被中断时抛出
+     */
+    @SuppressWarnings("java:S112")
+    default void introspect(List<String> tableNames, TableConsumer consumer) throws Exception {
+        for (TableInfo tableInfo : introspect(tableNames)) {
+            consumer.accept(tableInfo);
+        }
+    }
+
+    /**
+     * 列出当前数据库中的全部表名，用于解析 {@link TableSelector} 中的通配符/正则模式。
+     * <p>实现应只执行一次元数据查询，返回结果按表名排序。</p>
+     *
+     * @return 全部表名
+     * @throws Exception 当数据库连接或元数据读取失败时抛出
+     */
+    @SuppressWarnings("java:S112")
+    List<String> listTables() throws Exception;
+
+    /**
+     * 表信息消费者，通常是生成流水线中的有界队列（{@code BlockingQueue::put}）。
+     */
+    @FunctionalInterface
+    interface TableConsumer {
+
+        /**
+         * 接收一张表的元数据
+         *
+         * @param tableInfo 表信息
+         * @throws InterruptedException 等待下游空间时线程被中断
+         */
+        void accept(TableInfo tableInfo) throws InterruptedException;
+    }
+}
@@ -0,0 +1,241 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Hashes;
+import com.g2rain.generator.utils.PluginVersion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 表结构快照，将内省得到的 {@link TableInfo} 连同其结构指纹持久化到本地目录。
+ *
+ * <p>快照目录由一个索引文件（{@code index.bin}，表名 → 结构指纹）与每张表一个条目文件（{@code tables/<表名摘要>.bin}）组成。
+ * 打开快照时只读取索引，表信息在 {@link #get(String, String)} 时逐个读取、{@link #put(String, String, TableInfo)} 时逐个写出，
+ * 内存中不保留表信息，上千张表的库在流式内省时占用的内存也与表数量无关。</p>
+ *
+ * <p>快照按数据库名隔离：打开时若数据库名与当前配置不一致，则视为空快照。
+ * 索引损坏、版本不兼容或不存在时同样视为空快照，由调用方重新内省后覆盖写入；单个条目文件损坏时只影响该表。</p>
+ *
+ * <p>快照保存的是推导后的 {@link TableInfo}（Java 类型映射、主键与基础字段分类等），推导规则随插件版本变化时
+ * 表结构指纹并不会变化，因此快照同时记录格式版本与写入时的插件版本，任一不一致都视为空快照，
+ * 升级插件后的第一次生成会重新内省全部表。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * SchemaSnapshot snapshot = SchemaSnapshot.open(dir, "demo");
+ * TableInfo cached = snapshot.get("user", fingerprint); // 指纹一致才读取条目文件
+ * snapshot.put("user", fingerprint, tableInfo);         // 立即写出条目文件
+ * snapshot.save();                                      // 写出索引
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class SchemaSnapshot {
+
+    /**
+     * 快照格式版本，快照内容或 {@link TableInfo} 的推导规则发生不兼容变化时递增
+     */
+    static final int FORMAT_VERSION = 3;
+
+    /**
+     * 当前插件版本（{@link PluginVersion#CURRENT}）
+     */
+    static final String PLUGIN_VERSION = PluginVersion.CURRENT;
+
+    /**
+     * 索引文件名
+     */
+    private static final String INDEX_FILE = "index.bin";
+
+    /**
+     * 条目文件目录名
+     */
+    private static final String TABLES_DIR = "tables";
+
+    /**
+     * 快照目录
+     */
+    private final Path dir;
+
+    /**
+     * 快照所属数据库名
+     */
+    private final String database;
+
+    /**
+     * 表名 → 结构指纹
+     */
+    private final Map<String, String> fingerprints;
+
+    /**
+     * 构造函数
+     *
+     * @param dir          快照目录
+     * @param database     数据库名
+     * @param fingerprints 表名 → 结构指纹
+     */
+    private SchemaSnapshot(Path dir, String database, Map<String, String> fingerprints) {
+        this.dir = dir;
+        this.database = database;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * 打开快照，只读取索引。
+     *
+     * @param dir      快照目录
+     * @param database 当前数据库名，为 {@code null} 时不校验数据库名（离线且未配置连接 URL）
+     * @return 快照对象；索引不存在、损坏、格式或插件版本不一致、数据库名不一致时返回空快照
+     */
+    public static SchemaSnapshot open(Path dir, String database) {
+        Path indexFile = dir.resolve(INDEX_FILE);
+        if (Files.isRegularFile(indexFile)) {
+            try (InputStream in = Files.newInputStream(indexFile); ObjectInputStream ois = new ObjectInputStream(in)) {
+                if (ois.readObject() instanceof Index index
+                        && index.formatVersion() == FORMAT_VERSION
+                        && Objects.equals(index.pluginVersion(), PLUGIN_VERSION)
+                        && (Objects.isNull(database) || Objects.equals(index.database(), database))) {
+                    return new SchemaSnapshot(dir, index.database(), new HashMap<>(index.fingerprints()));
+                }
+            } catch (IOException | ClassNotFoundException | ClassCastException ignored) {
+                // 索引不可用时忽略, 重新内省后覆盖
+            }
+        }
+
+        return new SchemaSnapshot(dir, database, new HashMap<>());
+    }
+
+    /**
+     * 写出索引（先写临时文件再原子替换，避免中断时留下损坏的索引），并删除索引中已不存在的条目文件。
+     *
+     * @throws IOException 写入失败时抛出
+     */
+    public void save() throws IOException {
+        Files.createDirectories(dir);
+        writeAtomically(dir.resolve(INDEX_FILE), new Index(FORMAT_VERSION, PLUGIN_VERSION, database, new HashMap<>(fingerprints)));
+
+        // 版本或数据库变化后重建的快照不再引用旧条目
+        Path tablesDir = dir.resolve(TABLES_DIR);
+        if (Files.isDirectory(tablesDir)) {
+            Set<String> live = fingerprints.keySet().stream().map(SchemaSnapshot::entryFileName).collect(Collectors.toSet());
+            try (Stream<Path> files = Files.list(tablesDir)) {
+                for (Path file : files.filter(f -> !live.contains(f.getFileName().toString())).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取指纹匹配的表信息，从条目文件读取。
+     *
+     * @param tableName   表名
+     * @param fingerprint 当前结构指纹，为 {@code null} 时不做校验（离线模式）
+     * @return 快照中的表信息；不存在、指纹不一致或条目文件不可用时返回 {@code null}
+     */
+    public TableInfo get(String tableName, String fingerprint) {
+        String stored = fingerprints.get(tableName);
+        if (Objects.isNull(stored) || (Objects.nonNull(fingerprint) && !fingerprint.equals(stored))) {
+            return null;
+        }
+
+        Path file = dir.resolve(TABLES_DIR).resolve(entryFileName(tableName));
+        try (InputStream in = Files.newInputStream(file); ObjectInputStream ois = new ObjectInputStream(in)) {
+            if (ois.readObject() instanceof Entry(String entryTable, String entryFingerprint, TableInfo tableInfo)
+                    && tableName.equals(entryTable) && stored.equals(entryFingerprint)) {
+                return tableInfo;
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException ignored) {
+            // 条目不可用时视为未缓存, 由调用方重新内省
+        }
+        fingerprints.remove(tableName);
+        return null;
+    }
+
+    /**
+     * 获取快照中的全部表名（按表名排序）
+     *
+     * @return 表名列表
+     */
+    public List<String> tableNames() {
+        return fingerprints.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * 写入或替换表信息：立即写出条目文件，索引在 {@link #save()} 时写出
+     *
+     * @param tableName   表名
+     * @param fingerprint 结构指纹
+     * @param tableInfo   表信息
+     * @throws IOException 写入失败时抛出
+     */
+    public void put(String tableName, String fingerprint, TableInfo tableInfo) throws IOException {
+        Path tablesDir = Files.createDirectories(dir.resolve(TABLES_DIR));
+        writeAtomically(tablesDir.resolve(entryFileName(tableName)), new Entry(tableName, fingerprint, tableInfo));
+        fingerprints.put(tableName, fingerprint);
+    }
+
+    /**
+     * 条目文件名：表名的摘要，避免表名中的特殊字符与大小写不敏感的文件系统造成冲突
+     */
+    private static String entryFileName(String tableName) {
+        return Hashes.sha256(tableName) + ".bin";
+    }
+
+    /**
+     * 先写临时文件再原子替换
+     */
+    private static void writeAtomically(Path file, Object value) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp); ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(value);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 快照索引
+     *
+     * @param formatVersion 写入时的格式版本
+     * @param pluginVersion 写入时的插件版本
+     * @param database      数据库名
+     * @param fingerprints  表名 → 结构指纹
+     */
+    private record Index(int formatVersion, String pluginVersion, String database,
+                         HashMap<String, String> fingerprints) implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 快照条目
+     *
+     * @param tableName   表名（校验摘要文件名）
+     * @param fingerprint 表结构指纹
+     * @param tableInfo   表信息
+     */
+    private record Entry(String tableName, String fingerprint, TableInfo tableInfo) implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+}
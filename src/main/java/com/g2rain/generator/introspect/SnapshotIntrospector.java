@@ -0,0 +1,166 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带本地快照缓存的表结构内省器。
+ *
+ * <p>在线模式下：</p>
+ * <ol>
+ *     <li>通过 {@link InformationSchemaIntrospector#fingerprints(Connection, List)} 一次性计算全部表的结构指纹</li>
+ *     <li>指纹与快照一致的表逐个从快照条目读取并立即交给下游</li>
+ *     <li>仅对新增或结构已变化的表执行完整内省（分批回调），每张表立即写出快照条目</li>
+ * </ol>
+ *
+ * <p>打开快照时只读取表名与指纹索引，表信息按需逐个读取与写出，内存占用只取决于流水线中正在处理的表，
+ * 与快照中的表数量无关。</p>
+ *
+ * <p>离线模式下（{@code FoundryConfig#isOffline()}）：完全不连接数据库，只从快照读取表信息，
+ * 快照中不存在的表会记录警告并跳过。</p>
+ *
+ * <p>快照目录位于 {@link FoundryConfig#getSchemaSnapshotDir()}（默认 target/g2rain/schema-snapshot）。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class SnapshotIntrospector implements SchemaIntrospector {
+
+    /**
+     * Maven 插件日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig foundryConfig;
+
+    /**
+     * 实际执行内省与指纹计算的内省器
+     */
+    private final InformationSchemaIntrospector delegate;
+
+    /**
+     * 构造函数
+     *
+     * @param log           日志对象
+     * @param foundryConfig Foundry 配置
+     */
+    public SnapshotIntrospector(Log log, FoundryConfig foundryConfig) {
+        this.log = log;
+        this.foundryConfig = foundryConfig;
+        this.delegate = new InformationSchemaIntrospector(log, foundryConfig);
+    }
+
+    @Override
+    public List<TableInfo> introspect(List<String> tableNames) throws Exception {
+        List<TableInfo> tableInfos = new ArrayList<>();
+        introspect(tableNames, tableInfos::add);
+        return tableInfos;
+    }
+
+    /**
+     * 流式内省：快照中可复用的表立即回调，其余表交给 {@link InformationSchemaIntrospector} 分批内省，
+     * 每批完成后回调并写入快照。
+     */
+    @Override
+    public void introspect(List<String> tableNames, TableConsumer consumer) throws Exception {
+        Path snapshotDir = foundryConfig.getSchemaSnapshotDir();
+        // 离线且未配置连接 URL 时无法确定数据库名, 直接使用已有快照
+        String database = foundryConfig.isOffline() && Strings.isBlank(foundryConfig.getUrl()) ? null : foundryConfig.getDatabase();
+        SchemaSnapshot snapshot = SchemaSnapshot.open(snapshotDir, database);
+
+        if (foundryConfig.isOffline()) {
+            readOffline(snapshot, tableNames, consumer);
+            return;
+        }
+
+        try (Connection connection = foundryConfig.openConnection()) {
+            Map<String, String> fingerprints = delegate.fingerprints(connection, tableNames);
+
+            // 结构未变化的表直接复用快照, 新增或结构已变化的表留待内省
+            int reused = 0;
+            List<String> staleTables = new ArrayList<>();
+            for (String tableName : tableNames) {
+                if (!fingerprints.containsKey(tableName)) {
+                    log.warn("Table " + foundryConfig.getDatabase() + "." + tableName + " did not resolve to any tables");
+                    continue;
+                }
+
+                TableInfo cached = snapshot.get(tableName, fingerprints.get(tableName));
+                if (Objects.isNull(cached)) {
+                    staleTables.add(tableName);
+                } else {
+                    consumer.accept(cached);
+                    reused++;
+                }
+            }
+
+            AtomicInteger introspected = new AtomicInteger();
+            if (!staleTables.isEmpty()) {
+                delegate.introspect(connection, staleTables, tableInfo -> {
+                    try {
+                        snapshot.put(tableInfo.getTableName(), fingerprints.get(tableInfo.getTableName()), tableInfo);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    introspected.incrementAndGet();
+                    consumer.accept(tableInfo);
+                });
+                snapshot.save();
+            }
+
+            log.info(String.format("Schema snapshot: %d table(s) reused, %d table(s) introspected", reused, introspected.get()));
+        }
+    }
+
+    /**
+     * 列出全部表名：离线模式下取快照中的表，在线模式下查询 information_schema。
+     */
+    @Override
+    public List<String> listTables() throws Exception {
+        if (foundryConfig.isOffline()) {
+            String database = Strings.isBlank(foundryConfig.getUrl()) ? null : foundryConfig.getDatabase();
+            return SchemaSnapshot.open(foundryConfig.getSchemaSnapshotDir(), database).tableNames();
+        }
+
+        return delegate.listTables();
+    }
+
+    /**
+     * 离线模式：仅从快照读取表信息。
+     *
+     * @param snapshot   表结构快照
+     * @param tableNames 表名
+     * @param consumer   表信息消费者
+     * @throws InterruptedException 消费者等待时线程被中断
+     */
+    private void readOffline(SchemaSnapshot snapshot, List<String> tableNames, TableConsumer consumer) throws InterruptedException {
+        int loaded = 0;
+        for (String tableName : tableNames) {
+            TableInfo tableInfo = snapshot.get(tableName, null);
+            if (Objects.isNull(tableInfo)) {
+                log.warn("Table " + tableName + " is not present in schema snapshot " + foundryConfig.getSchemaSnapshotDir().toAbsolutePath());
+                continue;
+            }
+            consumer.accept(tableInfo);
+            loaded++;
+        }
+
+        log.info(String.format("Schema snapshot: offline, %d table(s) loaded", loaded));
+    }
+}
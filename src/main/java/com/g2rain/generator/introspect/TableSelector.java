@@ -0,0 +1,240 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.utils.Strings;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 表选择器，解析 {@code database.tables} 配置并确定需要生成代码的表。
+ *
+ * <p>配置按逗号分隔，每一项可以是：</p>
+ * <ul>
+ *     <li>普通表名：{@code user}</li>
+ *     <li>通配符模式：{@code order_*}（{@code *} 匹配任意字符，{@code ?} 匹配单个字符）</li>
+ *     <li>正则模式：{@code regex:sys_(user|role)}</li>
+ *     <li>排除项：以 {@code !} 开头，支持上述三种写法，如 {@code !*_bak}</li>
+ * </ul>
+ *
+ * <p>正则项中位于括号（{@code ()}、{@code []}、{@code {}}）内或以反斜杠转义的逗号属于正则本身，不作为分隔符，
+ * 如 {@code regex:log_\d{2,3}, sys_user} 解析为两项；括号外需要匹配逗号时写作 {@code \,}。
+ * 所有匹配均区分大小写，与 MySQL 在 Linux 上（{@code lower_case_table_names=0}）的表名规则一致；
+ * 需要忽略大小写时使用正则的内嵌标志，如 {@code regex:(?i)sys_.*}。</p>
+ *
+ * <p>只包含普通表名时直接使用配置的表名（{@link #isLiteral()}），无需查询数据库；
+ * 包含模式或排除项时，由 {@link SchemaIntrospector#listTables()} 通过一次元数据查询列出全部表后在内存中匹配。
+ * 仅配置排除项时视为包含全部表。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * TableSelector selector = TableSelector.parse("order_*, sys_user, !*_bak");
+ * List<String> tables = selector.isLiteral() ? selector.names() : selector.select(introspector.listTables());
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class TableSelector {
+
+    /**
+     * 排除项前缀
+     */
+    private static final String EXCLUDE_PREFIX = "!";
+
+    /**
+     * 正则模式前缀
+     */
+    private static final String REGEX_PREFIX = "regex:";
+
+    /**
+     * 普通表名（保持配置顺序）
+     */
+    private final Set<String> names = new LinkedHashSet<>();
+
+    /**
+     * 包含模式
+     */
+    private final List<Pattern> includes = new ArrayList<>();
+
+    /**
+     * 排除模式（普通表名的排除项也编译为模式）
+     */
+    private final List<Pattern> excludes = new ArrayList<>();
+
+    /**
+     * 私有构造方法，通过 {@link #parse(String)} 创建。
+     */
+    private TableSelector() {
+    }
+
+    /**
+     * 解析表选择配置。
+     *
+     * @param tables 逗号分隔的表名、通配符或正则模式
+     * @return 表选择器
+     * @throws java.util.regex.PatternSyntaxException 正则模式语法错误时抛出
+     */
+    public static TableSelector parse(String tables) {
+        TableSelector selector = new TableSelector();
+        split(tables).stream().map(String::strip).filter(Strings::isNotBlank).forEach(item -> {
+            if (item.startsWith(EXCLUDE_PREFIX)) {
+                selector.excludes.add(toPattern(item.substring(EXCLUDE_PREFIX.length()).strip()));
+            } else if (isPattern(item)) {
+                selector.includes.add(toPattern(item));
+            } else {
+                selector.names.add(item);
+            }
+        });
+        return selector;
+    }
+
+    /**
+     * 按逗号拆分配置项：正则项中位于括号内或被反斜杠转义的逗号不作为分隔符。
+     *
+     * @param tables 表选择配置
+     * @return 配置项（未去空白）
+     */
+    static List<String> split(String tables) {
+        List<String> items = new ArrayList<>();
+        StringBuilder item = new StringBuilder();
+        boolean regex = false;
+        boolean escaped = false;
+        boolean inClass = false;
+        int depth = 0;
+        for (char c : tables.toCharArray()) {
+            if (c == ',' && (!regex || (!escaped && !inClass && depth == 0))) {
+                items.add(item.toString());
+                item.setLength(0);
+                regex = false;
+                depth = 0;
+                continue;
+            }
+
+            item.append(c);
+            if (!regex) {
+                String head = item.toString().strip();
+                if (head.startsWith(EXCLUDE_PREFIX)) {
+                    head = head.substring(EXCLUDE_PREFIX.length()).strip();
+                }
+                regex = head.startsWith(REGEX_PREFIX);
+            } else if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(' || c == '{') {
+                depth++;
+            } else if ((c == ')' || c == '}') && depth > 0) {
+                depth--;
+            }
+        }
+        items.add(item.toString());
+        return items;
+    }
+
+    /**
+     * 是否只包含普通表名（无模式、无排除项）。
+     *
+     * @return 只包含普通表名时返回 {@code true}
+     */
+    public boolean isLiteral() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * 获取配置的普通表名（已去重、去空白，保持配置顺序）。
+     *
+     * @return 普通表名
+     */
+    public List<String> names() {
+        return List.copyOf(names);
+    }
+
+    /**
+     * 从数据库中的全部表中筛选需要生成的表。
+     * <p>结果按 {@code catalogTables} 的顺序排列；配置的普通表名若不在其中也会保留（由内省阶段记录警告），
+     * 以免拼写错误被静默忽略。</p>
+     *
+     * @param catalogTables 数据库中的全部表名
+     * @return 选中的表名
+     */
+    public List<String> select(List<String> catalogTables) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String tableName : catalogTables) {
+            if (isIncluded(tableName) && !isExcluded(tableName)) {
+                selected.add(tableName);
+            }
+        }
+
+        Set<String> catalog = new HashSet<>(catalogTables);
+        for (String name : names) {
+            if (!catalog.contains(name) && !isExcluded(name)) {
+                selected.add(name);
+            }
+        }
+
+        return List.copyOf(selected);
+    }
+
+    /**
+     * 表名是否命中包含规则（未配置任何包含项时包含全部表）。
+     */
+    private boolean isIncluded(String tableName) {
+        if (names.isEmpty() && includes.isEmpty()) {
+            return true;
+        }
+        return names.contains(tableName) || includes.stream().anyMatch(p -> p.matcher(tableName).matches());
+    }
+
+    /**
+     * 表名是否命中排除规则。
+     */
+    private boolean isExcluded(String tableName) {
+        return excludes.stream().anyMatch(p -> p.matcher(tableName).matches());
+    }
+
+    /**
+     * 判断配置项是否为模式（正则或包含通配符）。
+     */
+    private static boolean isPattern(String item) {
+        return item.startsWith(REGEX_PREFIX) || item.indexOf('*') >= 0 || item.indexOf('?') >= 0;
+    }
+
+    /**
+     * 将配置项编译为正则：{@code regex:} 前缀按正则处理，其余按通配符处理（普通表名即为精确匹配）。
+     *
+     * @param item 配置项（不含排除前缀）
+     * @return 正则模式
+     */
+    private static Pattern toPattern(String item) {
+        if (item.startsWith(REGEX_PREFIX)) {
+            return Pattern.compile(item.substring(REGEX_PREFIX.length()));
+        }
+
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : item.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
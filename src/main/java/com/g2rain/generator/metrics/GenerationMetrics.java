@@ -0,0 +1,337 @@
+package com.g2rain.generator.metrics;
+
+
+import com.g2rain.generator.output.FileStatus;
+import com.g2rain.generator.utils.Json;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 一次生成过程的性能指标。
+ *
+ * <p>收集内容：</p>
+ * <ul>
+ *     <li>各阶段耗时：表选择、JDBC 连接、内省、计划解析、渲染、写出、暂存提交、增量清单读写，以及整体耗时</li>
+ *     <li>按模板统计的文件数、渲染耗时、写出耗时与写入字节数</li>
+ *     <li>按表统计的耗时，输出最慢的 {@link #SLOWEST_TABLES} 张表</li>
+ *     <li>文件计数：写入、未变化、跳过、失败</li>
+ * </ul>
+ *
+ * <p>内省与渲染并行执行，渲染与写出耗时为各线程累计值（并行度大于 1 时可能超过整体耗时）。
+ * 所有方法都是线程安全的：JDBC 连接耗时在内省线程中记录，其余指标在生成线程中记录。</p>
+ *
+ * <p>生成结束后通过 {@link #log(Log)} 在 Maven 日志中输出紧凑的汇总表，
+ * 通过 {@link #writeJson(Path)} 写出完整的 JSON 报告。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class GenerationMetrics {
+
+    /**
+     * 阶段：解析表名模式、列出全部表
+     */
+    public static final String PHASE_SELECT = "select";
+
+    /**
+     * 阶段：建立 JDBC 连接
+     */
+    public static final String PHASE_CONNECT = "connect";
+
+    /**
+     * 阶段：表结构内省（含连接，内省线程墙钟时间）
+     */
+    public static final String PHASE_INTROSPECT = "introspect";
+
+    /**
+     * 阶段：解析生成计划（输出路径、已有文件检查与输入指纹）
+     */
+    public static final String PHASE_PLAN = "plan";
+
+    /**
+     * 阶段：模板渲染（各线程累计）
+     */
+    public static final String PHASE_RENDER = "render";
+
+    /**
+     * 阶段：输出写出（各线程累计，含与已有文件比较）
+     */
+    public static final String PHASE_WRITE = "write";
+
+    /**
+     * 阶段：增量清单读写
+     */
+    public static final String PHASE_MANIFEST = "manifest";
+
+    /**
+     * 阶段：暂存目录中的文件移动到最终位置
+     */
+    public static final String PHASE_COMMIT = "commit";
+
+    /**
+     * 汇总中列出的最慢表数量
+     */
+    private static final int SLOWEST_TABLES = 10;
+
+    /**
+     * 纳秒 → 毫秒
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /**
+     * 开始时间
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 阶段 → 耗时（保持首次记录的顺序）
+     */
+    private final Map<String, Timer> phases = new LinkedHashMap<>();
+
+    /**
+     * 模板 → 统计
+     */
+    private final Map<String, TemplateStats> templates = new TreeMap<>();
+
+    /**
+     * 表 → 统计
+     */
+    private final Map<String, TableStats> tables = new HashMap<>();
+
+    private int written;
+    private int unchanged;
+    private int skipped;
+    private int failed;
+    private long bytesWritten;
+
+    /**
+     * 结束时间，{@link #finish()} 之前为 0
+     */
+    private long endNanos;
+
+    /**
+     * 累加一个阶段的耗时
+     *
+     * @param phase 阶段名
+     * @param nanos 耗时（纳秒）
+     */
+    public synchronized void addPhase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, k -> new Timer()).add(nanos);
+    }
+
+    /**
+     * 登记一张开始处理的表
+     *
+     * @param tableName 表名
+     */
+    public synchronized void table(String tableName) {
+        tables.computeIfAbsent(tableName, k -> new TableStats());
+    }
+
+    /**
+     * 记录一个跳过渲染的文件
+     *
+     * @param template 模板
+     */
+    public synchronized void skipped(String template) {
+        skipped++;
+        templates.computeIfAbsent(template, k -> new TemplateStats()).skipped++;
+    }
+
+    /**
+     * 记录一个已渲染文件
+     *
+     * @param template    模板
+     * @param tableName   表名
+     * @param status      输出结果，渲染失败时为 {@code null}
+     * @param renderNanos 渲染耗时（纳秒）
+     * @param writeNanos  写出耗时（纳秒）
+     * @param bytes       渲染结果字节数
+     */
+    public synchronized void rendered(String template, String tableName, FileStatus status, long renderNanos, long writeNanos, int bytes) {
+        addPhase(PHASE_RENDER, renderNanos);
+        addPhase(PHASE_WRITE, writeNanos);
+
+        TemplateStats templateStats = templates.computeIfAbsent(template, k -> new TemplateStats());
+        templateStats.files++;
+        templateStats.renderNanos += renderNanos;
+        templateStats.writeNanos += writeNanos;
+
+        TableStats tableStats = tables.computeIfAbsent(tableName, k -> new TableStats());
+        tableStats.files++;
+        tableStats.nanos += renderNanos + writeNanos;
+
+        if (Objects.isNull(status)) {
+            failed++;
+        } else if (status == FileStatus.WRITTEN) {
+            written++;
+            bytesWritten += bytes;
+            templateStats.bytes += bytes;
+        } else {
+            unchanged++;
+        }
+    }
+
+    /**
+     * 标记生成结束，记录整体耗时
+     */
+    public synchronized void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * 渲染失败的文件数
+     *
+     * @return 失败数
+     */
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    /**
+     * 已渲染（含失败）的文件数
+     *
+     * @return 已渲染文件数
+     */
+    public synchronized int getRendered() {
+        return written + unchanged + failed;
+    }
+
+    /**
+     * 在 Maven 日志中输出紧凑的汇总表。
+     *
+     * @param log 日志对象
+     */
+    public synchronized void log(Log log) {
+        log.info(String.format(Locale.ROOT, "Generation metrics: %.1f ms, %d table(s), %d written (%s), %d unchanged, %d skipped, %d failed",
+                millis(totalNanos()), tables.size(), written, formatBytes(bytesWritten), unchanged, skipped, failed));
+
+        StringBuilder phaseLine = new StringBuilder("Phases (ms):");
+        phases.forEach((phase, timer) -> phaseLine.append(String.format(Locale.ROOT, " %s %.1f |", phase, millis(timer.nanos))));
+        log.info(phaseLine.substring(0, phaseLine.length() - 2));
+
+        log.info(String.format("%-14s %7s %7s %11s %10s %10s", "Template", "files", "skipped", "render(ms)", "write(ms)", "bytes"));
+        templates.forEach((template, stats) -> log.info(String.format(Locale.ROOT, "%-14s %7d %7d %11.1f %10.1f %10s",
+                template, stats.files, stats.skipped, millis(stats.renderNanos), millis(stats.writeNanos), formatBytes(stats.bytes))));
+
+        List<Map.Entry<String, TableStats>> slowest = slowestTables();
+        if (!slowest.isEmpty()) {
+            StringBuilder tableLine = new StringBuilder("Slowest tables:");
+            slowest.forEach(e -> tableLine.append(String.format(Locale.ROOT, " %s %.1f ms,", e.getKey(), millis(e.getValue().nanos))));
+            log.info(tableLine.substring(0, tableLine.length() - 1));
+        }
+    }
+
+    /**
+     * 写出 JSON 报告。
+     *
+     * @param file 报告文件
+     * @throws IOException 写出失败时抛出
+     */
+    public synchronized void writeJson(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT, "  \"totalMillis\": %.3f,%n", millis(totalNanos())));
+        json.append(String.format(Locale.ROOT,
+                "  \"files\": {\"tables\": %d, \"written\": %d, \"unchanged\": %d, \"skipped\": %d, \"failed\": %d, \"bytesWritten\": %d},%n",
+                tables.size(), written, unchanged, skipped, failed, bytesWritten));
+
+        List<String> items = new ArrayList<>();
+        phases.forEach((phase, timer) -> items.add(String.format(Locale.ROOT, "    %s: {\"millis\": %.3f, \"count\": %d}",
+                Json.quote(phase), millis(timer.nanos), timer.count)));
+        json.append("  \"phases\": {\n").append(String.join(",\n", items)).append("\n  },\n");
+
+        items.clear();
+        templates.forEach((template, stats) -> items.add(String.format(Locale.ROOT,
+                "    %s: {\"files\": %d, \"skipped\": %d, \"renderMillis\": %.3f, \"writeMillis\": %.3f, \"bytesWritten\": %d}",
+                Json.quote(template), stats.files, stats.skipped, millis(stats.renderNanos), millis(stats.writeNanos), stats.bytes)));
+        json.append("  \"templates\": {\n").append(String.join(",\n", items)).append("\n  },\n");
+
+        items.clear();
+        slowestTables().forEach(e -> items.add(String.format(Locale.ROOT, "    {\"table\": %s, \"millis\": %.3f, \"files\": %d}",
+                Json.quote(e.getKey()), millis(e.getValue().nanos), e.getValue().files)));
+        json.append("  \"slowestTables\": [\n").append(String.join(",\n", items)).append("\n  ]\n}\n");
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按耗时降序排列的最慢表
+     */
+    private List<Map.Entry<String, TableStats>> slowestTables() {
+        return tables.entrySet().stream()
+                .filter(e -> e.getValue().files > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, TableStats> e) -> e.getValue().nanos).reversed())
+                .limit(SLOWEST_TABLES)
+                .toList();
+    }
+
+    /**
+     * 整体耗时（未结束时计算到当前时刻）
+     */
+    private long totalNanos() {
+        return (endNanos == 0 ? System.nanoTime() : endNanos) - startNanos;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * 格式化字节数：B / KB / MB
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024d);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024d * 1024));
+    }
+
+    /**
+     * 阶段计时
+     */
+    private static final class Timer {
+        private long nanos;
+        private long count;
+
+        private void add(long nanos) {
+            this.nanos += nanos;
+            this.count++;
+        }
+    }
+
+    /**
+     * 模板统计
+     */
+    private static final class TemplateStats {
+        private int files;
+        private int skipped;
+        private long renderNanos;
+        private long writeNanos;
+        private long bytes;
+    }
+
+    /**
+     * 表统计
+     */
+    private static final class TableStats {
+        private int files;
+        private long nanos;
+    }
+}
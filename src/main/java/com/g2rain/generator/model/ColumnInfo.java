@@ -6,6 +6,9 @@ import com.g2rain.generator.utils.ColumnUtils;
 
 import lombok.Data;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * 数据库表字段元信息封装类，用于 MyBatis Generator 或代码生成器使用。
  * <p>
@@ -30,7 +33,10 @@ import lombok.Data;
  * @since 2025/10/25
  */
 @Data
-public class ColumnInfo {
+public class ColumnInfo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * 数据库字段名
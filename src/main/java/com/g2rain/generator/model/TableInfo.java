@@ -1,9 +1,19 @@
 package com.g2rain.generator.model;
 
+import com.g2rain.generator.utils.ColumnUtils;
+import com.g2rain.generator.utils.Strings;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 数据库表元信息封装类，用于 MyBatis Generator 或代码生成器使用。
@@ -28,7 +38,10 @@ import java.util.List;
  * @since 2025/10/25
  */
 @Data
-public class TableInfo {
+public class TableInfo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * 数据库表名
@@ -81,4 +94,74 @@ public class TableInfo {
      * version字段信息（如果存在）
      */
     private ColumnInfo versionColumn;
-}
\ No newline at end of file
+
+    /**
+     * 渲染视图缓存，首次访问时计算
+     * <p>不参与 toString（toString 用作增量生成的表结构指纹）、equals/hashCode 与序列化</p>
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile TableRenderView view;
+
+    /**
+     * 获取渲染视图，模板中以 {@code table.view} 访问。
+     * <p>
+     * 同一个表信息会被多个模块、多个渲染线程共享：视图不可变，并发首次访问时可能重复计算，
+     * 但各线程得到的内容相同，因此无需加锁。视图基于 {@link #of} 完成的列划分计算，之后不应再修改列信息。
+     * </p>
+     *
+     * @return 渲染视图
+     */
+    public TableRenderView getView() {
+        TableRenderView current = this.view;
+        if (Objects.isNull(current)) {
+            current = new TableRenderView(this);
+            this.view = current;
+        }
+        return current;
+    }
+
+    /**
+     * 根据表名、表注释和按物理顺序排列的全部列构建表信息，并完成列角色划分。
+     * <p>
+     * 划分规则（按优先级）：
+     * <ol>
+     *     <li>主键列 → {@link #primaryKey}</li>
+     *     <li>基础列（create_time、update_time） → {@link #baseColumns}</li>
+     *     <li>delete_flag 列 → {@link #deleteFlagColumn}</li>
+     *     <li>version 列 → {@link #versionColumn}</li>
+     *     <li>其它列 → {@link #columns}</li>
+     * </ol>
+     * 无论元数据来自 MyBatis Generator 还是 information_schema，都通过该方法构建，保证划分结果一致。
+     *
+     * @param tableName    数据库表名
+     * @param tableComment 表注释
+     * @param allColumns   表的全部列（按列顺序）
+     * @return 构建完成的表信息
+     */
+    public static TableInfo of(String tableName, String tableComment, List<ColumnInfo> allColumns) {
+        TableInfo tableInfo = new TableInfo();
+        tableInfo.setTableName(tableName);
+        tableInfo.setTableComment(tableComment);
+        tableInfo.setEntityName(Strings.underlineToCamel(tableName.toLowerCase(), true));
+        tableInfo.setEntityNameLower(Strings.underlineToCamel(tableName.toLowerCase(), false));
+
+        for (ColumnInfo columnInfo : allColumns) {
+            if (columnInfo.isPrimaryKey()) {
+                tableInfo.setPrimaryKey(columnInfo);
+            } else if (ColumnUtils.isBaseColumn(columnInfo.getColumnName())) {
+                tableInfo.getBaseColumns().add(columnInfo);
+            } else if (columnInfo.isDeleteFlag()) {
+                tableInfo.setDeleteFlagColumn(columnInfo);
+            } else if (columnInfo.isVersion()) {
+                tableInfo.setVersionColumn(columnInfo);
+            } else {
+                tableInfo.getColumns().add(columnInfo);
+            }
+        }
+
+        return tableInfo;
+    }
+}
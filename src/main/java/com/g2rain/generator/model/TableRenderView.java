@@ -0,0 +1,161 @@
+package com.g2rain.generator.model;
+
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 表的渲染视图：模板反复使用的列清单、列名串、参数占位符串与导入类型，在首次访问时一次性计算。
+ * <p>
+ * 模板通过 {@code table.view} 读取（见 {@link TableInfo#getView()}），不再在每次渲染中用
+ * {@code ?map(...)?join(", ")} 与成串的 {@code <#if ...>,</#if>} 拼接逗号。视图创建后不可变，
+ * 可以在多个模块、多个渲染线程之间共享。
+ * </p>
+ *
+ * <p>列顺序统一为：主键 → 基础字段 → 业务字段 → delete_flag → version，与 mapper 的 resultMap 一致。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * <sql id="Base_Column_List">
+ *     ${table.view.columnList}
+ * </sql>
+ * INSERT INTO ${table.tableName} (${table.view.insertColumnList}) VALUES (${table.view.insertValueList})
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+@Getter
+public final class TableRenderView {
+
+    /**
+     * 渲染模型版本：视图中拼接的列清单、占位符或导入类型的规则变化时递增，使增量生成重新渲染全部文件
+     */
+    public static final int MODEL_VERSION = 1;
+
+    /**
+     * 按需导入的字段类型：按字段顺序，对每个字段依次检查下列类型名（与原模板的 {@code ?contains} 判定一致）
+     */
+    private static final List<String[]> IMPORT_TYPES = List.of(
+            new String[]{"LocalDateTime", "java.time.LocalDateTime"},
+            new String[]{"LocalDate", "java.time.LocalDate"},
+            new String[]{"LocalTime", "java.time.LocalTime"},
+            new String[]{"ZonedDateTime", "java.time.ZonedDateTime"},
+            new String[]{"OffsetDateTime", "java.time.OffsetDateTime"},
+            new String[]{"BigDecimal", "java.math.BigDecimal"}
+    );
+
+    /**
+     * 全部列（主键 → 基础字段 → 业务字段 → delete_flag → version）
+     */
+    private final List<ColumnInfo> allColumns;
+
+    /**
+     * 可作为排序字段的列（主键 → 基础字段 → 业务字段）
+     */
+    private final List<ColumnInfo> sortColumns;
+
+    /**
+     * update 语句 {@code <set>} 中按非空条件更新的列（支持更新的基础字段 → 业务字段，version 单独处理）
+     */
+    private final List<ColumnInfo> updateColumns;
+
+    /**
+     * 全部列名，逗号分隔，用于 {@code Base_Column_List}
+     */
+    private final String columnList;
+
+    /**
+     * insert 语句的列名，逗号分隔（自增主键不包含）
+     */
+    private final String insertColumnList;
+
+    /**
+     * 单条 insert 语句的参数占位符，逗号分隔；delete_flag 与 version 的初始值为 0
+     */
+    private final String insertValueList;
+
+    /**
+     * 批量 insert 语句的参数占位符（{@code item.} 前缀），逗号分隔
+     */
+    private final String batchInsertValueList;
+
+    /**
+     * 业务字段需要导入的类型全名，按首次出现的顺序排列
+     */
+    private final List<String> importTypes;
+
+    /**
+     * 构造函数
+     *
+     * @param tableInfo 表信息
+     */
+    TableRenderView(TableInfo tableInfo) {
+        ColumnInfo primaryKey = tableInfo.getPrimaryKey();
+        List<ColumnInfo> sorts = new ArrayList<>();
+        if (Objects.nonNull(primaryKey)) {
+            sorts.add(primaryKey);
+        }
+        sorts.addAll(tableInfo.getBaseColumns());
+        sorts.addAll(tableInfo.getColumns());
+        this.sortColumns = List.copyOf(sorts);
+
+        List<ColumnInfo> all = new ArrayList<>(sorts);
+        if (Objects.nonNull(tableInfo.getDeleteFlagColumn())) {
+            all.add(tableInfo.getDeleteFlagColumn());
+        }
+        if (Objects.nonNull(tableInfo.getVersionColumn())) {
+            all.add(tableInfo.getVersionColumn());
+        }
+        this.allColumns = List.copyOf(all);
+
+        List<ColumnInfo> updates = new ArrayList<>();
+        tableInfo.getBaseColumns().stream().filter(ColumnInfo::isSupportUpdate).forEach(updates::add);
+        updates.addAll(tableInfo.getColumns());
+        this.updateColumns = List.copyOf(updates);
+
+        // 自增主键由数据库生成, 不出现在 insert 语句中
+        List<ColumnInfo> inserts = all.stream()
+                .filter(c -> !(c == primaryKey && primaryKey.isAutoIncrement()))
+                .toList();
+        this.columnList = join(all, ColumnInfo::getColumnName);
+        this.insertColumnList = join(inserts, ColumnInfo::getColumnName);
+        this.insertValueList = join(inserts, c -> placeholder(tableInfo, c, ""));
+        this.batchInsertValueList = join(inserts, c -> placeholder(tableInfo, c, "item."));
+
+        Set<String> imports = new LinkedHashSet<>();
+        for (ColumnInfo column : tableInfo.getColumns()) {
+            String javaType = Objects.toString(column.getJavaType(), "");
+            for (String[] type : IMPORT_TYPES) {
+                if (javaType.contains(type[0])) {
+                    imports.add(type[1]);
+                }
+            }
+        }
+        this.importTypes = List.copyOf(imports);
+    }
+
+    /**
+     * 列 → 参数占位符；delete_flag 与 version 固定写入初始值 0
+     */
+    private static String placeholder(TableInfo tableInfo, ColumnInfo column, String prefix) {
+        if (column == tableInfo.getDeleteFlagColumn() || column == tableInfo.getVersionColumn()) {
+            return "0";
+        }
+        return "#{" + prefix + column.getPropertyName() + ", jdbcType=" + column.getColumnType() + "}";
+    }
+
+    /**
+     * 按逗号连接列的某一属性
+     */
+    private static String join(List<ColumnInfo> columns, Function<ColumnInfo, String> mapper) {
+        return columns.stream().map(mapper).collect(Collectors.joining(", "));
+    }
+}
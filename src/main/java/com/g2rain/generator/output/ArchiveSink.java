@@ -0,0 +1,303 @@
+package com.g2rain.generator.output;
+
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 归档输出目标：每个模块的生成文件顺序写入一个源码归档（{@code {module}-sources.jar}），不创建任何单独的文件。
+ *
+ * <p>适用于网络文件系统上写入大量小文件很慢、或不希望生成代码进入版本库的场景，归档可以由构建挂载为附件或解压后编译。</p>
+ *
+ * <ul>
+ *     <li>文件按所属模块（{@code TemplatePaths#getModulePath} 对应的模块根目录）归入各自的归档，
+ *     条目名为去掉 {@code src/main/java/}、{@code src/main/resources/} 前缀后的路径，与 sources jar 的布局一致</li>
+ *     <li>渲染期间每个模块的条目按完成顺序追加到一个不压缩的 {@code .part} 文件，内存占用与文件数量无关；
+ *     并行渲染时同一归档的写入串行进行，不同模块的归档互不阻塞</li>
+ *     <li>{@link #commit()} 时按条目名排序重写为压缩的最终归档，条目时间固定，相同输入在任意并行度下都产出字节一致的归档</li>
+ *     <li>最终文件在重写完成后才被替换；未提交时 {@link #close()} 删除未完成的归档</li>
+ * </ul>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * try (ArchiveSink sink = ArchiveSink.open(archiveDir, moduleRoots)) {
+ *     sink.write(path, bytes, bytes.length);
+ *     sink.commit(); // archiveDir/g2rain-demo-api-sources.jar ...
+ * }
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class ArchiveSink implements CommitSink {
+
+    /**
+     * 归档文件名后缀
+     */
+    private static final String SUFFIX = "-sources.jar";
+
+    /**
+     * 写出中的归档文件后缀
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * 按条目名排序重写中的归档文件后缀
+     */
+    private static final String SORTED_SUFFIX = ".sorted";
+
+    /**
+     * 条目的固定修改时间（zip 格式可表示的最早时间之后），保证归档可复现
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+    /**
+     * 从模块内路径中去掉的源码目录前缀
+     */
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/main/resources/");
+
+    /**
+     * 归档输出目录
+     */
+    private final Path archiveDir;
+
+    /**
+     * 模块根目录（绝对路径），按路径深度倒序，优先匹配最深的模块
+     */
+    private final List<Path> moduleRoots;
+
+    /**
+     * 模块根目录 → 写出中的归档
+     */
+    private final Map<Path, ModuleArchive> archives = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param archiveDir  归档输出目录（必须已存在）
+     * @param moduleRoots 模块根目录
+     */
+    private ArchiveSink(Path archiveDir, Collection<Path> moduleRoots) {
+        this.archiveDir = archiveDir;
+        this.moduleRoots = moduleRoots.stream()
+                .map(root -> root.toAbsolutePath().normalize())
+                .distinct()
+                .sorted(Comparator.comparingInt(Path::getNameCount).reversed())
+                .toList();
+    }
+
+    /**
+     * 创建归档输出目标。
+     *
+     * @param archiveDir  归档输出目录
+     * @param moduleRoots 模块根目录，生成文件必须位于其中之一
+     * @return 归档输出目标
+     * @throws IOException 创建输出目录失败时抛出
+     */
+    public static ArchiveSink open(Path archiveDir, Collection<Path> moduleRoots) throws IOException {
+        Path dir = archiveDir.toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+        return new ArchiveSink(dir, moduleRoots);
+    }
+
+    @Override
+    public FileStatus write(Path outputPath, byte[] content, int length) throws IOException {
+        Path target = outputPath.toAbsolutePath().normalize();
+        Path module = moduleOf(target);
+        ModuleArchive archive;
+        try {
+            archive = archives.computeIfAbsent(module, this::newArchive);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        archive.add(entryName(module.relativize(target)), content, length);
+        return FileStatus.WRITTEN;
+    }
+
+    /**
+     * 完成全部归档：按条目名排序重写后替换最终文件。
+     *
+     * @return 写入归档的文件数
+     * @throws IOException 完成、重写或替换归档失败时抛出
+     */
+    @Override
+    public int commit() throws IOException {
+        int entries = 0;
+        for (ModuleArchive archive : archives.values()) {
+            archive.finish();
+            Path sorted = archive.part.resolveSibling(archive.target.getFileName() + SORTED_SUFFIX);
+            try {
+                writeSorted(archive.part, sorted);
+                try {
+                    Files.move(sorted, archive.target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(sorted, archive.target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(sorted);
+                Files.deleteIfExists(archive.part);
+            }
+            entries += archive.entries;
+        }
+        archives.clear();
+        return entries;
+    }
+
+    /**
+     * 关闭并删除未提交的归档
+     *
+     * @throws IOException 删除失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        for (ModuleArchive archive : archives.values()) {
+            try {
+                archive.finish();
+            } finally {
+                Files.deleteIfExists(archive.part);
+            }
+        }
+        archives.clear();
+    }
+
+    /**
+     * 查找文件所属的模块根目录
+     */
+    private Path moduleOf(Path target) throws IOException {
+        for (Path root : moduleRoots) {
+            if (target.startsWith(root) && !target.equals(root)) {
+                return root;
+            }
+        }
+        throw new IOException("Output is not inside a generated module: " + target);
+    }
+
+    /**
+     * 为模块创建写出中的归档
+     */
+    private ModuleArchive newArchive(Path module) {
+        String name = module.getFileName() + SUFFIX;
+        try {
+            Path part = archiveDir.resolve(name + PART_SUFFIX);
+            // 中间文件提交时会重写, 不压缩以减少渲染线程的开销
+            ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(part)));
+            out.setLevel(Deflater.NO_COMPRESSION);
+            return new ModuleArchive(part, archiveDir.resolve(name), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 将按完成顺序写出的归档按条目名排序重写，条目名唯一（每个输出文件只写出一次）
+     *
+     * @param part   按完成顺序写出的归档
+     * @param sorted 排序后的归档
+     * @throws IOException 读写失败时抛出
+     */
+    private static void writeSorted(Path part, Path sorted) throws IOException {
+        try (ZipFile zip = new ZipFile(part.toFile());
+             OutputStream file = Files.newOutputStream(sorted);
+             ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(file))) {
+            List<? extends ZipEntry> entries = zip.stream().sorted(Comparator.comparing(ZipEntry::getName)).toList();
+            for (ZipEntry source : entries) {
+                ZipEntry entry = new ZipEntry(source.getName());
+                entry.setTimeLocal(ENTRY_TIME);
+                out.putNextEntry(entry);
+                try (InputStream in = zip.getInputStream(source)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * 模块内路径 → 归档条目名：统一使用 '/' 分隔，并去掉源码目录前缀
+     */
+    private static String entryName(Path relative) {
+        String name = relative.toString().replace('\\', '/');
+        for (String root : SOURCE_ROOTS) {
+            if (name.startsWith(root)) {
+                return name.substring(root.length());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 一个模块的归档
+     */
+    private static final class ModuleArchive {
+
+        /**
+         * 写出中的文件
+         */
+        private final Path part;
+
+        /**
+         * 最终文件
+         */
+        private final Path target;
+
+        /**
+         * 归档输出流，写入时以自身为锁
+         */
+        private final ZipOutputStream out;
+
+        /**
+         * 已写入的条目数
+         */
+        private int entries;
+
+        /**
+         * 是否已完成
+         */
+        private boolean finished;
+
+        private ModuleArchive(Path part, Path target, ZipOutputStream out) {
+            this.part = part;
+            this.target = target;
+            this.out = out;
+        }
+
+        /**
+         * 顺序追加一个条目
+         */
+        private synchronized void add(String name, byte[] content, int length) throws IOException {
+            ZipEntry entry = new ZipEntry(name);
+            entry.setTimeLocal(ENTRY_TIME);
+            out.putNextEntry(entry);
+            out.write(content, 0, length);
+            out.closeEntry();
+            entries++;
+        }
+
+        /**
+         * 写出中央目录并关闭文件，重复调用无副作用
+         */
+        private synchronized void finish() throws IOException {
+            if (!finished) {
+                finished = true;
+                out.close();
+            }
+        }
+    }
+}
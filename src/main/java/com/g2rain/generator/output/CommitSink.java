@@ -0,0 +1,25 @@
+package com.g2rain.generator.output;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 需要提交的输出目标：写出的内容先保留在中间位置，{@link #commit()} 后才出现在最终位置。
+ *
+ * <p>生成过程中断或存在失败文件时不调用 {@link #commit()}，{@link #close()} 丢弃中间内容，已有输出保持不变。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public interface CommitSink extends OutputSink, Closeable {
+
+    /**
+     * 将全部已写出的内容移动到最终位置。
+     * <p>调用时不能再有并发的 {@link #write(java.nio.file.Path, byte[], int)}。</p>
+     *
+     * @return 提交的文件数
+     * @throws IOException 提交失败时抛出
+     */
+    int commit() throws IOException;
+}
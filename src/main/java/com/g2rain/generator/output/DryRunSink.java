@@ -0,0 +1,117 @@
+package com.g2rain.generator.output;
+
+
+import com.g2rain.generator.utils.UnifiedDiff;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预演（dry-run）输出目标：渲染结果只保存在内存中，不写入任何生成文件。
+ *
+ * <p>每次 {@link #write(Path, byte[], int)} 会将渲染结果与磁盘上的已有文件比较，得出新增、修改或未变化，
+ * 并为新增和修改的文件计算 unified diff。调用方通过 {@link #take(Path)} 取走结果后即从内存中移除，
+ * 配合流式生成时内存占用只与正在处理的批次有关。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * DryRunSink sink = new DryRunSink(projectDir);
+ * sink.write(path, bytes, bytes.length);
+ * DryRunSink.Change change = sink.take(path); // ADDED / CHANGED / UNCHANGED + diff
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class DryRunSink implements OutputSink {
+
+    /**
+     * 计算 diff 标签时使用的基准目录
+     */
+    private final Path baseDir;
+
+    /**
+     * 尚未被取走的比较结果，输出路径 → 变化
+     */
+    private final Map<Path, Change> changes = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param baseDir 基准目录，diff 中的文件标签为相对该目录的路径
+     */
+    public DryRunSink(Path baseDir) {
+        this.baseDir = baseDir.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public FileStatus write(Path outputPath, byte[] content, int length) throws IOException {
+        String label = label(outputPath);
+        String after = new String(content, 0, length, StandardCharsets.UTF_8);
+        if (!Files.isRegularFile(outputPath)) {
+            changes.put(outputPath, new Change(ChangeType.ADDED, UnifiedDiff.diff("a/" + label, "b/" + label, null, after)));
+            return FileStatus.WRITTEN;
+        }
+
+        if (FileSystemSink.isSameContent(outputPath, content, length)) {
+            changes.put(outputPath, new Change(ChangeType.UNCHANGED, ""));
+            return FileStatus.UNCHANGED;
+        }
+
+        String before = Files.readString(outputPath, StandardCharsets.UTF_8);
+        changes.put(outputPath, new Change(ChangeType.CHANGED, UnifiedDiff.diff("a/" + label, "b/" + label, before, after)));
+        return FileStatus.WRITTEN;
+    }
+
+    /**
+     * 取走指定文件的比较结果。
+     *
+     * @param outputPath 输出文件路径（与 {@link #write(Path, byte[], int)} 时一致）
+     * @return 比较结果，不存在时返回 {@code null}
+     */
+    public Change take(Path outputPath) {
+        return changes.remove(outputPath);
+    }
+
+    /**
+     * 计算文件在 diff 中的标签：位于基准目录下时使用相对路径，统一使用 '/' 分隔。
+     */
+    private String label(Path outputPath) {
+        Path path = outputPath.toAbsolutePath().normalize();
+        return (path.startsWith(baseDir) ? baseDir.relativize(path) : path).toString().replace('\\', '/');
+    }
+
+    /**
+     * 预演比较结果类型
+     */
+    public enum ChangeType {
+
+        /**
+         * 文件不存在，将会新增
+         */
+        ADDED,
+
+        /**
+         * 文件已存在且内容不同，将会被覆盖
+         */
+        CHANGED,
+
+        /**
+         * 文件已存在且内容一致
+         */
+        UNCHANGED
+    }
+
+    /**
+     * 单个文件的预演比较结果
+     *
+     * @param type 变化类型
+     * @param diff unified diff 文本，未变化时为空串
+     */
+    public record Change(ChangeType type, String diff) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.g2rain.generator.output;
+
+
+/**
+ * 单个输出文件在一次生成中的处理结果。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public enum FileStatus {
+
+    /**
+     * 内容有变化（或文件不存在），已写入
+     */
+    WRITTEN,
+
+    /**
+     * 渲染结果与已有文件完全一致，未写入，文件修改时间保持不变
+     */
+    UNCHANGED,
+
+    /**
+     * 未渲染：文件已存在且不允许覆盖，或增量清单显示输入未变化
+     */
+    SKIPPED
+}
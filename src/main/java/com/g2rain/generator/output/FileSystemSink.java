@@ -0,0 +1,57 @@
+package com.g2rain.generator.output;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 直接写入文件系统的输出目标，仅在内容发生变化时写盘。
+ *
+ * <p>判断流程：</p>
+ * <ol>
+ *     <li>文件不存在或大小不同：直接写入</li>
+ *     <li>大小相同：读取已有文件并与渲染结果逐字节比较，完全一致则跳过写入</li>
+ * </ol>
+ * <p>未变化的文件保持原有修改时间，编译器和 IDE 不会因此重新编译生成的模块。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class FileSystemSink implements OutputSink {
+
+    @Override
+    public FileStatus write(Path outputPath, byte[] content, int length) throws IOException {
+        if (isSameContent(outputPath, content, length)) {
+            return FileStatus.UNCHANGED;
+        }
+
+        Files.createDirectories(outputPath.getParent());
+        try (OutputStream out = Files.newOutputStream(outputPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            out.write(content, 0, length);
+        }
+        return FileStatus.WRITTEN;
+    }
+
+    /**
+     * 判断已有文件内容是否与渲染结果一致（先比较大小，大小相同再比较内容）。
+     *
+     * @param outputPath 输出文件路径
+     * @param content    渲染结果
+     * @param length     有效数据长度
+     * @return 内容一致时返回 {@code true}
+     * @throws IOException 读取已有文件失败时抛出
+     */
+    static boolean isSameContent(Path outputPath, byte[] content, int length) throws IOException {
+        if (!Files.isRegularFile(outputPath) || Files.size(outputPath) != length) {
+            return false;
+        }
+
+        byte[] existing = Files.readAllBytes(outputPath);
+        return Arrays.equals(existing, 0, existing.length, content, 0, length);
+    }
+}
@@ -0,0 +1,28 @@
+package com.g2rain.generator.output;
+
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 渲染结果的输出目标。
+ *
+ * <p>模板渲染到 {@link RenderBuffer} 后由输出目标负责落地。实现类必须是线程安全的，
+ * 并行渲染时会被多个线程同时调用。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public interface OutputSink {
+
+    /**
+     * 输出一个文件。
+     *
+     * @param outputPath 输出文件路径
+     * @param content    文件内容缓冲区，有效数据为 [0, length)
+     * @param length     有效数据长度
+     * @return 处理结果：{@link FileStatus#WRITTEN} 或 {@link FileStatus#UNCHANGED}
+     * @throws IOException 写出失败时抛出
+     */
+    FileStatus write(Path outputPath, byte[] content, int length) throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.g2rain.generator.output;
+
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 可复用的模板渲染缓冲区。
+ *
+ * <p>模板先渲染到内存中，再交给 {@link OutputSink} 决定是否写盘。每个渲染线程持有一个实例，
+ * 通过 {@link #reset()} 复用底层数组，避免为每个文件重新分配缓冲区；
+ * {@link #array()} 直接暴露底层数组，写出时无需再拷贝一次。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class RenderBuffer extends ByteArrayOutputStream {
+
+    /**
+     * 默认初始容量，覆盖绝大多数生成文件的大小
+     */
+    private static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    /**
+     * 使用默认容量构造缓冲区
+     */
+    public RenderBuffer() {
+        super(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 获取底层数组（有效数据为 [0, {@link #size()})）
+     *
+     * @return 底层字节数组
+     */
+    public byte[] array() {
+        return buf;
+    }
+
+    /**
+     * 将文本按 UTF-8 编码追加到缓冲区，不创建中间字符串与字节数组；
+     * 不成对的代理字符与 {@link java.io.OutputStreamWriter} 一样替换为 {@code '?'}
+     *
+     * @param text 文本
+     */
+    public void writeUtf8(CharSequence text) {
+        int length = text.length();
+        // 每个 char 最多编码为 3 个字节（代理对 2 个 char 编码为 4 个字节）
+        if (count + length * 3 > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + length * 3));
+        }
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buf[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | (c >> 6));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buf[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[count++] = '?';
+            } else {
+                buf[count++] = (byte) (0xE0 | (c >> 12));
+                buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+}
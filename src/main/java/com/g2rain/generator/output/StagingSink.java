@@ -0,0 +1,424 @@
+package com.g2rain.generator.output;
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 暂存输出目标：渲染结果先写入暂存目录，全部成功后再按模块移动到最终位置。
+ *
+ * <p>写出流程：</p>
+ * <ol>
+ *     <li>{@link #write(Path, byte[], int)}：与已有文件内容一致时直接返回 {@link FileStatus#UNCHANGED}；
+ *     否则写入暂存目录中对应模块的子目录，每个包目录只创建一次，文件内容通过 {@link FileChannel} 一次写出，
+ *     不再经过额外的缓冲流</li>
+ *     <li>{@link #commit()}：最终位置尚不存在的模块，整个暂存目录通过一次原子重命名移动到位，
+ *     模块要么完整出现，要么完全不存在；已存在的模块（可能包含手写代码）逐个文件原子替换，
+ *     被替换的文件先重命名到暂存目录的备份子目录</li>
+ *     <li>{@link #close()}：删除暂存目录，未提交的文件随之丢弃</li>
+ * </ol>
+ *
+ * <p>生成过程中断或存在失败文件时不调用 {@link #commit()}，已有文件保持不变，不会留下生成了一半的模块。
+ * 暂存目录位于工作目录（target/g2rain）下，与项目目录处于同一文件系统，移动只是重命名；
+ * 文件系统不支持原子移动时退化为普通移动。</p>
+ *
+ * <p>提交过程中每一步移动之前先向暂存目录中的提交日志（{@code commit.journal}）追加一条记录：
+ * 新建的文件、被替换的文件及其备份、整体移动的模块。提交中途失败时按日志逆序回滚（恢复备份、删除新建的文件与模块），
+ * 已有模块回到提交前的状态；进程在提交中途退出时日志与备份保留在暂存目录中，
+ * 下次 {@link #open(Path, Collection)} 时先按日志回滚再清理。全部移动完成后删除日志，即为提交点。
+ * 日志只刷新到操作系统，不保证断电后的持久性。</p>
+ *
+ * <p>同一 JVM 中的提交互斥执行：多数据源生成（{@code MultiSchemaGenerator}）时各库的暂存目录不同，
+ * 但可能提交到同一个模块目录，"模块不存在则整体重命名"的判断与移动之间不会插入其它库的提交。
+ * 提交只是重命名，互斥对总耗时的影响可以忽略；渲染与写入暂存目录仍然并发进行。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * try (StagingSink sink = StagingSink.open(stagingDir, moduleRoots)) {
+ *     sink.write(path, bytes, bytes.length);
+ *     sink.commit();
+ * }
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class StagingSink implements CommitSink {
+
+    /**
+     * 提交日志文件名
+     */
+    private static final String JOURNAL_FILE = "commit.journal";
+
+    /**
+     * 被替换文件的备份目录名
+     */
+    private static final String BACKUP_DIR = "backup";
+
+    /**
+     * 提交日志字段分隔符
+     */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * 提交锁，同一 JVM 中的提交互斥执行
+     */
+    private static final ReentrantLock COMMIT_LOCK = new ReentrantLock();
+
+    /**
+     * 暂存目录
+     */
+    private final Path stagingDir;
+
+    /**
+     * 模块根目录（绝对路径），按路径深度倒序，优先匹配最深的模块
+     */
+    private final List<Path> moduleRoots;
+
+    /**
+     * 模块根目录 → 暂存目录中对应的子目录
+     */
+    private final Map<Path, Path> stagedModules = new ConcurrentHashMap<>();
+
+    /**
+     * 模块根目录 → 已暂存文件（相对模块根目录的路径）
+     */
+    private final Map<Path, Queue<Path>> stagedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * 已创建的目录，每个目录只创建一次
+     */
+    private final Set<Path> createdDirs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 模块子目录序号
+     */
+    private final AtomicInteger moduleSequence = new AtomicInteger();
+
+    /**
+     * 构造函数
+     *
+     * @param stagingDir  暂存目录（必须已存在且为空）
+     * @param moduleRoots 模块根目录
+     */
+    private StagingSink(Path stagingDir, Collection<Path> moduleRoots) {
+        this.stagingDir = stagingDir;
+        this.moduleRoots = moduleRoots.stream()
+                .map(root -> root.toAbsolutePath().normalize())
+                .distinct()
+                .sorted(Comparator.comparingInt(Path::getNameCount).reversed())
+                .toList();
+    }
+
+    /**
+     * 创建暂存输出目标，清理上次异常退出时残留的暂存目录。
+     *
+     * @param stagingDir  暂存目录
+     * @param moduleRoots 模块根目录，不属于任何模块的文件以所在目录作为提交单位
+     * @return 暂存输出目标
+     * @throws IOException 清理或创建暂存目录失败时抛出
+     */
+    public static StagingSink open(Path stagingDir, Collection<Path> moduleRoots) throws IOException {
+        Path dir = stagingDir.toAbsolutePath().normalize();
+        // 上次提交中途退出时先回滚, 再清理暂存目录
+        Path journalFile = dir.resolve(JOURNAL_FILE);
+        if (Files.isRegularFile(journalFile)) {
+            rollback(readJournal(journalFile));
+        }
+        deleteRecursively(dir);
+        Files.createDirectories(dir);
+        return new StagingSink(dir, moduleRoots);
+    }
+
+    @Override
+    public FileStatus write(Path outputPath, byte[] content, int length) throws IOException {
+        if (FileSystemSink.isSameContent(outputPath, content, length)) {
+            return FileStatus.UNCHANGED;
+        }
+
+        Path target = outputPath.toAbsolutePath().normalize();
+        Path module = moduleOf(target);
+        Path relative = module.relativize(target);
+        Path staged = stagedModules.computeIfAbsent(module, k -> stagingDir.resolve(String.valueOf(moduleSequence.getAndIncrement()))).resolve(relative);
+
+        createDirectories(staged.getParent());
+        try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content, 0, length);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        stagedFiles.computeIfAbsent(module, k -> new ConcurrentLinkedQueue<>()).add(relative);
+        return FileStatus.WRITTEN;
+    }
+
+    /**
+     * 将全部暂存文件按模块移动到最终位置，中途失败时回滚已完成的移动。
+     * <p>调用时不能再有并发的 {@link #write(Path, byte[], int)}。</p>
+     *
+     * @return 移动的文件数
+     * @throws IOException 移动失败时抛出（已回滚；回滚失败时作为被抑制的异常附加，日志与备份保留到下次打开时回滚）
+     */
+    @Override
+    public int commit() throws IOException {
+        COMMIT_LOCK.lock();
+        try {
+            return moveStaged();
+        } finally {
+            COMMIT_LOCK.unlock();
+        }
+    }
+
+    /**
+     * 按模块移动暂存文件并记录提交日志，调用方持有 {@link #COMMIT_LOCK}
+     *
+     * @return 移动的文件数
+     * @throws IOException 移动失败时抛出
+     */
+    private int moveStaged() throws IOException {
+        Path journalFile = stagingDir.resolve(JOURNAL_FILE);
+        List<JournalEntry> journal = new ArrayList<>();
+        int moved = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Path, Queue<Path>> entry : stagedFiles.entrySet()) {
+                Path module = entry.getKey();
+                Path stagedModule = stagedModules.get(module);
+                Queue<Path> files = entry.getValue();
+
+                // 新模块整体重命名到位
+                if (Files.notExists(module)) {
+                    journal(writer, journal, new JournalEntry(Change.MODULE, module, stagedModule));
+                    if (moveDirectory(stagedModule, module)) {
+                        moved += files.size();
+                        continue;
+                    }
+                }
+
+                // 已有模块逐个文件原子替换, 被替换的文件先移入备份目录
+                Path backupModule = stagingDir.resolve(BACKUP_DIR).resolve(stagedModule.getFileName());
+                for (Path relative : files) {
+                    Path target = module.resolve(relative);
+                    if (Files.exists(target)) {
+                        Path backup = backupModule.resolve(relative);
+                        journal(writer, journal, new JournalEntry(Change.REPLACED, target, backup));
+                        createDirectories(backup.getParent());
+                        move(target, backup);
+                    } else {
+                        journal(writer, journal, new JournalEntry(Change.CREATED, target, null));
+                    }
+                    createDirectories(target.getParent());
+                    move(stagedModule.resolve(relative), target);
+                    moved++;
+                }
+            }
+        } catch (IOException e) {
+            try {
+                rollback(journal);
+                Files.deleteIfExists(journalFile);
+            } catch (IOException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        }
+
+        // 提交点: 日志删除后不再回滚
+        Files.delete(journalFile);
+        stagedFiles.clear();
+        return moved;
+    }
+
+    /**
+     * 删除暂存目录，未提交的文件随之丢弃；存在未回滚的提交日志时保留暂存目录，由下次打开时回滚。
+     *
+     * @throws IOException 删除失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        if (Files.notExists(stagingDir.resolve(JOURNAL_FILE))) {
+            deleteRecursively(stagingDir);
+        }
+    }
+
+    /**
+     * 追加一条提交日志并刷新，随后才执行对应的移动
+     */
+    private static void journal(BufferedWriter writer, List<JournalEntry> journal, JournalEntry entry) throws IOException {
+        writer.write(entry.change() + SEPARATOR + entry.target() + SEPARATOR + (Objects.isNull(entry.backup()) ? "" : entry.backup()));
+        writer.newLine();
+        writer.flush();
+        journal.add(entry);
+    }
+
+    /**
+     * 读取提交日志，写了一半的末行（对应的移动尚未开始）被忽略
+     */
+    private static List<JournalEntry> readJournal(Path journalFile) throws IOException {
+        List<JournalEntry> journal = new ArrayList<>();
+        for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                journal.add(new JournalEntry(Change.valueOf(parts[0]), Path.of(parts[1]), parts[2].isEmpty() ? null : Path.of(parts[2])));
+            } catch (IllegalArgumentException ignored) {
+                // 不完整的记录
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * 按日志逆序撤销移动；每条记录在移动之前写入，因此对应移动可能尚未发生，撤销前先检查。
+     * 单条记录撤销失败时继续撤销其余记录，全部处理完后抛出第一个异常。
+     */
+    private static void rollback(List<JournalEntry> journal) throws IOException {
+        IOException error = null;
+        for (JournalEntry entry : journal.reversed()) {
+            try {
+                switch (entry.change()) {
+                    case MODULE -> {
+                        // 暂存目录已不存在说明模块已整体移动到位
+                        if (Files.notExists(entry.backup())) {
+                            deleteRecursively(entry.target());
+                        }
+                    }
+                    case REPLACED -> {
+                        if (Files.exists(entry.backup())) {
+                            move(entry.backup(), entry.target());
+                        }
+                    }
+                    case CREATED -> {
+                        if (Files.isRegularFile(entry.target())) {
+                            Files.delete(entry.target());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (Objects.isNull(error)) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+    }
+
+    /**
+     * 查找文件所属的模块根目录，不属于任何模块时返回文件所在目录
+     */
+    private Path moduleOf(Path target) {
+        for (Path root : moduleRoots) {
+            if (target.startsWith(root) && !target.equals(root)) {
+                return root;
+            }
+        }
+        return target.getParent();
+    }
+
+    /**
+     * 创建目录，同一目录只调用一次 {@link Files#createDirectories}
+     */
+    private void createDirectories(Path dir) throws IOException {
+        if (createdDirs.add(dir)) {
+            Files.createDirectories(dir);
+        }
+    }
+
+    /**
+     * 将整个暂存模块目录原子重命名为最终模块目录
+     *
+     * @return 文件系统不支持原子移动时返回 {@code false}
+     */
+    private boolean moveDirectory(Path source, Path target) throws IOException {
+        createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 移动单个文件，优先使用原子替换
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 提交日志记录的变更类型
+     */
+    private enum Change {
+        /**
+         * 新建的文件，回滚时删除
+         */
+        CREATED,
+        /**
+         * 被替换的文件，回滚时从备份恢复
+         */
+        REPLACED,
+        /**
+         * 整体移动到位的新模块，回滚时删除
+         */
+        MODULE
+    }
+
+    /**
+     * 提交日志记录
+     *
+     * @param change 变更类型
+     * @param target 最终位置
+     * @param backup 被替换文件的备份；新模块为暂存目录中的模块目录；新建文件为 {@code null}
+     */
+    private record JournalEntry(Change change, Path target, Path backup) {
+    }
+
+    /**
+     * 递归删除目录，目录不存在时忽略
+     */
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (Files.notExists(dir)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            // 先删除子项再删除目录
+            paths = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -3,8 +3,6 @@ package com.g2rain.generator.plugin;
 import com.g2rain.generator.model.ColumnInfo;
 import com.g2rain.generator.model.TableInfo;
 import com.g2rain.generator.utils.ColumnUtils;
-import com.g2rain.generator.utils.Strings;
-import lombok.Getter;
 import org.mybatis.generator.api.GeneratedXmlFile;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
@@ -17,11 +15,15 @@ import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.config.PluginConfiguration;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MyBatis Generator 插件，用于收集表及列信息，生成表结构元数据。
@@ -35,13 +37,20 @@ import java.util.Set;
  *     <li>收集数据库表信息，包括表名、注释、实体名（驼峰命名）等。</li>
  *     <li>提取列信息，包括主键、基础字段（create_time、update_time、version）及普通字段。</li>
  *     <li>自动移除基础字段和主键字段，避免重复生成 Getter/Setter。</li>
- *     <li>提供静态方法 {@link #generatePluginConfiguration()} 方便在 MyBatis Generator 配置中注册插件。</li>
+ *     <li>通过 {@link #newCollector()} 为每次内省创建独立的 {@link Collector}，由其生成插件配置并接收收集结果。</li>
  * </ul>
  *
+ * <p><b>并发安全：</b>MyBatis Generator 通过反射创建插件实例，插件只能经由插件配置属性找到所属的收集器。
+ * 每个收集器有唯一的 id，同一 JVM 中的多次执行（{@code mvn -T}、mvnd 常驻进程、多数据源并发生成）
+ * 各自收集、互不干扰；收集器关闭后即从注册表中移除。</p>
+ *
  * <p><b>示例：</b></p>
  * <pre>{@code
- * TableInfoPlugin.generatePluginConfiguration();
- * // 配置后执行 MyBatis Generator 时会收集表及列信息
+ * try (TableInfoPlugin.Collector collector = TableInfoPlugin.newCollector()) {
+ *     context.addPluginConfiguration(collector.pluginConfiguration());
+ *     // 执行 MyBatis Generator
+ *     List<TableInfo> tableInfos = collector.getTableInfoList();
+ * }
  * }</pre>
  *
  * @author jagger
@@ -53,23 +62,24 @@ public class TableInfoPlugin extends PluginAdapter {
     private static final String DELETE_FLAG_TYPE = "Boolean";
 
     /**
-     * 收集的表信息列表，包含所有处理过的表元数据。
+     * 插件配置中保存收集器 id 的属性名
      */
-    @Getter
-    private static final List<TableInfo> tableInfoList = new ArrayList<>();
+    private static final String COLLECTOR_PROPERTY = "collectorId";
 
     /**
-     * 生成插件配置对象。
-     * <p>
-     * 每次调用会清空已有的 {@link #tableInfoList}。
+     * 尚未关闭的收集器，收集器 id → 收集器
+     */
+    private static final Map<String, Collector> COLLECTORS = new ConcurrentHashMap<>();
+
+    /**
+     * 创建一个新的收集器，使用完毕后必须关闭。
      *
-     * @return {@link PluginConfiguration} 用于 MyBatis Generator 注册插件
+     * @return 收集器
      */
-    public static PluginConfiguration generatePluginConfiguration() {
-        PluginConfiguration configuration = new PluginConfiguration();
-        configuration.setConfigurationType(TableInfoPlugin.class.getName());
-        tableInfoList.clear();
-        return configuration;
+    public static Collector newCollector() {
+        Collector collector = new Collector(UUID.randomUUID().toString());
+        COLLECTORS.put(collector.id, collector);
+        return collector;
     }
 
     @Override
@@ -89,37 +99,21 @@ public class TableInfoPlugin extends PluginAdapter {
     @Override
     public boolean modelBaseRecordClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         // 从IntrospectedTable中提取表元数据
-        TableInfo tableInfo = new TableInfo();
-        tableInfo.setTableName(introspectedTable.getTableConfiguration().getTableName());
-        tableInfo.setTableComment(introspectedTable.getRemarks());
-        tableInfo.setEntityName(Strings.underlineToCamel(tableInfo.getTableName().toLowerCase(), true));
-        tableInfo.setEntityNameLower(Strings.underlineToCamel(tableInfo.getTableName().toLowerCase(), false));
+        List<ColumnInfo> allColumns = new ArrayList<>();
+        for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+            allColumns.add(getColumnInfo(column));
+        }
 
-        // 提取字段信息
-        List<ColumnInfo> columnInfos = new ArrayList<>();
-        List<ColumnInfo> baseColumns = new ArrayList<>();
+        TableInfo tableInfo = TableInfo.of(
+                introspectedTable.getTableConfiguration().getTableName(),
+                introspectedTable.getRemarks(),
+                allColumns
+        );
 
+        // 主键、基础字段、delete_flag、version 等非业务字段不参与 MBG 模型生成
         Set<String> removeColumnNameSet = new HashSet<>();
-        for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
-            ColumnInfo columnInfo = getColumnInfo(column);
-
-            // 记录主键
-            if (columnInfo.isPrimaryKey()) {
-                tableInfo.setPrimaryKey(columnInfo);
-                removeColumnNameSet.add(columnInfo.getColumnName());
-            } else if (ColumnUtils.isBaseColumn(columnInfo.getColumnName())) {
-                baseColumns.add(columnInfo);
-                removeColumnNameSet.add(columnInfo.getColumnName());
-            } else if (columnInfo.isDeleteFlag()) {
-                tableInfo.setDeleteFlagColumn(columnInfo);
-                removeColumnNameSet.add(columnInfo.getColumnName());
-            } else if (columnInfo.isVersion()) {
-                tableInfo.setVersionColumn(columnInfo);
-                removeColumnNameSet.add(columnInfo.getColumnName());
-            } else {
-                columnInfos.add(columnInfo);
-            }
-        }
+        allColumns.stream().map(ColumnInfo::getColumnName).forEach(removeColumnNameSet::add);
+        tableInfo.getColumns().stream().map(ColumnInfo::getColumnName).forEach(removeColumnNameSet::remove);
 
         if (!removeColumnNameSet.isEmpty()) {
             // 使用迭代器移除元素（避免ConcurrentModificationException）
@@ -135,12 +129,10 @@ public class TableInfoPlugin extends PluginAdapter {
             }
         }
 
-        tableInfo.setColumns(columnInfos);
-        if (!baseColumns.isEmpty()) {
-            tableInfo.setBaseColumns(baseColumns);
+        Collector collector = COLLECTORS.get(properties.getProperty(COLLECTOR_PROPERTY, ""));
+        if (Objects.nonNull(collector)) {
+            collector.tableInfoList.add(tableInfo);
         }
-
-        tableInfoList.add(tableInfo);
         return false; // 禁止MBG生成PO文件
     }
 
@@ -280,4 +272,55 @@ public class TableInfoPlugin extends PluginAdapter {
         // 返回 false 阻止 MBG 生成 Mapper XML
         return false;
     }
+
+    /**
+     * 单次内省的表信息收集器，线程安全。
+     */
+    public static final class Collector implements AutoCloseable {
+
+        /**
+         * 收集器 id
+         */
+        private final String id;
+
+        /**
+         * 收集的表信息列表，包含本次处理过的表元数据
+         */
+        private final List<TableInfo> tableInfoList = Collections.synchronizedList(new ArrayList<>());
+
+        private Collector(String id) {
+            this.id = id;
+        }
+
+        /**
+         * 生成插件配置对象，插件收集到的表信息会交给当前收集器。
+         *
+         * @return {@link PluginConfiguration} 用于 MyBatis Generator 注册插件
+         */
+        public PluginConfiguration pluginConfiguration() {
+            PluginConfiguration configuration = new PluginConfiguration();
+            configuration.setConfigurationType(TableInfoPlugin.class.getName());
+            configuration.addProperty(COLLECTOR_PROPERTY, id);
+            return configuration;
+        }
+
+        /**
+         * 获取已收集表信息的副本
+         *
+         * @return 表信息列表
+         */
+        public List<TableInfo> getTableInfoList() {
+            synchronized (tableInfoList) {
+                return new ArrayList<>(tableInfoList);
+            }
+        }
+
+        /**
+         * 从注册表中移除当前收集器
+         */
+        @Override
+        public void close() {
+            COLLECTORS.remove(id);
+        }
+    }
 }
@@ -0,0 +1,322 @@
+package com.g2rain.generator.shard;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.output.OutputSink;
+import com.g2rain.generator.utils.Constants;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * 分片模块的 pom.xml 生成器：为分片模式（{@code generator.shards}）下的领域模块生成 Maven 构建文件。
+ *
+ * <ul>
+ *     <li>聚合模块 {@code {projectName}-domains/pom.xml}：packaging 为 pom，父 POM 为项目根 pom.xml，
+ *     modules 为目录下已有的分片模块与本次生成的分片模块；每次生成都重新渲染，内容未变化时不改写</li>
+ *     <li>分片模块 {@code {projectName}-{shard}-api / -biz/pom.xml}：父 POM 为聚合模块，依赖复制自未分片的
+ *     {@code {projectName}-api / -biz} 模块，-biz 对 {@code {projectName}-api} 的依赖替换为同分片的 -api 模块；
+ *     只在文件不存在时生成，之后由开发者维护</li>
+ * </ul>
+ *
+ * <p>分片模块之间没有依赖，Maven 反应堆（{@code mvn -T 1C}）可以并行编译；生成代码的包名与未分片时相同，
+ * mapper XML 仍位于 {@code mybatis/mapper} 下，启动模块需使用 {@code classpath*:mybatis/mapper/*.xml} 扫描全部 jar。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * g2rain-demo/
+ * ├─ pom.xml                         // 需要加入 <module>g2rain-demo-domains</module>
+ * ├─ g2rain-demo-startup/
+ * └─ g2rain-demo-domains/
+ *    ├─ pom.xml
+ *    ├─ g2rain-demo-order-api/
+ *    ├─ g2rain-demo-order-biz/
+ *    ├─ g2rain-demo-user-api/
+ *    └─ g2rain-demo-user-biz/
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class ShardModuleWriter {
+
+    /**
+     * 构建文件名
+     */
+    private static final String POM_FILE = "pom.xml";
+
+    /**
+     * 依赖元素中按顺序复制的子元素
+     */
+    private static final List<String> DEPENDENCY_ELEMENTS = List.of("groupId", "artifactId", "version", "type", "classifier", "scope", "optional");
+
+    /**
+     * 日志对象
+     */
+    private final Log log;
+
+    /**
+     * Foundry 配置
+     */
+    private final FoundryConfig config;
+
+    /**
+     * 构造函数
+     *
+     * @param log    日志对象
+     * @param config Foundry 配置
+     */
+    public ShardModuleWriter(Log log, FoundryConfig config) {
+        this.log = log;
+        this.config = config;
+    }
+
+    /**
+     * 分片聚合模块目录
+     *
+     * @return 聚合模块的绝对路径
+     */
+    public Path aggregatorDir() {
+        String path = TemplatePaths.getShardAggregatorPath(config.isStepIn(), config.getProjectName());
+        return config.getBaseDir().resolve(path).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 写出聚合模块与本次生成的分片模块的 pom.xml。
+     *
+     * @param shards 本次生成涉及的分片
+     * @param sink   输出目标，与生成代码一起暂存与提交
+     * @throws IOException           读取或写出 pom.xml 失败时抛出
+     * @throws IllegalStateException 项目根 pom.xml 不存在或缺少坐标时抛出
+     */
+    public void write(Set<String> shards, OutputSink sink) throws IOException {
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        Path aggregatorDir = aggregatorDir();
+        Path rootDir = aggregatorDir.getParent();
+        Element root = parse(rootDir.resolve(POM_FILE)).getDocumentElement();
+        String groupId = coordinate(root, "groupId");
+        String artifactId = text(root, "artifactId");
+        String version = coordinate(root, "version");
+        if (Strings.isBlank(groupId) || Strings.isBlank(artifactId) || Strings.isBlank(version)) {
+            throw new IllegalStateException("groupId, artifactId or version is missing in " + rootDir.resolve(POM_FILE));
+        }
+
+        Set<String> suffixes = new TreeSet<>();
+        config.getTemplates().stream().filter(TemplatePaths::isShardable).forEach(p -> suffixes.add(p.getModuleSuffix()));
+
+        // 已有的分片模块保留在聚合模块中, 即使本次只生成了部分表
+        SortedSet<String> modules = new TreeSet<>();
+        if (Files.isDirectory(aggregatorDir)) {
+            try (Stream<Path> dirs = Files.list(aggregatorDir)) {
+                dirs.filter(d -> Files.isRegularFile(d.resolve(POM_FILE))).forEach(d -> modules.add(d.getFileName().toString()));
+            }
+        }
+        for (String shard : shards) {
+            suffixes.forEach(suffix -> modules.add(moduleName(shard, suffix)));
+        }
+
+        String aggregatorId = config.getProjectName() + Constants.SHARD_AGGREGATOR;
+        StringBuilder pom = header("../" + POM_FILE, groupId, artifactId, version);
+        pom.append("    <artifactId>").append(aggregatorId).append("</artifactId>\n");
+        pom.append("    <packaging>pom</packaging>\n\n");
+        pom.append("    <modules>\n");
+        modules.forEach(m -> pom.append("        <module>").append(m).append("</module>\n"));
+        pom.append("    </modules>\n");
+        pom.append("</project>\n");
+        write(sink, aggregatorDir.resolve(POM_FILE), pom);
+
+        for (String shard : shards) {
+            for (String suffix : suffixes) {
+                Path modulePom = aggregatorDir.resolve(moduleName(shard, suffix)).resolve(POM_FILE);
+                if (Files.notExists(modulePom)) {
+                    write(sink, modulePom, modulePom(rootDir, shard, suffix, groupId, aggregatorId, version));
+                }
+            }
+        }
+
+        String rootPom = Files.readString(rootDir.resolve(POM_FILE), StandardCharsets.UTF_8);
+        if (!rootPom.contains("<module>" + aggregatorId + "</module>")) {
+            log.info("Add <module>" + aggregatorId + "</module> to " + rootDir.resolve(POM_FILE) + " to build the shard modules");
+        }
+    }
+
+    /**
+     * 分片模块名：{@code {projectName}-{shard}{suffix}}
+     */
+    private String moduleName(String shard, String suffix) {
+        return config.getProjectName() + "-" + shard + suffix;
+    }
+
+    /**
+     * 分片模块的 pom.xml，依赖复制自未分片的同后缀模块
+     */
+    private StringBuilder modulePom(Path rootDir, String shard, String suffix, String groupId, String aggregatorId, String version) throws IOException {
+        StringBuilder pom = header("../" + POM_FILE, groupId, aggregatorId, version);
+        pom.append("    <artifactId>").append(moduleName(shard, suffix)).append("</artifactId>\n");
+
+        Path sourcePom = rootDir.resolve(config.getProjectName() + suffix).resolve(POM_FILE);
+        if (Files.notExists(sourcePom)) {
+            log.warn("Module " + sourcePom + " not found, dependencies of " + moduleName(shard, suffix) + " must be added manually");
+            return pom.append("</project>\n");
+        }
+
+        List<Element> dependencies = new ArrayList<>();
+        Element source = parse(sourcePom).getDocumentElement();
+        Element container = child(source, "dependencies");
+        if (Objects.nonNull(container)) {
+            dependencies = children(container, "dependency");
+        }
+        if (!dependencies.isEmpty()) {
+            String apiModule = config.getProjectName() + "-api";
+            pom.append("\n    <dependencies>\n");
+            for (Element dependency : dependencies) {
+                pom.append("        <dependency>\n");
+                // -biz 依赖同分片的 -api 模块, 不再依赖未分片的 -api 模块
+                boolean api = apiModule.equals(text(dependency, "artifactId"));
+                for (String name : DEPENDENCY_ELEMENTS) {
+                    String value = text(dependency, name);
+                    if (api && "artifactId".equals(name)) {
+                        value = moduleName(shard, "-api");
+                    } else if (api && "version".equals(name)) {
+                        value = "${project.version}";
+                    }
+                    if (Strings.isNotBlank(value)) {
+                        pom.append("            <").append(name).append('>').append(escape(value)).append("</").append(name).append(">\n");
+                    }
+                }
+                Element exclusions = child(dependency, "exclusions");
+                if (Objects.nonNull(exclusions)) {
+                    pom.append("            <exclusions>\n");
+                    for (Element exclusion : children(exclusions, "exclusion")) {
+                        pom.append("                <exclusion>\n");
+                        pom.append("                    <groupId>").append(escape(Objects.toString(text(exclusion, "groupId"), ""))).append("</groupId>\n");
+                        pom.append("                    <artifactId>").append(escape(Objects.toString(text(exclusion, "artifactId"), ""))).append("</artifactId>\n");
+                        pom.append("                </exclusion>\n");
+                    }
+                    pom.append("            </exclusions>\n");
+                }
+                pom.append("        </dependency>\n");
+            }
+            pom.append("    </dependencies>\n");
+        }
+        return pom.append("</project>\n");
+    }
+
+    /**
+     * pom.xml 的公共头部：XML 声明、project 根元素与 parent
+     */
+    private static StringBuilder header(String relativePath, String groupId, String artifactId, String version) {
+        StringBuilder pom = new StringBuilder(2048);
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\"\n");
+        pom.append("         xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+        pom.append("         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd\">\n");
+        pom.append("    <modelVersion>4.0.0</modelVersion>\n\n");
+        pom.append("    <parent>\n");
+        pom.append("        <groupId>").append(escape(groupId)).append("</groupId>\n");
+        pom.append("        <artifactId>").append(escape(artifactId)).append("</artifactId>\n");
+        pom.append("        <version>").append(escape(version)).append("</version>\n");
+        pom.append("        <relativePath>").append(relativePath).append("</relativePath>\n");
+        pom.append("    </parent>\n\n");
+        return pom;
+    }
+
+    /**
+     * 写出文件
+     */
+    private void write(OutputSink sink, Path path, CharSequence content) throws IOException {
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        sink.write(path, bytes, bytes.length);
+        log.debug("Shard module pom: " + path);
+    }
+
+    /**
+     * 项目坐标：优先取 project 的直接子元素，未声明时继承自 parent
+     */
+    private static String coordinate(Element project, String name) {
+        String value = text(project, name);
+        if (Strings.isNotBlank(value)) {
+            return value;
+        }
+
+        Element parent = child(project, "parent");
+        return Objects.isNull(parent) ? null : text(parent, name);
+    }
+
+    /**
+     * 直接子元素的文本，不存在时为 {@code null}
+     */
+    private static String text(Element element, String name) {
+        Element child = child(element, name);
+        return Objects.isNull(child) ? null : child.getTextContent().strip();
+    }
+
+    /**
+     * 第一个同名的直接子元素，不存在时为 {@code null}
+     */
+    private static Element child(Element element, String name) {
+        List<Element> children = children(element, name);
+        return children.isEmpty() ? null : children.getFirst();
+    }
+
+    /**
+     * 全部同名的直接子元素（不包含更深层级，如 dependencyManagement 中的依赖）
+     */
+    private static List<Element> children(Element element, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = element.getFirstChild(); Objects.nonNull(node); node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE && name.equals(node.getNodeName())) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * 解析 pom.xml，禁用外部实体
+     */
+    private static Document parse(Path pom) throws IOException {
+        if (Files.notExists(pom)) {
+            throw new IllegalStateException("Shard modules require the project pom.xml: " + pom);
+        }
+
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return factory.newDocumentBuilder().parse(pom.toFile());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse " + pom, e);
+        }
+    }
+
+    /**
+     * 转义 XML 文本
+     */
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,138 @@
+package com.g2rain.generator.shard;
+
+
+import com.g2rain.generator.introspect.TableSelector;
+import com.g2rain.generator.utils.Strings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 分片解析器：决定每张表的生成代码归入哪个领域分片模块（{@code generator.shards}）。
+ *
+ * <p>支持两种方式：</p>
+ * <ul>
+ *     <li>{@code prefix}：按表名第一个下划线之前的前缀分组，如 {@code order_item}、{@code order_refund} → {@code order}，
+ *     没有下划线的表以整个表名为分片</li>
+ *     <li>映射文件路径（相对项目根目录）：每行 {@code 分片名=表名或模式,...}，模式语法与 {@code database.tables} 相同
+ *     （通配符、{@code regex:}、{@code !} 排除），按行顺序匹配，先匹配的生效；未匹配任何行的表归入 {@value #DEFAULT_SHARD}</li>
+ * </ul>
+ *
+ * <p>分片名会被规范化为小写字母、数字与连字符，用于模块名 {@code {projectName}-{shard}-api / -biz}。</p>
+ *
+ * <p><b>映射文件示例：</b></p>
+ * <pre>{@code
+ * # 分片名=表名或模式
+ * trade=order_*,refund_*,payment
+ * member=user_*,!user_log
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class ShardResolver {
+
+    /**
+     * 按表名前缀分片的配置值
+     */
+    public static final String PREFIX = "prefix";
+
+    /**
+     * 映射文件中未匹配任何行的表所属的分片
+     */
+    public static final String DEFAULT_SHARD = "common";
+
+    /**
+     * 分片名 → 表选择器，按映射文件的行顺序；按前缀分片时为 {@code null}
+     */
+    private final Map<String, TableSelector> mapping;
+
+    /**
+     * 构造函数
+     *
+     * @param mapping 分片映射，按前缀分片时为 {@code null}
+     */
+    private ShardResolver(Map<String, TableSelector> mapping) {
+        this.mapping = mapping;
+    }
+
+    /**
+     * 解析分片配置。
+     *
+     * @param spec    {@code prefix} 或映射文件路径
+     * @param baseDir 项目根目录，映射文件的相对路径以其为基准
+     * @return 分片解析器
+     * @throws IOException              读取映射文件失败时抛出
+     * @throws IllegalArgumentException 映射文件不存在或格式错误时抛出
+     */
+    public static ShardResolver parse(String spec, Path baseDir) throws IOException {
+        String value = spec.strip();
+        if (PREFIX.equalsIgnoreCase(value)) {
+            return new ShardResolver(null);
+        }
+
+        Path file = baseDir.resolve(value);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Shard mapping file not found: " + file + " (generator.shards must be 'prefix' or a mapping file)");
+        }
+
+        Map<String, TableSelector> mapping = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            int eq = line.indexOf('=');
+            String shard = eq > 0 ? normalize(line.substring(0, eq)) : "";
+            if (shard.isEmpty() || Strings.isBlank(line.substring(eq + 1))) {
+                throw new IllegalArgumentException("Invalid shard mapping at " + file + ":" + (i + 1) + ", expected <shard>=<tables>");
+            }
+            mapping.merge(shard, TableSelector.parse(line.substring(eq + 1)), (a, b) -> {
+                throw new IllegalArgumentException("Duplicate shard '" + shard + "' in " + file);
+            });
+        }
+        return new ShardResolver(mapping);
+    }
+
+    /**
+     * 表所属的分片名
+     *
+     * @param tableName 表名
+     * @return 规范化后的分片名
+     */
+    public String shardOf(String tableName) {
+        if (Objects.isNull(mapping)) {
+            String name = tableName.toLowerCase(Locale.ROOT);
+            int underscore = name.indexOf('_');
+            String shard = normalize(underscore > 0 ? name.substring(0, underscore) : name);
+            return shard.isEmpty() ? DEFAULT_SHARD : shard;
+        }
+
+        List<String> candidate = List.of(tableName);
+        for (Map.Entry<String, TableSelector> entry : mapping.entrySet()) {
+            // select 会保留配置中不在候选列表里的普通表名, 因此需要确认结果包含当前表
+            if (entry.getValue().select(candidate).contains(tableName)) {
+                return entry.getKey();
+            }
+        }
+        return DEFAULT_SHARD;
+    }
+
+    /**
+     * 规范化分片名：小写，非字母数字字符替换为连字符，并去掉首尾连字符
+     */
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("(^-+)|(-+$)", "");
+    }
+}
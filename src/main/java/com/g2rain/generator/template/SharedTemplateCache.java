@@ -0,0 +1,281 @@
+package com.g2rain.generator.template;
+
+
+import com.g2rain.generator.utils.Hashes;
+import freemarker.cache.TemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JVM 级共享的已编译模板缓存。
+ *
+ * <p>每次插件执行都会创建新的 {@link Configuration}，FreeMarker 自带的模板缓存随之失效，
+ * 多模块 reactor 构建或 mvnd 常驻进程中每次执行都要重新解析全部 {@code .ftl} 文件。
+ * 本缓存以静态字段保存解析后的 {@link Template}，同一 JVM（同一插件类加载器）内的后续执行可直接复用。</p>
+ *
+ * <p><b>缓存键：</b>配置描述 + 模板名。配置描述由影响解析与渲染的全部配置项组成：模板加载器描述
+ * （{@link TemplateLoader#toString()}，包含加载类与模板根路径）、默认编码、兼容版本、语法与命名约定、空白处理、
+ * 输出格式与转义策略、模板更新间隔以及共享变量（名称与值的标识）。已解析的 {@link Template} 绑定在首次解析它的
+ * {@link Configuration} 上，渲染时 {@code <#include>} / {@code <#import>} 通过该配置加载片段；只有配置描述完全一致时才复用，
+ * 因此复用的模板与调用方配置的加载行为等价。每个缓存键只保留最新的一个条目，配置描述变化（如切换项目模板目录）后
+ * 旧配置随被替换的条目释放，常驻进程中保留的配置数量只取决于不同配置描述的数量。</p>
+ *
+ * <p><b>失效判断：</b></p>
+ * <ol>
+ *     <li>模板源的最后修改时间可用且与缓存一致：直接命中</li>
+ *     <li>否则读取模板源码计算 SHA-256，与缓存摘要一致：命中并刷新修改时间</li>
+ *     <li>摘要不一致或尚未缓存：重新解析模板（未命中）</li>
+ * </ol>
+ *
+ * <p><b>依赖：</b>解析时从源码中提取以字符串字面量引用的 {@code <#include>} / {@code <#import>} 模板名
+ * （按 FreeMarker 规则解析相对路径），记录在 {@link CachedTemplate#dependencies()} 中，供调用方计算包含依赖的摘要；
+ * 被引用的片段在渲染时由 FreeMarker 按名称加载，片段变化不会使引用它的已解析模板失效。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * SharedTemplateCache.CachedTemplate cached = SharedTemplateCache.get(configuration, "entity.ftl");
+ * cached.template().process(dataModel, writer);
+ * log.info(SharedTemplateCache.stats().toString());
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class SharedTemplateCache {
+
+    /**
+     * 缓存条目，缓存键 → 已解析模板
+     */
+    private static final Map<TemplateKey, CachedTemplate> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * 命中次数
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+    /**
+     * 未命中（重新解析）次数
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * 以字符串字面量引用其它模板的 include / import 指令（支持尖括号与方括号语法）
+     */
+    private static final Pattern DEPENDENCY = Pattern.compile("[<\\[]#(?:include|import)\\s+([\"'])([^\"'$]+)\\1");
+
+    /**
+     * FreeMarker 内置共享变量所在的包
+     */
+    private static final String BUILT_IN_SHARED_VARIABLES = "freemarker.template.utility.";
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private SharedTemplateCache() {
+        // 禁止实例化
+    }
+
+    /**
+     * 获取已解析的模板，必要时重新解析并放入缓存。
+     *
+     * @param configuration FreeMarker 配置（提供模板加载器与默认编码；未命中时解析出的模板绑定到该配置，
+     *                      命中时返回的模板绑定到配置描述相同的另一个配置）
+     * @param templateName  模板名（相对模板根目录）
+     * @return 缓存的模板及其源码摘要
+     * @throws IOException 模板不存在、读取失败或解析失败时抛出
+     */
+    public static CachedTemplate get(Configuration configuration, String templateName) throws IOException {
+        TemplateLoader loader = configuration.getTemplateLoader();
+        Object source = loader.findTemplateSource(templateName);
+        if (Objects.isNull(source)) {
+            throw new FileNotFoundException("Template not found: " + templateName);
+        }
+
+        try {
+            TemplateKey key = new TemplateKey(describe(configuration), templateName);
+            long lastModified = loader.getLastModified(source);
+            CachedTemplate cached = ENTRIES.get(key);
+            if (Objects.nonNull(cached) && lastModified != -1 && cached.lastModified() == lastModified) {
+                HITS.increment();
+                return cached;
+            }
+
+            // 修改时间不可用或已变化时按内容摘要判断
+            String text = readSource(loader, source, configuration.getDefaultEncoding());
+            String digest = Hashes.sha256(text);
+            if (Objects.nonNull(cached) && cached.digest().equals(digest)) {
+                HITS.increment();
+                cached = new CachedTemplate(cached.template(), lastModified, digest, cached.dependencies());
+            } else {
+                MISSES.increment();
+                Template template = new Template(templateName, new StringReader(text), configuration);
+                cached = new CachedTemplate(template, lastModified, digest, dependencies(templateName, text));
+            }
+            ENTRIES.put(key, cached);
+            return cached;
+        } finally {
+            loader.closeTemplateSource(source);
+        }
+    }
+
+    /**
+     * 生成配置描述：影响模板解析、片段加载与渲染结果的配置项，描述一致的两个配置对同一模板的行为相同。
+     * 共享变量按值的标识区分，配置了共享变量的不同配置实例不会复用彼此的模板；FreeMarker 为每个配置创建的内置共享变量
+     * （{@code compress}、{@code html_escape} 等）按类型区分。
+     *
+     * @param configuration FreeMarker 配置
+     * @return 配置描述
+     */
+    static String describe(Configuration configuration) {
+        StringBuilder description = new StringBuilder(256)
+                .append(configuration.getTemplateLoader())
+                .append("|encoding=").append(configuration.getDefaultEncoding())
+                .append("|incompatibleImprovements=").append(configuration.getIncompatibleImprovements())
+                .append("|tagSyntax=").append(configuration.getTagSyntax())
+                .append("|interpolationSyntax=").append(configuration.getInterpolationSyntax())
+                .append("|namingConvention=").append(configuration.getNamingConvention())
+                .append("|whitespaceStripping=").append(configuration.getWhitespaceStripping())
+                .append("|outputFormat=").append(configuration.getOutputFormat().getName())
+                .append("|autoEscaping=").append(configuration.getAutoEscapingPolicy())
+                .append("|updateDelay=").append(configuration.getTemplateUpdateDelayMilliseconds());
+        for (Object name : new TreeSet<>(configuration.getSharedVariableNames())) {
+            Object value = configuration.getSharedVariable(String.valueOf(name));
+            description.append("|shared:").append(name).append('@');
+            // 每个配置都会创建自己的内置共享变量（compress、html_escape 等无状态指令）, 按类型区分即可
+            if (Objects.nonNull(value) && value.getClass().getName().startsWith(BUILT_IN_SHARED_VARIABLES)) {
+                description.append(value.getClass().getName());
+            } else {
+                description.append(System.identityHashCode(value));
+            }
+        }
+        return description.toString();
+    }
+
+    /**
+     * 获取缓存统计信息（自 JVM 加载本类起累计）。
+     *
+     * @return 统计快照
+     */
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), ENTRIES.size());
+    }
+
+    /**
+     * 提取模板源码中以字符串字面量引用的 include / import 模板名（相对模板根目录），动态模板名不做跟踪。
+     *
+     * @param templateName 当前模板名
+     * @param text         模板源码
+     * @return 依赖的模板名，保持出现顺序并去重
+     */
+    static List<String> dependencies(String templateName, String text) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        Matcher matcher = DEPENDENCY.matcher(text);
+        while (matcher.find()) {
+            dependencies.add(resolveName(templateName, matcher.group(2).strip()));
+        }
+        dependencies.remove(templateName);
+        return List.copyOf(dependencies);
+    }
+
+    /**
+     * 按 FreeMarker 规则解析被引用的模板名：以 '/' 开头时相对模板根目录，否则相对当前模板所在目录。
+     */
+    private static String resolveName(String templateName, String target) {
+        String path;
+        if (target.startsWith("/")) {
+            path = target.substring(1);
+        } else {
+            int slash = templateName.lastIndexOf('/');
+            path = slash < 0 ? target : templateName.substring(0, slash + 1) + target;
+        }
+
+        // 规范化 "." 与 ".."
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * 读取模板源码。
+     */
+    private static String readSource(TemplateLoader loader, Object source, String encoding) throws IOException {
+        try (Reader reader = loader.getReader(source, encoding)) {
+            StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        }
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param configuration 配置描述（见 {@link #describe(Configuration)}）
+     * @param templateName  模板名
+     */
+    private record TemplateKey(String configuration, String templateName) {
+    }
+
+    /**
+     * 缓存的模板
+     *
+     * @param template     已解析的模板
+     * @param lastModified 模板源最后修改时间，不可用时为 -1
+     * @param digest       模板源码 SHA-256 摘要（不含依赖）
+     * @param dependencies 以字符串字面量 include / import 的模板名（相对模板根目录）
+     */
+    public record CachedTemplate(Template template, long lastModified, String digest, List<String> dependencies) {
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @param hits    命中次数
+     * @param misses  未命中次数
+     * @param entries 当前缓存的模板数量
+     */
+    public record Stats(long hits, long misses, int entries) {
+
+        /**
+         * 命中率（0 ~ 1），尚无访问时为 0。
+         *
+         * @return 命中率
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Template cache: %d hit(s), %d miss(es), hit rate %.1f%%, %d template(s) cached",
+                    hits, misses, hitRate() * 100, entries);
+        }
+    }
+}
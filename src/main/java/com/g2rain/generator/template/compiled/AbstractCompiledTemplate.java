@@ -0,0 +1,108 @@
+package com.g2rain.generator.template.compiled;
+
+
+import java.util.Objects;
+
+/**
+ * 编译模板的基类，保存模板名与源码摘要，并提供生成代码使用的 FreeMarker 内建函数等价实现。
+ *
+ * <p><b>示例（生成代码）：</b></p>
+ * <pre>{@code
+ * public final class ApiTemplate extends AbstractCompiledTemplate {
+ *     public ApiTemplate() {
+ *         super("api.ftl", "9f2c...");
+ *     }
+ *
+ *     @Override
+ *     public void render(Map<String, Object> dataModel, StringBuilder out) {
+ *         TableInfo table = (TableInfo) dataModel.get("table");
+ *         out.append("public interface ").append(value(table.getEntityName(), "table.entityName")).append("Api {\n");
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public abstract class AbstractCompiledTemplate implements CompiledTemplate {
+
+    /**
+     * 模板名
+     */
+    private final String templateName;
+
+    /**
+     * 编译时模板源码摘要
+     */
+    private final String sourceDigest;
+
+    /**
+     * 构造函数
+     *
+     * @param templateName 模板名
+     * @param sourceDigest 编译时模板源码摘要
+     */
+    protected AbstractCompiledTemplate(String templateName, String sourceDigest) {
+        this.templateName = templateName;
+        this.sourceDigest = sourceDigest;
+    }
+
+    @Override
+    public String templateName() {
+        return templateName;
+    }
+
+    @Override
+    public String sourceDigest() {
+        return sourceDigest;
+    }
+
+    /**
+     * 插值 {@code ${expression}}：值为 {@code null} 时与 FreeMarker 一样报错
+     *
+     * @param value      表达式的值
+     * @param expression 表达式源码，用于错误信息
+     * @return 表达式的值
+     * @throws IllegalStateException 值为 {@code null} 时抛出
+     */
+    protected final String value(String value, String expression) {
+        if (Objects.isNull(value)) {
+            throw new IllegalStateException("The following has evaluated to null or missing: ==> " + expression + " [in template \"" + templateName + "\"]");
+        }
+        return value;
+    }
+
+    /**
+     * {@code ?cap_first}：第一个非空白字符转为大写
+     *
+     * @param value 字符串，为 {@code null} 时返回 {@code null}
+     * @return 转换后的字符串
+     */
+    protected static String capFirst(String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+
+        int i = 0;
+        while (i < value.length() && Character.isWhitespace(value.charAt(i))) {
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value);
+        builder.setCharAt(i, Character.toUpperCase(value.charAt(i)));
+        return builder.toString();
+    }
+
+    /**
+     * {@code expression!default}：值为 {@code null} 时使用默认值
+     *
+     * @param value        表达式的值
+     * @param defaultValue 默认值
+     * @return 非空的值
+     */
+    protected static String orElse(String value, String defaultValue) {
+        return Objects.nonNull(value) ? value : defaultValue;
+    }
+}
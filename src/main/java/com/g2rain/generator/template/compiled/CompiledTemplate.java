@@ -0,0 +1,42 @@
+package com.g2rain.generator.template.compiled;
+
+
+import java.util.Map;
+
+/**
+ * 编译模板：由 {@link TemplateCompiler} 在插件构建时把内置 {@code .ftl} 模板翻译成的 Java 渲染类。
+ *
+ * <p>数据模型与 FreeMarker 模板相同（{@code config}、{@code table}），输出与解释执行逐字节一致；
+ * 渲染时不再经过 FreeMarker 的语法树遍历、变量查找与对象包装，只剩字符串拼接与 getter 调用。</p>
+ *
+ * <p>实现类通过 {@link java.util.ServiceLoader} 注册，由 {@link CompiledTemplates} 按模板名与源码摘要查找；
+ * 摘要不一致（模板被项目模板目录覆盖或源码已修改）时调用方回退到 FreeMarker。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public interface CompiledTemplate {
+
+    /**
+     * 模板名（相对模板根目录），如 {@code "service.ftl"}
+     *
+     * @return 模板名
+     */
+    String templateName();
+
+    /**
+     * 编译时模板源码的 SHA-256 摘要，与 {@code SharedTemplateCache.CachedTemplate#digest()} 的计算方式相同
+     *
+     * @return 源码摘要
+     */
+    String sourceDigest();
+
+    /**
+     * 渲染模板。
+     *
+     * @param dataModel 数据模型，与 FreeMarker 模板相同
+     * @param out       输出缓冲区
+     * @throws IllegalStateException 插值表达式的值为 {@code null} 时抛出（与 FreeMarker 的行为一致）
+     */
+    void render(Map<String, Object> dataModel, StringBuilder out);
+}
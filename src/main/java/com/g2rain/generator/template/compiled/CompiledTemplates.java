@@ -0,0 +1,68 @@
+package com.g2rain.generator.template.compiled;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * 编译模板注册表：通过 {@link ServiceLoader} 加载构建时生成的 {@link CompiledTemplate}，按模板名查找。
+ *
+ * <p>只有模板源码摘要与编译时一致才返回编译模板：项目模板目录覆盖了同名模板、开发时修改了内置模板但尚未重新构建，
+ * 或者模板因使用了编译器不支持的语法而未被编译时，都返回 {@code null}，由调用方回退到 FreeMarker 解释执行。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * CompiledTemplate compiled = CompiledTemplates.find("service.ftl", cached.digest());
+ * if (Objects.nonNull(compiled)) {
+ *     compiled.render(dataModel, out);
+ * }
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class CompiledTemplates {
+
+    /**
+     * 模板名 → 编译模板
+     */
+    private static final Map<String, CompiledTemplate> TEMPLATES = load();
+
+    private CompiledTemplates() {
+    }
+
+    /**
+     * 查找与模板源码一致的编译模板
+     *
+     * @param templateName 模板名（相对模板根目录）
+     * @param sourceDigest 当前模板源码的 SHA-256 摘要
+     * @return 编译模板，不存在或源码不一致时为 {@code null}
+     */
+    public static CompiledTemplate find(String templateName, String sourceDigest) {
+        CompiledTemplate compiled = TEMPLATES.get(templateName);
+        return Objects.nonNull(compiled) && compiled.sourceDigest().equals(sourceDigest) ? compiled : null;
+    }
+
+    /**
+     * 已编译的模板名
+     *
+     * @return 模板名
+     */
+    public static Set<String> names() {
+        return TEMPLATES.keySet();
+    }
+
+    /**
+     * 以插件自身的类加载器加载编译模板（Maven 插件中线程上下文类加载器不是插件类加载器）
+     */
+    private static Map<String, CompiledTemplate> load() {
+        Map<String, CompiledTemplate> templates = new HashMap<>();
+        for (CompiledTemplate compiled : ServiceLoader.load(CompiledTemplate.class, CompiledTemplates.class.getClassLoader())) {
+            templates.put(compiled.templateName(), compiled);
+        }
+        return Map.copyOf(templates);
+    }
+}
@@ -0,0 +1,926 @@
+package com.g2rain.generator.template.compiled;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Hashes;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 模板编译器：在插件构建时（{@code process-classes} 阶段，由 exec-maven-plugin 调用 {@link #main(String[])}）
+ * 把内置 {@code .ftl} 模板翻译成 {@link CompiledTemplate} 的 Java 源码，再由第二次编译打包进插件。
+ *
+ * <p>编译器只支持内置模板使用的 FreeMarker 子集，语义与 FreeMarker 2.3（默认配置）一致：</p>
+ * <ul>
+ *     <li>插值 {@code ${expr}}（值必须是字符串，为 {@code null} 时报错）、{@code <#if>/<#elseif>/<#else>}、
+ *     {@code <#list seq as item>}、{@code <#noparse>} 与 {@code <#-- 注释 -->}</li>
+ *     <li>表达式：变量、属性（getter）、无参方法调用、字符串字面量、{@code ??}、{@code !默认值}、{@code ?cap_first}、
+ *     {@code == / != / = / ! / && / ||}</li>
+ *     <li>空白处理：只包含 FTL 标签与注释的行，其空白与换行被忽略（FreeMarker 的 white-space stripping）</li>
+ * </ul>
+ *
+ * <p>属性与方法在编译时通过反射解析到数据模型类（{@code config} → {@link FoundryConfig}、{@code table} → {@link TableInfo}），
+ * 列表元素类型取自 getter 的泛型返回类型，生成的代码是静态类型的普通 Java。使用了不支持的语法（宏、include、
+ * 数字插值等）的模板不会被编译，运行时继续由 FreeMarker 解释执行，构建不会因此失败。</p>
+ *
+ * <p><b>命令行：</b></p>
+ * <pre>{@code
+ * java ... TemplateCompiler <模板目录> <生成源码目录> <类输出目录（写入 META-INF/services）>
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class TemplateCompiler {
+
+    /**
+     * 生成代码所在的包
+     */
+    private static final String PACKAGE = TemplateCompiler.class.getPackageName();
+
+    /**
+     * 内置模板的数据模型：变量名 → 类型
+     */
+    private static final Map<String, Class<?>> ROOTS = Map.of("config", FoundryConfig.class, "table", TableInfo.class);
+
+    /**
+     * 生成代码中已占用的局部变量名
+     */
+    private static final Set<String> RESERVED = Set.of("dataModel", "out");
+
+    /**
+     * {@code <#list seq as item>} 的参数
+     */
+    private static final Pattern LIST_PARAMS = Pattern.compile("(.+?)\\s+as\\s+([A-Za-z_]\\w*)");
+
+    /**
+     * 单次 append 的最大字符数，避免超出常量池字符串的长度限制
+     */
+    private static final int MAX_TEXT_CHUNK = 8192;
+
+    /**
+     * 数据模型：变量名 → 类型
+     */
+    private final Map<String, Class<?>> roots;
+
+    /**
+     * 构造函数
+     *
+     * @param roots 数据模型：变量名 → 类型
+     */
+    public TemplateCompiler(Map<String, Class<?>> roots) {
+        this.roots = Map.copyOf(roots);
+    }
+
+    /**
+     * 编译模板目录下的全部 {@code .ftl} 模板，写出 Java 源码与 ServiceLoader 注册文件。
+     *
+     * @param args 模板目录、生成源码目录、类输出目录
+     * @throws IOException 读取模板或写出文件失败时抛出
+     */
+    @SuppressWarnings("java:S106")
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: TemplateCompiler <templates dir> <generated sources dir> <classes dir>");
+        }
+
+        Path templatesDir = Path.of(args[0]);
+        Path packageDir = Path.of(args[1]).resolve(PACKAGE.replace('.', '/'));
+        Path servicesFile = Path.of(args[2]).resolve("META-INF/services/" + CompiledTemplate.class.getName());
+
+        // 清理上次生成的源码, 已删除或不再能编译的模板不能留下过期的渲染类
+        Files.createDirectories(packageDir);
+        try (Stream<Path> stale = Files.list(packageDir)) {
+            for (Path file : stale.filter(f -> f.toString().endsWith(".java")).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        TemplateCompiler compiler = new TemplateCompiler(ROOTS);
+        List<String> classNames = new ArrayList<>();
+        List<Path> templates;
+        try (Stream<Path> files = Files.list(templatesDir)) {
+            templates = files.filter(f -> f.getFileName().toString().endsWith(".ftl")).sorted().toList();
+        }
+        for (Path file : templates) {
+            String templateName = file.getFileName().toString();
+            String className = className(templateName);
+            try {
+                String source = compiler.compile(templateName, className, Files.readString(file, StandardCharsets.UTF_8));
+                Files.writeString(packageDir.resolve(className + ".java"), source, StandardCharsets.UTF_8);
+                classNames.add(PACKAGE + "." + className);
+                System.out.println("[g2rain] Compiled template " + templateName + " -> " + className);
+            } catch (UnsupportedTemplateException e) {
+                System.out.println("[g2rain] Template " + templateName + " is interpreted by FreeMarker at runtime: " + e.getMessage());
+            }
+        }
+
+        Files.createDirectories(servicesFile.getParent());
+        Files.writeString(servicesFile, classNames.isEmpty() ? "" : String.join("\n", classNames) + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 模板名 → 类名：{@code application-dev.yml.ftl} → {@code ApplicationDevYmlTemplate}
+     *
+     * @param templateName 模板名
+     * @return 类名
+     */
+    static String className(String templateName) {
+        StringBuilder name = new StringBuilder();
+        for (String part : templateName.replaceFirst("\\.ftl$", "").split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        return name + "Template";
+    }
+
+    /**
+     * 编译一个模板。
+     *
+     * @param templateName 模板名
+     * @param className    生成的类名
+     * @param source       模板源码
+     * @return 生成的 Java 源码
+     * @throws UnsupportedTemplateException 模板使用了不支持的语法时抛出
+     */
+    public String compile(String templateName, String className, String source) {
+        List<Node> nodes = new Parser(tokenize(source)).parse();
+        Emitter emitter = new Emitter();
+        emitter.emit(nodes);
+
+        StringBuilder java = new StringBuilder(8192);
+        java.append("package ").append(PACKAGE).append(";\n\n");
+        java.append("/**\n * 由 ").append(templateName).append(" 在插件构建时编译生成，请勿修改。\n */\n");
+        java.append("@javax.annotation.processing.Generated(\"").append(TemplateCompiler.class.getName()).append("\")\n");
+        java.append("public final class ").append(className).append(" extends AbstractCompiledTemplate {\n\n");
+        java.append("    public ").append(className).append("() {\n");
+        java.append("        super(").append(literal(templateName)).append(", ").append(literal(Hashes.sha256(source))).append(");\n");
+        java.append("    }\n\n");
+        java.append("    @Override\n");
+        java.append("    public void render(java.util.Map<String, Object> dataModel, StringBuilder out) {\n");
+        for (Map.Entry<String, Class<?>> root : emitter.usedRoots.entrySet()) {
+            String type = root.getValue().getCanonicalName();
+            java.append("        ").append(type).append(' ').append(root.getKey())
+                    .append(" = (").append(type).append(") dataModel.get(").append(literal(root.getKey())).append(");\n");
+        }
+        java.append(emitter.body);
+        java.append("    }\n");
+        java.append("}\n");
+        return java.toString();
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // 词法：按行切分为文本、插值、标签与注释，并处理只包含标签的行的空白
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * 模板词法单元
+     */
+    private sealed interface Token permits Text, Interpolation, Tag, Comment {
+    }
+
+    /**
+     * 文本，{@code raw} 为 noparse 中的原样文本
+     */
+    private record Text(String text, boolean raw) implements Token {
+    }
+
+    /**
+     * 插值 {@code ${expression}}
+     */
+    private record Interpolation(String expression) implements Token {
+    }
+
+    /**
+     * 指令标签 {@code <#name params>} 或结束标签 {@code </#name>}
+     */
+    private record Tag(String name, String params, boolean end) implements Token {
+    }
+
+    /**
+     * 注释 {@code <#-- ... -->}
+     */
+    private record Comment() implements Token {
+    }
+
+    /**
+     * 把模板源码切分为词法单元；只包含标签、注释与空白的行，丢弃其中的空白（含换行）
+     */
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        boolean[] noparse = {false};
+        int start = 0;
+        while (start < source.length()) {
+            int newline = source.indexOf('\n', start);
+            int end = newline < 0 ? source.length() : newline + 1;
+            List<Token> line = tokenizeLine(source.substring(start, end), noparse);
+            tokens.addAll(isTagOnly(line) ? line.stream().filter(t -> !(t instanceof Text)).toList() : line);
+            start = end;
+        }
+        if (noparse[0]) {
+            throw new UnsupportedTemplateException("unclosed <#noparse>");
+        }
+        return tokens;
+    }
+
+    /**
+     * 行内只有标签、注释与空白
+     */
+    private static boolean isTagOnly(List<Token> line) {
+        boolean hasTag = false;
+        for (Token token : line) {
+            if (token instanceof Interpolation) {
+                return false;
+            }
+            if (token instanceof Text(String text, boolean raw)) {
+                if (raw || !text.isBlank()) {
+                    return false;
+                }
+            } else {
+                hasTag = true;
+            }
+        }
+        return hasTag;
+    }
+
+    /**
+     * 切分一行，{@code noparse} 记录跨行的 noparse 状态
+     */
+    private static List<Token> tokenizeLine(String line, boolean[] noparse) {
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+        while (i < line.length()) {
+            if (noparse[0]) {
+                int end = line.indexOf("</#noparse>", i);
+                if (end < 0) {
+                    tokens.add(new Text(line.substring(i), true));
+                    break;
+                }
+                tokens.add(new Text(line.substring(i, end), true));
+                tokens.add(new Tag("noparse", "", true));
+                noparse[0] = false;
+                i = end + "</#noparse>".length();
+            } else if (line.startsWith("<#--", i)) {
+                int end = line.indexOf("-->", i + 4);
+                if (end < 0) {
+                    throw new UnsupportedTemplateException("multi-line comment");
+                }
+                flush(tokens, text);
+                tokens.add(new Comment());
+                i = end + 3;
+            } else if (line.startsWith("<#", i) || line.startsWith("</#", i)) {
+                boolean end = line.charAt(i + 1) == '/';
+                int close = closing(line, i, '>');
+                if (close < 0) {
+                    throw new UnsupportedTemplateException("tag spanning several lines");
+                }
+                String content = line.substring(i + (end ? 3 : 2), close).strip();
+                int space = content.indexOf(' ');
+                String name = space < 0 ? content : content.substring(0, space);
+                flush(tokens, text);
+                tokens.add(new Tag(name, space < 0 ? "" : content.substring(space + 1).strip(), end));
+                noparse[0] = "noparse".equals(name) && !end;
+                i = close + 1;
+            } else if (line.startsWith("${", i)) {
+                int close = closing(line, i + 2, '}');
+                if (close < 0) {
+                    throw new UnsupportedTemplateException("interpolation spanning several lines");
+                }
+                flush(tokens, text);
+                tokens.add(new Interpolation(line.substring(i + 2, close).strip()));
+                i = close + 1;
+            } else if (line.startsWith("#{", i)) {
+                throw new UnsupportedTemplateException("legacy #{} interpolation");
+            } else if (line.startsWith("<@", i) || line.startsWith("</@", i)) {
+                throw new UnsupportedTemplateException("macro call");
+            } else {
+                text.append(line.charAt(i++));
+            }
+        }
+        flush(tokens, text);
+        return tokens;
+    }
+
+    /**
+     * 输出累积的文本
+     */
+    private static void flush(List<Token> tokens, StringBuilder text) {
+        if (!text.isEmpty()) {
+            tokens.add(new Text(text.toString(), false));
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * 查找结束字符的位置，跳过字符串字面量；不存在时为 -1
+     */
+    private static int closing(String line, int from, char close) {
+        char quote = 0;
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == close) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // 语法：词法单元 → 指令树
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * 指令树节点
+     */
+    private sealed interface Node permits TextNode, OutputNode, IfNode, ListNode {
+    }
+
+    /**
+     * 文本
+     */
+    private record TextNode(String text) implements Node {
+    }
+
+    /**
+     * 插值
+     */
+    private record OutputNode(String expression) implements Node {
+    }
+
+    /**
+     * 条件分支：{@code <#if>} 与各个 {@code <#elseif>}，{@code otherwise} 为 {@code <#else>}
+     */
+    private record IfNode(List<Branch> branches, List<Node> otherwise) implements Node {
+    }
+
+    /**
+     * 条件与分支内容
+     */
+    private record Branch(String condition, List<Node> body) {
+    }
+
+    /**
+     * 列表循环
+     */
+    private record ListNode(String sequence, String variable, List<Node> body) implements Node {
+    }
+
+    /**
+     * 指令树解析器
+     */
+    private static final class Parser {
+
+        private final List<Token> tokens;
+
+        private int position;
+
+        private Tag terminator;
+
+        Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        List<Node> parse() {
+            List<Node> nodes = block(Set.of());
+            if (Objects.nonNull(terminator)) {
+                throw new UnsupportedTemplateException("unexpected <#" + terminator.name() + ">");
+            }
+            return nodes;
+        }
+
+        /**
+         * 解析到指定的结束标签（{@code "/if"}、{@code "else"} 等）或模板末尾为止
+         */
+        private List<Node> block(Set<String> terminators) {
+            List<Node> nodes = new ArrayList<>();
+            terminator = null;
+            while (position < tokens.size()) {
+                Token token = tokens.get(position++);
+                switch (token) {
+                    case Text(String text, boolean raw) -> nodes.add(new TextNode(text));
+                    case Interpolation(String expression) -> nodes.add(new OutputNode(expression));
+                    case Comment() -> {
+                        // 注释不输出
+                    }
+                    case Tag tag when "noparse".equals(tag.name()) -> {
+                        // noparse 内容已作为原样文本切分
+                    }
+                    case Tag tag when terminators.contains((tag.end() ? "/" : "") + tag.name()) -> {
+                        terminator = tag;
+                        return nodes;
+                    }
+                    case Tag tag when !tag.end() && "if".equals(tag.name()) -> nodes.add(conditional(tag));
+                    case Tag tag when !tag.end() && "list".equals(tag.name()) -> nodes.add(loop(tag));
+                    case Tag tag -> throw new UnsupportedTemplateException("directive <" + (tag.end() ? "/#" : "#") + tag.name() + ">");
+                }
+            }
+            if (!terminators.isEmpty()) {
+                throw new UnsupportedTemplateException("missing " + terminators);
+            }
+            return nodes;
+        }
+
+        private IfNode conditional(Tag tag) {
+            List<Branch> branches = new ArrayList<>();
+            String condition = tag.params();
+            while (true) {
+                List<Node> body = block(Set.of("elseif", "else", "/if"));
+                branches.add(new Branch(condition, body));
+                Tag end = terminator;
+                if ("elseif".equals(end.name())) {
+                    condition = end.params();
+                } else if ("else".equals(end.name())) {
+                    List<Node> otherwise = block(Set.of("/if"));
+                    terminator = null;
+                    return new IfNode(branches, otherwise);
+                } else {
+                    terminator = null;
+                    return new IfNode(branches, List.of());
+                }
+            }
+        }
+
+        private ListNode loop(Tag tag) {
+            Matcher matcher = LIST_PARAMS.matcher(tag.params());
+            if (!matcher.matches()) {
+                throw new UnsupportedTemplateException("<#list " + tag.params() + ">");
+            }
+            List<Node> body = block(Set.of("/list"));
+            terminator = null;
+            return new ListNode(matcher.group(1).strip(), matcher.group(2), body);
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // 代码生成：指令树 → Java 语句，表达式按数据模型类型静态解析
+    // ------------------------------------------------------------------------------------------------
+
+    /**
+     * 编译后的表达式
+     *
+     * @param code    Java 表达式
+     * @param type    表达式类型
+     * @param generic 泛型类型，用于推断列表元素类型
+     * @param nonNull 是否一定不为 {@code null}
+     */
+    private record Expr(String code, Class<?> type, Type generic, boolean nonNull) {
+
+        boolean isBoolean() {
+            return type == boolean.class || type == Boolean.class;
+        }
+
+        boolean isString() {
+            return type == String.class;
+        }
+    }
+
+    /**
+     * Java 代码生成器
+     */
+    private final class Emitter {
+
+        private final StringBuilder body = new StringBuilder(8192);
+
+        private final Map<String, Class<?>> usedRoots = new LinkedHashMap<>();
+
+        private final Map<String, Expr> locals = new HashMap<>();
+
+        private int indent = 2;
+
+        void emit(List<Node> nodes) {
+            StringBuilder text = new StringBuilder();
+            for (Node node : nodes) {
+                if (node instanceof TextNode(String value)) {
+                    text.append(value);
+                    continue;
+                }
+                text(text);
+                switch (node) {
+                    case OutputNode(String expression) -> output(expression);
+                    case IfNode ifNode -> conditional(ifNode);
+                    case ListNode listNode -> loop(listNode);
+                    case TextNode ignored -> throw new IllegalStateException("unreachable");
+                }
+            }
+            text(text);
+        }
+
+        private void text(StringBuilder text) {
+            for (int i = 0; i < text.length(); i += MAX_TEXT_CHUNK) {
+                line("out.append(" + literal(text.substring(i, Math.min(text.length(), i + MAX_TEXT_CHUNK))) + ");");
+            }
+            text.setLength(0);
+        }
+
+        private void output(String expression) {
+            Expr expr = expression(expression);
+            if (!expr.isString()) {
+                throw new UnsupportedTemplateException("${" + expression + "} is not a string (" + expr.type().getSimpleName() + ")");
+            }
+            line("out.append(" + (expr.nonNull() ? expr.code() : "value(" + expr.code() + ", " + literal(expression) + ")") + ");");
+        }
+
+        private void conditional(IfNode node) {
+            for (int i = 0; i < node.branches().size(); i++) {
+                Branch branch = node.branches().get(i);
+                Expr condition = condition(branch.condition());
+                line((i == 0 ? "if (" : "} else if (") + condition.code() + ") {");
+                nested(branch.body());
+            }
+            if (!node.otherwise().isEmpty()) {
+                line("} else {");
+                nested(node.otherwise());
+            }
+            line("}");
+        }
+
+        private void loop(ListNode node) {
+            String variable = node.variable();
+            if (locals.containsKey(variable) || roots.containsKey(variable) || RESERVED.contains(variable) || SourceVersion.isKeyword(variable)) {
+                throw new UnsupportedTemplateException("loop variable '" + variable + "' shadows another name");
+            }
+
+            Expr sequence = expression(node.sequence());
+            if (!Iterable.class.isAssignableFrom(sequence.type())) {
+                throw new UnsupportedTemplateException("<#list " + node.sequence() + "> is not a sequence");
+            }
+            Class<?> element = Object.class;
+            Type elementGeneric = Object.class;
+            if (sequence.generic() instanceof ParameterizedType parameterized) {
+                elementGeneric = parameterized.getActualTypeArguments()[0];
+                element = rawType(elementGeneric);
+            }
+            if (Objects.isNull(element) || Objects.isNull(element.getCanonicalName())) {
+                throw new UnsupportedTemplateException("element type of " + node.sequence());
+            }
+
+            line("for (" + element.getCanonicalName() + " " + variable + " : " + sequence.code() + ") {");
+            locals.put(variable, new Expr(variable, element, elementGeneric, false));
+            nested(node.body());
+            locals.remove(variable);
+            line("}");
+        }
+
+        private void nested(List<Node> nodes) {
+            indent++;
+            emit(nodes);
+            indent--;
+        }
+
+        private Expr condition(String source) {
+            Expr condition = expression(source);
+            if (!condition.isBoolean()) {
+                throw new UnsupportedTemplateException("<#if " + source + "> is not a boolean");
+            }
+            return condition;
+        }
+
+        private Expr expression(String source) {
+            return new ExpressionParser(source, this).parse();
+        }
+
+        /**
+         * 变量：循环变量或数据模型根变量
+         */
+        private Expr variable(String name) {
+            Expr local = locals.get(name);
+            if (Objects.nonNull(local)) {
+                return local;
+            }
+
+            Class<?> root = roots.get(name);
+            if (Objects.isNull(root)) {
+                throw new UnsupportedTemplateException("unknown variable '" + name + "'");
+            }
+            usedRoots.put(name, root);
+            return new Expr(name, root, root, false);
+        }
+
+        private void line(String code) {
+            body.append("    ".repeat(indent)).append(code).append('\n');
+        }
+    }
+
+    /**
+     * 表达式解析器：递归下降，优先级从低到高为 {@code ||}、{@code &&}、{@code !}、比较、后缀运算
+     */
+    private static final class ExpressionParser {
+
+        private final String source;
+
+        private final Emitter emitter;
+
+        private int position;
+
+        ExpressionParser(String source, Emitter emitter) {
+            this.source = source;
+            this.emitter = emitter;
+        }
+
+        Expr parse() {
+            Expr expr = or();
+            skipSpaces();
+            if (position < source.length()) {
+                throw unsupported();
+            }
+            return expr;
+        }
+
+        private Expr or() {
+            Expr left = and();
+            while (accept("||")) {
+                left = logical(left, and(), "||");
+            }
+            return left;
+        }
+
+        private Expr and() {
+            Expr left = unary();
+            while (accept("&&")) {
+                left = logical(left, unary(), "&&");
+            }
+            return left;
+        }
+
+        private Expr unary() {
+            skipSpaces();
+            if (peek('!') && !source.startsWith("!=", position)) {
+                position++;
+                Expr operand = unary();
+                requireBoolean(operand);
+                return new Expr("!" + operand.code(), boolean.class, boolean.class, true);
+            }
+            return comparison();
+        }
+
+        private Expr comparison() {
+            Expr left = postfix();
+            String operator = null;
+            if (accept("==")) {
+                operator = "==";
+            } else if (accept("!=")) {
+                operator = "!=";
+            } else if (accept("=")) {
+                operator = "==";
+            }
+            if (Objects.isNull(operator)) {
+                return left;
+            }
+
+            Expr right = postfix();
+            String code;
+            if (left.isString() && right.isString()) {
+                code = "java.util.Objects.equals(" + left.code() + ", " + right.code() + ")";
+            } else if (left.isBoolean() && right.isBoolean()) {
+                code = "(" + left.code() + " == " + right.code() + ")";
+            } else {
+                throw unsupported();
+            }
+            return new Expr("!=".equals(operator) ? "!" + code : code, boolean.class, boolean.class, true);
+        }
+
+        private Expr postfix() {
+            Expr expr = primary();
+            while (true) {
+                if (accept("??")) {
+                    expr = new Expr(expr.type().isPrimitive() ? "true" : "java.util.Objects.nonNull(" + expr.code() + ")", boolean.class, boolean.class, true);
+                } else if (accept("?")) {
+                    String builtIn = identifier();
+                    if (!"cap_first".equals(builtIn) || !expr.isString()) {
+                        throw unsupported();
+                    }
+                    expr = new Expr("capFirst(" + expr.code() + ")", String.class, String.class, expr.nonNull());
+                } else if (peek('.')) {
+                    position++;
+                    expr = member(expr, identifier());
+                } else if (peek('!') && !source.startsWith("!=", position)) {
+                    position++;
+                    skipSpaces();
+                    String defaultValue = peek('"') || peek('\'') ? string() : "";
+                    if (!expr.isString()) {
+                        throw unsupported();
+                    }
+                    expr = new Expr("orElse(" + expr.code() + ", " + literal(defaultValue) + ")", String.class, String.class, true);
+                } else {
+                    return expr;
+                }
+            }
+        }
+
+        private Expr primary() {
+            skipSpaces();
+            if (peek('(')) {
+                position++;
+                Expr inner = or();
+                expect(')');
+                return new Expr("(" + inner.code() + ")", inner.type(), inner.generic(), inner.nonNull());
+            }
+            if (peek('"') || peek('\'')) {
+                return new Expr(literal(string()), String.class, String.class, true);
+            }
+
+            String name = identifier();
+            return switch (name) {
+                case "true", "false" -> new Expr(name, boolean.class, boolean.class, true);
+                default -> emitter.variable(name);
+            };
+        }
+
+        /**
+         * 属性（{@code getXxx()} / boolean 的 {@code isXxx()}）或无参方法调用
+         */
+        private Expr member(Expr target, String name) {
+            Method method;
+            if (accept("(")) {
+                expect(')');
+                method = method(target.type(), name);
+            } else {
+                String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+                method = method(target.type(), "get" + suffix);
+                if (Objects.isNull(method)) {
+                    method = method(target.type(), "is" + suffix);
+                    if (Objects.nonNull(method) && method.getReturnType() != boolean.class) {
+                        method = null;
+                    }
+                }
+            }
+            if (Objects.isNull(method) || method.getReturnType() == void.class) {
+                throw new UnsupportedTemplateException("no property or method '" + name + "' on " + target.type().getSimpleName());
+            }
+            return new Expr(target.code() + "." + method.getName() + "()", method.getReturnType(), method.getGenericReturnType(), method.getReturnType().isPrimitive());
+        }
+
+        /**
+         * 字符串字面量，支持常用转义；含插值的字面量不支持
+         */
+        private String string() {
+            char quote = source.charAt(position++);
+            StringBuilder value = new StringBuilder();
+            while (position < source.length() && source.charAt(position) != quote) {
+                char c = source.charAt(position++);
+                if (c == '\\' && position < source.length()) {
+                    char escaped = source.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        case 'r' -> value.append('\r');
+                        case '\\', '"', '\'' -> value.append(escaped);
+                        default -> throw unsupported();
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            expect(quote);
+            if (value.indexOf("${") >= 0 || value.indexOf("#{") >= 0) {
+                throw unsupported();
+            }
+            return value.toString();
+        }
+
+        private String identifier() {
+            skipSpaces();
+            int start = position;
+            while (position < source.length() && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                position++;
+            }
+            if (start == position || Character.isDigit(source.charAt(start))) {
+                throw unsupported();
+            }
+            return source.substring(start, position);
+        }
+
+        private Expr logical(Expr left, Expr right, String operator) {
+            requireBoolean(left);
+            requireBoolean(right);
+            return new Expr(left.code() + " " + operator + " " + right.code(), boolean.class, boolean.class, true);
+        }
+
+        private void requireBoolean(Expr expr) {
+            if (!expr.isBoolean()) {
+                throw unsupported();
+            }
+        }
+
+        private boolean accept(String symbol) {
+            skipSpaces();
+            if (source.startsWith(symbol, position)) {
+                position += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+            if (!peek(c)) {
+                throw unsupported();
+            }
+            position++;
+        }
+
+        private boolean peek(char c) {
+            return position < source.length() && source.charAt(position) == c;
+        }
+
+        private void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private UnsupportedTemplateException unsupported() {
+            return new UnsupportedTemplateException("expression '" + source + "' at " + position);
+        }
+    }
+
+    /**
+     * 公开的无参方法，不存在时为 {@code null}
+     */
+    private static Method method(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 泛型类型的原始类型，无法确定时为 {@code null}
+     */
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return rawType(parameterized.getRawType());
+        }
+        return null;
+    }
+
+    /**
+     * Java 字符串字面量
+     */
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 16).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        literal.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * 模板使用了编译器不支持的语法，该模板在运行时由 FreeMarker 解释执行
+     */
+    static final class UnsupportedTemplateException extends RuntimeException {
+
+        UnsupportedTemplateException(String message) {
+            super(message);
+        }
+    }
+}
@@ -131,4 +131,9 @@ public class Constants {
     public static final String MAPPER_PACKAGE = RESOURCES_FILE_DIR + "/mybatis/mapper";
 
     public static final String SHARED_STARTUP = "-startup";
+
+    /**
+     * 分片聚合模块后缀，分片模式下各领域分片的 -api、-biz 模块位于 {@code {projectName}-domains} 下
+     */
+    public static final String SHARD_AGGREGATOR = "-domains";
 }
@@ -0,0 +1,66 @@
+package com.g2rain.generator.utils;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * 摘要工具类，用于计算生成输入（表结构、模板内容、配置）的稳定指纹。
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * String hash = Hashes.sha256("user", "service.ftl", "com.g2rain.demo"); // 64 位十六进制字符串
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class Hashes {
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private Hashes() {
+        // 禁止实例化
+    }
+
+    /**
+     * 计算多个字符串片段的 SHA-256 摘要。
+     * <p>各片段之间写入分隔符，避免 ("ab", "c") 与 ("a", "bc") 产生相同摘要；{@code null} 按空串处理。</p>
+     *
+     * @param parts 字符串片段
+     * @return 十六进制摘要
+     */
+    public static String sha256(String... parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            digest.update(Objects.toString(part, "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 计算字节数组的 SHA-256 摘要。
+     *
+     * @param bytes 字节数组
+     * @return 十六进制摘要
+     */
+    public static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * 创建 SHA-256 摘要实例（所有 JRE 都必须支持该算法）。
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.g2rain.generator.utils;
+
+
+import java.util.Objects;
+
+/**
+ * 极简 JSON 工具类，用于输出机器可读的报告文件（预演汇总、性能指标等），避免为此引入 JSON 依赖。
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * Json.quote("a\"b");  // "a\"b"
+ * Json.quote(null);    // null
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class Json {
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private Json() {
+        // 禁止实例化
+    }
+
+    /**
+     * 将字符串转换为 JSON 字符串字面量（含两侧引号），{@code null} 输出为 {@code null}。
+     *
+     * @param value 字符串
+     * @return JSON 字符串字面量
+     */
+    public static String quote(String value) {
+        if (Objects.isNull(value)) {
+            return "null";
+        }
+
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.g2rain.generator.utils;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * 插件版本，取自插件 jar 中的 Maven 元数据。
+ *
+ * <p>表结构快照、增量生成清单与 generate-sources 标记都依赖插件自身的推导与渲染代码（类型映射、
+ * {@code TableRenderView} 中拼接的列清单与占位符等），这些代码随插件升级变化时输入本身并不变化，
+ * 因此各处指纹都纳入插件版本，升级后的第一次执行会重新内省或渲染。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * String digest = Hashes.sha256(PluginVersion.CURRENT, tableDigest);
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class PluginVersion {
+
+    /**
+     * 从源码目录运行（未打包）时的版本
+     */
+    public static final String DEVELOPMENT = "development";
+
+    /**
+     * 当前插件版本，无法确定时为 {@link #DEVELOPMENT}
+     */
+    public static final String CURRENT = read();
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private PluginVersion() {
+        // 禁止实例化
+    }
+
+    /**
+     * 读取插件版本
+     *
+     * @return 插件版本，无法确定时为 {@link #DEVELOPMENT}
+     */
+    private static String read() {
+        try (InputStream in = PluginVersion.class.getResourceAsStream("/META-INF/maven/com.g2rain/g2rain-generator-maven-plugin/pom.properties")) {
+            if (Objects.nonNull(in)) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return properties.getProperty("version", DEVELOPMENT);
+            }
+        } catch (IOException ignored) {
+            // 无法读取时按开发版本处理
+        }
+        return DEVELOPMENT;
+    }
+}
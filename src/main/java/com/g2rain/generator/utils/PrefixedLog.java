@@ -0,0 +1,122 @@
+package com.g2rain.generator.utils;
+
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * 为每条日志添加固定前缀的 Maven 日志包装类。
+ *
+ * <p>多个生成器并发执行（如多数据源生成）时，日志会交错输出，通过前缀区分来源。</p>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * Log schemaLog = new PrefixedLog(getLog(), "[order] ");
+ * schemaLog.info("Generated file: ..."); // [INFO] [order] Generated file: ...
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public class PrefixedLog implements Log {
+
+    /**
+     * 被包装的日志对象
+     */
+    private final Log delegate;
+
+    /**
+     * 日志前缀
+     */
+    private final String prefix;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 被包装的日志对象
+     * @param prefix   日志前缀
+     */
+    public PrefixedLog(Log delegate, String prefix) {
+        this.delegate = delegate;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+        delegate.debug(prefix + content);
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+        delegate.debug(prefix + content, error);
+    }
+
+    @Override
+    public void debug(Throwable error) {
+        delegate.debug(prefix + error, error);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public void info(CharSequence content) {
+        delegate.info(prefix + content);
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+        delegate.info(prefix + content, error);
+    }
+
+    @Override
+    public void info(Throwable error) {
+        delegate.info(prefix + error, error);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+        delegate.warn(prefix + content);
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+        delegate.warn(prefix + content, error);
+    }
+
+    @Override
+    public void warn(Throwable error) {
+        delegate.warn(prefix + error, error);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    @Override
+    public void error(CharSequence content) {
+        delegate.error(prefix + content);
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+        delegate.error(prefix + content, error);
+    }
+
+    @Override
+    public void error(Throwable error) {
+        delegate.error(prefix + error, error);
+    }
+}
@@ -0,0 +1,224 @@
+package com.g2rain.generator.utils;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 按行比较两段文本并输出 unified diff（与 {@code diff -u} / {@code git diff} 格式兼容）。
+ *
+ * <p>实现说明：</p>
+ * <ol>
+ *     <li>先去掉首尾相同的行，生成代码的改动通常集中在局部，剩余部分很小</li>
+ *     <li>对剩余部分使用最长公共子序列（LCS）计算最小编辑序列</li>
+ *     <li>剩余部分过大（超过 {@link #MAX_LCS_CELLS}）时退化为整体替换，避免占用过多内存</li>
+ *     <li>每个改动块保留 {@link #CONTEXT} 行上下文，相邻改动块上下文重叠时合并</li>
+ * </ol>
+ *
+ * <p><b>示例：</b></p>
+ * <pre>{@code
+ * String diff = UnifiedDiff.diff("a/User.java", "b/User.java", oldText, newText);
+ * // --- a/User.java
+ * // +++ b/User.java
+ * // @@ -3,7 +3,8 @@
+ * // ...
+ * }</pre>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class UnifiedDiff {
+
+    /**
+     * 改动块上下文行数
+     */
+    private static final int CONTEXT = 3;
+
+    /**
+     * LCS 动态规划表的最大单元数
+     */
+    private static final long MAX_LCS_CELLS = 4_000_000L;
+
+    /**
+     * 空文件的标签
+     */
+    private static final String DEV_NULL = "/dev/null";
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private UnifiedDiff() {
+        // 禁止实例化
+    }
+
+    /**
+     * 计算 unified diff。
+     *
+     * @param oldLabel 旧文件标签
+     * @param newLabel 新文件标签
+     * @param before   旧文本，为 {@code null} 时表示新增文件
+     * @param after    新文本
+     * @return unified diff 文本；内容相同时返回空串
+     */
+    public static String diff(String oldLabel, String newLabel, String before, String after) {
+        List<String> oldLines = lines(before);
+        List<String> newLines = lines(after);
+        List<Edit> edits = edits(oldLines, newLines);
+        if (edits.stream().allMatch(e -> e.type() == ' ')) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("--- ").append(Objects.isNull(before) ? DEV_NULL : oldLabel).append('\n');
+        out.append("+++ ").append(newLabel).append('\n');
+
+        // 每个编辑位置之前的旧/新行数, 用于计算改动块的起始行号
+        int[] oldPos = new int[edits.size() + 1];
+        int[] newPos = new int[edits.size() + 1];
+        for (int i = 0; i < edits.size(); i++) {
+            char type = edits.get(i).type();
+            oldPos[i + 1] = oldPos[i] + (type == '+' ? 0 : 1);
+            newPos[i + 1] = newPos[i] + (type == '-' ? 0 : 1);
+        }
+
+        int i = 0;
+        while (i < edits.size()) {
+            int change = i;
+            while (change < edits.size() && edits.get(change).type() == ' ') {
+                change++;
+            }
+            if (change == edits.size()) {
+                break;
+            }
+
+            // 向后扩展改动块: 两处改动之间的相同行不超过 2 * CONTEXT 时合并为一个块
+            int last = change;
+            int j = change + 1;
+            while (j < edits.size()) {
+                if (edits.get(j).type() != ' ') {
+                    last = j++;
+                    continue;
+                }
+                int k = j;
+                while (k < edits.size() && edits.get(k).type() == ' ') {
+                    k++;
+                }
+                if (k == edits.size() || k - j > 2 * CONTEXT) {
+                    break;
+                }
+                j = k;
+            }
+
+            int start = Math.max(i, change - CONTEXT);
+            int end = Math.min(edits.size(), last + 1 + CONTEXT);
+            out.append("@@ -").append(range(oldPos[start], oldPos[end] - oldPos[start]))
+                    .append(" +").append(range(newPos[start], newPos[end] - newPos[start])).append(" @@\n");
+            for (int e = start; e < end; e++) {
+                out.append(edits.get(e).type()).append(edits.get(e).line()).append('\n');
+            }
+            i = end;
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * 计算完整的编辑序列（包含相同行）。
+     */
+    private static List<Edit> edits(List<String> oldLines, List<String> newLines) {
+        int prefix = 0;
+        while (prefix < oldLines.size() && prefix < newLines.size() && oldLines.get(prefix).equals(newLines.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldLines.size() - prefix && suffix < newLines.size() - prefix
+                && oldLines.get(oldLines.size() - 1 - suffix).equals(newLines.get(newLines.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        List<Edit> edits = new ArrayList<>(oldLines.size() + newLines.size());
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(' ', oldLines.get(i)));
+        }
+
+        List<String> a = oldLines.subList(prefix, oldLines.size() - suffix);
+        List<String> b = newLines.subList(prefix, newLines.size() - suffix);
+        if ((long) a.size() * b.size() > MAX_LCS_CELLS) {
+            a.forEach(line -> edits.add(new Edit('-', line)));
+            b.forEach(line -> edits.add(new Edit('+', line)));
+        } else {
+            lcs(a, b, edits);
+        }
+
+        for (int i = oldLines.size() - suffix; i < oldLines.size(); i++) {
+            edits.add(new Edit(' ', oldLines.get(i)));
+        }
+        return edits;
+    }
+
+    /**
+     * 基于最长公共子序列计算 a → b 的编辑序列，追加到 {@code edits}。
+     */
+    private static void lcs(List<String> a, List<String> b, List<Edit> edits) {
+        int n = a.size();
+        int m = b.size();
+        // lengths[i][j] = a[i..] 与 b[j..] 的 LCS 长度
+        int[][] lengths = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lengths[i][j] = a.get(i).equals(b.get(j))
+                        ? lengths[i + 1][j + 1] + 1
+                        : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            if (a.get(i).equals(b.get(j))) {
+                edits.add(new Edit(' ', a.get(i++)));
+                j++;
+            } else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+                edits.add(new Edit('-', a.get(i++)));
+            } else {
+                edits.add(new Edit('+', b.get(j++)));
+            }
+        }
+        while (i < n) {
+            edits.add(new Edit('-', a.get(i++)));
+        }
+        while (j < m) {
+            edits.add(new Edit('+', b.get(j++)));
+        }
+    }
+
+    /**
+     * 格式化改动块范围：行数为 1 时省略行数；行数为 0 时起始行为改动位置之前的行号。
+     */
+    private static String range(int before, int count) {
+        if (count == 1) {
+            return String.valueOf(before + 1);
+        }
+        return (count == 0 ? before : before + 1) + "," + count;
+    }
+
+    /**
+     * 按行拆分文本（兼容 CRLF），{@code null} 视为空文本。
+     */
+    private static List<String> lines(String text) {
+        if (Objects.isNull(text) || text.isEmpty()) {
+            return List.of();
+        }
+        return text.lines().toList();
+    }
+
+    /**
+     * 单行编辑
+     *
+     * @param type 编辑类型：' ' 相同，'-' 删除，'+' 新增
+     * @param line 行内容
+     */
+    private record Edit(char type, String line) {
+    }
+}
@@ -25,6 +25,11 @@
         </#if>
     </resultMap>
 
+    <!-- 通用查询字段（主键+基础字段+业务字段+deleteFlag+version） -->
+    <sql id="Base_Column_List">
+        ${table.view.columnList}
+    </sql>
+
     <!-- 定义可复用排序方向片段 -->
     <sql id="directionClause">
         <choose>
@@ -38,19 +43,7 @@
         <trim prefix="ORDER BY" suffixOverrides=",">
             <foreach collection="safeSorts" item="item" separator=",">
                 <choose>
-                    <#if table.primaryKey??>
-                    <when test="item.column == '${table.primaryKey.propertyName}'">
-                        ${table.primaryKey.columnName}
-                        <include refid="directionClause"/>
-                    </when>
-                    </#if>
-                    <#list table.baseColumns as column>
-                    <when test="item.column == '${column.propertyName}'">
-                        ${column.columnName}
-                        <include refid="directionClause"/>
-                    </when>
-                    </#list>
-                    <#list table.columns as column>
+                    <#list table.view.sortColumns as column>
                     <when test="item.column == '${column.propertyName}'">
                         ${column.columnName}
                         <include refid="directionClause"/>
@@ -63,82 +56,18 @@
 
     <!-- 插入单条记录 -->
     <insert id="insert" parameterType="${config.getPoPackage()}.${table.entityName}Po">
-        INSERT INTO ${table.tableName} (
-        <#if !table.primaryKey.autoIncrement>
-        <!-- 主键字段（自增主键不包含在插入语句中） -->
-        ${table.primaryKey.columnName}<#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        </#if>
-        <!-- 基础字段 -->
-        ${table.baseColumns?map(column -> column.columnName)?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 业务字段 -->
-        ${table.columns?map(column -> column.columnName)?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <#if table.deleteFlagColumn??>
-        <!-- deleteFlag字段（如果存在） -->
-        ${table.deleteFlagColumn.columnName}<#if table.versionColumn??>,</#if>
-        </#if>
-        <#if table.versionColumn??>
-        <!-- version字段（如果存在） -->
-        ${table.versionColumn.columnName}
-        </#if>
-        ) VALUES (
-        <#if !table.primaryKey.autoIncrement>
-        <!-- 主键值（自增主键不包含） -->
-        <#noparse>#{</#noparse>${table.primaryKey.propertyName}, jdbcType=${table.primaryKey.columnType}<#noparse>}</#noparse><#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        </#if>
-        <!-- 基础字段值 -->
-        ${table.baseColumns?map(column -> "#{"+column.propertyName+", jdbcType="+column.columnType+"}")?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 业务字段值 -->
-        ${table.columns?map(column -> "#{"+column.propertyName+", jdbcType="+column.columnType+"}")?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <#if table.deleteFlagColumn??>
-        <!-- deleteFlag字段值（如果存在，设置默认值为0） -->
-        0<#if table.versionColumn??>,</#if>
-        </#if>
-        <#if table.versionColumn??>
-        <!-- version字段值（如果存在，设置默认值为0） -->
-        0
-        </#if>
-        )
+        <!-- 自增主键不包含在插入语句中；deleteFlag、version（如果存在）初始值为0 -->
+        INSERT INTO ${table.tableName} (${table.view.insertColumnList})
+        VALUES (${table.view.insertValueList})
     </insert>
 
     <!-- 批量插入记录 -->
     <insert id="insertMultiple" parameterType="java.util.List">
-        INSERT INTO ${table.tableName} (
-        <#if !table.primaryKey.autoIncrement>
-        <!-- 主键字段（自增主键不包含） -->
-        ${table.primaryKey.columnName}<#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        </#if>
-        <!-- 基础字段 -->
-        ${table.baseColumns?map(column -> column.columnName)?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 业务字段 -->
-        ${table.columns?map(column -> column.columnName)?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <#if table.deleteFlagColumn??>
-        <!-- deleteFlag字段（如果存在） -->
-        ${table.deleteFlagColumn.columnName}<#if table.versionColumn??>,</#if>
-        </#if>
-        <#if table.versionColumn??>
-        <!-- version字段（如果存在） -->
-        ${table.versionColumn.columnName}
-        </#if>
-        ) VALUES
+        <!-- 自增主键不包含在插入语句中；deleteFlag、version（如果存在）初始值为0 -->
+        INSERT INTO ${table.tableName} (${table.view.insertColumnList})
+        VALUES
         <foreach collection="list" item="item" separator=",">
-            (
-            <#if !table.primaryKey.autoIncrement>
-            <!-- 主键值（自增主键不包含） -->
-            <#noparse>#{</#noparse>item.${table.primaryKey.propertyName}, jdbcType=${table.primaryKey.columnType}<#noparse>}</#noparse><#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-            </#if>
-            <!-- 基础字段值 -->
-            ${table.baseColumns?map(column -> "#{"+"item."+column.propertyName+", jdbcType="+column.columnType+"}")?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-            <!-- 业务字段值 -->
-            ${table.columns?map(column -> "#{"+"item."+column.propertyName+", jdbcType="+column.columnType+"}")?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-            <#if table.deleteFlagColumn??>
-            <!-- deleteFlag字段值（如果存在，设置默认值为0） -->
-            0<#if table.versionColumn??>,</#if>
-            </#if>
-            <#if table.versionColumn??>
-            <!-- version字段值（如果存在，设置默认值为0） -->
-            0
-            </#if>
-            )
+            (${table.view.batchInsertValueList})
         </foreach>
     </insert>
 
@@ -146,16 +75,8 @@
     <update id="update" parameterType="${config.getPoPackage()}.${table.entityName}Po">
         UPDATE ${table.tableName}
         <set>
-            <!-- 基础字段更新（排除version，version单独处理） -->
-            <#list table.baseColumns as column>
-            <#if column.supportUpdate>
-            <if test="${column.propertyName} != null">
-                ${column.columnName} = <#noparse>#{</#noparse>${column.propertyName}, jdbcType=${column.columnType}<#noparse>}</#noparse>,
-            </if>
-            </#if>
-            </#list>
-            <!-- 业务字段更新 -->
-            <#list table.columns as column>
+            <!-- 基础字段和业务字段更新（排除id、createTime和version，version单独处理） -->
+            <#list table.view.updateColumns as column>
             <if test="${column.propertyName} != null">
                 ${column.columnName} = <#noparse>#{</#noparse>${column.propertyName}, jdbcType=${column.columnType}<#noparse>}</#noparse>,
             </if>
@@ -173,16 +94,8 @@
     <update id="updateByVersion" parameterType="${config.getPoPackage()}.${table.entityName}Po">
         UPDATE ${table.tableName}
         <set>
-            <!-- 基础字段更新（排除version，version单独处理） -->
-            <#list table.baseColumns as column>
-            <#if column.supportUpdate>
-            <if test="${column.propertyName} != null">
-                ${column.columnName} = <#noparse>#{</#noparse>${column.propertyName}, jdbcType=${column.columnType}<#noparse>}</#noparse>,
-            </if>
-            </#if>
-            </#list>
-            <!-- 业务字段更新 -->
-            <#list table.columns as column>
+            <!-- 基础字段和业务字段更新（排除id、createTime和version，version单独处理） -->
+            <#list table.view.updateColumns as column>
             <if test="${column.propertyName} != null">
                 ${column.columnName} = <#noparse>#{</#noparse>${column.propertyName}, jdbcType=${column.columnType}<#noparse>}</#noparse>,
             </if>
@@ -217,20 +130,7 @@
     <!-- 根据ID查询记录（查询所有字段） -->
     <select id="selectById" parameterType="${table.primaryKey.javaType}" resultMap="BaseResultMap">
         SELECT
-        <!-- 主键字段 -->
-        ${table.primaryKey.columnName}<#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 基础字段 -->
-        ${table.baseColumns?map(column -> column.columnName)?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 业务字段 -->
-        ${table.columns?map(column -> column.columnName)?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <#if table.deleteFlagColumn??>
-        <!-- deleteFlag字段（如果存在） -->
-        ${table.deleteFlagColumn.columnName}<#if table.versionColumn??>,</#if>
-        </#if>
-        <#if table.versionColumn??>
-        <!-- version字段（如果存在） -->
-        ${table.versionColumn.columnName}
-        </#if>
+        <include refid="Base_Column_List"/>
         FROM ${table.tableName}
         WHERE ${table.primaryKey.columnName} = <#noparse>#{</#noparse>id, jdbcType=${table.primaryKey.columnType}<#noparse>}</#noparse>
         <#if table.deleteFlagColumn??>
@@ -242,20 +142,7 @@
     <!-- 根据SelectDto条件查询列表 -->
     <select id="selectList" parameterType="${config.getBasePackage()}.dto.${table.entityName}SelectDto" resultMap="BaseResultMap">
         SELECT
-        <!-- 主键字段 -->
-        ${table.primaryKey.columnName}<#if (table.baseColumns?size > 0 || table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 基础字段 -->
-        ${table.baseColumns?map(column -> column.columnName)?join(", ")}<#if (table.columns?size > 0 || table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <!-- 业务字段 -->
-        ${table.columns?map(column -> column.columnName)?join(", ")}<#if (table.deleteFlagColumn?? || table.versionColumn??)>,</#if>
-        <#if table.deleteFlagColumn??>
-        <!-- deleteFlag字段（如果存在） -->
-        ${table.deleteFlagColumn.columnName}<#if table.versionColumn??>,</#if>
-        </#if>
-        <#if table.versionColumn??>
-        <!-- version字段（如果存在） -->
-        ${table.versionColumn.columnName}
-        </#if>
+        <include refid="Base_Column_List"/>
         FROM ${table.tableName}
         <where>
             <!-- 主键筛选 -->
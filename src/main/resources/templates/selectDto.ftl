@@ -7,38 +7,8 @@ import lombok.Setter;
 import com.g2rain.common.model.BaseSelectListDto;
 
 <#-- 按需导入字段类型依赖 -->
-<#-- 初始化标志变量 -->
-<#assign importedLocalDateTime = false>
-<#assign importedLocalDate = false>
-<#assign importedLocalTime = false>
-<#assign importedZonedDateTime = false>
-<#assign importedOffsetDateTime = false>
-<#assign importedBigDecimal = false>
-<#list table.columns as column>
-<#if column.javaType?contains("LocalDateTime") && !importedLocalDateTime>
-import java.time.LocalDateTime;
-<#assign importedLocalDateTime = true>
-</#if>
-<#if column.javaType?contains("LocalDate") && !importedLocalDate>
-import java.time.LocalDate;
-<#assign importedLocalDate = true>
-</#if>
-<#if column.javaType?contains("LocalTime") && !importedLocalTime>
-import java.time.LocalTime;
-<#assign importedLocalTime = true>
-</#if>
-<#if column.javaType?contains("ZonedDateTime") && !importedZonedDateTime>
-import java.time.ZonedDateTime;
-<#assign importedZonedDateTime = true>
-</#if>
-<#if column.javaType?contains("OffsetDateTime") && !importedOffsetDateTime>
-import java.time.OffsetDateTime;
-<#assign importedOffsetDateTime = true>
-</#if>
-<#if column.javaType?contains("BigDecimal") && !importedBigDecimal>
-import java.math.BigDecimal;
-<#assign importedBigDecimal = true>
-</#if>
+<#list table.view.importTypes as type>
+import ${type};
 </#list>
 
 /**
@@ -0,0 +1,125 @@
+package com.g2rain.generator;
+
+
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link G2rainGenerateSourcesMojo} 集成测试：以 DDL 为表结构来源，从空的 target 目录开始连续执行两次目标，
+ * 覆盖首次生成（输出目录与最终文件均不存在）、增量清单记录与输入未变化时的跳过。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class G2rainGenerateSourcesMojoTest {
+
+    private static final String DDL = """
+            CREATE TABLE `user` (
+              `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+              `name` varchar(64) NOT NULL COMMENT '姓名',
+              `create_time` datetime NOT NULL COMMENT '创建时间',
+              `update_time` datetime NOT NULL COMMENT '更新时间',
+              `delete_flag` tinyint(1) NOT NULL COMMENT '删除标记',
+              `version` int NOT NULL COMMENT '版本',
+              PRIMARY KEY (`id`)
+            ) COMMENT='用户表';
+            """;
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void runsTwiceFromAnEmptyTarget() throws Exception {
+        Files.writeString(baseDir.resolve("pom.xml"), "<project/>");
+        Files.writeString(baseDir.resolve("schema.sql"), DDL);
+        Path target = baseDir.resolve("target");
+        Path sources = target.resolve("generated-sources/g2rain");
+        assertFalse(Files.exists(target));
+
+        MavenProject project = project();
+        mojo(project).execute();
+
+        Map<Path, Long> generated = files(sources);
+        assertFalse(generated.isEmpty());
+        assertTrue(project.getCompileSourceRoots().contains(sources.toAbsolutePath().toString()));
+        assertTrue(Files.isRegularFile(target.resolve("g2rain/generate-sources.stamp")));
+        // 清单记录的是提交到最终位置后的修改时间
+        Map<Path, Long> recorded = manifest(target.resolve("g2rain/generation-manifest.txt"));
+        for (Map.Entry<Path, Long> file : generated.entrySet()) {
+            assertEquals(file.getValue(), recorded.get(file.getKey()), file.getKey().toString());
+        }
+
+        // 输入未变化: 跳过生成, 文件保持不变, 源码目录仍然注册
+        MavenProject second = project();
+        mojo(second).execute();
+        assertEquals(generated, files(sources));
+        assertTrue(second.getCompileSourceRoots().contains(sources.toAbsolutePath().toString()));
+
+        // 没有指纹时重新生成, 增量清单使全部文件跳过渲染且不被改写
+        Files.delete(target.resolve("g2rain/generate-sources.stamp"));
+        mojo(project()).execute();
+        assertEquals(generated, files(sources));
+    }
+
+    private MavenProject project() {
+        MavenProject project = new MavenProject();
+        project.setArtifactId("demo-biz");
+        project.setFile(baseDir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(baseDir.resolve("target").toString());
+        return project;
+    }
+
+    private G2rainGenerateSourcesMojo mojo(MavenProject project) throws ReflectiveOperationException {
+        G2rainGenerateSourcesMojo mojo = new G2rainGenerateSourcesMojo();
+        Field field = AbstractG2rainMojo.class.getDeclaredField("project");
+        field.setAccessible(true);
+        field.set(mojo, project);
+        mojo.setLog(TestFixtures.QUIET_LOG);
+        mojo.setBasePackage("com.g2rain.demo");
+        mojo.setTables("user");
+        mojo.setDdl("schema.sql");
+        mojo.setOutputDirectory(baseDir.resolve("target/generated-sources/g2rain").toFile());
+        mojo.setResourcesDirectory(baseDir.resolve("target/generated-resources/g2rain").toFile());
+        return mojo;
+    }
+
+    /**
+     * 生成文件的绝对路径 → 修改时间
+     */
+    private static Map<Path, Long> files(Path dir) throws IOException {
+        Map<Path, Long> files = new HashMap<>();
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (Path file : walk.filter(Files::isRegularFile).toList()) {
+                files.put(file.toAbsolutePath().normalize(), Files.getLastModifiedTime(file).toMillis());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 清单中的输出文件 → 记录的修改时间
+     */
+    private static Map<Path, Long> manifest(Path file) throws IOException {
+        Map<Path, Long> entries = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            List<String> parts = List.of(line.split("\t", 3));
+            entries.put(Path.of(parts.get(2)), Long.parseLong(parts.get(1)));
+        }
+        return entries;
+    }
+}
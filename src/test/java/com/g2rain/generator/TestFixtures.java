@@ -0,0 +1,123 @@
+package com.g2rain.generator;
+
+
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.model.ColumnInfo;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.Strings;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试共用的合成数据：表结构、配置与日志。
+ *
+ * <p>合成表包含主键、create_time/update_time、delete_flag、version 以及指定数量的业务列，
+ * 业务列在常见 Java 类型之间轮换，覆盖模板中的全部分支。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+public final class TestFixtures {
+
+    /**
+     * 业务列轮换使用的 (JDBC 类型, Java 类型)
+     */
+    private static final String[][] COLUMN_TYPES = {
+            {"VARCHAR", "String"},
+            {"BIGINT", "Long"},
+            {"INTEGER", "Integer"},
+            {"DECIMAL", "BigDecimal"},
+            {"TIMESTAMP", "LocalDateTime"},
+            {"BIT", "Boolean"}
+    };
+
+    /**
+     * 只输出 warn/error 的日志
+     */
+    public static final Log QUIET_LOG = new SystemStreamLog() {
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void info(CharSequence content) {
+        }
+
+        @Override
+        public void info(CharSequence content, Throwable error) {
+        }
+
+        @Override
+        public void info(Throwable error) {
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+    };
+
+    private TestFixtures() {
+    }
+
+    /**
+     * 构造以 {@code baseDir} 为项目根目录的离线配置（不连接数据库）
+     *
+     * @param baseDir 项目根目录
+     * @return 配置
+     */
+    public static FoundryConfig config(Path baseDir) {
+        FoundryConfig config = new FoundryConfig("g2rain-test", "com.g2rain.test", null, null, null, null);
+        config.setOffline(true);
+        config.setBaseDir(baseDir);
+        config.setWorkDir(baseDir.resolve("target").resolve("g2rain"));
+        return config;
+    }
+
+    /**
+     * 构造一张包含 {@code columns} 个业务列以及全部基础列的合成表
+     *
+     * @param tableName 表名
+     * @param columns   业务列数量
+     * @return 表信息
+     */
+    public static TableInfo table(String tableName, int columns) {
+        List<ColumnInfo> allColumns = new ArrayList<>();
+        allColumns.add(column("id", "BIGINT", "Long", true));
+        for (int i = 0; i < columns; i++) {
+            String[] type = COLUMN_TYPES[i % COLUMN_TYPES.length];
+            allColumns.add(column("field_" + i, type[0], type[1], false));
+        }
+        allColumns.add(column("create_time", "TIMESTAMP", "LocalDateTime", false));
+        allColumns.add(column("update_time", "TIMESTAMP", "LocalDateTime", false));
+        allColumns.add(column("delete_flag", "BIT", "Boolean", false));
+        allColumns.add(column("version", "INTEGER", "Integer", false));
+        return TableInfo.of(tableName, "test table " + tableName, allColumns);
+    }
+
+    /**
+     * 构造一个列
+     *
+     * @param columnName 列名
+     * @param jdbcType   JDBC 类型
+     * @param javaType   Java 类型
+     * @param primaryKey 是否主键（同时视为自增）
+     * @return 列信息
+     */
+    public static ColumnInfo column(String columnName, String jdbcType, String javaType, boolean primaryKey) {
+        ColumnInfo column = new ColumnInfo();
+        column.setColumnName(columnName);
+        column.setColumnType(jdbcType);
+        column.setJavaType(javaType);
+        column.setPropertyName(Strings.underlineToCamel(columnName, false));
+        column.setColumnComment("column " + columnName);
+        column.setPrimaryKey(primaryKey);
+        column.setAutoIncrement(primaryKey);
+        return column;
+    }
+}
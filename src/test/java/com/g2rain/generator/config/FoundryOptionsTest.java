@@ -0,0 +1,131 @@
+package com.g2rain.generator.config;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FoundryOptions} 测试：codegen.properties 的取值规则（去除空白、只有 {@code true} 表示开启、增量生成默认开启）
+ * 与命令行参数优先于配置文件。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class FoundryOptionsTest {
+
+    private static final Path BASE_DIR = Path.of("/work/demo");
+
+    @Test
+    void flagsAreStrippedAndOnlyTrueEnables() throws IOException {
+        FoundryConfig config = create(properties(
+                "generator.offline", " true ",
+                "generator.dryRun", "TRUE\t",
+                "generator.archive", "yes",
+                "generator.incremental", "no",
+                "generator.parallelism", " 4 "));
+
+        assertTrue(config.isOffline());
+        assertTrue(config.isDryRun());
+        assertFalse(config.isArchive());
+        assertFalse(config.isIncremental());
+        assertFalse(config.isOverwrite());
+        assertEquals(4, config.getParallelism());
+    }
+
+    @Test
+    void defaults() throws IOException {
+        FoundryConfig config = create(properties("generator.incremental", " "));
+
+        assertTrue(config.isIncremental());
+        assertFalse(config.isOffline());
+        assertEquals(1, config.getParallelism());
+        assertEquals(List.of(), config.getDdlFiles());
+        assertNull(config.getTemplateDir());
+        assertNull(config.getShards());
+    }
+
+    @Test
+    void pathsResolveAgainstTheProjectDirectory() throws IOException {
+        FoundryConfig config = create(properties(
+                "generator.ddl", " schema.sql , db/migration ,",
+                "generator.templates", " src/templates "));
+
+        assertEquals(List.of(BASE_DIR.resolve("schema.sql"), BASE_DIR.resolve("db/migration")), config.getDdlFiles());
+        assertEquals(BASE_DIR.resolve("src/templates"), config.getTemplateDir());
+        assertEquals(BASE_DIR, config.getBaseDir());
+    }
+
+    @Test
+    void parametersTakePrecedenceOverTheConfigFile() {
+        FoundryOptions parameters = new FoundryOptions();
+        parameters.setTables("user");
+        parameters.setIncremental(Boolean.TRUE);
+
+        FoundryOptions options = parameters.withDefaults(FoundryOptions.load(properties(
+                "project.basePackage", "com.g2rain.demo",
+                "database.tables", "order",
+                "generator.incremental", "false",
+                "generator.ddl", "schema.sql")));
+
+        assertEquals("com.g2rain.demo", options.getBasePackage());
+        assertEquals("user", options.getTables());
+        assertTrue(options.getIncremental());
+        assertTrue(options.isDatabaseFree());
+    }
+
+    @Test
+    void onlineModeRequiresConnectionSettings() {
+        FoundryOptions options = FoundryOptions.load(properties(
+                "project.basePackage", "com.g2rain.demo",
+                "database.tables", "user"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, options::validate);
+        assertTrue(e.getMessage().startsWith("The database host address has not been configured"));
+
+        options.setOffline(Boolean.TRUE);
+        options.validate();
+    }
+
+    @Test
+    void schemasAreReadFromTheConfigFile() {
+        FoundryOptions options = FoundryOptions.load(properties(
+                "database.driver", "com.mysql.cj.jdbc.Driver",
+                "database.username", "root",
+                "database.tables", "*",
+                "generator.schemas", "order, user",
+                "schemas.order.url", "jdbc:mysql://localhost:3306/order_db",
+                "schemas.order.basePackage", "com.g2rain.demo.order",
+                "schemas.user.url", "jdbc:mysql://localhost:3306/user_db",
+                "schemas.user.basePackage", "com.g2rain.demo.user"));
+
+        options.validate();
+        assertEquals(List.of("order", "user"), List.copyOf(options.resolveSchemas().keySet()));
+        assertEquals("root", options.resolveSchemas().get("user").getUsername());
+    }
+
+    private static FoundryConfig create(Properties props) throws IOException {
+        props.setProperty("project.basePackage", "com.g2rain.demo");
+        props.setProperty("database.tables", "user");
+        FoundryOptions options = FoundryOptions.load(props);
+        return options.createFoundryConfig("demo", BASE_DIR, options.topLevelSource(), BASE_DIR.resolve("target/g2rain"),
+                options.resolveShards(BASE_DIR));
+    }
+
+    private static Properties properties(String... keyValues) {
+        Properties props = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            props.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return props;
+    }
+}
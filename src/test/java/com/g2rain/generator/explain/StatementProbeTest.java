@@ -0,0 +1,127 @@
+package com.g2rain.generator.explain;
+
+
+import com.g2rain.generator.TestFixtures;
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.generator.FoundryGenerator;
+import com.g2rain.generator.introspect.PreloadedIntrospector;
+import com.g2rain.generator.model.TableInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link StatementProbe} 测试：语句取自渲染后的 mapper.xml（含项目模板覆盖），动态 SQL 由 MyBatis 按参数组合展开，
+ * 表名与列名以反引号引用。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class StatementProbeTest {
+
+    private static final String COLUMNS = "`id`, `create_time`, `update_time`, `field_0`, `field_1`, `delete_flag`, `version`";
+
+    private static final String NOT_DELETED = "(`delete_flag` = 0 OR `delete_flag` IS NULL)";
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void probesFollowTheRenderedMapper() throws Exception {
+        Map<String, StatementProbe> probes = probes(TestFixtures.config(baseDir), TestFixtures.table("user", 2));
+
+        assertEquals(List.of("selectById", "update", "updateByVersion", "delete", "selectList[id]",
+                "selectList[createTime]", "selectList[orderBy=createTime]", "selectList[updateTime]", "selectList[orderBy=updateTime]",
+                "selectList[field0]", "selectList[field1]"), List.copyOf(probes.keySet()));
+
+        StatementProbe selectById = probes.get("selectById");
+        assertEquals("SELECT " + COLUMNS + " FROM `user` WHERE `id` = ? AND " + NOT_DELETED, selectById.sql());
+        assertEquals(List.of(1), selectById.parameters());
+        assertEquals(List.of("id"), selectById.indexColumns());
+
+        assertEquals("UPDATE `user` SET `field_0` = ?, `version` = `version` + 1 WHERE `id` = ?", probes.get("update").sql());
+        assertEquals(List.of("g2rain", 1), probes.get("update").parameters());
+        assertEquals("UPDATE `user` SET `field_0` = ?, `version` = `version` + 1 WHERE `id` = ? AND `version` = ?",
+                probes.get("updateByVersion").sql());
+        assertEquals("UPDATE `user` SET `delete_flag` = 1, `version` = `version` + 1 WHERE `id` = ? AND " + NOT_DELETED,
+                probes.get("delete").sql());
+
+        assertEquals("SELECT " + COLUMNS + " FROM `user` WHERE `id` IN ( ? , ? , ? ) AND " + NOT_DELETED, probes.get("selectList[id]").sql());
+        assertEquals(List.of(1, 1, 1), probes.get("selectList[id]").parameters());
+
+        // 时间区间只展开 BETWEEN 分支
+        StatementProbe createTime = probes.get("selectList[createTime]");
+        assertEquals("SELECT " + COLUMNS + " FROM `user` WHERE `create_time` BETWEEN ? AND ? AND " + NOT_DELETED, createTime.sql());
+        assertEquals(List.of("2025-01-01 00:00:00", "2025-01-01 00:00:00"), createTime.parameters());
+
+        StatementProbe orderBy = probes.get("selectList[orderBy=createTime]");
+        assertEquals("SELECT " + COLUMNS + " FROM `user` WHERE " + NOT_DELETED + " ORDER BY `create_time` DESC LIMIT 20", orderBy.sql());
+        assertEquals(List.of(), orderBy.parameters());
+        assertEquals(List.of("create_time"), orderBy.indexColumns());
+
+        assertEquals("SELECT " + COLUMNS + " FROM `user` WHERE `field_1` = ? AND " + NOT_DELETED, probes.get("selectList[field1]").sql());
+        assertEquals(List.of(1), probes.get("selectList[field1]").parameters());
+    }
+
+    @Test
+    void reservedWordsAreQuoted() throws Exception {
+        TableInfo order = TableInfo.of("order", "reserved", List.of(
+                TestFixtures.column("id", "BIGINT", "Long", true),
+                TestFixtures.column("desc", "VARCHAR", "String", false)));
+        Map<String, StatementProbe> probes = probes(TestFixtures.config(baseDir), order);
+
+        assertEquals("SELECT `id`, `desc` FROM `order` WHERE `id` = ?", probes.get("selectById").sql());
+        assertEquals("DELETE FROM `order` WHERE `id` = ?", probes.get("delete").sql());
+        assertEquals("SELECT `id`, `desc` FROM `order` WHERE `desc` = ?", probes.get("selectList[desc]").sql());
+    }
+
+    @Test
+    void projectTemplateOverridesAreAudited() throws Exception {
+        Path templates = Files.createDirectories(baseDir.resolve("templates"));
+        Files.writeString(templates.resolve("mapper.ftl"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE mapper PUBLIC "-//mybatis.org//DTD Mapper 3.0//EN"
+                    "http://mybatis.org/dtd/mybatis-3-mapper.dtd">
+                <mapper namespace="${table.entityName}Dao">
+                    <select id="selectById">
+                        SELECT ${table.view.columnList} FROM ${table.tableName} FORCE INDEX (PRIMARY)
+                        WHERE ${table.primaryKey.columnName} = <#noparse>#{</#noparse>id<#noparse>}</#noparse>
+                    </select>
+                </mapper>
+                """);
+        FoundryConfig config = TestFixtures.config(baseDir);
+        config.setTemplateDir(templates);
+
+        Map<String, StatementProbe> probes = probes(config, TestFixtures.table("user", 2));
+
+        assertEquals(Set.of("selectById"), probes.keySet());
+        assertEquals("SELECT " + COLUMNS + " FROM `user` FORCE INDEX (PRIMARY) WHERE `id` = ?", probes.get("selectById").sql());
+    }
+
+    @Test
+    void quoteIdentifiersSkipsLiteralsAndQuotedNames() {
+        assertEquals("SELECT `name` FROM `user` WHERE `name` = 'name' AND `user`.x = ?",
+                StatementProbe.quoteIdentifiers("SELECT name FROM `user` WHERE name = 'name' AND user.x = ?", Set.of("user", "name")));
+    }
+
+    /**
+     * 渲染 mapper.xml 并构建语句，语句 ID → 语句（保持构建顺序）
+     */
+    private static Map<String, StatementProbe> probes(FoundryConfig config, TableInfo tableInfo) throws Exception {
+        FoundryGenerator generator = new FoundryGenerator(TestFixtures.QUIET_LOG, config,
+                new PreloadedIntrospector(TestFixtures.QUIET_LOG, Map.of(), List.of()));
+        Map<String, StatementProbe> probes = new LinkedHashMap<>();
+        for (StatementProbe probe : StatementProbe.forTable(tableInfo, generator.renderMapper(tableInfo))) {
+            probes.put(probe.statementId(), probe);
+        }
+        return probes;
+    }
+}
@@ -0,0 +1,193 @@
+package com.g2rain.generator.generator;
+
+
+import com.g2rain.generator.TestFixtures;
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.utils.PluginVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link GenerationPlanner} 测试：已存在文件的跳过（skipIfExists / 未开启覆盖）、增量清单的跳过，
+ * 以及表结构、模板、插件版本变化与手工修改后重新渲染。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class GenerationPlannerTest {
+
+    private static final TableInfo USER = TestFixtures.table("user", 3);
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void firstPlanRendersEverything() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationPlan plan = planner(config, new GenerationManifest(), "v1").plan(List.of(USER, TestFixtures.table("order_item", 1)));
+
+        assertEquals(4, plan.jobs().size());
+        assertEquals(4, plan.count(GenerationPlan.Action.RENDER));
+        // 作业顺序为 (表 × 模板)
+        assertEquals("user", plan.jobs().getFirst().table().getTableName());
+        assertEquals(TemplatePaths.PO, plan.jobs().getFirst().template());
+        assertEquals("order_item", plan.jobs().getLast().table().getTableName());
+        plan.jobs().forEach(job -> assertNotNull(job.inputHash()));
+    }
+
+    @Test
+    void skipIfExistsTemplatesKeepNonEmptyFiles() throws IOException {
+        FoundryConfig config = config(true);
+        Path yml = job(planner(config, new GenerationManifest(), "v1").plan(List.of(USER)), TemplatePaths.APP_YML).outputPath();
+
+        create(yml, "");
+        assertEquals(GenerationPlan.Action.RENDER, action(config, new GenerationManifest(), TemplatePaths.APP_YML));
+
+        create(yml, "server: {}");
+        GenerationPlan.Job job = job(planner(config, new GenerationManifest(), "v1").plan(List.of(USER)), TemplatePaths.APP_YML);
+        assertEquals(GenerationPlan.Action.SKIP_EXISTS, job.action());
+        assertNull(job.inputHash());
+    }
+
+    @Test
+    void existingFilesAreKeptWithoutOverwrite() throws IOException {
+        FoundryConfig config = config(false);
+        assertEquals(GenerationPlan.Action.RENDER, action(config, new GenerationManifest(), TemplatePaths.PO));
+
+        create(output(config, TemplatePaths.PO), "class UserPo {}");
+        assertEquals(GenerationPlan.Action.SKIP_EXISTS, action(config, new GenerationManifest(), TemplatePaths.PO));
+        assertEquals(GenerationPlan.Action.RENDER, action(config(true), new GenerationManifest(), TemplatePaths.PO));
+    }
+
+    @Test
+    void upToDateFilesAreSkipped() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationManifest manifest = generated(config);
+        assertEquals(GenerationPlan.Action.SKIP_UP_TO_DATE, action(config, manifest, TemplatePaths.PO));
+    }
+
+    @Test
+    void manifestSurvivesSaveAndLoad() throws IOException {
+        FoundryConfig config = config(true);
+        Path file = baseDir.resolve("target/g2rain/generation-manifest.txt");
+        generated(config).save(file);
+        assertEquals(GenerationPlan.Action.SKIP_UP_TO_DATE, action(config, GenerationManifest.load(file), TemplatePaths.PO));
+    }
+
+    @Test
+    void changedInputsAreRendered() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationManifest manifest = generated(config);
+
+        // 表结构变化
+        GenerationPlan changedTable = planner(config, manifest, "v1").plan(List.of(TestFixtures.table("user", 4)));
+        assertEquals(GenerationPlan.Action.RENDER, job(changedTable, TemplatePaths.PO).action());
+        // 模板变化
+        GenerationPlan changedTemplate = planner(config, manifest, "v2").plan(List.of(USER));
+        assertEquals(GenerationPlan.Action.RENDER, job(changedTemplate, TemplatePaths.PO).action());
+    }
+
+    @Test
+    void pluginUpgradeRendersEverything() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationManifest manifest = generated(config);
+        Map<TemplatePaths, String> digests = digests(config, "v1");
+
+        // 列清单与占位符在插件代码中拼接, 表结构与模板不变时插件升级也要重新渲染
+        GenerationPlan same = new GenerationPlanner(config, manifest, digests, PluginVersion.CURRENT).plan(List.of(USER));
+        assertEquals(GenerationPlan.Action.SKIP_UP_TO_DATE, job(same, TemplatePaths.PO).action());
+        GenerationPlan upgraded = new GenerationPlanner(config, manifest, digests, PluginVersion.CURRENT + "-next").plan(List.of(USER));
+        assertEquals(GenerationPlan.Action.RENDER, job(upgraded, TemplatePaths.PO).action());
+    }
+
+    @Test
+    void manuallyModifiedFilesAreRendered() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationManifest manifest = generated(config);
+        Path po = output(config, TemplatePaths.PO);
+        Files.setLastModifiedTime(po, FileTime.fromMillis(Files.getLastModifiedTime(po).toMillis() + 60_000));
+        assertEquals(GenerationPlan.Action.RENDER, action(config, manifest, TemplatePaths.PO));
+
+        Files.delete(po);
+        assertEquals(GenerationPlan.Action.RENDER, action(config, manifest, TemplatePaths.PO));
+    }
+
+    @Test
+    void nonIncrementalAndArchiveRenderEverything() throws IOException {
+        FoundryConfig config = config(true);
+        GenerationManifest manifest = generated(config);
+
+        config.setIncremental(false);
+        assertEquals(GenerationPlan.Action.RENDER, action(config, manifest, TemplatePaths.PO));
+
+        // 归档每次完整重建: 不读清单, 未开启覆盖也不跳过已有文件, 只按 skipIfExists 跳过
+        config.setIncremental(true);
+        config.setOverwrite(false);
+        config.setArchive(true);
+        create(output(config, TemplatePaths.APP_YML), "server: {}");
+        assertEquals(GenerationPlan.Action.RENDER, action(config, manifest, TemplatePaths.PO));
+        assertEquals(GenerationPlan.Action.SKIP_EXISTS, action(config, manifest, TemplatePaths.APP_YML));
+    }
+
+    private FoundryConfig config(boolean overwrite) {
+        FoundryConfig config = TestFixtures.config(baseDir);
+        config.setTemplates(EnumSet.of(TemplatePaths.PO, TemplatePaths.APP_YML));
+        config.setOverwrite(overwrite);
+        return config;
+    }
+
+    private static GenerationPlanner planner(FoundryConfig config, GenerationManifest manifest, String templateVersion) {
+        return new GenerationPlanner(config, manifest, digests(config, templateVersion));
+    }
+
+    private static Map<TemplatePaths, String> digests(FoundryConfig config, String templateVersion) {
+        Map<TemplatePaths, String> digests = new EnumMap<>(TemplatePaths.class);
+        for (TemplatePaths p : config.getTemplates()) {
+            digests.put(p, p.name() + "@" + templateVersion);
+        }
+        return digests;
+    }
+
+    /**
+     * 模拟一次成功生成：写出 PO 文件并在提交后记录清单
+     */
+    private static GenerationManifest generated(FoundryConfig config) throws IOException {
+        GenerationManifest manifest = new GenerationManifest();
+        GenerationPlan.Job job = job(planner(config, manifest, "v1").plan(List.of(USER)), TemplatePaths.PO);
+        create(job.outputPath(), "class UserPo {}");
+        manifest.record(job.outputPath(), job.inputHash());
+        return manifest;
+    }
+
+    private static GenerationPlan.Action action(FoundryConfig config, GenerationManifest manifest, TemplatePaths template) throws IOException {
+        return job(planner(config, manifest, "v1").plan(List.of(USER)), template).action();
+    }
+
+    private static Path output(FoundryConfig config, TemplatePaths template) {
+        return template.getOutputPath(config, USER.getEntityName());
+    }
+
+    private static GenerationPlan.Job job(GenerationPlan plan, TemplatePaths template) {
+        return plan.jobs().stream().filter(j -> j.template() == template).findFirst().orElseThrow();
+    }
+
+    private static void create(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,140 @@
+package com.g2rain.generator.introspect;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MysqlDdlParser} 测试：建表、迁移语句的依次应用，以及 DELIMITER 与存储例程的语句切分。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class MysqlDdlParserTest {
+
+    private static final String USER = """
+            CREATE TABLE IF NOT EXISTS `demo`.`user` (
+              `id` bigint unsigned NOT NULL AUTO_INCREMENT COMMENT '主键',
+              `name` varchar(64) NOT NULL DEFAULT '' COMMENT '姓名; 含分号',
+              `status` tinyint(1) NOT NULL COMMENT 'it''s',
+              PRIMARY KEY (`id`),
+              KEY `idx_name` (`name`)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
+            """;
+
+    @Test
+    void createTable() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse(USER);
+
+        MysqlDdlParser.Table user = parser.table("USER");
+        assertEquals("user", user.name());
+        assertEquals("用户表", user.comment());
+        assertEquals(List.of("id", "name", "status"), user.columns().stream().map(MysqlDdlParser.Column::name).toList());
+
+        MysqlDdlParser.Column id = user.columns().getFirst();
+        assertEquals("bigint", id.dataType());
+        assertTrue(id.primaryKey());
+        assertTrue(id.autoIncrement());
+        assertEquals("姓名; 含分号", user.columns().get(1).comment());
+        assertEquals("it's", user.columns().get(2).comment());
+    }
+
+    @Test
+    void migrationsApplyInOrder() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse(USER);
+        parser.parse("""
+                ALTER TABLE user ADD COLUMN email varchar(128) COMMENT '邮箱' AFTER id, DROP COLUMN status;
+                ALTER TABLE user CHANGE name nickname varchar(32) NOT NULL, COMMENT = '会员';
+                RENAME TABLE user TO member;
+                CREATE TABLE member_bak LIKE member;
+                DROP TABLE IF EXISTS member_bak;
+                """);
+
+        assertNull(parser.table("user"));
+        assertEquals(List.of("member"), parser.tableNames());
+        MysqlDdlParser.Table member = parser.table("member");
+        assertEquals("会员", member.comment());
+        assertEquals(List.of("id", "email", "nickname"), member.columns().stream().map(MysqlDdlParser.Column::name).toList());
+    }
+
+    @Test
+    void delimiterBlocksAreSkipped() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse("""
+                DELIMITER $$
+                CREATE DEFINER=`root`@`%` PROCEDURE `cleanup`(IN days INT)
+                BEGIN
+                  DELETE FROM log WHERE create_time < NOW() - INTERVAL days DAY;
+                  CREATE TABLE ghost (id int);
+                END$$
+                CREATE TABLE `log` (`id` bigint NOT NULL, PRIMARY KEY (`id`))$$
+                delimiter ;
+                CREATE TABLE audit (id bigint PRIMARY KEY);
+                """);
+
+        assertEquals(List.of("audit", "log"), parser.tableNames());
+        assertTrue(parser.table("log").columns().getFirst().primaryKey());
+    }
+
+    @Test
+    void routineBodiesWithoutDelimiter() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse("""
+                CREATE TABLE counter (id bigint PRIMARY KEY, hits int);
+                CREATE FUNCTION next_hits(v INT) RETURNS INT DETERMINISTIC
+                BEGIN
+                  DECLARE r INT;
+                  IF v > 10 THEN
+                    SET r = CASE WHEN v > 100 THEN 100 ELSE v END;
+                  ELSE
+                    CASE v WHEN 0 THEN SET r = 1; ELSE SET r = v + 1; END CASE;
+                  END IF;
+                  loop1: WHILE r < 0 DO
+                    SET r = r + 1;
+                  END WHILE loop1;
+                  RETURN r;
+                END;
+                CREATE TRIGGER trg BEFORE INSERT ON counter FOR EACH ROW SET NEW.hits = 0;
+                CREATE EVENT purge ON SCHEDULE EVERY 1 DAY DO BEGIN
+                  DELETE FROM counter; DROP TABLE counter;
+                END;
+                ALTER TABLE counter ADD COLUMN note varchar(16);
+                """);
+
+        assertEquals(List.of("counter"), parser.tableNames());
+        assertEquals(List.of("id", "hits", "note"), parser.table("counter").columns().stream().map(MysqlDdlParser.Column::name).toList());
+    }
+
+    @Test
+    void delimiterWordInsideStatementIsNotACommand() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse("CREATE TABLE t (delimiter varchar(1), id int);");
+        assertEquals(List.of("delimiter", "id"), parser.table("t").columns().stream().map(MysqlDdlParser.Column::name).toList());
+    }
+
+    @Test
+    void mysqldumpConditionalComments() {
+        MysqlDdlParser parser = new MysqlDdlParser();
+        parser.parse("""
+                /*!40101 SET @saved_cs_client = @@character_set_client */;
+                -- Table structure
+                # hash comment
+                CREATE TABLE `t` (`id` int NOT NULL) /*!50100 PARTITION BY HASH (id) */;
+                """);
+        assertFalse(parser.table("t").columns().isEmpty());
+    }
+
+    @Test
+    void unterminatedStringFails() {
+        assertThrows(IllegalArgumentException.class, () -> new MysqlDdlParser().parse("CREATE TABLE t (id int COMMENT 'x);"));
+    }
+}
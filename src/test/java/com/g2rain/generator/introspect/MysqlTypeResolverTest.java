@@ -0,0 +1,81 @@
+package com.g2rain.generator.introspect;
+
+
+import com.mysql.cj.MysqlType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.internal.types.JavaTypeResolverDefaultImpl;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link MysqlTypeResolver} 测试：类型映射必须与原 MyBatis Generator 链路一致，即
+ * MySQL → JDBC 类型与 Connector/J 的 {@link MysqlType} 一致，JDBC → Java 类型与 MyBatis Generator 默认类型解析器
+ * （{@code useJSR310Types}、{@code forceBigDecimals}，与 {@code MyBatisIntrospector} 的配置相同）一致。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class MysqlTypeResolverTest {
+
+    /**
+     * information_schema.COLUMNS.COLUMN_TYPE 中出现的规范类型名
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "bit(1)", "bit(8)", "tinyint(4)", "tinyint(3) unsigned", "smallint(6)", "smallint(5) unsigned",
+            "mediumint(9)", "mediumint(8) unsigned", "int(11)", "int(10) unsigned", "int unsigned zerofill",
+            "bigint(20)", "bigint(20) unsigned", "decimal(10,2)", "decimal(10,2) unsigned", "float", "double",
+            "date", "year", "time", "datetime", "datetime(3)", "timestamp", "char(8)", "enum('a','b')", "set('a','b')",
+            "varchar(64)", "tinytext", "text", "mediumtext", "longtext", "json", "binary(16)", "geometry",
+            "varbinary(255)", "tinyblob", "blob", "mediumblob", "longblob"
+    })
+    void jdbcTypeMatchesConnectorJ(String columnType) {
+        String dataType = columnType.replaceFirst("[ (].*$", "");
+        String expected = JDBCType.valueOf(MysqlType.getByName(columnType.toUpperCase(Locale.ROOT)).getJdbcType()).getName();
+        assertEquals(expected, MysqlTypeResolver.jdbcType(dataType, columnType), columnType);
+    }
+
+    @Test
+    void tinyintOneIsReportedAsBit() {
+        // Connector/J 默认 tinyInt1isBit=true, DatabaseMetaData#getColumns 将 tinyint(1) 报告为 BIT
+        assertEquals("BIT", MysqlTypeResolver.jdbcType("tinyint", "tinyint(1)"));
+        assertEquals("BIT", MysqlTypeResolver.jdbcType("TINYINT", "TINYINT(1) UNSIGNED"));
+        assertEquals("TINYINT", MysqlTypeResolver.jdbcType("tinyint", "tinyint(2)"));
+    }
+
+    @Test
+    void unknownTypesFallBack() {
+        assertEquals("OTHER", MysqlTypeResolver.jdbcType("vector", "vector(3)"));
+        assertEquals("OTHER", MysqlTypeResolver.jdbcType(null, null));
+        assertEquals("Object", MysqlTypeResolver.javaType("OTHER"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "BIT", "TINYINT", "SMALLINT", "INTEGER", "BIGINT", "DECIMAL", "REAL", "DOUBLE", "DATE", "TIME", "TIMESTAMP",
+            "CHAR", "VARCHAR", "LONGVARCHAR", "BINARY", "VARBINARY", "LONGVARBINARY"
+    })
+    void javaTypeMatchesMyBatisGenerator(String jdbcType) {
+        JavaTypeResolverDefaultImpl resolver = new JavaTypeResolverDefaultImpl();
+        Properties properties = new Properties();
+        properties.setProperty("useJSR310Types", "true");
+        properties.setProperty("forceBigDecimals", "true");
+        resolver.addConfigurationProperties(properties);
+        resolver.setWarnings(new ArrayList<>());
+
+        IntrospectedColumn column = new IntrospectedColumn();
+        column.setJdbcType(JDBCType.valueOf(jdbcType).getVendorTypeNumber());
+        column.setLength(1);
+        column.setScale(2);
+
+        assertEquals(resolver.calculateJavaType(column).getShortName(), MysqlTypeResolver.javaType(jdbcType), jdbcType);
+    }
+}
@@ -0,0 +1,97 @@
+package com.g2rain.generator.introspect;
+
+
+import com.g2rain.generator.TestFixtures;
+import com.g2rain.generator.model.TableInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SchemaSnapshot} 测试：按表读写条目、指纹与数据库名校验、索引不可用时为空快照
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class SchemaSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenedSnapshotReadsEntriesOnDemand() throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.open(dir, "demo");
+        snapshot.put("order_item", "f1", TestFixtures.table("order_item", 3));
+        snapshot.put("user", "f2", TestFixtures.table("user", 1));
+        snapshot.save();
+
+        SchemaSnapshot reopened = SchemaSnapshot.open(dir, "demo");
+        assertEquals(List.of("order_item", "user"), reopened.tableNames());
+        TableInfo cached = reopened.get("order_item", "f1");
+        assertNotNull(cached);
+        assertEquals("OrderItem", cached.getEntityName());
+        assertEquals(3, cached.getColumns().size());
+        // 指纹不一致不返回, 离线模式不校验指纹
+        assertNull(reopened.get("order_item", "changed"));
+        assertNotNull(reopened.get("user", null));
+    }
+
+    @Test
+    void otherDatabaseOrDamagedIndexYieldsEmptySnapshot() throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.open(dir, "demo");
+        snapshot.put("user", "f", TestFixtures.table("user", 1));
+        snapshot.save();
+
+        assertTrue(SchemaSnapshot.open(dir, "other").tableNames().isEmpty());
+        assertEquals(List.of("user"), SchemaSnapshot.open(dir, null).tableNames());
+
+        // 旧格式或其它内容的索引视为空快照
+        try (OutputStream out = Files.newOutputStream(dir.resolve("index.bin")); ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject("not an index");
+        }
+        assertTrue(SchemaSnapshot.open(dir, "demo").tableNames().isEmpty());
+    }
+
+    @Test
+    void damagedEntryOnlyAffectsItsTable() throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.open(dir, "demo");
+        snapshot.put("a", "f", TestFixtures.table("a", 1));
+        snapshot.put("b", "f", TestFixtures.table("b", 1));
+        snapshot.save();
+
+        try (var files = Files.list(dir.resolve("tables"))) {
+            Files.writeString(files.sorted().findFirst().orElseThrow(), "damaged");
+        }
+
+        SchemaSnapshot reopened = SchemaSnapshot.open(dir, "demo");
+        int readable = (Objects.isNull(reopened.get("a", "f")) ? 0 : 1) + (Objects.isNull(reopened.get("b", "f")) ? 0 : 1);
+        assertEquals(1, readable);
+    }
+
+    @Test
+    void saveRemovesEntriesNoLongerIndexed() throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.open(dir, "demo");
+        snapshot.put("user", "f", TestFixtures.table("user", 1));
+        snapshot.save();
+
+        // 数据库名变化后重建的快照
+        SchemaSnapshot rebuilt = SchemaSnapshot.open(dir, "other");
+        rebuilt.put("account", "f", TestFixtures.table("account", 1));
+        rebuilt.save();
+
+        try (var files = Files.list(dir.resolve("tables"))) {
+            assertEquals(1, files.count());
+        }
+    }
+}
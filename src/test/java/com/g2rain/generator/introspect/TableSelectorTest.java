@@ -0,0 +1,87 @@
+package com.g2rain.generator.introspect;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TableSelector} 测试：配置项拆分、通配符/正则/排除项匹配与结果顺序。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class TableSelectorTest {
+
+    private static final List<String> CATALOG = List.of(
+            "sys_user", "sys_role", "SYS_MENU", "order_info", "order_item", "order_item_bak",
+            "pay_log", "log_01", "log_123", "log_1234", "a,b"
+    );
+
+    @Test
+    void literalNamesKeepOrderAndSkipDuplicates() {
+        TableSelector selector = TableSelector.parse(" user , order_info,, user ");
+        assertTrue(selector.isLiteral());
+        assertEquals(List.of("user", "order_info"), selector.names());
+    }
+
+    @Test
+    void wildcardsAndExcludes() {
+        TableSelector selector = TableSelector.parse("order_*, sys_user, !*_bak");
+        assertFalse(selector.isLiteral());
+        assertEquals(List.of("sys_user", "order_info", "order_item"), selector.select(CATALOG));
+    }
+
+    @Test
+    void singleCharacterWildcard() {
+        assertEquals(List.of("log_01"), TableSelector.parse("log_??").select(CATALOG));
+    }
+
+    @Test
+    void excludesOnlySelectsEverythingElse() {
+        List<String> selected = TableSelector.parse("!order_*, !regex:log_.*").select(CATALOG);
+        assertEquals(List.of("sys_user", "sys_role", "SYS_MENU", "pay_log", "a,b"), selected);
+    }
+
+    @Test
+    void regexCommasInsideBracketsDoNotSplit() {
+        assertEquals(List.of("regex:log_\\d{2,3}", " sys_user"), TableSelector.split("regex:log_\\d{2,3}, sys_user"));
+        assertEquals(List.of("sys_user", "log_01", "log_123"),
+                TableSelector.parse("regex:log_\\d{2,3}, sys_user").select(CATALOG));
+        assertEquals(List.of("sys_user", "sys_role", "a,b"),
+                TableSelector.parse("regex:(sys_(user|role)|a[,]b)").select(CATALOG));
+    }
+
+    @Test
+    void excludedRegexWithCommas() {
+        List<String> selected = TableSelector.parse("log_*, ! regex:log_\\d{3,}").select(CATALOG);
+        assertEquals(List.of("log_01"), selected);
+    }
+
+    @Test
+    void escapedCommaInRegex() {
+        assertEquals(List.of("a,b"), TableSelector.parse("regex:a\\,b").select(CATALOG));
+    }
+
+    @Test
+    void commasOutsideRegexStillSplit() {
+        // 通配符与普通表名中的括号不影响拆分
+        assertEquals(List.of("order_{*", "sys_user"), TableSelector.split("order_{*,sys_user"));
+    }
+
+    @Test
+    void matchingIsCaseSensitive() {
+        assertEquals(List.of("sys_user", "sys_role"), TableSelector.parse("sys_*").select(CATALOG));
+        assertEquals(List.of("sys_user", "sys_role", "SYS_MENU"), TableSelector.parse("regex:(?i)sys_.*").select(CATALOG));
+    }
+
+    @Test
+    void unknownLiteralNamesAreKept() {
+        assertEquals(List.of("sys_user", "missing"), TableSelector.parse("sys_user, missing").select(CATALOG));
+        assertEquals(List.of("sys_user"), TableSelector.parse("sys_user, missing, !missing").select(CATALOG));
+    }
+}
@@ -0,0 +1,94 @@
+package com.g2rain.generator.output;
+
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ArchiveSink} 测试：条目名与排序、写入顺序无关的可复现输出以及未提交时的清理。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class ArchiveSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesAreSortedRegardlessOfWriteOrder() throws IOException {
+        Path module = dir.resolve("demo-api");
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            files.add("src/main/java/com/demo/C" + i + ".java");
+        }
+        files.add("src/main/resources/mapper/UserMapper.xml");
+
+        Path first = archive(dir.resolve("first"), module, files);
+        Collections.shuffle(files);
+        Path second = archive(dir.resolve("second"), module, files);
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        try (ZipFile zip = new ZipFile(first.toFile())) {
+            List<String> names = zip.stream().map(ZipEntry::getName).toList();
+            assertEquals(names.stream().sorted().toList(), names);
+            assertEquals(21, names.size());
+            assertEquals("mapper/UserMapper.xml", names.getLast());
+            assertEquals("com/demo/C0.java", new String(zip.getInputStream(zip.getEntry("com/demo/C0.java")).readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (var leftovers = Files.list(dir.resolve("first"))) {
+            assertEquals(List.of(first), leftovers.toList());
+        }
+    }
+
+    @Test
+    void uncommittedArchiveIsDeleted() throws IOException {
+        Path module = dir.resolve("demo-api");
+        Path archiveDir = dir.resolve("archives");
+        try (ArchiveSink sink = ArchiveSink.open(archiveDir, List.of(module))) {
+            write(sink, module.resolve("src/main/java/A.java"));
+        }
+        try (var leftovers = Files.list(archiveDir)) {
+            assertFalse(leftovers.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void outputOutsideModulesIsRejected() throws IOException {
+        try (ArchiveSink sink = ArchiveSink.open(dir.resolve("archives"), List.of(dir.resolve("demo-api")))) {
+            assertThrows(IOException.class, () -> write(sink, dir.resolve("other/A.java")));
+        }
+    }
+
+    private static Path archive(Path archiveDir, Path module, List<String> files) throws IOException {
+        try (ArchiveSink sink = ArchiveSink.open(archiveDir, List.of(module))) {
+            for (String file : files) {
+                write(sink, module.resolve(file));
+            }
+            assertEquals(files.size(), sink.commit());
+        }
+        return archiveDir.resolve("demo-api-sources.jar");
+    }
+
+    private static void write(ArchiveSink sink, Path path) throws IOException {
+        // 内容为条目名, 便于校验
+        String name = path.toString().replace('\\', '/').replaceFirst("^.*/src/main/(java|resources)/", "");
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        sink.write(path, bytes, bytes.length);
+    }
+}
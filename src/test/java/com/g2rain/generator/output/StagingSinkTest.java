@@ -0,0 +1,176 @@
+package com.g2rain.generator.output;
+
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StagingSink} 测试：新模块整体提交、已有模块逐个文件替换、并发提交、提交失败回滚以及中途退出后的恢复。
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class StagingSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void newModuleIsMovedAsAWhole() throws IOException {
+        Path module = dir.resolve("demo-api");
+        Path staging = dir.resolve("target/g2rain/staging");
+        try (StagingSink sink = StagingSink.open(staging, List.of(module))) {
+            assertEquals(FileStatus.WRITTEN, write(sink, module.resolve("src/main/java/A.java"), "a"));
+            assertEquals(FileStatus.WRITTEN, write(sink, module.resolve("src/main/java/b/B.java"), "b"));
+            assertFalse(Files.exists(module));
+            assertEquals(2, sink.commit());
+        }
+
+        assertEquals("a", read(module.resolve("src/main/java/A.java")));
+        assertEquals("b", read(module.resolve("src/main/java/b/B.java")));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void existingModuleFilesAreReplaced() throws IOException {
+        Path module = dir.resolve("demo-biz");
+        Path handwritten = create(module.resolve("Handwritten.java"), "keep");
+        Path same = create(module.resolve("Same.java"), "same");
+        Path changed = create(module.resolve("Changed.java"), "old");
+
+        Path staging = dir.resolve("staging");
+        try (StagingSink sink = StagingSink.open(staging, List.of(module))) {
+            assertEquals(FileStatus.UNCHANGED, write(sink, same, "same"));
+            assertEquals(FileStatus.WRITTEN, write(sink, changed, "new"));
+            assertEquals(FileStatus.WRITTEN, write(sink, module.resolve("pkg/Added.java"), "added"));
+            assertEquals("old", read(changed));
+            assertEquals(2, sink.commit());
+        }
+
+        assertEquals("keep", read(handwritten));
+        assertEquals("same", read(same));
+        assertEquals("new", read(changed));
+        assertEquals("added", read(module.resolve("pkg/Added.java")));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void failedCommitRollsBack() throws IOException {
+        Path module = dir.resolve("demo-biz");
+        Path changed = create(module.resolve("Changed.java"), "old");
+        // 普通文件占据了目录位置, 提交到该目录时失败
+        create(module.resolve("blocked"), "file");
+        Path newModule = dir.resolve("demo-api");
+
+        Path staging = dir.resolve("staging");
+        try (StagingSink sink = StagingSink.open(staging, List.of(module, newModule))) {
+            write(sink, newModule.resolve("Api.java"), "api");
+            write(sink, changed, "new");
+            write(sink, module.resolve("Added.java"), "added");
+            write(sink, module.resolve("blocked/Blocked.java"), "blocked");
+            assertThrows(IOException.class, sink::commit);
+        }
+
+        assertEquals("old", read(changed));
+        assertEquals("file", read(module.resolve("blocked")));
+        assertFalse(Files.exists(module.resolve("Added.java")));
+        assertFalse(Files.exists(newModule));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void concurrentCommitsIntoTheSameNewModule() throws Exception {
+        Path module = dir.resolve("demo-api");
+        int schemas = 8;
+        List<StagingSink> sinks = new ArrayList<>();
+        for (int i = 0; i < schemas; i++) {
+            StagingSink sink = StagingSink.open(dir.resolve("staging-" + i), List.of(module));
+            write(sink, module.resolve("Schema" + i + ".java"), String.valueOf(i));
+            sinks.add(sink);
+        }
+
+        // 各库同时提交到同一个尚不存在的模块
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> commits = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (StagingSink sink : sinks) {
+                commits.add(executor.submit(() -> {
+                    start.await();
+                    try (sink) {
+                        return sink.commit();
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> commit : commits) {
+                assertEquals(1, commit.get());
+            }
+        }
+
+        for (int i = 0; i < schemas; i++) {
+            assertEquals(String.valueOf(i), read(module.resolve("Schema" + i + ".java")));
+        }
+    }
+
+    @Test
+    void uncommittedFilesAreDiscarded() throws IOException {
+        Path module = dir.resolve("demo-api");
+        Path staging = dir.resolve("staging");
+        try (StagingSink sink = StagingSink.open(staging, List.of(module))) {
+            write(sink, module.resolve("A.java"), "a");
+        }
+
+        assertFalse(Files.exists(module));
+        assertFalse(Files.exists(staging));
+    }
+
+    @Test
+    void interruptedCommitIsRolledBackOnOpen() throws IOException {
+        Path module = dir.resolve("demo-biz");
+        Path replaced = create(module.resolve("Replaced.java"), "new");
+        Path created = create(module.resolve("Created.java"), "new");
+        Path staging = dir.resolve("staging");
+        Path backup = create(staging.resolve("backup/0/Replaced.java"), "old");
+        // 上次提交在移动 Created.java 之后退出, 末行写了一半
+        create(staging.resolve("commit.journal"), "REPLACED\t" + replaced + "\t" + backup + "\n"
+                + "CREATED\t" + created + "\t\n"
+                + "CREATED\t" + module.resolve("Pending"));
+
+        try (StagingSink ignored = StagingSink.open(staging, List.of(module))) {
+            assertEquals("old", read(replaced));
+            assertFalse(Files.exists(created));
+            assertTrue(Files.isDirectory(staging));
+            assertFalse(Files.exists(staging.resolve("commit.journal")));
+        }
+    }
+
+    private static FileStatus write(StagingSink sink, Path path, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return sink.write(path, bytes, bytes.length);
+    }
+
+    private static Path create(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static String read(Path path) throws IOException {
+        return Files.readString(path);
+    }
+}
@@ -0,0 +1,92 @@
+package com.g2rain.generator.template;
+
+
+import freemarker.cache.FileTemplateLoader;
+import freemarker.template.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link SharedTemplateCache} 测试：只在配置描述一致时跨配置实例复用模板，include 依赖的提取与路径解析
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class SharedTemplateCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void equivalentConfigurationsShareParsedTemplates() throws Exception {
+        Files.writeString(dir.resolve("shared.ftl"), "Hello ${name}", StandardCharsets.UTF_8);
+
+        SharedTemplateCache.CachedTemplate first = SharedTemplateCache.get(configuration(dir), "shared.ftl");
+        SharedTemplateCache.CachedTemplate second = SharedTemplateCache.get(configuration(dir), "shared.ftl");
+        assertSame(first.template(), second.template());
+        assertEquals(SharedTemplateCache.describe(configuration(dir)), SharedTemplateCache.describe(first.template().getConfiguration()));
+    }
+
+    @Test
+    void differentSettingsOrLoadersDoNotShare() throws Exception {
+        Files.writeString(dir.resolve("settings.ftl"), "${name}", StandardCharsets.UTF_8);
+        Path other = Files.createDirectories(dir.resolve("other"));
+        Files.writeString(other.resolve("settings.ftl"), "other ${name}", StandardCharsets.UTF_8);
+
+        Configuration base = configuration(dir);
+        Configuration encoding = configuration(dir);
+        encoding.setDefaultEncoding(StandardCharsets.ISO_8859_1.name());
+        Configuration shared = configuration(dir);
+        shared.setSharedVariable("author", "alpha");
+
+        SharedTemplateCache.CachedTemplate cached = SharedTemplateCache.get(base, "settings.ftl");
+        assertNotSame(cached.template(), SharedTemplateCache.get(encoding, "settings.ftl").template());
+        assertNotSame(cached.template(), SharedTemplateCache.get(shared, "settings.ftl").template());
+        assertSame(shared, SharedTemplateCache.get(shared, "settings.ftl").template().getConfiguration());
+
+        SharedTemplateCache.CachedTemplate otherDir = SharedTemplateCache.get(configuration(other), "settings.ftl");
+        assertNotEquals(cached.digest(), otherDir.digest());
+        StringWriter out = new StringWriter();
+        otherDir.template().process(Map.of("name", "x"), out);
+        assertEquals("other x", out.toString());
+    }
+
+    @Test
+    void changedSourceIsReparsed() throws Exception {
+        Path file = dir.resolve("changed.ftl");
+        Files.writeString(file, "v1", StandardCharsets.UTF_8);
+        SharedTemplateCache.CachedTemplate v1 = SharedTemplateCache.get(configuration(dir), "changed.ftl");
+
+        Files.writeString(file, "v2", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(v1.lastModified() + 2000));
+        SharedTemplateCache.CachedTemplate v2 = SharedTemplateCache.get(configuration(dir), "changed.ftl");
+        assertNotEquals(v1.digest(), v2.digest());
+        assertEquals("v2", v2.template().toString());
+    }
+
+    @Test
+    void dependenciesResolveRelativeToTemplate() {
+        String text = "<#include \"part.ftl\"><#import '/lib/macros.ftl' as m>[#include \"../common/head.ftl\"]<#include name>";
+        assertEquals(List.of("sub/part.ftl", "lib/macros.ftl", "common/head.ftl"), SharedTemplateCache.dependencies("sub/main.ftl", text));
+    }
+
+    private static Configuration configuration(Path dir) throws Exception {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setTemplateLoader(new FileTemplateLoader(dir.toFile()));
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        return configuration;
+    }
+}
@@ -0,0 +1,152 @@
+package com.g2rain.generator.template.compiled;
+
+
+import com.g2rain.generator.TestFixtures;
+import com.g2rain.generator.config.FoundryConfig;
+import com.g2rain.generator.enums.TemplatePaths;
+import com.g2rain.generator.model.TableInfo;
+import com.g2rain.generator.output.RenderBuffer;
+import com.g2rain.generator.utils.Hashes;
+import com.g2rain.generator.utils.UnifiedDiff;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 编译模板的黄金测试：{@link TemplatePaths} 中的每个模板分别由 FreeMarker 与构建时编译的 {@link CompiledTemplate}
+ * 渲染代表性的表结构，两者按生成器的编码方式输出的字节必须完全一致。
+ *
+ * <p>编译模板取自 {@link CompiledTemplates}（{@code process-classes} 阶段生成并注册）；模板若使用了编译器不支持的语法，
+ * 则校验其未被注册，运行时只由 FreeMarker 渲染。</p>
+ *
+ * @author alpha
+ * @since 2025/10/28
+ */
+class CompiledTemplateGoldenTest {
+
+    /**
+     * 内置模板根目录
+     */
+    private static final String TEMPLATES = "/templates";
+
+    /**
+     * 代表性的表结构：无业务列、单列、覆盖全部轮换类型、无注释与基础列 / delete_flag / version、日期与大字段
+     */
+    private static final List<TableInfo> TABLES = List.of(
+            TestFixtures.table("user", 0),
+            TestFixtures.table("user_account", 1),
+            TestFixtures.table("order_item", 7),
+            TableInfo.of("tag", null, List.of(
+                    TestFixtures.column("id", "BIGINT", "Long", true),
+                    TestFixtures.column("tag_name", "VARCHAR", "String", false))),
+            TableInfo.of("user_profile", "dates and large columns", List.of(
+                    TestFixtures.column("user_id", "INTEGER", "Integer", true),
+                    TestFixtures.column("birthday", "DATE", "LocalDate", false),
+                    TestFixtures.column("wake_up", "TIME", "LocalTime", false),
+                    TestFixtures.column("content", "LONGVARCHAR", "String", false),
+                    TestFixtures.column("avatar", "LONGVARBINARY", "byte[]", false),
+                    TestFixtures.column("create_time", "TIMESTAMP", "LocalDateTime", false))));
+
+    /**
+     * 与生成器相同的 FreeMarker 配置
+     */
+    private static final Configuration CONFIGURATION = configuration();
+
+    @ParameterizedTest
+    @EnumSource(TemplatePaths.class)
+    void compiledOutputMatchesFreeMarker(TemplatePaths templatePath) throws Exception {
+        String templateName = templatePath.getTemplateName();
+        String source = source(templateName);
+        CompiledTemplate compiled = CompiledTemplates.find(templateName, Hashes.sha256(source));
+        try {
+            new TemplateCompiler(Map.of("config", FoundryConfig.class, "table", TableInfo.class))
+                    .compile(templateName, TemplateCompiler.className(templateName), source);
+        } catch (TemplateCompiler.UnsupportedTemplateException e) {
+            assertNull(compiled, templateName + " is not compilable but a compiled template is registered");
+            return;
+        }
+        assertNotNull(compiled, templateName + " is compilable but no compiled template matches its source");
+
+        FoundryConfig config = config();
+        Template template = CONFIGURATION.getTemplate(templateName);
+        for (TableInfo table : TABLES) {
+            Map<String, Object> dataModel = Map.of("config", config, "table", table);
+            byte[] expected = freeMarker(template, dataModel);
+            byte[] actual = compiled(compiled, dataModel);
+            if (!Arrays.equals(expected, actual)) {
+                // 先按文本比较, 失败时输出可读的差异
+                assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8),
+                        UnifiedDiff.diff("freemarker/" + templateName, "compiled/" + templateName,
+                                new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8)));
+            }
+            assertArrayEquals(expected, actual, templateName + " / " + table.getTableName());
+        }
+    }
+
+    /**
+     * 连接信息完整的配置：application-dev.yml 等启动模块模板会输出数据源的用户名与口令
+     */
+    private static FoundryConfig config() {
+        Path baseDir = Path.of("target", "golden");
+        FoundryConfig config = new FoundryConfig("g2rain-test", "com.g2rain.test",
+                "jdbc:mysql://localhost:3306/g2rain_test", "com.mysql.cj.jdbc.Driver", "root", "secret");
+        config.setBaseDir(baseDir);
+        config.setWorkDir(baseDir.resolve("target").resolve("g2rain"));
+        return config;
+    }
+
+    /**
+     * 按 {@code AbstractGenerator} 的方式由 FreeMarker 渲染并编码为 UTF-8
+     */
+    private static byte[] freeMarker(Template template, Map<String, Object> dataModel) throws Exception {
+        RenderBuffer buffer = new RenderBuffer();
+        try (Writer out = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+            template.process(dataModel, out);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 按 {@code AbstractGenerator} 的方式由编译模板渲染并编码为 UTF-8
+     */
+    private static byte[] compiled(CompiledTemplate compiled, Map<String, Object> dataModel) {
+        StringBuilder text = new StringBuilder();
+        compiled.render(dataModel, text);
+        RenderBuffer buffer = new RenderBuffer();
+        buffer.writeUtf8(text);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 读取类路径下的模板源码
+     */
+    private static String source(String templateName) throws IOException {
+        try (InputStream in = CompiledTemplateGoldenTest.class.getResourceAsStream(TEMPLATES + "/" + templateName)) {
+            assertNotNull(in, "Template not found: " + templateName);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Configuration configuration() {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setClassForTemplateLoading(CompiledTemplateGoldenTest.class, TEMPLATES);
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        return configuration;
+    }
+}